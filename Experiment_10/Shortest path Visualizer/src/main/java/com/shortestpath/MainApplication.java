@@ -16,9 +16,15 @@ import com.shortestpath.ui.AnimationEngine;
 import com.shortestpath.ui.AlgorithmState;
 import com.shortestpath.algorithm.AlgorithmStep;
 import com.shortestpath.algorithm.DijkstraAlgorithm;
+import com.shortestpath.algorithm.BidirectionalDijkstraAlgorithm;
 import com.shortestpath.algorithm.BellmanFordAlgorithm;
+import com.shortestpath.algorithm.SpfaAlgorithm;
+import com.shortestpath.algorithm.TarjanBellmanFordAlgorithm;
 import com.shortestpath.algorithm.AStarAlgorithm;
+import com.shortestpath.algorithm.BidirectionalAStarAlgorithm;
 import com.shortestpath.algorithm.AlgorithmResult;
+import com.shortestpath.algorithm.AlgorithmPlanner;
+import com.shortestpath.algorithm.RecordingLevel;
 import com.shortestpath.ui.AlgorithmVisualizer;
 import com.shortestpath.ui.MetricsPanel;
 
@@ -47,6 +53,7 @@ public class MainApplication extends Application {
     private BorderPane root;
     private SwingNode graphSwingNode;
     private WeightedGraph currentGraph;
+    private AlgorithmPlanner planner;
     private GraphRenderer graphRenderer;
     private TextField nodeCountField;
     private TextField edgeDensityField;
@@ -207,7 +214,7 @@ public class MainApplication extends Application {
         // Algorithm controls
         Separator sep = new Separator(Orientation.VERTICAL);
         algorithmSelector = new ComboBox<>();
-        algorithmSelector.getItems().addAll("Dijkstra", "Bellman-Ford", "A*");
+        algorithmSelector.getItems().addAll("Auto", "Dijkstra", "Bidirectional Dijkstra", "Bellman-Ford", "Bellman-Ford (SPFA)", "Bellman-Ford (Tarjan)", "A*", "Bidirectional A*");
         algorithmSelector.setValue("Dijkstra");
         algorithmSelector.setPrefWidth(130);
         algorithmSelector.setTooltip(new Tooltip("Choose shortest path algorithm to execute"));
@@ -480,15 +487,33 @@ public class MainApplication extends Application {
         try {
             AlgorithmResult result;
             switch (algorithm) {
+                case "Auto":
+                    if (planner == null || planner.getGraph() != currentGraph) {
+                        planner = AlgorithmPlanner.forGraph(currentGraph);
+                    }
+                    result = planner.findShortestPath(source, target, RecordingLevel.FULL);
+                    break;
                 case "Dijkstra":
                     result = DijkstraAlgorithm.findShortestPath(currentGraph, source, target);
                     break;
+                case "Bidirectional Dijkstra":
+                    result = BidirectionalDijkstraAlgorithm.findShortestPath(currentGraph, source, target);
+                    break;
                 case "Bellman-Ford":
                     result = BellmanFordAlgorithm.findShortestPath(currentGraph, source, target);
                     break;
+                case "Bellman-Ford (SPFA)":
+                    result = SpfaAlgorithm.findShortestPath(currentGraph, source, target);
+                    break;
+                case "Bellman-Ford (Tarjan)":
+                    result = TarjanBellmanFordAlgorithm.findShortestPath(currentGraph, source, target);
+                    break;
                 case "A*":
                     result = AStarAlgorithm.findShortestPath(currentGraph, source, target);
                     break;
+                case "Bidirectional A*":
+                    result = BidirectionalAStarAlgorithm.findShortestPath(currentGraph, source, target);
+                    break;
                 default:
                     algorithmStatusLabel.setTextFill(Color.RED);
                     algorithmStatusLabel.setText("Unknown algorithm: " + algorithm);
@@ -501,14 +526,21 @@ public class MainApplication extends Application {
                 metricsPanel.loadAlgorithmResult(result, algorithm);
             }
 
-            if (!result.hasPath()) {
+            if (result.hasNegativeCycle()) {
+                String cycle = result.getNegativeCycle().stream().map(Node::getId)
+                        .reduce((a, b) -> a + " -> " + b).orElse("");
+                algorithmStatusLabel.setTextFill(Color.RED);
+                algorithmStatusLabel.setText("Negative cycle: " + cycle);
+                showWarningAlert("Negative Cycle", "Shortest paths are undefined on a negative cycle.", cycle);
+            } else if (!result.hasPath()) {
                 algorithmStatusLabel.setTextFill(Color.RED);
                 algorithmStatusLabel.setText("No path found from " + sourceId + " to " + targetId);
                 showWarningAlert("No Path Found", "The selected nodes are disconnected.",
                         "Try a denser graph or different nodes.");
             } else {
                 algorithmStatusLabel.setTextFill(Color.GREEN);
-                algorithmStatusLabel.setText("Executed " + algorithm + ": " + result.getStepCount() +
+                String executed = result.getPlan() != null ? algorithm + " -> " + result.getPlan() : algorithm;
+                algorithmStatusLabel.setText("Executed " + executed + ": " + result.getStepCount() +
                         " steps, path cost: " + String.format("%.2f", result.getPathCost()));
             }
         } catch (Exception ex) {
@@ -7,20 +7,52 @@ import com.shortestpath.model.WeightedGraph;
 import java.util.*;
 
 /**
- * A* shortest path algorithm using Euclidean distance heuristic based on node coordinates.
+ * A* shortest path algorithm using the Euclidean distance between node coordinates by
+ * default, scaled with {@link Heuristic#scaledEuclidean(WeightedGraph)} so it stays
+ * admissible when edges are cheaper than their length (the scale is computed once per graph
+ * version); any admissible {@link Heuristic} (e.g. {@link LandmarkIndex}) can be supplied.
  * Requires non-negative edge weights.
- * Provides step-by-step snapshots for visualization.
+ * Provides step-by-step snapshots for visualization; the amount of recorded
+ * state is selected with a {@link RecordingLevel}.
  */
 public final class AStarAlgorithm {
 
     private AStarAlgorithm() {}
 
     public static AlgorithmResult findShortestPath(WeightedGraph graph, Node source, Node target) {
+        return findShortestPath(graph, source, target, RecordingLevel.FULL);
+    }
+
+    public static AlgorithmResult findShortestPath(WeightedGraph graph, Node source, Node target,
+                                                   RecordingLevel level) {
+        return findShortestPath(graph, source, target, level, EuclideanScale.heuristicFor(graph));
+    }
+
+    public static AlgorithmResult findShortestPath(WeightedGraph graph, Node source, Node target,
+                                                   RecordingLevel level, Heuristic heuristic) {
+        return findShortestPath(graph, source, target, level, heuristic, SearchBudget.unlimited());
+    }
+
+    /**
+     * @throws java.util.concurrent.CancellationException if {@code budget} is cancelled or runs
+     *         out before the search finishes
+     */
+    public static AlgorithmResult findShortestPath(WeightedGraph graph, Node source, Node target,
+                                                   RecordingLevel level, Heuristic heuristic,
+                                                   SearchBudget budget) {
+        if (budget == null) throw new IllegalArgumentException("budget must not be null");
+        if (level == null) throw new IllegalArgumentException("level must not be null");
+        if (heuristic == null) throw new IllegalArgumentException("heuristic must not be null");
         if (graph == null) throw new IllegalArgumentException("graph must not be null");
         if (source == null) throw new IllegalArgumentException("source must not be null");
         if (target == null) throw new IllegalArgumentException("target must not be null");
         if (!graph.containsNode(source.getId())) throw new IllegalArgumentException("source not in graph");
         if (!graph.containsNode(target.getId())) throw new IllegalArgumentException("target not in graph");
+        if (EuclideanScale.hasNegativeWeights(graph)) {
+            throw new IllegalArgumentException("A* requires non-negative edge weights");
+        }
+
+        if (level == RecordingLevel.NONE) return findWithWorkspace(graph, source, target, heuristic, budget);
 
         long start = System.currentTimeMillis();
 
@@ -34,67 +66,139 @@ public final class AStarAlgorithm {
             fScore.put(n, Double.POSITIVE_INFINITY);
             predecessors.put(n, null);
         }
-        double h0 = calculateHeuristic(source, target);
+        // Each node's estimate is computed once per query
+        Map<Node, Double> hCache = new HashMap<>();
+        double h0 = hCache.computeIfAbsent(source, n -> heuristic.estimate(n, target));
         gScore.put(source, 0.0);
         fScore.put(source, h0);
 
-        PriorityQueue<Node> openSet = new PriorityQueue<>(Comparator.comparingDouble(fScore::get));
-        openSet.add(source);
+        // Entries carry the f-score they were queued with; a comparator over the live map would
+        // break the heap order when a queued node's score drops
+        PriorityQueue<Map.Entry<Node, Double>> openSet = new PriorityQueue<>(Map.Entry.comparingByValue());
+        openSet.add(new AbstractMap.SimpleImmutableEntry<>(source, h0));
 
+        AlgorithmTrace.Recorder trace = level.recordsEveryStep() ? new AlgorithmTrace.Recorder(graph.getAllNodes()) : null;
         List<AlgorithmStep> steps = new ArrayList<>();
-        steps.add(createStepSnapshot(0, null, closedSet, gScore, predecessors, openSet, fScore,
-                "Initialized source node " + source + " with g=0, h=" + h0 + ", f=" + h0));
+        if (trace != null) {
+            trace.update(source, 0.0, null);
+            trace.push(source, h0);
+            trace.endStep(null, "Initialized source node " + source + " with g=0, h=" + h0 + ", f=" + h0);
+        } else if (level.recordsAnySteps()) {
+            steps.add(createStepSnapshot(0, null, closedSet, gScore, predecessors, openSet,
+                    "Initialized source node " + source + " with g=0, h=" + h0 + ", f=" + h0));
+        }
 
-        int step = 1;
         int nodesVisited = 0;
+        Node last = null;
 
         while (!openSet.isEmpty()) {
-            Node current = openSet.poll();
+            budget.check();
+            Node current = openSet.poll().getKey();
+            if (trace != null) trace.pop(current);
             if (closedSet.contains(current)) {
                 continue;
             }
+            last = current;
             if (current.equals(target)) {
-                double g = gScore.get(current);
-                double h = calculateHeuristic(current, target);
-                double f = fScore.get(current);
-                steps.add(createStepSnapshot(step++, current, closedSet, gScore, predecessors, openSet, fScore,
-                        formatDescription(current, g, h, f, List.of())));
+                if (trace != null) {
+                    double g = gScore.get(current);
+                    double h = hCache.computeIfAbsent(current, n -> heuristic.estimate(n, target));
+                    double f = fScore.get(current);
+                    trace.endStep(current, formatDescription(current, g, h, f, List.of()));
+                }
                 break; // path found
             }
             closedSet.add(current);
+            if (trace != null) trace.settle(current);
             nodesVisited++;
 
-            List<Node> updated = new ArrayList<>();
+            List<Node> updated = trace != null ? new ArrayList<>() : null;
+            double currentG = gScore.get(current);
             for (Edge e : graph.getOutgoingEdges(current)) {
                 Node neighbor = e.getTarget();
                 if (closedSet.contains(neighbor)) continue;
-                double tentativeG = gScore.get(current) + e.getWeight();
+                double tentativeG = currentG + e.getWeight();
                 if (tentativeG < gScore.get(neighbor)) {
                     gScore.put(neighbor, tentativeG);
-                    double h = calculateHeuristic(neighbor, target);
+                    double h = hCache.computeIfAbsent(neighbor, n -> heuristic.estimate(n, target));
                     double f = tentativeG + h;
                     fScore.put(neighbor, f);
                     predecessors.put(neighbor, current);
-                    openSet.add(neighbor);
-                    updated.add(neighbor);
+                    openSet.add(new AbstractMap.SimpleImmutableEntry<>(neighbor, f));
+                    if (trace != null) {
+                        updated.add(neighbor);
+                        trace.update(neighbor, tentativeG, current);
+                        trace.push(neighbor, f);
+                    }
                 }
             }
-            double g = gScore.get(current);
-            double h = calculateHeuristic(current, target);
-            double f = fScore.get(current);
-            steps.add(createStepSnapshot(step++, current, closedSet, gScore, predecessors, openSet, fScore,
-                    formatDescription(current, g, h, f, updated)));
+            if (trace != null) {
+                double h = hCache.computeIfAbsent(current, n -> heuristic.estimate(n, target));
+                double f = fScore.get(current);
+                trace.endStep(current, formatDescription(current, currentG, h, f, updated));
+            }
+        }
+
+        if (level == RecordingLevel.SUMMARY) {
+            steps.add(createStepSnapshot(1, last, closedSet, gScore, predecessors, openSet,
+                    "Finished after visiting " + nodesVisited + " nodes"));
         }
 
         List<Node> path = reconstructPath(predecessors, source, target);
         double cost = gScore.getOrDefault(target, Double.POSITIVE_INFINITY);
         long timeMs = System.currentTimeMillis() - start;
-        return new AlgorithmResult(steps, path,
+        return new AlgorithmResult(trace != null ? trace.build() : steps, path,
                 (path.isEmpty() && !source.equals(target)) ? Double.POSITIVE_INFINITY : cost,
                 source, target, timeMs, nodesVisited);
     }
 
-    private static double calculateHeuristic(Node from, Node to) {
+    /**
+     * Same search without recorded steps on a pooled {@link SearchWorkspace}, so nothing is
+     * initialised per node and the cost is proportional to the nodes actually reached.
+     */
+    private static AlgorithmResult findWithWorkspace(WeightedGraph graph, Node source, Node target,
+                                                     Heuristic heuristic, SearchBudget budget) {
+        long start = System.currentTimeMillis();
+        SearchWorkspace w = SearchWorkspace.acquire(graph);
+        try {
+            int s = w.id(source);
+            int t = w.id(target);
+            w.update(s, 0.0, -1);
+            PriorityQueue<Map.Entry<Integer, Double>> openSet = new PriorityQueue<>(Map.Entry.comparingByValue());
+            openSet.add(new AbstractMap.SimpleImmutableEntry<>(s, w.estimate(s, heuristic, target)));
+
+            int nodesVisited = 0;
+            while (!openSet.isEmpty()) {
+                budget.check();
+                int current = openSet.poll().getKey();
+                if (w.isSettled(current)) continue;
+                if (current == t) break;
+                w.settle(current);
+                nodesVisited++;
+
+                double currentG = w.distance(current);
+                for (Edge e : graph.getOutgoingEdges(w.node(current))) {
+                    int neighbor = w.id(e.getTarget());
+                    if (w.isSettled(neighbor)) continue;
+                    double tentativeG = currentG + e.getWeight();
+                    if (tentativeG < w.distance(neighbor)) {
+                        w.update(neighbor, tentativeG, current);
+                        double f = tentativeG + w.estimate(neighbor, heuristic, target);
+                        openSet.add(new AbstractMap.SimpleImmutableEntry<>(neighbor, f));
+                    }
+                }
+            }
+
+            List<Node> path = w.path(s, t);
+            double cost = path.isEmpty() ? Double.POSITIVE_INFINITY : w.distance(t);
+            return new AlgorithmResult(List.of(), path, cost, source, target,
+                    System.currentTimeMillis() - start, nodesVisited);
+        } finally {
+            w.release();
+        }
+    }
+
+    static double calculateHeuristic(Node from, Node to) {
         double dx = to.getX() - from.getX();
         double dy = to.getY() - from.getY();
         return Math.sqrt(dx * dx + dy * dy);
@@ -128,13 +232,14 @@ public final class AStarAlgorithm {
             Set<Node> closedSet,
             Map<Node, Double> gScore,
             Map<Node, Node> predecessors,
-            PriorityQueue<Node> openSet,
-            Map<Node, Double> fScore,
+            PriorityQueue<Map.Entry<Node, Double>> openSet,
             String description
     ) {
-        // Snapshot openSet ordered by current fScore
-        List<Node> pqSnapshot = new ArrayList<>(openSet);
-        pqSnapshot.sort(Comparator.comparingDouble(fScore::get));
+        // Snapshot openSet ordered by queued f-score
+        List<Map.Entry<Node, Double>> entries = new ArrayList<>(openSet);
+        entries.sort(Map.Entry.comparingByValue());
+        List<Node> pqSnapshot = new ArrayList<>(entries.size());
+        for (Map.Entry<Node, Double> e : entries) pqSnapshot.add(e.getKey());
         return new AlgorithmStep(
                 stepNumber,
                 current,
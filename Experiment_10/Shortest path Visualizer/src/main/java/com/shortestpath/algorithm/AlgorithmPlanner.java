@@ -0,0 +1,196 @@
+package com.shortestpath.algorithm;
+
+import com.shortestpath.model.Edge;
+import com.shortestpath.model.Node;
+import com.shortestpath.model.WeightedGraph;
+
+/**
+ * Chooses the fastest engine that is correct for a query, so callers do not have to pick
+ * one by hand.
+ *
+ * Graph properties (negative weights, the factor that scales Euclidean distance between
+ * node coordinates into an admissible bound) are computed once and cached; they are recomputed automatically when
+ * the graph's {@link WeightedGraph#getVersion() version} changes, which includes weights set
+ * in place, and {@link #refresh()} forces it after node coordinates were moved. Preprocessed
+ * indexes can be attached and are used only while the graph is unchanged since they were
+ * attached; the first change detaches them. The decision is recorded in each result via
+ * {@link AlgorithmResult#getPlan()}.
+ *
+ * Order of preference: SPFA for negative weights; the contraction hierarchy for queries
+ * without recorded steps; A* with landmarks; A* with scaled Euclidean distances when the
+ * coordinates are spread out and the scale is above 0; otherwise Dijkstra (bidirectional when steps are recorded, since it settles fewer of them).
+ */
+public final class AlgorithmPlanner {
+
+    /** The engine chosen for one query and the reason. */
+    public static final class Plan {
+        private final String engine;
+        private final String reason;
+        // Exactly one of: a plain engine, the attached hierarchy, or A* over the attached landmarks
+        private final SearchEngine searchEngine;
+        private final boolean useHierarchy;
+
+        private Plan(SearchEngine searchEngine, String reason) {
+            this(searchEngine.getDisplayName(), reason, searchEngine, false);
+        }
+
+        private Plan(String engine, String reason, SearchEngine searchEngine, boolean useHierarchy) {
+            this.engine = engine;
+            this.reason = reason;
+            this.searchEngine = searchEngine;
+            this.useHierarchy = useHierarchy;
+        }
+
+        public String getEngine() { return engine; }
+
+        public String getReason() { return reason; }
+
+        @Override
+        public String toString() { return engine + " (" + reason + ")"; }
+    }
+
+    private final WeightedGraph graph;
+    private LandmarkIndex landmarks;
+    private ContractionHierarchy hierarchy;
+    private long indexVersion;
+
+    private long version = -1;
+    private boolean negativeWeights;
+    private double euclideanScale;
+    // Scaled Euclidean bound for A*, or null when coordinates give no usable bound
+    private Heuristic euclideanHeuristic;
+
+    private AlgorithmPlanner(WeightedGraph graph) {
+        this.graph = graph;
+    }
+
+    public static AlgorithmPlanner forGraph(WeightedGraph graph) {
+        if (graph == null) throw new IllegalArgumentException("graph must not be null");
+        AlgorithmPlanner planner = new AlgorithmPlanner(graph);
+        planner.refresh();
+        return planner;
+    }
+
+    public WeightedGraph getGraph() { return graph; }
+
+    /**
+     * Uses {@code index} for A* queries until the graph changes; null detaches it. An index
+     * that is not {@link LandmarkIndex#isCompatibleWith compatible} with the graph is ignored.
+     */
+    public AlgorithmPlanner withLandmarks(LandmarkIndex index) {
+        refreshIfStale();
+        this.landmarks = index;
+        return this;
+    }
+
+    /**
+     * Uses {@code ch} for queries without recorded steps until the graph changes; null
+     * detaches it.
+     *
+     * @throws IllegalArgumentException if {@code ch} was built from a different graph or the
+     *         graph changed after it was built
+     */
+    public AlgorithmPlanner withContractionHierarchy(ContractionHierarchy ch) {
+        if (ch != null && !ch.isBuiltFrom(graph)) {
+            throw new IllegalArgumentException("contraction hierarchy was built from a different graph");
+        }
+        if (ch != null && !ch.isCurrentFor(graph)) {
+            throw new IllegalArgumentException("graph changed after the contraction hierarchy was built");
+        }
+        refreshIfStale();
+        this.hierarchy = ch;
+        return this;
+    }
+
+    /** Recomputes the cached graph properties, detaching any index if the graph changed since it was attached. */
+    public void refresh() {
+        long current = graph.getVersion();
+        if (current != indexVersion) {
+            hierarchy = null;
+            landmarks = null;
+            indexVersion = current;
+        }
+        boolean negative = false;
+        double scale = Double.POSITIVE_INFINITY;
+        boolean spread = false;
+        Node first = null;
+        for (Node n : graph.getAllNodes()) {
+            if (first == null) first = n;
+            else if (n.getX() != first.getX() || n.getY() != first.getY()) spread = true;
+        }
+        for (Edge e : graph.getAllEdges()) {
+            if (e.getWeight() < 0.0) negative = true;
+            double length = Heuristic.euclidean().estimate(e.getSource(), e.getTarget());
+            if (length > 0.0) scale = Math.min(scale, e.getWeight() / length);
+        }
+        negativeWeights = negative;
+        // Unconstrained by any edge: plain Euclidean distance is as good as any multiple of it
+        euclideanScale = scale == Double.POSITIVE_INFINITY ? 1.0 : scale;
+        // Identical coordinates or a zero scale give A* nothing to work with
+        euclideanHeuristic = !negative && spread && euclideanScale > 0.0
+                ? Heuristic.euclidean().scaledBy(euclideanScale) : null;
+        version = current;
+    }
+
+    private void refreshIfStale() {
+        if (graph.getVersion() != version) refresh();
+    }
+
+    public boolean hasNegativeWeights() {
+        refreshIfStale();
+        return negativeWeights;
+    }
+
+    /** True if straight-line distance never exceeds an edge's weight, so it is a valid A* bound unscaled. */
+    public boolean hasAdmissibleCoordinates() {
+        refreshIfStale();
+        return euclideanHeuristic != null && euclideanScale >= 1.0;
+    }
+
+    /** The engine {@link #findShortestPath} would use for a query recorded at {@code level}. */
+    public Plan plan(RecordingLevel level) {
+        if (level == null) throw new IllegalArgumentException("level must not be null");
+        refreshIfStale();
+        if (negativeWeights) {
+            return new Plan(SearchEngine.SPFA, "graph has negative edge weights");
+        }
+        if (level == RecordingLevel.NONE && hierarchy != null && hierarchy.isCurrentFor(graph)) {
+            return new Plan("Contraction Hierarchy", "preprocessed hierarchy available and no steps requested",
+                    null, true);
+        }
+        if (landmarks != null && landmarks.isCompatibleWith(graph)) {
+            return new Plan("A* (landmarks)", "landmark index available", null, false);
+        }
+        if (euclideanHeuristic != null) {
+            return new Plan(SearchEngine.A_STAR, euclideanScale >= 1.0
+                    ? "coordinates give an admissible Euclidean bound"
+                    : String.format("Euclidean bound scaled by %.3g to stay admissible", euclideanScale));
+        }
+        if (level == RecordingLevel.NONE) {
+            return new Plan(SearchEngine.DIJKSTRA, "non-negative weights, no usable heuristic");
+        }
+        return new Plan(SearchEngine.BIDIRECTIONAL_DIJKSTRA,
+                "non-negative weights, no usable heuristic; bidirectional search records fewer steps");
+    }
+
+    /** Runs the query on the engine chosen by {@link #plan(RecordingLevel)} and records the choice. */
+    public AlgorithmResult findShortestPath(Node source, Node target, RecordingLevel level) {
+        Plan plan = plan(level);
+        AlgorithmResult result;
+        if (plan.useHierarchy) {
+            if (source == null) throw new IllegalArgumentException("source must not be null");
+            if (target == null) throw new IllegalArgumentException("target must not be null");
+            if (!graph.containsNode(source.getId())) throw new IllegalArgumentException("source not in graph");
+            if (!graph.containsNode(target.getId())) throw new IllegalArgumentException("target not in graph");
+            result = hierarchy.findShortestPath(source, target);
+        } else if (plan.searchEngine == null) {
+            result = AStarAlgorithm.findShortestPath(graph, source, target, level, landmarks);
+        } else if (plan.searchEngine == SearchEngine.A_STAR) {
+            // Reuse the scale found by refresh() rather than scanning the edges per query
+            result = AStarAlgorithm.findShortestPath(graph, source, target, level, euclideanHeuristic);
+        } else {
+            result = plan.searchEngine.run(graph, source, target, level);
+        }
+        return result.withPlan(plan.toString());
+    }
+}
@@ -4,7 +4,9 @@ import com.shortestpath.model.Node;
 
 import java.io.Serializable;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 
 /**
@@ -21,6 +23,9 @@ public final class AlgorithmResult implements Serializable {
     private final Node targetNode;
     private final long executionTimeMs;
     private final int nodesVisited;
+    private final Map<String, Double> metrics;
+    private final String plan;
+    private final List<Node> negativeCycle;
 
     public AlgorithmResult(
             List<AlgorithmStep> steps,
@@ -43,13 +48,64 @@ public final class AlgorithmResult implements Serializable {
         if (nodesVisited < 0) {
             throw new IllegalArgumentException("nodesVisited must be >= 0");
         }
-        this.steps = Collections.unmodifiableList(steps == null ? List.of() : List.copyOf(steps));
+        // Delta-encoded traces are immutable and rebuild steps lazily, so they are kept as-is
+        this.steps = steps instanceof AlgorithmTrace
+                ? steps
+                : Collections.unmodifiableList(steps == null ? List.of() : List.copyOf(steps));
         this.shortestPath = Collections.unmodifiableList(shortestPath == null ? List.of() : List.copyOf(shortestPath));
         this.pathCost = pathCost;
         this.sourceNode = sourceNode;
         this.targetNode = targetNode;
         this.executionTimeMs = executionTimeMs;
         this.nodesVisited = nodesVisited;
+        this.metrics = Map.of();
+        this.plan = null;
+        this.negativeCycle = List.of();
+    }
+
+    private AlgorithmResult(AlgorithmResult base, Map<String, Double> metrics, String plan, List<Node> negativeCycle) {
+        this.steps = base.steps;
+        this.shortestPath = base.shortestPath;
+        this.pathCost = base.pathCost;
+        this.sourceNode = base.sourceNode;
+        this.targetNode = base.targetNode;
+        this.executionTimeMs = base.executionTimeMs;
+        this.nodesVisited = base.nodesVisited;
+        this.metrics = Collections.unmodifiableMap(metrics);
+        this.plan = plan;
+        this.negativeCycle = negativeCycle;
+    }
+
+    /**
+     * Returns a copy of this result with an additional engine-specific metric,
+     * e.g. the number of nodes settled by each direction of a bidirectional search.
+     */
+    public AlgorithmResult withMetric(String name, double value) {
+        if (name == null || name.isEmpty()) {
+            throw new IllegalArgumentException("metric name must be non-empty");
+        }
+        Map<String, Double> copy = new LinkedHashMap<>(metrics);
+        copy.put(name, value);
+        return new AlgorithmResult(this, copy, plan, negativeCycle);
+    }
+
+    /** Returns a copy of this result recording which engine was chosen for it and why. */
+    public AlgorithmResult withPlan(String plan) {
+        if (plan == null || plan.isEmpty()) {
+            throw new IllegalArgumentException("plan must be non-empty");
+        }
+        return new AlgorithmResult(this, new LinkedHashMap<>(metrics), plan, negativeCycle);
+    }
+
+    /**
+     * Returns a copy of this result carrying a negative cycle found by the search, listed in
+     * edge order with the first node repeated at the end (e.g. {@code A, B, C, A}).
+     */
+    public AlgorithmResult withNegativeCycle(List<Node> cycle) {
+        if (cycle == null || cycle.size() < 2 || !cycle.get(0).equals(cycle.get(cycle.size() - 1))) {
+            throw new IllegalArgumentException("cycle must start and end at the same node");
+        }
+        return new AlgorithmResult(this, new LinkedHashMap<>(metrics), plan, List.copyOf(cycle));
     }
 
     public List<AlgorithmStep> getSteps() { return steps; }
@@ -66,6 +122,21 @@ public final class AlgorithmResult implements Serializable {
 
     public int getNodesVisited() { return nodesVisited; }
 
+    public Map<String, Double> getMetrics() { return metrics; }
+
+    /** Engine choice recorded by {@link AlgorithmPlanner}, or null if the engine was called directly. */
+    public String getPlan() { return plan; }
+
+    /** Negative cycle reported by the search, or an empty list if none was found. */
+    public List<Node> getNegativeCycle() { return negativeCycle; }
+
+    public boolean hasNegativeCycle() { return !negativeCycle.isEmpty(); }
+
+    public double getMetric(String name, double defaultValue) {
+        Double v = metrics.get(name);
+        return v == null ? defaultValue : v;
+    }
+
     public boolean hasPath() { return !Double.isInfinite(pathCost); }
 
     public int getStepCount() { return steps.size(); }
@@ -28,25 +28,38 @@ public final class AlgorithmStep implements Serializable {
             List<Node> priorityQueue,
             String description
     ) {
+        // Defensive copies and unmodifiable wrappers
+        this(stepNumber, currentNode, description,
+                Collections.unmodifiableSet(visitedNodes == null ? new HashSet<>() : new HashSet<>(visitedNodes)),
+                Collections.unmodifiableMap(distances == null ? new HashMap<>() : new HashMap<>(distances)),
+                Collections.unmodifiableMap(predecessors == null ? new HashMap<>() : new HashMap<>(predecessors)),
+                Collections.unmodifiableList(priorityQueue == null ? new ArrayList<>() : new ArrayList<>(priorityQueue)));
+    }
+
+    private AlgorithmStep(int stepNumber, Node currentNode, String description, Set<Node> visitedNodes,
+                          Map<Node, Double> distances, Map<Node, Node> predecessors, List<Node> priorityQueue) {
         if (stepNumber < 0) {
             throw new IllegalArgumentException("stepNumber must be >= 0");
         }
         this.stepNumber = stepNumber;
         this.currentNode = currentNode;
-
-        // Defensive copies and unmodifiable wrappers
-        Set<Node> visitedCopy = visitedNodes == null ? new HashSet<>() : new HashSet<>(visitedNodes);
-        Map<Node, Double> distancesCopy = distances == null ? new HashMap<>() : new HashMap<>(distances);
-        Map<Node, Node> predecessorsCopy = predecessors == null ? new HashMap<>() : new HashMap<>(predecessors);
-        List<Node> pqCopy = priorityQueue == null ? new ArrayList<>() : new ArrayList<>(priorityQueue);
-
-        this.visitedNodes = Collections.unmodifiableSet(visitedCopy);
-        this.distances = Collections.unmodifiableMap(distancesCopy);
-        this.predecessors = Collections.unmodifiableMap(predecessorsCopy);
-        this.priorityQueue = Collections.unmodifiableList(pqCopy);
+        this.visitedNodes = visitedNodes;
+        this.distances = distances;
+        this.predecessors = predecessors;
+        this.priorityQueue = priorityQueue;
         this.description = description == null ? "" : description;
     }
 
+    /**
+     * Step over collections that are already unmodifiable and that nobody changes afterwards,
+     * without copying them. Used by {@link AlgorithmTrace} when it rebuilds steps.
+     */
+    static AlgorithmStep wrap(int stepNumber, Node currentNode, Set<Node> visitedNodes, Map<Node, Double> distances,
+                              Map<Node, Node> predecessors, List<Node> priorityQueue, String description) {
+        return new AlgorithmStep(stepNumber, currentNode, description, visitedNodes, distances, predecessors,
+                priorityQueue);
+    }
+
     public int getStepNumber() { return stepNumber; }
 
     public Node getCurrentNode() { return currentNode; }
@@ -0,0 +1,260 @@
+package com.shortestpath.algorithm;
+
+import com.shortestpath.model.Node;
+
+import java.io.Serializable;
+import java.util.*;
+
+/**
+ * Compact, delta-encoded history of an algorithm run.
+ *
+ * Each step stores only what changed (settled nodes, distance/predecessor updates,
+ * queue pushes and pops) and a full checkpoint of the state is kept every
+ * {@code checkpointInterval} steps. {@link AlgorithmStep} objects are rebuilt on demand
+ * by replaying at most {@code checkpointInterval - 1} deltas from the nearest checkpoint,
+ * so the trace behaves like an ordinary read-only list of steps.
+ *
+ * A checkpoint holds state for every node, so by default the interval grows with the run:
+ * it is doubled, dropping every other checkpoint, whenever it falls below
+ * {@code sqrt(nodes * steps)}. Checkpoints then take {@code O(sqrt(nodes * steps))} memory
+ * in total instead of {@code O(nodes * steps / 64)}, and rebuilding a step replays at most
+ * as many deltas as it copies node entries anyway.
+ */
+public final class AlgorithmTrace extends AbstractList<AlgorithmStep> implements RandomAccess, Serializable {
+    private static final long serialVersionUID = 1L;
+
+    public static final int DEFAULT_CHECKPOINT_INTERVAL = 64;
+
+    private final int checkpointInterval;
+    private final List<State> checkpoints;
+    private final List<StepDelta> deltas;
+
+    private AlgorithmTrace(int checkpointInterval, List<State> checkpoints, List<StepDelta> deltas) {
+        this.checkpointInterval = checkpointInterval;
+        this.checkpoints = checkpoints;
+        this.deltas = deltas;
+    }
+
+    @Override
+    public AlgorithmStep get(int index) {
+        if (index < 0 || index >= deltas.size()) {
+            throw new IndexOutOfBoundsException("step index " + index + " out of range [0, " + deltas.size() + ")");
+        }
+        int checkpointIndex = index / checkpointInterval;
+        int first = checkpointIndex * checkpointInterval;
+        StepDelta delta = deltas.get(index);
+        if (index == first) {
+            // Checkpoints are never modified, so the step can share their collections
+            return checkpoints.get(checkpointIndex).toStep(delta);
+        }
+        State state = checkpoints.get(checkpointIndex).copy();
+        for (int i = first + 1; i <= index; i++) {
+            deltas.get(i).applyTo(state);
+        }
+        // The replayed state is handed to the step rather than copied again
+        return state.toStep(delta);
+    }
+
+    @Override
+    public int size() {
+        return deltas.size();
+    }
+
+    public int getCheckpointInterval() { return checkpointInterval; }
+
+    public int getCheckpointCount() { return checkpoints.size(); }
+
+    /**
+     * Incrementally builds an {@link AlgorithmTrace}. Algorithms report state changes as they
+     * happen and close each step with {@link #endStep(Node, String)}.
+     */
+    static final class Recorder {
+        private final boolean adaptive;
+        private final long nodeCount;
+        private int checkpointInterval;
+        private final State live = new State();
+        private final List<State> checkpoints = new ArrayList<>();
+        private final List<StepDelta> deltas = new ArrayList<>();
+        private StepDelta pending = new StepDelta();
+
+        /** Recorder whose checkpoint interval starts at {@link #DEFAULT_CHECKPOINT_INTERVAL} and grows with the run. */
+        Recorder(Collection<Node> nodes) {
+            this(nodes, DEFAULT_CHECKPOINT_INTERVAL, true);
+        }
+
+        /** Recorder with a fixed checkpoint interval. */
+        Recorder(Collection<Node> nodes, int checkpointInterval) {
+            this(nodes, checkpointInterval, false);
+        }
+
+        private Recorder(Collection<Node> nodes, int checkpointInterval, boolean adaptive) {
+            if (checkpointInterval < 1) {
+                throw new IllegalArgumentException("checkpointInterval must be >= 1");
+            }
+            this.checkpointInterval = checkpointInterval;
+            this.adaptive = adaptive;
+            this.nodeCount = nodes.size();
+            for (Node n : nodes) {
+                live.distances.put(n, Double.POSITIVE_INFINITY);
+                live.predecessors.put(n, null);
+            }
+        }
+
+        void settle(Node node) {
+            pending.settled.add(node);
+            live.visited.add(node);
+        }
+
+        void update(Node node, double distance, Node predecessor) {
+            pending.updatedNodes.add(node);
+            pending.updatedDistances.add(distance);
+            pending.updatedPredecessors.add(predecessor);
+            live.distances.put(node, distance);
+            live.predecessors.put(node, predecessor);
+        }
+
+        void push(Node node, double key) {
+            pending.pushedNodes.add(node);
+            pending.pushedKeys.add(key);
+            live.push(node, key);
+        }
+
+        void pop(Node node) {
+            pending.popped.add(node);
+            live.pop(node);
+        }
+
+        void endStep(Node current, String description) {
+            int stepNumber = deltas.size();
+            pending.stepNumber = stepNumber;
+            pending.currentNode = current;
+            pending.description = description == null ? "" : description;
+            pending.trimToSize();
+            deltas.add(pending);
+            if (adaptive) {
+                while ((long) checkpointInterval * checkpointInterval < nodeCount * deltas.size()
+                        && checkpointInterval <= Integer.MAX_VALUE / 2) {
+                    widenCheckpointInterval();
+                }
+            }
+            if (stepNumber % checkpointInterval == 0) {
+                checkpoints.add(live.copy());
+            }
+            pending = new StepDelta();
+        }
+
+        /** Doubles the interval, keeping the checkpoints that fall on multiples of the new one. */
+        private void widenCheckpointInterval() {
+            int kept = 0;
+            for (int i = 0; i < checkpoints.size(); i += 2) {
+                checkpoints.set(kept++, checkpoints.get(i));
+            }
+            checkpoints.subList(kept, checkpoints.size()).clear();
+            checkpointInterval *= 2;
+        }
+
+        int stepCount() {
+            return deltas.size();
+        }
+
+        AlgorithmTrace build() {
+            return new AlgorithmTrace(checkpointInterval, List.copyOf(checkpoints), List.copyOf(deltas));
+        }
+    }
+
+    /** Changes made during a single step. */
+    private static final class StepDelta implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private int stepNumber;
+        private Node currentNode;
+        private String description;
+        private final ArrayList<Node> settled = new ArrayList<>(1);
+        private final ArrayList<Node> updatedNodes = new ArrayList<>(2);
+        private final ArrayList<Double> updatedDistances = new ArrayList<>(2);
+        private final ArrayList<Node> updatedPredecessors = new ArrayList<>(2);
+        private final ArrayList<Node> pushedNodes = new ArrayList<>(2);
+        private final ArrayList<Double> pushedKeys = new ArrayList<>(2);
+        private final ArrayList<Node> popped = new ArrayList<>(1);
+
+        void applyTo(State state) {
+            // Same order as the recorder: pops precede settles and relaxations within a step
+            for (Node n : popped) state.pop(n);
+            state.visited.addAll(settled);
+            for (int i = 0; i < updatedNodes.size(); i++) {
+                state.distances.put(updatedNodes.get(i), updatedDistances.get(i));
+                state.predecessors.put(updatedNodes.get(i), updatedPredecessors.get(i));
+            }
+            for (int i = 0; i < pushedNodes.size(); i++) {
+                state.push(pushedNodes.get(i), pushedKeys.get(i));
+            }
+        }
+
+        void trimToSize() {
+            settled.trimToSize();
+            updatedNodes.trimToSize();
+            updatedDistances.trimToSize();
+            updatedPredecessors.trimToSize();
+            pushedNodes.trimToSize();
+            pushedKeys.trimToSize();
+            popped.trimToSize();
+        }
+    }
+
+    /** Full algorithm state used for checkpoints and replay. */
+    private static final class State implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private final Set<Node> visited = new HashSet<>();
+        private final Map<Node, Double> distances = new HashMap<>();
+        private final Map<Node, Node> predecessors = new HashMap<>();
+        private final List<QueueEntry> queue = new ArrayList<>();
+
+        void push(Node node, double key) {
+            queue.add(new QueueEntry(node, key));
+        }
+
+        void pop(Node node) {
+            // A priority queue poll removes the entry with the smallest key for that node
+            int best = -1;
+            for (int i = 0; i < queue.size(); i++) {
+                QueueEntry e = queue.get(i);
+                if (e.node.equals(node) && (best < 0 || e.key < queue.get(best).key)) {
+                    best = i;
+                }
+            }
+            if (best >= 0) queue.remove(best);
+        }
+
+        State copy() {
+            State s = new State();
+            s.visited.addAll(visited);
+            s.distances.putAll(distances);
+            s.predecessors.putAll(predecessors);
+            s.queue.addAll(queue);
+            return s;
+        }
+
+        AlgorithmStep toStep(StepDelta delta) {
+            List<QueueEntry> ordered = new ArrayList<>(queue);
+            ordered.sort(Comparator.comparingDouble(e -> e.key));
+            List<Node> pq = new ArrayList<>(ordered.size());
+            for (QueueEntry e : ordered) pq.add(e.node);
+            return AlgorithmStep.wrap(delta.stepNumber, delta.currentNode, Collections.unmodifiableSet(visited),
+                    Collections.unmodifiableMap(distances), Collections.unmodifiableMap(predecessors),
+                    Collections.unmodifiableList(pq), delta.description);
+        }
+    }
+
+    private static final class QueueEntry implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private final Node node;
+        private final double key;
+
+        QueueEntry(Node node, double key) {
+            this.node = node;
+            this.key = key;
+        }
+    }
+}
@@ -0,0 +1,229 @@
+package com.shortestpath.algorithm;
+
+import com.shortestpath.model.Edge;
+import com.shortestpath.model.Node;
+import com.shortestpath.model.WeightedGraph;
+
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * Anytime Repairing A* (ARA*): weighted A* that finds a path quickly and then improves it
+ * for as long as its {@link SearchBudget} allows.
+ *
+ * The first pass orders nodes by {@code g + w * h} with an inflated weight {@code w}, which
+ * expands few nodes and returns a path costing at most {@code w} times the optimum. Each
+ * further pass lowers {@code w} and reuses the previous search: nodes whose distance
+ * improved after they were expanded are kept aside and re-queued, instead of starting over.
+ * After every pass the suboptimality bound is tightened to
+ * {@code min(w, cost / min(g + h))} over the nodes not yet expanded; it reaches 1 once the
+ * path is known to be optimal, at which point the search stops.
+ *
+ * When the budget runs out the best path found so far is returned rather than an exception.
+ * Requires non-negative edge weights and an admissible heuristic; no steps are recorded.
+ */
+public final class AnytimeAStarAlgorithm {
+
+    /** Metric name for the proven ratio between the returned cost and the optimum. */
+    public static final String SUBOPTIMALITY_BOUND = "suboptimalityBound";
+
+    /** Metric name for the heuristic weight of the last completed pass. */
+    public static final String WEIGHT = "weight";
+
+    /** Metric name for the number of completed passes. */
+    public static final String PASSES = "passes";
+
+    public static final double DEFAULT_INITIAL_WEIGHT = 3.0;
+    public static final double DEFAULT_WEIGHT_STEP = 0.5;
+
+    private AnytimeAStarAlgorithm() {}
+
+    public static AlgorithmResult findShortestPath(WeightedGraph graph, Node source, Node target,
+                                                   Heuristic heuristic, SearchBudget budget) {
+        return findShortestPath(graph, source, target, heuristic, DEFAULT_INITIAL_WEIGHT, DEFAULT_WEIGHT_STEP,
+                budget, result -> {});
+    }
+
+    /**
+     * @param initialWeight heuristic weight of the first pass, at least 1
+     * @param weightStep    amount the weight is lowered by after each pass
+     * @param onImprovement called with each improved path as soon as a pass completes
+     * @return the best path found, with the {@link #SUBOPTIMALITY_BOUND}, {@link #WEIGHT} and
+     *         {@link #PASSES} metrics; no path and an infinite bound if the budget ran out
+     *         before the first pass completed
+     */
+    public static AlgorithmResult findShortestPath(WeightedGraph graph, Node source, Node target,
+                                                   Heuristic heuristic, double initialWeight, double weightStep,
+                                                   SearchBudget budget, Consumer<AlgorithmResult> onImprovement) {
+        if (graph == null) throw new IllegalArgumentException("graph must not be null");
+        if (source == null) throw new IllegalArgumentException("source must not be null");
+        if (target == null) throw new IllegalArgumentException("target must not be null");
+        if (heuristic == null) throw new IllegalArgumentException("heuristic must not be null");
+        if (budget == null) throw new IllegalArgumentException("budget must not be null");
+        if (onImprovement == null) throw new IllegalArgumentException("onImprovement must not be null");
+        if (!(initialWeight >= 1.0) || Double.isInfinite(initialWeight)) {
+            throw new IllegalArgumentException("initialWeight must be a finite value >= 1");
+        }
+        if (!(weightStep > 0.0)) throw new IllegalArgumentException("weightStep must be > 0");
+        if (!graph.containsNode(source.getId())) throw new IllegalArgumentException("source not in graph");
+        if (!graph.containsNode(target.getId())) throw new IllegalArgumentException("target not in graph");
+
+        return new Search(graph, source, target, heuristic, budget).run(initialWeight, weightStep, onImprovement);
+    }
+
+    /** State shared by all passes of one query. */
+    private static final class Search {
+        private final WeightedGraph graph;
+        private final Node source;
+        private final Node target;
+        private final Heuristic heuristic;
+        private final SearchBudget budget;
+        private final long start = System.currentTimeMillis();
+
+        private final Map<Node, Double> g = new HashMap<>();
+        private final Map<Node, Node> parent = new HashMap<>();
+        private final Map<Node, Double> h = new HashMap<>();
+        private final Set<Node> open = new HashSet<>();
+        private final Set<Node> closed = new HashSet<>();
+        private final Set<Node> inconsistent = new HashSet<>();
+        // Entries carry the key they were queued with; stale ones are skipped when polled
+        private final PriorityQueue<Map.Entry<Node, Double>> queue = new PriorityQueue<>(Map.Entry.comparingByValue());
+        private double weight;
+        private int expansions;
+
+        Search(WeightedGraph graph, Node source, Node target, Heuristic heuristic, SearchBudget budget) {
+            this.graph = graph;
+            this.source = source;
+            this.target = target;
+            this.heuristic = heuristic;
+            this.budget = budget;
+        }
+
+        AlgorithmResult run(double initialWeight, double weightStep, Consumer<AlgorithmResult> onImprovement) {
+            weight = initialWeight;
+            g.put(source, 0.0);
+            open.add(source);
+            queue.add(Map.entry(source, key(source)));
+
+            List<Node> bestPath = null;
+            double bestCost = Double.POSITIVE_INFINITY;
+            double bound = Double.POSITIVE_INFINITY;
+            double passWeight = weight;
+            int passes = 0;
+            while (improvePath()) {
+                passes++;
+                passWeight = weight;
+                List<Node> path = currentPath();
+                double cost = pathCost(path);
+                boolean improved = bestPath == null || cost < bestCost;
+                if (improved) {
+                    bestPath = path;
+                    bestCost = cost;
+                }
+                // Every reachable node was expanded if there is still no path, so none exists
+                double lowerBound = lowerBound();
+                bound = bestPath.isEmpty() || bestCost <= lowerBound ? 1.0 : Math.min(weight, bestCost / lowerBound);
+                if (improved) onImprovement.accept(result(bestPath, bestCost, bound, passWeight, passes));
+                if (bound <= 1.0) break;
+
+                weight = Math.max(1.0, Math.min(weight - weightStep, bound));
+                open.addAll(inconsistent);
+                inconsistent.clear();
+                closed.clear();
+                queue.clear();
+                for (Node n : open) queue.add(Map.entry(n, key(n)));
+            }
+            return result(bestPath == null ? List.of() : bestPath, bestCost, bound, passWeight, passes);
+        }
+
+        /**
+         * Expands nodes until the target's key is the smallest in the queue. Returns false if the
+         * budget ran out first, in which case the pass is abandoned.
+         */
+        private boolean improvePath() {
+            while (true) {
+                if (budget.shouldStop()) return false;
+                Map.Entry<Node, Double> head = queue.peek();
+                while (head != null && (!open.contains(head.getKey()) || head.getValue() != key(head.getKey()))) {
+                    queue.poll();
+                    head = queue.peek();
+                }
+                if (head == null || key(target) <= head.getValue()) return true;
+
+                Node current = queue.poll().getKey();
+                open.remove(current);
+                closed.add(current);
+                expansions++;
+                double currentG = g(current);
+                for (Edge e : graph.getOutgoingEdges(current)) {
+                    Node neighbor = e.getTarget();
+                    double alt = currentG + e.getWeight();
+                    if (alt < g(neighbor)) {
+                        g.put(neighbor, alt);
+                        parent.put(neighbor, current);
+                        if (closed.contains(neighbor)) {
+                            inconsistent.add(neighbor);
+                        } else {
+                            open.add(neighbor);
+                            queue.add(Map.entry(neighbor, key(neighbor)));
+                        }
+                    }
+                }
+            }
+        }
+
+        /** Smallest {@code g + h} over the nodes that may still lead to a cheaper path. */
+        private double lowerBound() {
+            double min = Double.POSITIVE_INFINITY;
+            for (Node n : open) min = Math.min(min, g(n) + h(n));
+            for (Node n : inconsistent) min = Math.min(min, g(n) + h(n));
+            // Nothing left to expand: the current path is optimal
+            return min == Double.POSITIVE_INFINITY ? g(target) : min;
+        }
+
+        private double key(Node n) {
+            return g(n) + weight * h(n);
+        }
+
+        private double g(Node n) {
+            return g.getOrDefault(n, Double.POSITIVE_INFINITY);
+        }
+
+        private double h(Node n) {
+            return h.computeIfAbsent(n, x -> heuristic.estimate(x, target));
+        }
+
+        private List<Node> currentPath() {
+            if (g(target) == Double.POSITIVE_INFINITY) return List.of();
+            List<Node> path = new ArrayList<>();
+            for (Node n = target; n != null; n = n.equals(source) ? null : parent.get(n)) path.add(n);
+            Collections.reverse(path);
+            return path;
+        }
+
+        /**
+         * Cost of walking {@code path} by its cheapest edges. Predecessors may have improved since
+         * the target's distance was set, so this can be lower than {@code g(target)}.
+         */
+        private double pathCost(List<Node> path) {
+            if (path.isEmpty()) return Double.POSITIVE_INFINITY;
+            double cost = 0.0;
+            for (int i = 1; i < path.size(); i++) {
+                double step = Double.POSITIVE_INFINITY;
+                for (Edge e : graph.getOutgoingEdges(path.get(i - 1))) {
+                    if (e.getTarget().equals(path.get(i))) step = Math.min(step, e.getWeight());
+                }
+                cost += step;
+            }
+            return cost;
+        }
+
+        private AlgorithmResult result(List<Node> path, double cost, double bound, double passWeight, int passes) {
+            return new AlgorithmResult(List.of(), path, cost, source, target,
+                    System.currentTimeMillis() - start, expansions)
+                    .withMetric(SUBOPTIMALITY_BOUND, bound)
+                    .withMetric(WEIGHT, passWeight)
+                    .withMetric(PASSES, passes);
+        }
+    }
+}
@@ -8,7 +8,8 @@ import java.util.*;
 
 /**
  * Bellman-Ford shortest path algorithm supporting negative edge weights.
- * Detects negative cycles and provides step-by-step snapshots for visualization.
+ * Detects negative cycles and provides step-by-step snapshots for visualization;
+ * the amount of recorded state is selected with a {@link RecordingLevel}.
  *
  * Time complexity: O(V * E)
  */
@@ -17,6 +18,22 @@ public final class BellmanFordAlgorithm {
     private BellmanFordAlgorithm() {}
 
     public static AlgorithmResult findShortestPath(WeightedGraph graph, Node source, Node target) {
+        return findShortestPath(graph, source, target, RecordingLevel.FULL);
+    }
+
+    public static AlgorithmResult findShortestPath(WeightedGraph graph, Node source, Node target,
+                                                   RecordingLevel level) {
+        return findShortestPath(graph, source, target, level, SearchBudget.unlimited());
+    }
+
+    /**
+     * @throws java.util.concurrent.CancellationException if {@code budget} is cancelled or runs
+     *         out before the search finishes
+     */
+    public static AlgorithmResult findShortestPath(WeightedGraph graph, Node source, Node target,
+                                                   RecordingLevel level, SearchBudget budget) {
+        if (budget == null) throw new IllegalArgumentException("budget must not be null");
+        if (level == null) throw new IllegalArgumentException("level must not be null");
         if (graph == null) throw new IllegalArgumentException("graph must not be null");
         if (source == null) throw new IllegalArgumentException("source must not be null");
         if (target == null) throw new IllegalArgumentException("target must not be null");
@@ -38,10 +55,17 @@ public final class BellmanFordAlgorithm {
         }
         dist.put(source, 0.0);
 
-        steps.add(createStepSnapshot(0, dist, pred,
-                "Initialized source node " + source + " with distance 0"));
+        // Full traces are delta-encoded; nodes count as visited once their distance becomes finite
+        AlgorithmTrace.Recorder trace = level.recordsEveryStep() ? new AlgorithmTrace.Recorder(nodes) : null;
+        if (trace != null) {
+            trace.update(source, 0.0, null);
+            trace.settle(source);
+            trace.endStep(null, "Initialized source node " + source + " with distance 0");
+        } else if (level.recordsAnySteps()) {
+            steps.add(createStepSnapshot(0, dist, pred,
+                    "Initialized source node " + source + " with distance 0"));
+        }
 
-        int step = 1;
         int nodesVisited = 0; // approximation: count nodes that ever become finite
 
         // V - 1 iterations
@@ -50,24 +74,33 @@ public final class BellmanFordAlgorithm {
             boolean updated = false;
             int updatesThisIter = 0;
             for (Edge e : edges) {
+                budget.check();
                 Node u = e.getSource();
                 Node v = e.getTarget();
                 double w = e.getWeight();
                 double du = dist.get(u);
                 if (!Double.isInfinite(du)) {
                     double alt = du + w;
-                    if (alt < dist.get(v)) {
+                    double dv = dist.get(v);
+                    if (alt < dv) {
                         dist.put(v, alt);
                         pred.put(v, u);
                         updated = true;
                         updatesThisIter++;
+                        if (trace != null) {
+                            if (Double.isInfinite(dv)) trace.settle(v);
+                            trace.update(v, alt, u);
+                        }
                     }
                 }
             }
-            // Track nodes visited (finite distance) after this iteration
+            if (trace != null) {
+                trace.endStep(null, "Iteration " + i + ": Relaxed edges, updated " + updatesThisIter + " distances");
+            }
+        }
+        // Track nodes visited (finite distance) after the last iteration
+        if (V > 1) {
             nodesVisited = countNodesWithFiniteDistance(dist);
-            steps.add(createStepSnapshot(step++, dist, pred,
-                    "Iteration " + i + ": Relaxed edges, updated " + updatesThisIter + " distances"));
         }
 
         // Negative cycle detection
@@ -83,20 +116,39 @@ public final class BellmanFordAlgorithm {
             }
         }
         if (negativeCycle) {
-            steps.add(createStepSnapshot(step, dist, pred, "Negative cycle detected"));
+            if (trace != null) {
+                trace.endStep(null, "Negative cycle detected");
+            } else if (level.recordsAnySteps()) {
+                steps.add(createStepSnapshot(1, dist, pred, "Negative cycle detected"));
+            }
             long timeMs = System.currentTimeMillis() - start;
-            return new AlgorithmResult(steps, List.of(), Double.POSITIVE_INFINITY,
-                    source, target, timeMs, nodesVisited);
+            AlgorithmResult result = new AlgorithmResult(trace != null ? trace.build() : steps, List.of(),
+                    Double.POSITIVE_INFINITY, source, target, timeMs, nodesVisited);
+            return withNegativeCycle(result, graph, source);
+        }
+
+        if (level == RecordingLevel.SUMMARY) {
+            steps.add(createStepSnapshot(1, dist, pred,
+                    "Iteration " + (V - 1) + ": Finished relaxing edges"));
         }
 
         List<Node> path = reconstructPath(pred, source, target);
         double cost = dist.getOrDefault(target, Double.POSITIVE_INFINITY);
         long timeMs = System.currentTimeMillis() - start;
-        return new AlgorithmResult(steps, path,
+        return new AlgorithmResult(trace != null ? trace.build() : steps, path,
                 (path.isEmpty() && !source.equals(target)) ? Double.POSITIVE_INFINITY : cost,
                 source, target, timeMs, nodesVisited);
     }
 
+    /**
+     * Attaches the negative cycle reachable from {@code source}. Pass-based detection only knows
+     * that some distance still drops, so the cycle itself is found with subtree disassembly.
+     */
+    static AlgorithmResult withNegativeCycle(AlgorithmResult result, WeightedGraph graph, Node source) {
+        List<Node> cycle = TarjanBellmanFordAlgorithm.findNegativeCycle(graph, source);
+        return cycle.isEmpty() ? result : result.withNegativeCycle(cycle);
+    }
+
     private static List<Node> reconstructPath(Map<Node, Node> predecessors, Node source, Node target) {
         List<Node> path = new ArrayList<>();
         if (source.equals(target)) {
@@ -0,0 +1,58 @@
+package com.shortestpath.algorithm;
+
+import com.shortestpath.model.Node;
+import com.shortestpath.model.WeightedGraph;
+
+/**
+ * Bidirectional A* using the same scaled Euclidean heuristic as {@link AStarAlgorithm} by default,
+ * or any {@link Heuristic} that bounds distances in both directions (e.g. {@link LandmarkIndex}).
+ * Both searches share the balanced potential {@code p(v) = (h(v, target) - h(source, v)) / 2},
+ * forward keys being {@code g_f + p} and backward keys {@code g_b - p}. Averaging keeps the
+ * reduced edge costs identical in both directions, so the usual bidirectional stopping rule
+ * stays correct whenever the heuristic is consistent, as every scaled Euclidean bound is.
+ *
+ * The result reports the nodes settled by each direction as the
+ * {@link BidirectionalDijkstraAlgorithm#FORWARD_NODES_VISITED} and
+ * {@link BidirectionalDijkstraAlgorithm#BACKWARD_NODES_VISITED} metrics.
+ */
+public final class BidirectionalAStarAlgorithm {
+
+    private BidirectionalAStarAlgorithm() {}
+
+    public static AlgorithmResult findShortestPath(WeightedGraph graph, Node source, Node target) {
+        return findShortestPath(graph, source, target, RecordingLevel.FULL);
+    }
+
+    public static AlgorithmResult findShortestPath(WeightedGraph graph, Node source, Node target,
+                                                   RecordingLevel level) {
+        return findShortestPath(graph, source, target, level, EuclideanScale.heuristicFor(graph));
+    }
+
+    public static AlgorithmResult findShortestPath(WeightedGraph graph, Node source, Node target,
+                                                   RecordingLevel level, Heuristic heuristic) {
+        return findShortestPath(graph, source, target, level, heuristic, SearchBudget.unlimited());
+    }
+
+    /**
+     * @throws java.util.concurrent.CancellationException if {@code budget} is cancelled or runs
+     *         out before the search finishes
+     */
+    public static AlgorithmResult findShortestPath(WeightedGraph graph, Node source, Node target,
+                                                   RecordingLevel level, Heuristic heuristic,
+                                                   SearchBudget budget) {
+        if (budget == null) throw new IllegalArgumentException("budget must not be null");
+        if (level == null) throw new IllegalArgumentException("level must not be null");
+        if (heuristic == null) throw new IllegalArgumentException("heuristic must not be null");
+        if (graph == null) throw new IllegalArgumentException("graph must not be null");
+        if (source == null) throw new IllegalArgumentException("source must not be null");
+        if (target == null) throw new IllegalArgumentException("target must not be null");
+        if (!graph.containsNode(source.getId())) throw new IllegalArgumentException("source not in graph");
+        if (!graph.containsNode(target.getId())) throw new IllegalArgumentException("target not in graph");
+        if (EuclideanScale.hasNegativeWeights(graph)) {
+            throw new IllegalArgumentException("A* requires non-negative edge weights");
+        }
+
+        return BidirectionalSearch.run(graph, source, target, level,
+                n -> (heuristic.estimate(n, target) - heuristic.estimate(source, n)) / 2.0, budget);
+    }
+}
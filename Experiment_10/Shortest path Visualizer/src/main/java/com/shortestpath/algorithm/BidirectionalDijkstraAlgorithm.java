@@ -0,0 +1,48 @@
+package com.shortestpath.algorithm;
+
+import com.shortestpath.model.Node;
+import com.shortestpath.model.WeightedGraph;
+
+/**
+ * Bidirectional Dijkstra for point-to-point queries on graphs with non-negative edge weights.
+ * A forward search from the source over outgoing edges alternates with a backward search
+ * from the target over incoming edges. The search stops once the smallest keys of both
+ * queues add up to at least the best source-target distance seen so far.
+ *
+ * Trace steps are tagged with the direction that settled the node; distances and
+ * predecessors in the trace belong to the forward search.
+ */
+public final class BidirectionalDijkstraAlgorithm {
+
+    /** Metric names for the number of nodes settled by each search direction. */
+    public static final String FORWARD_NODES_VISITED = "forwardNodesVisited";
+    public static final String BACKWARD_NODES_VISITED = "backwardNodesVisited";
+
+    private BidirectionalDijkstraAlgorithm() {}
+
+    public static AlgorithmResult findShortestPath(WeightedGraph graph, Node source, Node target) {
+        return findShortestPath(graph, source, target, RecordingLevel.FULL);
+    }
+
+    public static AlgorithmResult findShortestPath(WeightedGraph graph, Node source, Node target,
+                                                   RecordingLevel level) {
+        return findShortestPath(graph, source, target, level, SearchBudget.unlimited());
+    }
+
+    /**
+     * @throws java.util.concurrent.CancellationException if {@code budget} is cancelled or runs
+     *         out before the search finishes
+     */
+    public static AlgorithmResult findShortestPath(WeightedGraph graph, Node source, Node target,
+                                                   RecordingLevel level, SearchBudget budget) {
+        if (budget == null) throw new IllegalArgumentException("budget must not be null");
+        if (level == null) throw new IllegalArgumentException("level must not be null");
+        if (graph == null) throw new IllegalArgumentException("graph must not be null");
+        if (source == null) throw new IllegalArgumentException("source must not be null");
+        if (target == null) throw new IllegalArgumentException("target must not be null");
+        if (!graph.containsNode(source.getId())) throw new IllegalArgumentException("source not in graph");
+        if (!graph.containsNode(target.getId())) throw new IllegalArgumentException("target not in graph");
+
+        return BidirectionalSearch.run(graph, source, target, level, n -> 0.0, budget);
+    }
+}
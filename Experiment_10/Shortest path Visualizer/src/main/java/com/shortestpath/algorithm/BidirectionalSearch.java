@@ -0,0 +1,205 @@
+package com.shortestpath.algorithm;
+
+import com.shortestpath.model.Edge;
+import com.shortestpath.model.Node;
+import com.shortestpath.model.WeightedGraph;
+
+import java.util.*;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Shared engine for bidirectional point-to-point searches. The forward search orders its
+ * queue by {@code d_f(v) + p(v)} and the backward search by {@code d_b(v) - p(v)}, where
+ * {@code p} is a forward potential. A zero potential gives bidirectional Dijkstra; an
+ * averaged heuristic potential gives bidirectional A*.
+ */
+final class BidirectionalSearch {
+
+    private BidirectionalSearch() {}
+
+    static AlgorithmResult run(WeightedGraph graph, Node source, Node target, RecordingLevel level,
+                               ToDoubleFunction<Node> potential, SearchBudget budget) {
+        long start = System.currentTimeMillis();
+
+        AlgorithmTrace.Recorder trace = level.recordsEveryStep() ? new AlgorithmTrace.Recorder(graph.getAllNodes()) : null;
+        Search forward = new Search(source, true, potential, trace);
+        Search backward = new Search(target, false, potential, null);
+
+        List<AlgorithmStep> steps = new ArrayList<>();
+        String initDescription = "Initialized forward search at " + source + " and backward search at " + target;
+        if (trace != null) {
+            trace.update(source, 0.0, null);
+            trace.push(source, forward.key(source, 0.0));
+            trace.endStep(null, initDescription);
+        } else if (level.recordsAnySteps()) {
+            steps.add(forward.snapshot(0, null, initDescription));
+        }
+
+        double best = source.equals(target) ? 0.0 : Double.POSITIVE_INFINITY;
+        Node meeting = source.equals(target) ? source : null;
+        Node last = null;
+        boolean forwardTurn = true;
+
+        while (best > 0.0) {
+            budget.check();
+            // Meeting-point rule: no undiscovered path can beat the best one seen so far.
+            // With balanced potentials (p_b = -p_f) the rule holds on the raw queue keys.
+            // An exhausted queue has key +inf; by then the other root was settled and checked.
+            if (forward.peekKey() + backward.peekKey() >= best) break;
+
+            Search active = forwardTurn ? forward : backward;
+            Search other = forwardTurn ? backward : forward;
+            forwardTurn = !forwardTurn;
+
+            Node current = active.pollNext();
+            last = current;
+            if (trace != null) trace.settle(current);
+
+            List<Node> updated = trace != null ? new ArrayList<>() : null;
+            double currentDistance = active.dist.get(current);
+            List<Edge> edges = active.isForward ? graph.getOutgoingEdges(current) : graph.getIncomingEdges(current);
+            for (Edge e : edges) {
+                Node neighbor = active.isForward ? e.getTarget() : e.getSource();
+                if (active.settled.contains(neighbor)) continue;
+                double alt = currentDistance + e.getWeight();
+                if (alt < active.distanceTo(neighbor)) {
+                    active.relax(neighbor, alt, current);
+                    if (trace != null) {
+                        updated.add(neighbor);
+                        if (active.isForward) {
+                            trace.update(neighbor, alt, current);
+                            trace.push(neighbor, active.key(neighbor, alt));
+                        }
+                    }
+                }
+                double otherDistance = other.distanceTo(neighbor);
+                if (!Double.isInfinite(otherDistance) && alt + otherDistance < best) {
+                    best = alt + otherDistance;
+                    meeting = neighbor;
+                }
+            }
+            double otherCurrent = other.distanceTo(current);
+            if (!Double.isInfinite(otherCurrent) && currentDistance + otherCurrent < best) {
+                best = currentDistance + otherCurrent;
+                meeting = current;
+            }
+
+            if (trace != null) {
+                trace.endStep(current, formatDescription(active.isForward, current, updated, best));
+            }
+        }
+
+        int nodesVisited = forward.settled.size() + backward.settled.size();
+        List<Node> path = meeting == null ? List.of() : buildPath(forward, backward, meeting);
+        double cost = path.isEmpty() ? Double.POSITIVE_INFINITY : best;
+
+        if (trace != null) {
+            trace.endStep(meeting, path.isEmpty()
+                    ? "Searches did not meet. No path."
+                    : "Searches met at " + meeting + ". Path cost " + best);
+        } else if (level == RecordingLevel.SUMMARY) {
+            steps.add(forward.snapshot(1, last, "Finished after settling " + forward.settled.size()
+                    + " nodes forward and " + backward.settled.size() + " nodes backward"));
+        }
+
+        long timeMs = System.currentTimeMillis() - start;
+        return new AlgorithmResult(trace != null ? trace.build() : steps, path, cost,
+                source, target, timeMs, nodesVisited)
+                .withMetric(BidirectionalDijkstraAlgorithm.FORWARD_NODES_VISITED, forward.settled.size())
+                .withMetric(BidirectionalDijkstraAlgorithm.BACKWARD_NODES_VISITED, backward.settled.size());
+    }
+
+    private static List<Node> buildPath(Search forward, Search backward, Node meeting) {
+        List<Node> path = new ArrayList<>();
+        for (Node n = meeting; n != null; n = forward.parent.get(n)) {
+            path.add(n);
+        }
+        Collections.reverse(path);
+        for (Node n = backward.parent.get(meeting); n != null; n = backward.parent.get(n)) {
+            path.add(n);
+        }
+        return path;
+    }
+
+    private static String formatDescription(boolean forward, Node current, List<Node> updatedNeighbors, double best) {
+        StringBuilder sb = new StringBuilder();
+        sb.append(forward ? "[forward] " : "[backward] ").append("Visiting node ").append(current);
+        if (updatedNeighbors.isEmpty()) {
+            sb.append(", no updates");
+        } else {
+            sb.append(", updated neighbors: ");
+            for (int i = 0; i < updatedNeighbors.size(); i++) {
+                if (i > 0) sb.append(", ");
+                sb.append(updatedNeighbors.get(i));
+            }
+        }
+        if (!Double.isInfinite(best)) {
+            sb.append(", best meeting cost ").append(best);
+        }
+        return sb.toString();
+    }
+
+    /** State of one search direction; distances are only stored for reached nodes. */
+    private static final class Search {
+        private final boolean isForward;
+        private final Map<Node, Double> dist = new HashMap<>();
+        private final Map<Node, Node> parent = new HashMap<>();
+        private final Set<Node> settled = new HashSet<>();
+        private final PriorityQueue<Map.Entry<Node, Double>> queue =
+                new PriorityQueue<>(Map.Entry.comparingByValue());
+        private final ToDoubleFunction<Node> potential;
+        private final AlgorithmTrace.Recorder trace;
+
+        Search(Node root, boolean isForward, ToDoubleFunction<Node> potential, AlgorithmTrace.Recorder trace) {
+            this.isForward = isForward;
+            this.potential = potential;
+            this.trace = trace;
+            dist.put(root, 0.0);
+            queue.add(Map.entry(root, key(root, 0.0)));
+        }
+
+        /** Queue key: distance plus the forward potential, or minus it for the backward search. */
+        double key(Node n, double d) {
+            double p = potential.applyAsDouble(n);
+            return isForward ? d + p : d - p;
+        }
+
+        double distanceTo(Node n) {
+            Double d = dist.get(n);
+            return d == null ? Double.POSITIVE_INFINITY : d;
+        }
+
+        void relax(Node n, double d, Node from) {
+            dist.put(n, d);
+            parent.put(n, from);
+            queue.add(Map.entry(n, key(n, d)));
+        }
+
+        /** Smallest key of a node that is not settled yet, discarding stale entries. */
+        double peekKey() {
+            while (!queue.isEmpty() && settled.contains(queue.peek().getKey())) {
+                Node stale = queue.poll().getKey();
+                if (trace != null) trace.pop(stale);
+            }
+            return queue.isEmpty() ? Double.POSITIVE_INFINITY : queue.peek().getValue();
+        }
+
+        /** Only called after {@link #peekKey()} found an unsettled node. */
+        Node pollNext() {
+            while (!queue.isEmpty()) {
+                Node n = queue.poll().getKey();
+                if (trace != null) trace.pop(n);
+                if (settled.add(n)) return n;
+            }
+            return null;
+        }
+
+        AlgorithmStep snapshot(int stepNumber, Node current, String description) {
+            List<Map.Entry<Node, Double>> entries = new ArrayList<>(queue);
+            entries.sort(Map.Entry.comparingByValue());
+            List<Node> pq = new ArrayList<>(entries.size());
+            for (Map.Entry<Node, Double> e : entries) pq.add(e.getKey());
+            return new AlgorithmStep(stepNumber, current, settled, dist, parent, pq, description);
+        }
+    }
+}
@@ -0,0 +1,328 @@
+package com.shortestpath.algorithm;
+
+import com.shortestpath.model.Node;
+import com.shortestpath.model.WeightedGraph;
+
+import java.util.*;
+
+/**
+ * Dijkstra for graphs whose edge weights are non-negative integers, with monotone
+ * integer-key priority queues instead of a comparison heap.
+ *
+ * Dial's bucket queue keeps one bucket per distance modulo {@code C + 1} ({@code C} the
+ * largest weight), so every operation is O(1) and a query costs O(E + D) for target
+ * distance {@code D}. The radix heap keeps buckets by the highest bit in which a key differs
+ * from the last extracted minimum, giving O(E + V log C) for any weight range. The queue is
+ * chosen from the weights when the instance is built: Dial for small maxima, the radix heap
+ * for larger ones, and an ordinary binary heap if some weight is not an integer.
+ *
+ * The engine works on a snapshot of the graph; rebuild it after the graph changes.
+ */
+public final class BucketQueueDijkstra {
+
+    /** Priority queue used by the search. */
+    public enum QueueType {
+        /** Dial's circular array of {@code maxWeight + 1} buckets. */
+        DIAL,
+        /** Radix heap over 64-bit keys. */
+        RADIX_HEAP,
+        /** Indexed binary heap; works for any non-negative weights. */
+        BINARY_HEAP
+    }
+
+    /** Largest weight for which Dial's queue is chosen automatically (or the node count, if larger). */
+    static final int DIAL_MAX_WEIGHT = 1 << 12;
+
+    private final WeightedGraph graph;
+    private final CompactGraph g;
+    private final long[] weight;
+    private final long maxWeight;
+    private final QueueType queueType;
+
+    private BucketQueueDijkstra(WeightedGraph graph, CompactGraph g, QueueType queueType) {
+        this.graph = graph;
+        this.g = g;
+        this.queueType = queueType;
+        this.weight = new long[g.edgeCount()];
+        long max = 0;
+        for (int e = 0; e < weight.length; e++) {
+            weight[e] = (long) g.outWeight[e];
+            max = Math.max(max, weight[e]);
+        }
+        this.maxWeight = max;
+    }
+
+    /** Builds an engine with the queue {@link #chooseQueue(WeightedGraph)} selects. */
+    public static BucketQueueDijkstra build(WeightedGraph graph) {
+        return build(graph, chooseQueue(graph));
+    }
+
+    /**
+     * @throws IllegalArgumentException if a weight is negative, or if {@code queueType} needs
+     *                                  integer weights and some weight is not an integer
+     */
+    public static BucketQueueDijkstra build(WeightedGraph graph, QueueType queueType) {
+        if (graph == null) throw new IllegalArgumentException("graph must not be null");
+        if (queueType == null) throw new IllegalArgumentException("queueType must not be null");
+        CompactGraph g = CompactGraph.of(graph);
+        if (g.hasNegativeWeights()) {
+            throw new IllegalArgumentException("bucket queues require non-negative edge weights");
+        }
+        if (queueType != QueueType.BINARY_HEAP && !integral(g)) {
+            throw new IllegalArgumentException(queueType + " requires integer edge weights");
+        }
+        if (queueType == QueueType.DIAL && g.maxWeight() >= Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("weights too large for a bucket per distance");
+        }
+        return new BucketQueueDijkstra(graph, g, queueType);
+    }
+
+    /**
+     * Dial when all weights are integers no larger than {@value #DIAL_MAX_WEIGHT} or the node
+     * count, the radix heap for other integer weights, otherwise the binary heap.
+     */
+    public static QueueType chooseQueue(WeightedGraph graph) {
+        CompactGraph g = CompactGraph.of(graph);
+        if (g.hasNegativeWeights() || !integral(g)) return QueueType.BINARY_HEAP;
+        return g.maxWeight() <= Math.max(DIAL_MAX_WEIGHT, g.size()) ? QueueType.DIAL : QueueType.RADIX_HEAP;
+    }
+
+    private static boolean integral(CompactGraph g) {
+        for (double w : g.outWeight) {
+            if (w != Math.rint(w) || w > Long.MAX_VALUE / 4) return false;
+        }
+        return true;
+    }
+
+    public QueueType getQueueType() { return queueType; }
+
+    public AlgorithmResult findShortestPath(Node source, Node target) {
+        if (source == null) throw new IllegalArgumentException("source must not be null");
+        if (target == null) throw new IllegalArgumentException("target must not be null");
+        if (!g.contains(source)) throw new IllegalArgumentException("source not in graph");
+        if (!g.contains(target)) throw new IllegalArgumentException("target not in graph");
+
+        long start = System.currentTimeMillis();
+        int s = g.indexOf(source);
+        int t = g.indexOf(target);
+        int n = g.size();
+        double[] dist = new double[n];
+        int[] parent = new int[n];
+        Arrays.fill(dist, Double.POSITIVE_INFINITY);
+        Arrays.fill(parent, -1);
+        int settled = switch (queueType) {
+            case DIAL -> dial(s, t, dist, parent);
+            case RADIX_HEAP -> radix(s, t, dist, parent);
+            case BINARY_HEAP -> binary(s, t, dist, parent);
+        };
+
+        List<Node> path = new ArrayList<>();
+        if (dist[t] != Double.POSITIVE_INFINITY) {
+            for (int v = t; v >= 0; v = v == s ? -1 : parent[v]) path.add(g.node(v));
+            Collections.reverse(path);
+        }
+        return new AlgorithmResult(List.of(), path, dist[t], source, target,
+                System.currentTimeMillis() - start, settled);
+    }
+
+    private int dial(int s, int t, double[] dist, int[] parent) {
+        int n = g.size();
+        int buckets = (int) maxWeight + 1;
+        long[] d = new long[n];
+        Arrays.fill(d, Long.MAX_VALUE);
+        // Doubly linked bucket lists so a decreased key can move in O(1)
+        int[] head = new int[buckets];
+        int[] next = new int[n];
+        int[] prev = new int[n];
+        boolean[] queued = new boolean[n];
+        Arrays.fill(head, -1);
+
+        d[s] = 0;
+        link(s, 0, head, next, prev, queued);
+        int size = 1;
+        int settled = 0;
+        long current = 0;
+        while (size > 0) {
+            while (head[(int) (current % buckets)] < 0) current++;
+            int u = head[(int) (current % buckets)];
+            unlink(u, (int) (current % buckets), head, next, prev, queued);
+            size--;
+            settled++;
+            if (u == t) break;
+            for (int e = g.outStart[u]; e < g.outStart[u + 1]; e++) {
+                int v = g.outTarget[e];
+                long alt = d[u] + weight[e];
+                if (alt < d[v]) {
+                    if (queued[v]) unlink(v, (int) (d[v] % buckets), head, next, prev, queued);
+                    else size++;
+                    d[v] = alt;
+                    parent[v] = u;
+                    link(v, (int) (alt % buckets), head, next, prev, queued);
+                }
+            }
+        }
+        for (int v = 0; v < n; v++) {
+            if (d[v] != Long.MAX_VALUE) dist[v] = d[v];
+        }
+        return settled;
+    }
+
+    private static void link(int v, int bucket, int[] head, int[] next, int[] prev, boolean[] queued) {
+        next[v] = head[bucket];
+        prev[v] = -1;
+        if (head[bucket] >= 0) prev[head[bucket]] = v;
+        head[bucket] = v;
+        queued[v] = true;
+    }
+
+    private static void unlink(int v, int bucket, int[] head, int[] next, int[] prev, boolean[] queued) {
+        if (prev[v] >= 0) next[prev[v]] = next[v];
+        else head[bucket] = next[v];
+        if (next[v] >= 0) prev[next[v]] = prev[v];
+        queued[v] = false;
+    }
+
+    private int radix(int s, int t, double[] dist, int[] parent) {
+        int n = g.size();
+        long[] d = new long[n];
+        Arrays.fill(d, Long.MAX_VALUE);
+        boolean[] done = new boolean[n];
+        RadixHeap heap = new RadixHeap();
+        d[s] = 0;
+        heap.push(0, s);
+        int settled = 0;
+        while (!heap.isEmpty()) {
+            long key = heap.minKey();
+            int u = heap.pop();
+            // Entries are never removed on decrease-key, so skip the outdated ones
+            if (done[u] || key != d[u]) continue;
+            done[u] = true;
+            settled++;
+            if (u == t) break;
+            for (int e = g.outStart[u]; e < g.outStart[u + 1]; e++) {
+                int v = g.outTarget[e];
+                long alt = d[u] + weight[e];
+                if (alt < d[v]) {
+                    d[v] = alt;
+                    parent[v] = u;
+                    heap.push(alt, v);
+                }
+            }
+        }
+        for (int v = 0; v < n; v++) {
+            if (d[v] != Long.MAX_VALUE) dist[v] = d[v];
+        }
+        return settled;
+    }
+
+    private int binary(int s, int t, double[] dist, int[] parent) {
+        IndexedMinHeap heap = new IndexedMinHeap(g.size());
+        dist[s] = 0.0;
+        heap.insertOrDecrease(s, 0.0);
+        int settled = 0;
+        while (!heap.isEmpty()) {
+            int u = heap.poll();
+            settled++;
+            if (u == t) break;
+            for (int e = g.outStart[u]; e < g.outStart[u + 1]; e++) {
+                int v = g.outTarget[e];
+                double alt = dist[u] + g.outWeight[e];
+                if (alt < dist[v]) {
+                    dist[v] = alt;
+                    parent[v] = u;
+                    heap.insertOrDecrease(v, alt);
+                }
+            }
+        }
+        return settled;
+    }
+
+    /**
+     * Runs {@code queries} random queries with each queue type that applies to this graph and
+     * with {@link DijkstraAlgorithm} (a {@link PriorityQueue}), returning total milliseconds
+     * per variant keyed by queue type name and {@code "PriorityQueue"}.
+     */
+    public Map<String, Double> benchmark(int queries, long seed) {
+        if (queries < 1) throw new IllegalArgumentException("queries must be >= 1");
+        List<QueueType> types = new ArrayList<>(List.of(QueueType.BINARY_HEAP));
+        if (queueType != QueueType.BINARY_HEAP) types.addAll(List.of(QueueType.DIAL, QueueType.RADIX_HEAP));
+        Map<String, Double> timings = new LinkedHashMap<>();
+        if (g.size() == 0) return timings;
+        Random random = new Random(seed);
+        int[][] pairs = new int[queries][];
+        for (int q = 0; q < queries; q++) pairs[q] = new int[]{random.nextInt(g.size()), random.nextInt(g.size())};
+
+        long t0 = System.nanoTime();
+        for (int[] p : pairs) DijkstraAlgorithm.findShortestPath(graph, g.node(p[0]), g.node(p[1]), RecordingLevel.NONE);
+        timings.put("PriorityQueue", (System.nanoTime() - t0) / 1_000_000.0);
+        for (QueueType type : types) {
+            BucketQueueDijkstra engine = type == queueType ? this : new BucketQueueDijkstra(graph, g, type);
+            long t1 = System.nanoTime();
+            for (int[] p : pairs) engine.findShortestPath(g.node(p[0]), g.node(p[1]));
+            timings.put(type.name(), (System.nanoTime() - t1) / 1_000_000.0);
+        }
+        return timings;
+    }
+
+    /**
+     * Monotone priority queue for non-negative long keys: bucket {@code i > 0} holds keys whose
+     * highest bit differing from the last extracted minimum is bit {@code i - 1}.
+     */
+    private static final class RadixHeap {
+        private final long[][] keys = new long[65][];
+        private final int[][] values = new int[65][];
+        private final int[] sizes = new int[65];
+        private long last;
+        private int size;
+
+        RadixHeap() {
+            for (int i = 0; i < 65; i++) {
+                keys[i] = new long[4];
+                values[i] = new int[4];
+            }
+        }
+
+        boolean isEmpty() { return size == 0; }
+
+        void push(long key, int value) {
+            add(bucket(key), key, value);
+            size++;
+        }
+
+        private int bucket(long key) {
+            return key == last ? 0 : 64 - Long.numberOfLeadingZeros(key ^ last);
+        }
+
+        private void add(int b, long key, int value) {
+            int k = sizes[b];
+            if (k == keys[b].length) {
+                keys[b] = Arrays.copyOf(keys[b], k * 2);
+                values[b] = Arrays.copyOf(values[b], k * 2);
+            }
+            keys[b][k] = key;
+            values[b][k] = value;
+            sizes[b] = k + 1;
+        }
+
+        /** Smallest key; moves the entries of the first non-empty bucket down if needed. */
+        long minKey() {
+            if (sizes[0] == 0) {
+                int b = 1;
+                while (sizes[b] == 0) b++;
+                long min = Long.MAX_VALUE;
+                for (int i = 0; i < sizes[b]; i++) min = Math.min(min, keys[b][i]);
+                last = min;
+                int count = sizes[b];
+                sizes[b] = 0;
+                for (int i = 0; i < count; i++) add(bucket(keys[b][i]), keys[b][i], values[b][i]);
+            }
+            return last;
+        }
+
+        int pop() {
+            minKey();
+            size--;
+            return values[0][--sizes[0]];
+        }
+    }
+}
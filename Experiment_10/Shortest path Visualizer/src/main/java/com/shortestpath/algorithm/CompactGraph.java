@@ -0,0 +1,139 @@
+package com.shortestpath.algorithm;
+
+import com.shortestpath.model.Edge;
+import com.shortestpath.model.Node;
+import com.shortestpath.model.WeightedGraph;
+
+import java.util.*;
+
+/**
+ * Immutable array-based (CSR) copy of a {@link WeightedGraph} used by preprocessing and
+ * high-throughput engines. Nodes are numbered {@code 0..n-1}; outgoing and incoming edges
+ * of node {@code v} occupy {@code [outStart[v], outStart[v+1])} and {@code [inStart[v], inStart[v+1])}.
+ */
+final class CompactGraph {
+    private final List<Node> nodes;
+    private final Map<Node, Integer> index;
+    final int[] outStart;
+    final int[] outTarget;
+    final double[] outWeight;
+    final int[] inStart;
+    final int[] inSource;
+    final double[] inWeight;
+    private final double minWeight;
+    private final double maxWeight;
+
+    private CompactGraph(List<Node> nodes, Map<Node, Integer> index, List<Edge> edges) {
+        this.nodes = nodes;
+        this.index = index;
+        int n = nodes.size();
+        int m = edges.size();
+        outStart = new int[n + 1];
+        inStart = new int[n + 1];
+        outTarget = new int[m];
+        outWeight = new double[m];
+        inSource = new int[m];
+        inWeight = new double[m];
+
+        int[] src = new int[m];
+        int[] dst = new int[m];
+        double min = Double.POSITIVE_INFINITY;
+        double max = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < m; i++) {
+            Edge e = edges.get(i);
+            src[i] = index.get(e.getSource());
+            dst[i] = index.get(e.getTarget());
+            outStart[src[i] + 1]++;
+            inStart[dst[i] + 1]++;
+            min = Math.min(min, e.getWeight());
+            max = Math.max(max, e.getWeight());
+        }
+        for (int v = 0; v < n; v++) {
+            outStart[v + 1] += outStart[v];
+            inStart[v + 1] += inStart[v];
+        }
+        int[] outFill = Arrays.copyOf(outStart, n);
+        int[] inFill = Arrays.copyOf(inStart, n);
+        for (int i = 0; i < m; i++) {
+            double w = edges.get(i).getWeight();
+            int o = outFill[src[i]]++;
+            outTarget[o] = dst[i];
+            outWeight[o] = w;
+            int in = inFill[dst[i]]++;
+            inSource[in] = src[i];
+            inWeight[in] = w;
+        }
+        this.minWeight = m == 0 ? 0.0 : min;
+        this.maxWeight = m == 0 ? 0.0 : max;
+    }
+
+    static CompactGraph of(WeightedGraph graph) {
+        if (graph == null) throw new IllegalArgumentException("graph must not be null");
+        List<Node> nodes = new ArrayList<>(graph.getAllNodes());
+        Map<Node, Integer> index = new HashMap<>(nodes.size() * 2);
+        for (int i = 0; i < nodes.size(); i++) {
+            index.put(nodes.get(i), i);
+        }
+        return new CompactGraph(Collections.unmodifiableList(nodes), index, graph.getAllEdges());
+    }
+
+    int size() { return nodes.size(); }
+
+    int edgeCount() { return outTarget.length; }
+
+    Node node(int i) { return nodes.get(i); }
+
+    List<Node> nodes() { return nodes; }
+
+    int indexOf(Node node) {
+        Integer i = index.get(node);
+        if (i == null) throw new IllegalArgumentException("node not in graph: " + node);
+        return i;
+    }
+
+    boolean contains(Node node) { return index.containsKey(node); }
+
+    /** Node-to-index map shared with views such as {@link ShortestPathTree}; must not be modified. */
+    Map<Node, Integer> index() { return index; }
+
+    double minWeight() { return minWeight; }
+
+    double maxWeight() { return maxWeight; }
+
+    boolean hasNegativeWeights() { return minWeight < 0.0; }
+
+    /**
+     * One-to-all Dijkstra over outgoing edges, or over incoming edges when {@code reverse}
+     * is set (giving distances <em>to</em> the root). Requires non-negative weights.
+     */
+    double[] distancesFrom(int root, boolean reverse) {
+        double[] dist = new double[size()];
+        Arrays.fill(dist, Double.POSITIVE_INFINITY);
+        dijkstra(root, reverse, dist, null);
+        return dist;
+    }
+
+    /** Fills {@code dist} (pre-filled with +inf) and optionally {@code parent} from {@code root}. */
+    void dijkstra(int root, boolean reverse, double[] dist, int[] parent) {
+        int[] start = reverse ? inStart : outStart;
+        int[] adj = reverse ? inSource : outTarget;
+        double[] w = reverse ? inWeight : outWeight;
+        IndexedMinHeap heap = new IndexedMinHeap(size());
+        dist[root] = 0.0;
+        if (parent != null) parent[root] = -1;
+        heap.insertOrDecrease(root, 0.0);
+        while (!heap.isEmpty()) {
+            int u = heap.poll();
+            double du = dist[u];
+            for (int e = start[u]; e < start[u + 1]; e++) {
+                int v = adj[e];
+                double alt = du + w[e];
+                if (alt < dist[v]) {
+                    dist[v] = alt;
+                    if (parent != null) parent[v] = u;
+                    heap.insertOrDecrease(v, alt);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,587 @@
+package com.shortestpath.algorithm;
+
+import com.shortestpath.model.Node;
+import com.shortestpath.model.WeightedGraph;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * Contraction Hierarchies for fast point-to-point queries on graphs with non-negative weights.
+ *
+ * Preprocessing contracts nodes in order of their edge difference (shortcuts added minus edges
+ * removed, plus the number of already contracted neighbours). Each round contracts an
+ * independent set of nodes whose priority is a local minimum, in parallel; witness searches
+ * decide which shortcuts are needed, and only the priorities of neighbours touched by the
+ * round are recomputed before the next one. A query is a bidirectional Dijkstra that only
+ * follows edges towards higher-ranked nodes, and the shortcuts on the resulting path are
+ * unpacked into original edges. Query state is kept in pooled workspaces whose entries are
+ * stamped with a generation, so a query costs time proportional to the nodes it settles
+ * rather than to the size of the graph.
+ *
+ * The hierarchy is a snapshot: rebuild it after the graph changes.
+ */
+public final class ContractionHierarchy {
+
+    /** Witness searches give up after this many settled nodes and add the shortcut instead. */
+    private static final int WITNESS_SETTLE_LIMIT = 500;
+    /** Cheaper limit used when only estimating how many shortcuts a contraction would add. */
+    private static final int PRIORITY_SETTLE_LIMIT = 50;
+
+    private final WeightedGraph graph;
+    private final long graphVersion;
+    private final List<Node> nodes;
+    private final Map<Node, Integer> index;
+    private final int[] rank;
+    // Edges u -> v with rank[v] > rank[u], grouped by u
+    private final int[] upStart;
+    private final int[] upTarget;
+    private final double[] upWeight;
+    private final int[] upMiddle;
+    // Edges u -> v with rank[u] > rank[v], grouped by v (scanned backwards from v)
+    private final int[] downStart;
+    private final int[] downSource;
+    private final double[] downWeight;
+    private final int[] downMiddle;
+    private final int shortcutCount;
+    private final long preprocessingTimeMs;
+    private final ConcurrentLinkedDeque<QueryWorkspace> idleWorkspaces = new ConcurrentLinkedDeque<>();
+
+    private ContractionHierarchy(WeightedGraph graph, long graphVersion, CompactGraph g, int[] rank, Arcs[] up,
+                                 Arcs[] down, long preprocessingTimeMs) {
+        this.graph = graph;
+        this.graphVersion = graphVersion;
+        this.nodes = g.nodes();
+        this.index = new HashMap<>(nodes.size() * 2);
+        for (int i = 0; i < nodes.size(); i++) {
+            index.put(nodes.get(i), i);
+        }
+        this.rank = rank;
+        int n = nodes.size();
+        upStart = new int[n + 1];
+        downStart = new int[n + 1];
+        for (int v = 0; v < n; v++) {
+            upStart[v + 1] = upStart[v] + up[v].size;
+            downStart[v + 1] = downStart[v] + down[v].size;
+        }
+        upTarget = new int[upStart[n]];
+        upWeight = new double[upStart[n]];
+        upMiddle = new int[upStart[n]];
+        downSource = new int[downStart[n]];
+        downWeight = new double[downStart[n]];
+        downMiddle = new int[downStart[n]];
+        int shortcuts = 0;
+        for (int v = 0; v < n; v++) {
+            for (int i = 0; i < up[v].size; i++) {
+                upTarget[upStart[v] + i] = up[v].node[i];
+                upWeight[upStart[v] + i] = up[v].weight[i];
+                upMiddle[upStart[v] + i] = up[v].middle[i];
+                if (up[v].middle[i] >= 0) shortcuts++;
+            }
+            for (int i = 0; i < down[v].size; i++) {
+                downSource[downStart[v] + i] = down[v].node[i];
+                downWeight[downStart[v] + i] = down[v].weight[i];
+                downMiddle[downStart[v] + i] = down[v].middle[i];
+                if (down[v].middle[i] >= 0) shortcuts++;
+            }
+        }
+        this.shortcutCount = shortcuts;
+        this.preprocessingTimeMs = preprocessingTimeMs;
+    }
+
+    public static ContractionHierarchy build(WeightedGraph graph) {
+        return build(graph, Runtime.getRuntime().availableProcessors());
+    }
+
+    /** Builds the hierarchy using up to {@code parallelism} worker threads. */
+    public static ContractionHierarchy build(WeightedGraph graph, int parallelism) {
+        if (graph == null) throw new IllegalArgumentException("graph must not be null");
+        if (parallelism < 1) throw new IllegalArgumentException("parallelism must be >= 1");
+
+        long start = System.currentTimeMillis();
+        long version = graph.getVersion();
+        CompactGraph g = CompactGraph.of(graph);
+        if (g.hasNegativeWeights()) {
+            throw new IllegalArgumentException("contraction hierarchies require non-negative edge weights");
+        }
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            Contractor contractor = new Contractor(g, pool);
+            contractor.run();
+            return new ContractionHierarchy(graph, version, g, contractor.rank, contractor.up, contractor.down,
+                    System.currentTimeMillis() - start);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    public AlgorithmResult findShortestPath(Node source, Node target) {
+        if (source == null) throw new IllegalArgumentException("source must not be null");
+        if (target == null) throw new IllegalArgumentException("target must not be null");
+        Integer s = index.get(source);
+        Integer t = index.get(target);
+        if (s == null) throw new IllegalArgumentException("source not in hierarchy");
+        if (t == null) throw new IllegalArgumentException("target not in hierarchy");
+
+        long start = System.currentTimeMillis();
+        QueryWorkspace w = idleWorkspaces.pollFirst();
+        if (w == null) w = new QueryWorkspace(nodes.size());
+        w.begin();
+        double best = s.equals(t) ? 0.0 : Double.POSITIVE_INFINITY;
+        int meet = s.equals(t) ? s : -1;
+        int forwardVisited = 0;
+        int backwardVisited = 0;
+        List<Node> path;
+        try {
+            w.forward.update(s, 0.0, -1);
+            w.backward.update(t, 0.0, -1);
+            while (w.forward.queue.peekKey() < best || w.backward.queue.peekKey() < best) {
+                boolean forward = w.forward.queue.peekKey() <= w.backward.queue.peekKey();
+                Direction from = forward ? w.forward : w.backward;
+                Direction other = forward ? w.backward : w.forward;
+                int u = from.queue.poll();
+                if (forward) forwardVisited++;
+                else backwardVisited++;
+                double du = from.distance(u);
+                double total = du + other.distance(u);
+                if (total < best) {
+                    best = total;
+                    meet = u;
+                }
+                int[] edgeStart = forward ? upStart : downStart;
+                int[] edgeEnd = forward ? upTarget : downSource;
+                double[] edgeWeight = forward ? upWeight : downWeight;
+                for (int e = edgeStart[u]; e < edgeStart[u + 1]; e++) {
+                    int v = edgeEnd[e];
+                    double alt = du + edgeWeight[e];
+                    if (alt < from.distance(v)) from.update(v, alt, e);
+                }
+            }
+            path = meet < 0 ? List.of() : unpackPath(s, t, meet, w.forward.edge, w.backward.edge);
+        } finally {
+            w.forward.queue.clear();
+            w.backward.queue.clear();
+            idleWorkspaces.addFirst(w);
+        }
+        long timeMs = System.currentTimeMillis() - start;
+        return new AlgorithmResult(List.of(), path, best, source, target, timeMs, forwardVisited + backwardVisited)
+                .withMetric(BidirectionalDijkstraAlgorithm.FORWARD_NODES_VISITED, forwardVisited)
+                .withMetric(BidirectionalDijkstraAlgorithm.BACKWARD_NODES_VISITED, backwardVisited);
+    }
+
+    private List<Node> unpackPath(int s, int t, int meet, int[] fEdge, int[] bEdge) {
+        // Upward edges from the source to the meeting node, collected in reverse order
+        Deque<int[]> upward = new ArrayDeque<>();
+        for (int v = meet; v != s; ) {
+            int e = fEdge[v];
+            int u = owner(upStart, e);
+            upward.push(new int[]{u, v, upMiddle[e]});
+            v = u;
+        }
+        List<int[]> arcs = new ArrayList<>(upward);
+        for (int v = meet; v != t; ) {
+            int e = bEdge[v];
+            int w = owner(downStart, e);
+            arcs.add(new int[]{v, w, downMiddle[e]});
+            v = w;
+        }
+
+        List<Node> path = new ArrayList<>();
+        path.add(nodes.get(s));
+        Deque<int[]> stack = new ArrayDeque<>();
+        for (int[] arc : arcs) {
+            stack.push(arc);
+            while (!stack.isEmpty()) {
+                int[] a = stack.pop();
+                int middle = a[2];
+                if (middle < 0) {
+                    path.add(nodes.get(a[1]));
+                } else {
+                    // Both halves of a shortcut are stored at the middle node, which ranks below either end
+                    stack.push(new int[]{middle, a[1], middleOf(upStart, upTarget, upWeight, upMiddle, middle, a[1])});
+                    stack.push(new int[]{a[0], middle, middleOf(downStart, downSource, downWeight, downMiddle, middle, a[0])});
+                }
+            }
+        }
+        return path;
+    }
+
+    /** Middle node of the cheapest edge stored at {@code v} whose other end is {@code other}. */
+    private static int middleOf(int[] start, int[] other, double[] weight, int[] middle, int v, int end) {
+        int best = -1;
+        for (int e = start[v]; e < start[v + 1]; e++) {
+            if (other[e] == end && (best < 0 || weight[e] < weight[best])) best = e;
+        }
+        if (best < 0) throw new IllegalStateException("missing shortcut half at node " + v);
+        return middle[best];
+    }
+
+    /** The node whose CSR range contains edge slot {@code e}. */
+    private static int owner(int[] start, int e) {
+        int lo = 0;
+        int hi = start.length - 2;
+        while (lo < hi) {
+            int mid = (lo + hi + 1) >>> 1;
+            if (start[mid] <= e) lo = mid; else hi = mid - 1;
+        }
+        return lo;
+    }
+
+    /**
+     * Runs {@code queries} random queries with both this hierarchy and plain Dijkstra and
+     * returns the ratio of their total query times, i.e. how many times faster the hierarchy is.
+     */
+    public double measureQuerySpeedup(int queries, long seed) {
+        if (queries < 1) throw new IllegalArgumentException("queries must be >= 1");
+        if (nodes.isEmpty()) return 1.0;
+        Random random = new Random(seed);
+        long dijkstraNanos = 0;
+        long hierarchyNanos = 0;
+        for (int q = 0; q < queries; q++) {
+            Node s = nodes.get(random.nextInt(nodes.size()));
+            Node t = nodes.get(random.nextInt(nodes.size()));
+            long t0 = System.nanoTime();
+            DijkstraAlgorithm.findShortestPath(graph, s, t, RecordingLevel.NONE);
+            long t1 = System.nanoTime();
+            findShortestPath(s, t);
+            long t2 = System.nanoTime();
+            dijkstraNanos += t1 - t0;
+            hierarchyNanos += t2 - t1;
+        }
+        return (double) dijkstraNanos / Math.max(1L, hierarchyNanos);
+    }
+
+    /** Contraction order position of {@code node}; higher ranks were contracted later. */
+    public int getRank(Node node) {
+        Integer i = index.get(node);
+        if (i == null) throw new IllegalArgumentException("node not in hierarchy");
+        return rank[i];
+    }
+
+    public int getShortcutCount() { return shortcutCount; }
+
+    public long getPreprocessingTimeMs() { return preprocessingTimeMs; }
+
+    /** True if this hierarchy was built from {@code graph} (the same instance). */
+    boolean isBuiltFrom(WeightedGraph graph) { return this.graph == graph; }
+
+    /** True if built from {@code graph} and the graph has not changed since. */
+    boolean isCurrentFor(WeightedGraph graph) { return this.graph == graph && graph.getVersion() == graphVersion; }
+
+    public int getNodeCount() { return nodes.size(); }
+
+    /** Reusable state of one query; at most one workspace per concurrent query is kept. */
+    private static final class QueryWorkspace {
+        final Direction forward;
+        final Direction backward;
+        int generation;
+
+        QueryWorkspace(int n) {
+            forward = new Direction(n, this);
+            backward = new Direction(n, this);
+        }
+
+        void begin() {
+            if (generation == Integer.MAX_VALUE) {
+                Arrays.fill(forward.stamp, 0);
+                Arrays.fill(backward.stamp, 0);
+                generation = 0;
+            }
+            generation++;
+        }
+    }
+
+    /** Distances, reaching edges and queue of one search direction, valid where stamped. */
+    private static final class Direction {
+        final double[] dist;
+        final int[] edge;
+        final int[] stamp;
+        final IndexedMinHeap queue;
+        private final QueryWorkspace owner;
+
+        Direction(int n, QueryWorkspace owner) {
+            dist = new double[n];
+            edge = new int[n];
+            stamp = new int[n];
+            queue = new IndexedMinHeap(n);
+            this.owner = owner;
+        }
+
+        double distance(int v) {
+            return stamp[v] == owner.generation ? dist[v] : Double.POSITIVE_INFINITY;
+        }
+
+        void update(int v, double distance, int reachedBy) {
+            stamp[v] = owner.generation;
+            dist[v] = distance;
+            edge[v] = reachedBy;
+            queue.insertOrDecrease(v, distance);
+        }
+    }
+
+    /** Growable adjacency list of one node in the remaining (not yet contracted) graph. */
+    private static final class Arcs {
+        int[] node = new int[4];
+        double[] weight = new double[4];
+        int[] middle = new int[4];
+        int size;
+
+        /** Adds the arc, or lowers the weight of an existing arc to the same node. */
+        void merge(int v, double w, int mid) {
+            for (int i = 0; i < size; i++) {
+                if (node[i] == v) {
+                    if (w < weight[i]) {
+                        weight[i] = w;
+                        middle[i] = mid;
+                    }
+                    return;
+                }
+            }
+            if (size == node.length) {
+                node = Arrays.copyOf(node, size * 2);
+                weight = Arrays.copyOf(weight, size * 2);
+                middle = Arrays.copyOf(middle, size * 2);
+            }
+            node[size] = v;
+            weight[size] = w;
+            middle[size] = mid;
+            size++;
+        }
+
+        void remove(int v) {
+            for (int i = 0; i < size; i++) {
+                if (node[i] == v) {
+                    size--;
+                    node[i] = node[size];
+                    weight[i] = weight[size];
+                    middle[i] = middle[size];
+                    return;
+                }
+            }
+        }
+
+        Arcs copy() {
+            Arcs a = new Arcs();
+            a.node = Arrays.copyOf(node, Math.max(1, size));
+            a.weight = Arrays.copyOf(weight, Math.max(1, size));
+            a.middle = Arrays.copyOf(middle, Math.max(1, size));
+            a.size = size;
+            return a;
+        }
+    }
+
+    /** Mutable contraction state; rounds run their witness searches in parallel and apply results sequentially. */
+    private static final class Contractor {
+        private final int n;
+        private final ForkJoinPool pool;
+        private final Arcs[] out;
+        private final Arcs[] in;
+        final Arcs[] up;
+        final Arcs[] down;
+        final int[] rank;
+        private final int[] priority;
+        private final int[] contractedNeighbors;
+        private final boolean[] contracted;
+        private final boolean[] inRound;
+        private final boolean[] dirty;
+        private final ThreadLocal<WitnessSearch> searches;
+
+        Contractor(CompactGraph g, ForkJoinPool pool) {
+            this.n = g.size();
+            this.pool = pool;
+            out = new Arcs[n];
+            in = new Arcs[n];
+            up = new Arcs[n];
+            down = new Arcs[n];
+            for (int v = 0; v < n; v++) {
+                out[v] = new Arcs();
+                in[v] = new Arcs();
+            }
+            for (int u = 0; u < n; u++) {
+                for (int e = g.outStart[u]; e < g.outStart[u + 1]; e++) {
+                    int v = g.outTarget[e];
+                    if (v == u) continue;
+                    out[u].merge(v, g.outWeight[e], -1);
+                    in[v].merge(u, g.outWeight[e], -1);
+                }
+            }
+            rank = new int[n];
+            priority = new int[n];
+            contractedNeighbors = new int[n];
+            contracted = new boolean[n];
+            inRound = new boolean[n];
+            dirty = new boolean[n];
+            Arrays.fill(dirty, true);
+            searches = ThreadLocal.withInitial(() -> new WitnessSearch(n));
+        }
+
+        void run() {
+            int remaining = n;
+            int nextRank = 0;
+            while (remaining > 0) {
+                // Lazy update: only priorities invalidated by the previous round are recomputed
+                pool.submit(() -> IntStream.range(0, n).parallel()
+                        .filter(v -> !contracted[v] && dirty[v])
+                        .forEach(v -> {
+                            priority[v] = shortcutsFor(v, PRIORITY_SETTLE_LIMIT).length / 3 - out[v].size - in[v].size + contractedNeighbors[v];
+                            dirty[v] = false;
+                        })).join();
+
+                int[] round = pool.submit(() -> IntStream.range(0, n).parallel()
+                        .filter(v -> !contracted[v] && isLocalMinimum(v))
+                        .toArray()).join();
+                for (int v : round) inRound[v] = true;
+
+                List<double[]> shortcuts = pool.submit(() -> Arrays.stream(round).parallel()
+                        .mapToObj(v -> shortcutsFor(v, WITNESS_SETTLE_LIMIT))
+                        .toList()).join();
+
+                for (int v : round) {
+                    rank[v] = nextRank++;
+                    up[v] = out[v].copy();
+                    down[v] = in[v].copy();
+                    for (int i = 0; i < out[v].size; i++) {
+                        int w = out[v].node[i];
+                        in[w].remove(v);
+                        contractedNeighbors[w]++;
+                        dirty[w] = true;
+                    }
+                    for (int i = 0; i < in[v].size; i++) {
+                        int u = in[v].node[i];
+                        out[u].remove(v);
+                        contractedNeighbors[u]++;
+                        dirty[u] = true;
+                    }
+                    contracted[v] = true;
+                }
+                for (int r = 0; r < round.length; r++) {
+                    double[] s = shortcuts.get(r);
+                    for (int i = 0; i < s.length; i += 3) {
+                        int u = (int) s[i];
+                        int w = (int) s[i + 1];
+                        out[u].merge(w, s[i + 2], round[r]);
+                        in[w].merge(u, s[i + 2], round[r]);
+                    }
+                }
+                for (int v : round) inRound[v] = false;
+                remaining -= round.length;
+            }
+        }
+
+        /** Ties are broken by node id so that adjacent nodes are never both minimal. */
+        private boolean isLocalMinimum(int v) {
+            return isBelowAll(v, out[v]) && isBelowAll(v, in[v]);
+        }
+
+        private boolean isBelowAll(int v, Arcs arcs) {
+            for (int i = 0; i < arcs.size; i++) {
+                int u = arcs.node[i];
+                if (priority[u] < priority[v] || (priority[u] == priority[v] && u < v)) return false;
+            }
+            return true;
+        }
+
+        /**
+         * Shortcuts needed to contract {@code v}, as flat (from, to, weight) triples. Witness
+         * paths may not pass through {@code v} or any other node contracted in the same round.
+         */
+        private double[] shortcutsFor(int v, int settleLimit) {
+            WitnessSearch search = searches.get();
+            double maxOut = 0.0;
+            for (int i = 0; i < out[v].size; i++) maxOut = Math.max(maxOut, out[v].weight[i]);
+            double[] result = new double[12];
+            int size = 0;
+            for (int j = 0; j < out[v].size; j++) search.markTarget(out[v].node[j]);
+            for (int i = 0; i < in[v].size; i++) {
+                int u = in[v].node[i];
+                double toV = in[v].weight[i];
+                search.run(u, v, toV + maxOut, settleLimit, out, inRound);
+                for (int j = 0; j < out[v].size; j++) {
+                    int w = out[v].node[j];
+                    if (w == u) continue;
+                    double via = toV + out[v].weight[j];
+                    if (search.distance(w) <= via) continue;
+                    if (size + 3 > result.length) result = Arrays.copyOf(result, result.length * 2);
+                    result[size++] = u;
+                    result[size++] = w;
+                    result[size++] = via;
+                }
+                search.reset();
+            }
+            search.clearTargets();
+            return Arrays.copyOf(result, size);
+        }
+    }
+
+    /**
+     * Per-thread bounded Dijkstra over the remaining graph with O(touched) reset. A search
+     * stops early once every marked target has been settled.
+     */
+    private static final class WitnessSearch {
+        private final double[] dist;
+        private final int[] touched;
+        private int touchedCount;
+        private final boolean[] target;
+        private final int[] targets;
+        private int targetCount;
+        private final IndexedMinHeap heap;
+
+        WitnessSearch(int n) {
+            dist = new double[n];
+            touched = new int[n];
+            target = new boolean[n];
+            targets = new int[n];
+            Arrays.fill(dist, Double.POSITIVE_INFINITY);
+            heap = new IndexedMinHeap(n);
+        }
+
+        void markTarget(int v) {
+            if (!target[v]) {
+                target[v] = true;
+                targets[targetCount++] = v;
+            }
+        }
+
+        void clearTargets() {
+            for (int i = 0; i < targetCount; i++) target[targets[i]] = false;
+            targetCount = 0;
+        }
+
+        void run(int source, int skip, double limit, int settleLimit, Arcs[] out, boolean[] excluded) {
+            set(source, 0.0);
+            heap.insertOrDecrease(source, 0.0);
+            int settled = 0;
+            int targetsLeft = targetCount;
+            while (!heap.isEmpty() && heap.peekKey() <= limit && settled < settleLimit && targetsLeft > 0) {
+                int u = heap.poll();
+                settled++;
+                if (target[u]) targetsLeft--;
+                Arcs arcs = out[u];
+                for (int i = 0; i < arcs.size; i++) {
+                    int v = arcs.node[i];
+                    if (v == skip || excluded[v]) continue;
+                    double alt = dist[u] + arcs.weight[i];
+                    if (alt < dist[v]) {
+                        set(v, alt);
+                        heap.insertOrDecrease(v, alt);
+                    }
+                }
+            }
+        }
+
+        double distance(int v) { return dist[v]; }
+
+        private void set(int v, double d) {
+            if (dist[v] == Double.POSITIVE_INFINITY) touched[touchedCount++] = v;
+            dist[v] = d;
+        }
+
+        void reset() {
+            for (int i = 0; i < touchedCount; i++) dist[touched[i]] = Double.POSITIVE_INFINITY;
+            touchedCount = 0;
+            heap.clear();
+        }
+    }
+}
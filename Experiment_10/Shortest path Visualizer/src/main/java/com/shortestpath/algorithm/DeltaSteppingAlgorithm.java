@@ -0,0 +1,265 @@
+package com.shortestpath.algorithm;
+
+import com.shortestpath.model.Node;
+import com.shortestpath.model.WeightedGraph;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.IntStream;
+
+/**
+ * Delta-stepping one-to-all shortest paths for graphs with non-negative edge weights.
+ *
+ * Tentative distances are grouped into buckets of width {@code delta}. The current bucket
+ * is emptied by repeatedly relaxing its light edges (weight {@code <= delta}) in parallel,
+ * then the heavy edges of every node it settled are relaxed once. Distances live in a
+ * primitive array updated with an atomic minimum. Only non-empty buckets are kept, keyed by
+ * their index, so a tiny {@code delta} costs no memory for the empty ranges. Predecessors are assigned afterwards
+ * with Dijkstra's rule (the tight in-edge from the closest node, lowest edge number on
+ * ties), so the tree does not depend on the thread count.
+ */
+public final class DeltaSteppingAlgorithm {
+
+    private DeltaSteppingAlgorithm() {}
+
+    public static ShortestPathTree shortestPathTree(WeightedGraph graph, Node source) {
+        return shortestPathTree(graph, source, 0.0, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * @param delta bucket width, or {@code 0} to pick one from the graph (maximum weight
+     *              divided by average out-degree)
+     */
+    public static ShortestPathTree shortestPathTree(WeightedGraph graph, Node source, double delta, int parallelism) {
+        if (graph == null) throw new IllegalArgumentException("graph must not be null");
+        if (source == null) throw new IllegalArgumentException("source must not be null");
+        if (!graph.containsNode(source.getId())) throw new IllegalArgumentException("source not in graph");
+        if (delta < 0.0 || Double.isNaN(delta) || Double.isInfinite(delta)) {
+            throw new IllegalArgumentException("delta must be a finite value >= 0");
+        }
+        if (parallelism < 1) throw new IllegalArgumentException("parallelism must be >= 1");
+
+        long start = System.currentTimeMillis();
+        CompactGraph g = CompactGraph.of(graph);
+        if (g.hasNegativeWeights()) {
+            throw new IllegalArgumentException("delta-stepping requires non-negative edge weights");
+        }
+        double width = delta > 0.0 ? delta : autoDelta(g);
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            double[] dist = new Stepper(g, width, pool, parallelism).run(g.indexOf(source));
+            int[] parent = predecessors(g, dist, g.indexOf(source), pool);
+            return new ShortestPathTree(g, g.indexOf(source), dist, parent, System.currentTimeMillis() - start);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /** Maximum weight over average out-degree, the usual choice for random weights. */
+    static double autoDelta(CompactGraph g) {
+        if (g.edgeCount() == 0 || g.maxWeight() <= 0.0) return 1.0;
+        double averageDegree = (double) g.edgeCount() / Math.max(1, g.size());
+        return g.maxWeight() / Math.max(1.0, averageDegree);
+    }
+
+    /**
+     * Runs the same query with 1 to {@code maxThreads} threads and returns the best wall-clock
+     * time in milliseconds for each thread count over {@code repetitions} runs.
+     */
+    public static Map<Integer, Double> measureScaling(WeightedGraph graph, Node source, double delta,
+                                                      int maxThreads, int repetitions) {
+        if (maxThreads < 1) throw new IllegalArgumentException("maxThreads must be >= 1");
+        if (repetitions < 1) throw new IllegalArgumentException("repetitions must be >= 1");
+        Map<Integer, Double> timings = new LinkedHashMap<>();
+        for (int threads = 1; threads <= maxThreads; threads++) {
+            long best = Long.MAX_VALUE;
+            for (int r = 0; r < repetitions; r++) {
+                long t0 = System.nanoTime();
+                shortestPathTree(graph, source, delta, threads);
+                best = Math.min(best, System.nanoTime() - t0);
+            }
+            timings.put(threads, best / 1_000_000.0);
+        }
+        return timings;
+    }
+
+    /**
+     * Dijkstra's predecessor rule on final distances: among tight in-edges prefer the node with
+     * the smallest distance. Nodes reached only through zero-weight ties are attached afterwards
+     * by a breadth-first pass so the predecessors always form a tree.
+     */
+    private static int[] predecessors(CompactGraph g, double[] dist, int source, ForkJoinPool pool) {
+        int n = g.size();
+        int[] parent = new int[n];
+        Arrays.fill(parent, -1);
+        pool.submit(() -> IntStream.range(0, n).parallel().forEach(v -> {
+            if (v == source || dist[v] == Double.POSITIVE_INFINITY) return;
+            int best = -1;
+            for (int e = g.inStart[v]; e < g.inStart[v + 1]; e++) {
+                int u = g.inSource[e];
+                if (dist[u] + g.inWeight[e] == dist[v] && dist[u] < dist[v]
+                        && (best < 0 || dist[u] < dist[g.inSource[best]])) {
+                    best = e;
+                }
+            }
+            if (best >= 0) parent[v] = g.inSource[best];
+        })).join();
+
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        boolean[] attached = new boolean[n];
+        boolean pending = false;
+        for (int v = 0; v < n; v++) {
+            attached[v] = v == source || parent[v] >= 0;
+            if (attached[v]) queue.add(v);
+            else if (dist[v] != Double.POSITIVE_INFINITY) pending = true;
+        }
+        while (pending && !queue.isEmpty()) {
+            int u = queue.poll();
+            for (int e = g.outStart[u]; e < g.outStart[u + 1]; e++) {
+                int v = g.outTarget[e];
+                if (!attached[v] && g.outWeight[e] == 0.0 && dist[u] == dist[v]) {
+                    attached[v] = true;
+                    parent[v] = u;
+                    queue.add(v);
+                }
+            }
+        }
+        return parent;
+    }
+
+    /** Bucketed relaxation state for one query. */
+    private static final class Stepper {
+        private final CompactGraph g;
+        private final double delta;
+        private final ForkJoinPool pool;
+        private final int chunks;
+        private final AtomicLongArray dist;
+        // Non-empty buckets by index; indexes may exceed the int range when delta is tiny
+        private final TreeMap<Long, Bucket> buckets = new TreeMap<>();
+        private final int[] seenInPhase;
+        private int phase;
+
+        Stepper(CompactGraph g, double delta, ForkJoinPool pool, int parallelism) {
+            this.g = g;
+            this.delta = delta;
+            this.pool = pool;
+            this.chunks = parallelism * 4;
+            this.dist = new AtomicLongArray(g.size());
+            this.seenInPhase = new int[g.size()];
+        }
+
+        double[] run(int source) {
+            int n = g.size();
+            long infinity = Double.doubleToRawLongBits(Double.POSITIVE_INFINITY);
+            for (int v = 0; v < n; v++) dist.set(v, infinity);
+            dist.set(source, Double.doubleToRawLongBits(0.0));
+            add(0, source);
+
+            while (!buckets.isEmpty()) {
+                long i = buckets.firstKey();
+                int[] settled = new int[0];
+                int settledCount = 0;
+                int[] frontier = take(i);
+                while (frontier.length > 0) {
+                    if (settledCount + frontier.length > settled.length) {
+                        settled = Arrays.copyOf(settled, Math.max(2 * settled.length, settledCount + frontier.length));
+                    }
+                    System.arraycopy(frontier, 0, settled, settledCount, frontier.length);
+                    settledCount += frontier.length;
+                    distribute(relax(frontier, frontier.length, true));
+                    frontier = take(i);
+                }
+                distribute(relax(settled, settledCount, false));
+            }
+
+            double[] result = new double[n];
+            for (int v = 0; v < n; v++) result[v] = Double.longBitsToDouble(dist.get(v));
+            return result;
+        }
+
+        /** Relaxes light or heavy edges of {@code nodes} in parallel; returns the nodes that improved. */
+        private int[] relax(int[] nodes, int count, boolean light) {
+            int size = (count + chunks - 1) / chunks;
+            List<int[]> improved = pool.submit(() -> IntStream.range(0, chunks).parallel().mapToObj(c -> {
+                int[] out = new int[8];
+                int k = 0;
+                int end = Math.min(count, (c + 1) * size);
+                for (int i = c * size; i < end; i++) {
+                    int u = nodes[i];
+                    double du = Double.longBitsToDouble(dist.get(u));
+                    for (int e = g.outStart[u]; e < g.outStart[u + 1]; e++) {
+                        double w = g.outWeight[e];
+                        if ((w <= delta) != light) continue;
+                        int v = g.outTarget[e];
+                        if (atomicMin(v, du + w)) {
+                            if (k == out.length) out = Arrays.copyOf(out, k * 2);
+                            out[k++] = v;
+                        }
+                    }
+                }
+                return Arrays.copyOf(out, k);
+            }).toList()).join();
+            int total = 0;
+            for (int[] part : improved) total += part.length;
+            int[] all = new int[total];
+            int pos = 0;
+            for (int[] part : improved) {
+                System.arraycopy(part, 0, all, pos, part.length);
+                pos += part.length;
+            }
+            return all;
+        }
+
+        private boolean atomicMin(int v, double candidate) {
+            // Non-negative doubles order the same way as their raw bits
+            long bits = Double.doubleToRawLongBits(candidate);
+            long current = dist.get(v);
+            while (bits < current) {
+                if (dist.compareAndSet(v, current, bits)) return true;
+                current = dist.get(v);
+            }
+            return false;
+        }
+
+        private void distribute(int[] improved) {
+            for (int v : improved) {
+                add(bucketOf(v), v);
+            }
+        }
+
+        /** Bucket index of {@code v}'s current distance; saturates at {@code Long.MAX_VALUE}. */
+        private long bucketOf(int v) {
+            return (long) (Double.longBitsToDouble(dist.get(v)) / delta);
+        }
+
+        private void add(long bucket, int v) {
+            Bucket b = buckets.computeIfAbsent(bucket, k -> new Bucket());
+            if (b.size == b.nodes.length) b.nodes = Arrays.copyOf(b.nodes, b.size * 2);
+            b.nodes[b.size++] = v;
+        }
+
+        /** Removes bucket {@code i}, dropping duplicates and nodes whose distance has moved to a lower bucket. */
+        private int[] take(long i) {
+            Bucket bucket = buckets.remove(i);
+            if (bucket == null) return new int[0];
+            int[] b = bucket.nodes;
+            int size = bucket.size;
+            phase++;
+            int k = 0;
+            for (int j = 0; j < size; j++) {
+                int v = b[j];
+                if (seenInPhase[v] == phase) continue;
+                if (bucketOf(v) != i) continue;
+                seenInPhase[v] = phase;
+                b[k++] = v;
+            }
+            return Arrays.copyOf(b, k);
+        }
+
+        private static final class Bucket {
+            int[] nodes = new int[4];
+            int size;
+        }
+    }
+}
@@ -8,19 +8,38 @@ import java.util.*;
 
 /**
  * Dijkstra's algorithm for shortest paths on graphs with non-negative edge weights.
- * Provides detailed step-by-step snapshots for visualization.
+ * Provides detailed step-by-step snapshots for visualization; the amount of recorded
+ * state is selected with a {@link RecordingLevel}.
  */
 public final class DijkstraAlgorithm {
 
     private DijkstraAlgorithm() {}
 
     public static AlgorithmResult findShortestPath(WeightedGraph graph, Node source, Node target) {
+        return findShortestPath(graph, source, target, RecordingLevel.FULL);
+    }
+
+    public static AlgorithmResult findShortestPath(WeightedGraph graph, Node source, Node target,
+                                                   RecordingLevel level) {
+        return findShortestPath(graph, source, target, level, SearchBudget.unlimited());
+    }
+
+    /**
+     * @throws java.util.concurrent.CancellationException if {@code budget} is cancelled or runs
+     *         out before the search finishes
+     */
+    public static AlgorithmResult findShortestPath(WeightedGraph graph, Node source, Node target,
+                                                   RecordingLevel level, SearchBudget budget) {
+        if (budget == null) throw new IllegalArgumentException("budget must not be null");
+        if (level == null) throw new IllegalArgumentException("level must not be null");
         if (graph == null) throw new IllegalArgumentException("graph must not be null");
         if (source == null) throw new IllegalArgumentException("source must not be null");
         if (target == null) throw new IllegalArgumentException("target must not be null");
         if (!graph.containsNode(source.getId())) throw new IllegalArgumentException("source not in graph");
         if (!graph.containsNode(target.getId())) throw new IllegalArgumentException("target not in graph");
 
+        if (level == RecordingLevel.NONE) return findWithWorkspace(graph, source, target, budget);
+
         long start = System.currentTimeMillis();
 
         Map<Node, Double> distances = new HashMap<>();
@@ -33,62 +52,131 @@ public final class DijkstraAlgorithm {
         }
         distances.put(source, 0.0);
 
-        PriorityQueue<Node> pq = new PriorityQueue<>(Comparator.comparingDouble(distances::get));
-        pq.add(source);
+        // Entries carry the distance they were queued with; a comparator over the live map would
+        // break the heap order when a queued node's distance drops
+        PriorityQueue<Map.Entry<Node, Double>> pq = new PriorityQueue<>(Map.Entry.comparingByValue());
+        pq.add(new AbstractMap.SimpleImmutableEntry<>(source, 0.0));
 
+        AlgorithmTrace.Recorder trace = level.recordsEveryStep() ? new AlgorithmTrace.Recorder(graph.getAllNodes()) : null;
         List<AlgorithmStep> steps = new ArrayList<>();
-        steps.add(createStepSnapshot(
-                0,
-                null,
-                visited,
-                distances,
-                predecessors,
-                pq,
-                "Initialized source node " + source + " with distance 0"
-        ));
-
-        int step = 1;
+        if (trace != null) {
+            trace.update(source, 0.0, null);
+            trace.push(source, 0.0);
+            trace.endStep(null, "Initialized source node " + source + " with distance 0");
+        } else if (level.recordsAnySteps()) {
+            steps.add(createStepSnapshot(
+                    0,
+                    null,
+                    visited,
+                    distances,
+                    predecessors,
+                    pq,
+                    "Initialized source node " + source + " with distance 0"
+            ));
+        }
+
         int nodesVisited = 0;
+        Node last = null;
 
         while (!pq.isEmpty()) {
-            Node current = pq.poll();
+            budget.check();
+            Node current = pq.poll().getKey();
+            if (trace != null) trace.pop(current);
             if (visited.contains(current)) {
                 continue;
             }
             visited.add(current);
+            if (trace != null) trace.settle(current);
             nodesVisited++;
+            last = current;
 
             if (current.equals(target)) {
-                steps.add(createStepSnapshot(step++, current, visited, distances, predecessors, pq,
-                        "Reached target " + target + ". Early exit."));
+                if (trace != null) {
+                    trace.endStep(current, "Reached target " + target + ". Early exit.");
+                }
                 break;
             }
 
-            List<Node> updated = new ArrayList<>();
+            List<Node> updated = trace != null ? new ArrayList<>() : null;
+            double currentDistance = distances.get(current);
             for (Edge e : graph.getOutgoingEdges(current)) {
                 Node neighbor = e.getTarget();
                 double weight = e.getWeight();
-                double alt = distances.get(current) + weight;
+                double alt = currentDistance + weight;
                 if (alt < distances.get(neighbor)) {
                     distances.put(neighbor, alt);
                     predecessors.put(neighbor, current);
-                    updated.add(neighbor);
-                    pq.add(neighbor);
+                    pq.add(new AbstractMap.SimpleImmutableEntry<>(neighbor, alt));
+                    if (trace != null) {
+                        updated.add(neighbor);
+                        trace.update(neighbor, alt, current);
+                        trace.push(neighbor, alt);
+                    }
                 }
             }
 
-            String desc = formatDescription(current, updated);
-            steps.add(createStepSnapshot(step++, current, visited, distances, predecessors, pq, desc));
+            if (trace != null) {
+                trace.endStep(current, formatDescription(current, updated));
+            }
+        }
+
+        if (level == RecordingLevel.SUMMARY) {
+            steps.add(createStepSnapshot(1, last, visited, distances, predecessors, pq,
+                    "Finished after visiting " + nodesVisited + " nodes"));
         }
 
         List<Node> path = reconstructPath(predecessors, source, target);
         double cost = distances.getOrDefault(target, Double.POSITIVE_INFINITY);
         long timeMs = System.currentTimeMillis() - start;
 
-        return new AlgorithmResult(steps, path, path.isEmpty() && !source.equals(target) ? Double.POSITIVE_INFINITY : cost,
+        return new AlgorithmResult(trace != null ? trace.build() : steps, path, path.isEmpty() && !source.equals(target) ? Double.POSITIVE_INFINITY : cost,
                 source, target, timeMs, nodesVisited);
     }
 
+    /**
+     * Same search without recorded steps on a pooled {@link SearchWorkspace}, so nothing is
+     * initialised per node and the cost is proportional to the nodes actually reached.
+     */
+    private static AlgorithmResult findWithWorkspace(WeightedGraph graph, Node source, Node target,
+                                                     SearchBudget budget) {
+        long start = System.currentTimeMillis();
+        SearchWorkspace w = SearchWorkspace.acquire(graph);
+        try {
+            int s = w.id(source);
+            int t = w.id(target);
+            w.update(s, 0.0, -1);
+            PriorityQueue<Map.Entry<Integer, Double>> pq = new PriorityQueue<>(Map.Entry.comparingByValue());
+            pq.add(new AbstractMap.SimpleImmutableEntry<>(s, 0.0));
+
+            int nodesVisited = 0;
+            while (!pq.isEmpty()) {
+                budget.check();
+                int current = pq.poll().getKey();
+                if (w.isSettled(current)) continue;
+                w.settle(current);
+                nodesVisited++;
+                if (current == t) break;
+
+                double currentDistance = w.distance(current);
+                for (Edge e : graph.getOutgoingEdges(w.node(current))) {
+                    int neighbor = w.id(e.getTarget());
+                    double alt = currentDistance + e.getWeight();
+                    if (alt < w.distance(neighbor)) {
+                        w.update(neighbor, alt, current);
+                        pq.add(new AbstractMap.SimpleImmutableEntry<>(neighbor, alt));
+                    }
+                }
+            }
+
+            List<Node> path = w.path(s, t);
+            double cost = path.isEmpty() ? Double.POSITIVE_INFINITY : w.distance(t);
+            return new AlgorithmResult(List.of(), path, cost, source, target,
+                    System.currentTimeMillis() - start, nodesVisited);
+        } finally {
+            w.release();
+        }
+    }
+
     private static List<Node> reconstructPath(Map<Node, Node> predecessors, Node source, Node target) {
         List<Node> path = new ArrayList<>();
         if (source.equals(target)) {
@@ -117,12 +205,14 @@ public final class DijkstraAlgorithm {
             Set<Node> visited,
             Map<Node, Double> distances,
             Map<Node, Node> predecessors,
-            PriorityQueue<Node> pq,
+            PriorityQueue<Map.Entry<Node, Double>> pq,
             String description
     ) {
-        // Snapshot PQ ordered by current distances
-        List<Node> pqSnapshot = new ArrayList<>(pq);
-        pqSnapshot.sort(Comparator.comparingDouble(distances::get));
+        // Snapshot PQ ordered by queued distance
+        List<Map.Entry<Node, Double>> entries = new ArrayList<>(pq);
+        entries.sort(Map.Entry.comparingByValue());
+        List<Node> pqSnapshot = new ArrayList<>(entries.size());
+        for (Map.Entry<Node, Double> e : entries) pqSnapshot.add(e.getKey());
         return new AlgorithmStep(
                 stepNumber,
                 current,
@@ -0,0 +1,223 @@
+package com.shortestpath.algorithm;
+
+import com.shortestpath.model.Node;
+import com.shortestpath.model.WeightedGraph;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+
+/**
+ * Distances from a list of row nodes to a list of column nodes, stored row-major in one
+ * primitive array. Unreachable pairs hold +infinity. Square all-pairs matrices may also
+ * carry a next-hop matrix, in which case {@link #getPath(Node, Node)} rebuilds paths.
+ *
+ * Matrices can also be written row by row to a file with {@link RowWriter}, so all-pairs
+ * results that do not fit in memory never need to be held at once, and read back with
+ * {@link #load(Path, WeightedGraph)}.
+ */
+public final class DistanceMatrix {
+
+    private static final int FILE_MAGIC = 0x44535431; // "DST1"
+
+    /** Largest array length the JVM reliably allocates. */
+    static final int MAX_CELLS = Integer.MAX_VALUE - 8;
+
+    private final List<Node> rows;
+    private final List<Node> columns;
+    private final Map<Node, Integer> rowIndex;
+    private final Map<Node, Integer> columnIndex;
+    private final double[] data;
+    private final int[] nextHop;
+
+    DistanceMatrix(List<Node> rows, List<Node> columns, double[] data) {
+        this(rows, columns, data, null);
+    }
+
+    /** {@code nextHop[i * n + j]} is the node after {@code i} on a shortest path to {@code j}, or -1. */
+    DistanceMatrix(List<Node> rows, List<Node> columns, double[] data, int[] nextHop) {
+        if (data.length != (long) rows.size() * columns.size()) {
+            throw new IllegalArgumentException("data length does not match matrix size");
+        }
+        if (nextHop != null && (!rows.equals(columns) || nextHop.length != data.length)) {
+            throw new IllegalArgumentException("next hops need a square matrix over the same nodes");
+        }
+        this.rows = List.copyOf(rows);
+        this.columns = List.copyOf(columns);
+        this.rowIndex = indexOf(this.rows);
+        this.columnIndex = indexOf(this.columns);
+        this.data = data;
+        this.nextHop = nextHop;
+    }
+
+    /**
+     * {@code rows * columns} as an array length.
+     *
+     * @throws IllegalArgumentException if the matrix cannot be held in one array, in which case
+     *         {@link JohnsonAlgorithm#writeAllPairs} can stream the rows to a file instead
+     */
+    static int cellCount(int rows, int columns) {
+        long cells = (long) rows * columns;
+        if (cells > MAX_CELLS) {
+            throw new IllegalArgumentException(rows + " x " + columns + " matrix exceeds the maximum of "
+                    + MAX_CELLS + " cells; use JohnsonAlgorithm.writeAllPairs to stream rows to a file");
+        }
+        return (int) cells;
+    }
+
+    private static Map<Node, Integer> indexOf(List<Node> nodes) {
+        Map<Node, Integer> index = new HashMap<>(nodes.size() * 2);
+        for (int i = 0; i < nodes.size(); i++) {
+            index.putIfAbsent(nodes.get(i), i);
+        }
+        return index;
+    }
+
+    public double getDistance(Node from, Node to) {
+        return get(row(from), column(to));
+    }
+
+    /** Distance by position: {@code row} indexes {@link #getRowNodes()}, {@code column} {@link #getColumnNodes()}. */
+    public double get(int row, int column) {
+        // Bounds checks keep the offset below data.length, so it cannot overflow
+        Objects.checkIndex(row, rows.size());
+        Objects.checkIndex(column, columns.size());
+        return data[row * columns.size() + column];
+    }
+
+    /** Copy of the distances from {@code from} to every column node. */
+    public double[] getRow(Node from) {
+        int r = row(from);
+        return Arrays.copyOfRange(data, r * columns.size(), (r + 1) * columns.size());
+    }
+
+    public boolean hasPaths() { return nextHop != null; }
+
+    /**
+     * Shortest path from {@code from} to {@code to} rebuilt from next hops, or an empty list if
+     * {@code to} is unreachable.
+     *
+     * @throws IllegalStateException if the matrix was computed without next hops
+     */
+    public List<Node> getPath(Node from, Node to) {
+        if (nextHop == null) throw new IllegalStateException("matrix was computed without next hops");
+        int i = row(from);
+        int j = column(to);
+        int n = columns.size();
+        if (data[i * n + j] == Double.POSITIVE_INFINITY) return List.of();
+        List<Node> path = new ArrayList<>();
+        path.add(rows.get(i));
+        while (i != j && path.size() <= n) {
+            i = nextHop[i * n + j];
+            if (i < 0) return List.of();
+            path.add(rows.get(i));
+        }
+        return path;
+    }
+
+    public List<Node> getRowNodes() { return rows; }
+
+    public List<Node> getColumnNodes() { return columns; }
+
+    public int getRowCount() { return rows.size(); }
+
+    public int getColumnCount() { return columns.size(); }
+
+    private int row(Node node) {
+        if (node == null) throw new IllegalArgumentException("node must not be null");
+        Integer r = rowIndex.get(node);
+        if (r == null) throw new IllegalArgumentException("not a row node: " + node);
+        return r;
+    }
+
+    private int column(Node node) {
+        if (node == null) throw new IllegalArgumentException("node must not be null");
+        Integer c = columnIndex.get(node);
+        if (c == null) throw new IllegalArgumentException("not a column node: " + node);
+        return c;
+    }
+
+    /** Writes the whole matrix in the format read by {@link #load(Path, WeightedGraph)}. */
+    public void save(Path file) throws IOException {
+        try (RowWriter writer = new RowWriter(file, rows, columns)) {
+            for (int r = 0; r < rows.size(); r++) {
+                writer.writeRow(r, Arrays.copyOfRange(data, r * columns.size(), (r + 1) * columns.size()));
+            }
+        }
+    }
+
+    /** Reads a matrix written by {@link #save(Path)} or a {@link RowWriter}, binding node ids to {@code graph}. */
+    public static DistanceMatrix load(Path file, WeightedGraph graph) throws IOException {
+        if (graph == null) throw new IllegalArgumentException("graph must not be null");
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != FILE_MAGIC) throw new IOException("not a distance matrix file: " + file);
+            List<Node> rows = readNodes(in, graph);
+            List<Node> columns = readNodes(in, graph);
+            double[] data = new double[cellCount(rows.size(), columns.size())];
+            for (int i = 0; i < data.length; i++) data[i] = in.readDouble();
+            return new DistanceMatrix(rows, columns, data);
+        }
+    }
+
+    private static List<Node> readNodes(DataInputStream in, WeightedGraph graph) throws IOException {
+        int count = in.readInt();
+        List<Node> nodes = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String id = in.readUTF();
+            Node node = graph.getNode(id);
+            if (node == null) throw new IOException("distance matrix refers to unknown node " + id);
+            nodes.add(node);
+        }
+        return nodes;
+    }
+
+    /**
+     * Writes matrix rows straight to a file at fixed offsets. Rows may be written in any order
+     * and from several threads at once.
+     */
+    public static final class RowWriter implements Closeable {
+        private final FileChannel channel;
+        private final long dataOffset;
+        private final int columnCount;
+        private final int rowCount;
+
+        public RowWriter(Path file, List<Node> rows, List<Node> columns) throws IOException {
+            if (file == null) throw new IllegalArgumentException("file must not be null");
+            ByteArrayOutputStream header = new ByteArrayOutputStream();
+            try (DataOutputStream out = new DataOutputStream(header)) {
+                out.writeInt(FILE_MAGIC);
+                out.writeInt(rows.size());
+                for (Node n : rows) out.writeUTF(n.getId());
+                out.writeInt(columns.size());
+                for (Node n : columns) out.writeUTF(n.getId());
+            }
+            this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING);
+            this.channel.write(ByteBuffer.wrap(header.toByteArray()), 0);
+            this.dataOffset = header.size();
+            this.columnCount = columns.size();
+            this.rowCount = rows.size();
+        }
+
+        public void writeRow(int row, double[] distances) throws IOException {
+            if (row < 0 || row >= rowCount) throw new IllegalArgumentException("row out of range: " + row);
+            if (distances.length != columnCount) throw new IllegalArgumentException("row has wrong length");
+            ByteBuffer buffer = ByteBuffer.allocate(columnCount * Double.BYTES).order(ByteOrder.BIG_ENDIAN);
+            buffer.asDoubleBuffer().put(distances);
+            long position = dataOffset + (long) row * columnCount * Double.BYTES;
+            while (buffer.hasRemaining()) {
+                position += channel.write(buffer, position);
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+}
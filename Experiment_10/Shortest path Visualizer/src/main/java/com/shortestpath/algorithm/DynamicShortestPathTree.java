@@ -0,0 +1,278 @@
+package com.shortestpath.algorithm;
+
+import com.shortestpath.model.Edge;
+import com.shortestpath.model.Node;
+import com.shortestpath.model.WeightedGraph;
+
+import java.util.*;
+
+/**
+ * Shortest-path tree from one source that is repaired in place when single edge weights
+ * change, instead of being recomputed from scratch (Ramalingam-Reps style).
+ *
+ * A decrease on edge {@code (u, v)} that shortens {@code v} is propagated outwards with a
+ * Dijkstra search seeded at {@code v}. An increase on a non-tree edge changes nothing; on a
+ * tree edge only the subtree below {@code v} can get longer, so its nodes are re-seeded from
+ * their in-edges outside the subtree and settled with a Dijkstra search restricted to the
+ * subtree. Each update reports how many edges it scanned and how many distances changed.
+ *
+ * The edge set is fixed when the tree is built; only weights may change, and weights must
+ * stay non-negative. In undirected graphs each direction is a separate {@link Edge}.
+ */
+public final class DynamicShortestPathTree {
+
+    private final CompactGraph g;
+    private final int source;
+    private final double[] outWeight;
+    private final double[] inWeight;
+    private final int[] edgeSource;
+    private final int[] outToIn;
+    private final int[] inToOut;
+    private final Map<Edge, Integer> edgeIndex = new IdentityHashMap<>();
+    private final double[] dist;
+    private final int[] parentEdge;
+    private final IndexedMinHeap heap;
+    private final int[] stamp;
+    private int generation;
+    private final long buildTimeMs;
+
+    private long lastEdgeScans;
+    private int lastChangedNodes;
+    private long totalEdgeScans;
+
+    private DynamicShortestPathTree(WeightedGraph graph, Node source) {
+        long start = System.currentTimeMillis();
+        this.g = CompactGraph.of(graph);
+        if (g.hasNegativeWeights()) {
+            throw new IllegalArgumentException("dynamic shortest-path tree requires non-negative edge weights");
+        }
+        int n = g.size();
+        int m = g.edgeCount();
+        this.source = g.indexOf(source);
+        this.outWeight = g.outWeight.clone();
+        this.inWeight = g.inWeight.clone();
+        this.edgeSource = new int[m];
+        this.outToIn = new int[m];
+        this.inToOut = new int[m];
+        // Same fill order as CompactGraph, so position i of each list is the same edge
+        int[] outFill = Arrays.copyOf(g.outStart, n);
+        int[] inFill = Arrays.copyOf(g.inStart, n);
+        for (Edge e : graph.getAllEdges()) {
+            int u = g.indexOf(e.getSource());
+            int o = outFill[u]++;
+            int in = inFill[g.indexOf(e.getTarget())]++;
+            edgeSource[o] = u;
+            outToIn[o] = in;
+            inToOut[in] = o;
+            edgeIndex.put(e, o);
+        }
+        this.dist = new double[n];
+        this.parentEdge = new int[n];
+        this.heap = new IndexedMinHeap(n);
+        this.stamp = new int[n];
+
+        Arrays.fill(dist, Double.POSITIVE_INFINITY);
+        Arrays.fill(parentEdge, -1);
+        dist[this.source] = 0.0;
+        heap.insertOrDecrease(this.source, 0.0);
+        totalEdgeScans = propagate(false);
+        this.buildTimeMs = System.currentTimeMillis() - start;
+    }
+
+    public static DynamicShortestPathTree build(WeightedGraph graph, Node source) {
+        if (graph == null) throw new IllegalArgumentException("graph must not be null");
+        if (source == null) throw new IllegalArgumentException("source must not be null");
+        if (!graph.containsNode(source.getId())) throw new IllegalArgumentException("source not in graph");
+        return new DynamicShortestPathTree(graph, source);
+    }
+
+    /**
+     * Sets the weight of {@code edge} and repairs the tree.
+     *
+     * @return number of nodes whose distance changed
+     */
+    public int setWeight(Edge edge, double weight) {
+        int e = require(edge);
+        if (weight < 0.0) throw new IllegalArgumentException("weight must be non-negative");
+        edge.setWeight(weight);
+        return repair(e, weight);
+    }
+
+    /**
+     * Repairs the tree after {@code edge}'s weight was changed directly with
+     * {@link Edge#setWeight(double)}.
+     *
+     * @return number of nodes whose distance changed
+     */
+    public int edgeChanged(Edge edge) {
+        int e = require(edge);
+        if (edge.getWeight() < 0.0) throw new IllegalArgumentException("weight must be non-negative");
+        return repair(e, edge.getWeight());
+    }
+
+    private int require(Edge edge) {
+        if (edge == null) throw new IllegalArgumentException("edge must not be null");
+        Integer e = edgeIndex.get(edge);
+        if (e == null) throw new IllegalArgumentException("edge not in graph: " + edge);
+        return e;
+    }
+
+    private int repair(int e, double weight) {
+        double old = outWeight[e];
+        outWeight[e] = weight;
+        inWeight[outToIn[e]] = weight;
+        lastEdgeScans = 0;
+        lastChangedNodes = 0;
+        if (weight < old) {
+            decrease(e);
+        } else if (weight > old && parentEdge[g.outTarget[e]] == e) {
+            increase(g.outTarget[e]);
+        }
+        totalEdgeScans += lastEdgeScans;
+        return lastChangedNodes;
+    }
+
+    private void decrease(int e) {
+        int u = edgeSource[e];
+        int v = g.outTarget[e];
+        double alt = dist[u] + outWeight[e];
+        if (!(alt < dist[v])) return;
+        generation++;
+        dist[v] = alt;
+        parentEdge[v] = e;
+        heap.insertOrDecrease(v, alt);
+        markChanged(v);
+        lastEdgeScans = propagate(false);
+    }
+
+    private void increase(int root) {
+        // Collect the subtree hanging from root; its members are stamped with this generation
+        generation++;
+        int[] affected = new int[8];
+        int count = 0;
+        stamp[root] = generation;
+        affected[count++] = root;
+        long scans = 0;
+        for (int i = 0; i < count; i++) {
+            int x = affected[i];
+            for (int f = g.outStart[x]; f < g.outStart[x + 1]; f++) {
+                scans++;
+                int y = g.outTarget[f];
+                if (parentEdge[y] == f && stamp[y] != generation) {
+                    stamp[y] = generation;
+                    if (count == affected.length) affected = Arrays.copyOf(affected, count * 2);
+                    affected[count++] = y;
+                }
+            }
+        }
+
+        // Re-seed each subtree node from its cheapest in-edge outside the subtree
+        double[] before = new double[count];
+        for (int i = 0; i < count; i++) {
+            int a = affected[i];
+            before[i] = dist[a];
+            double best = Double.POSITIVE_INFINITY;
+            int bestEdge = -1;
+            for (int in = g.inStart[a]; in < g.inStart[a + 1]; in++) {
+                scans++;
+                int y = g.inSource[in];
+                if (stamp[y] == generation) continue;
+                double alt = dist[y] + inWeight[in];
+                if (alt < best) {
+                    best = alt;
+                    bestEdge = inToOut[in];
+                }
+            }
+            dist[a] = best;
+            parentEdge[a] = bestEdge;
+            if (bestEdge >= 0) heap.insertOrDecrease(a, best);
+        }
+        scans += propagate(true);
+        lastEdgeScans = scans;
+        for (int i = 0; i < count; i++) {
+            if (dist[affected[i]] != before[i]) lastChangedNodes++;
+        }
+    }
+
+    /**
+     * Dijkstra from the queued nodes; when {@code subtreeOnly} is set only nodes stamped with
+     * the current generation may improve. Returns the number of edges scanned.
+     */
+    private long propagate(boolean subtreeOnly) {
+        long scans = 0;
+        while (!heap.isEmpty()) {
+            int x = heap.poll();
+            double dx = dist[x];
+            for (int f = g.outStart[x]; f < g.outStart[x + 1]; f++) {
+                scans++;
+                int y = g.outTarget[f];
+                if (subtreeOnly && stamp[y] != generation) continue;
+                double alt = dx + outWeight[f];
+                if (alt < dist[y]) {
+                    dist[y] = alt;
+                    parentEdge[y] = f;
+                    heap.insertOrDecrease(y, alt);
+                    if (!subtreeOnly) markChanged(y);
+                }
+            }
+        }
+        return scans;
+    }
+
+    private void markChanged(int v) {
+        if (stamp[v] != generation) {
+            stamp[v] = generation;
+            lastChangedNodes++;
+        }
+    }
+
+    public Node getSource() { return g.node(source); }
+
+    /** Distance from the source, or +infinity if {@code node} is unreachable. */
+    public double getDistance(Node node) {
+        return dist[g.indexOf(requireNode(node))];
+    }
+
+    /** Predecessor on the current shortest path, or null for the source and unreachable nodes. */
+    public Node getPredecessor(Node node) {
+        int e = parentEdge[g.indexOf(requireNode(node))];
+        return e < 0 ? null : g.node(edgeSource[e]);
+    }
+
+    /** Current shortest path from the source to {@code target}, or an empty list if unreachable. */
+    public List<Node> getPath(Node target) {
+        int t = g.indexOf(requireNode(target));
+        if (dist[t] == Double.POSITIVE_INFINITY) return List.of();
+        List<Node> path = new ArrayList<>();
+        for (int v = t; v >= 0; v = v == source ? -1 : edgeSource[parentEdge[v]]) {
+            path.add(g.node(v));
+        }
+        Collections.reverse(path);
+        return path;
+    }
+
+    /** Copy of the current tree that later updates do not affect. */
+    public ShortestPathTree snapshot() {
+        int[] parents = new int[g.size()];
+        for (int v = 0; v < parents.length; v++) {
+            parents[v] = parentEdge[v] < 0 ? -1 : edgeSource[parentEdge[v]];
+        }
+        return new ShortestPathTree(g, source, dist.clone(), parents, buildTimeMs);
+    }
+
+    /** Edges scanned by the most recent update; 0 if it could not affect the tree. */
+    public long getLastUpdateEdgeScans() { return lastEdgeScans; }
+
+    /** Nodes whose distance changed in the most recent update. */
+    public int getLastUpdateChangedNodes() { return lastChangedNodes; }
+
+    /** Edges scanned since the tree was built, including the initial search. */
+    public long getTotalEdgeScans() { return totalEdgeScans; }
+
+    public long getBuildTimeMs() { return buildTimeMs; }
+
+    private Node requireNode(Node node) {
+        if (node == null) throw new IllegalArgumentException("node must not be null");
+        return node;
+    }
+}
@@ -0,0 +1,68 @@
+package com.shortestpath.algorithm;
+
+import com.shortestpath.model.Edge;
+import com.shortestpath.model.Node;
+import com.shortestpath.model.WeightedGraph;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Admissible scale of the Euclidean heuristic per graph, computed with one pass over the
+ * edges and reused until the graph's {@link WeightedGraph#getVersion() version} changes, so
+ * default A* queries start in constant time. Graphs are held weakly.
+ */
+final class EuclideanScale {
+
+    /** Scale of a graph version; NaN if the graph has a negative edge weight. */
+    private record Entry(long version, double scale) {}
+
+    private static final Map<WeightedGraph, Entry> CACHE = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private EuclideanScale() {}
+
+    /**
+     * The largest {@code k} such that {@code k} times the Euclidean length of every edge is at
+     * most its weight, 0 if no edge constrains it, or NaN if some weight is negative.
+     */
+    static double of(WeightedGraph graph) {
+        long version = graph.getVersion();
+        Entry entry = CACHE.get(graph);
+        if (entry != null && entry.version() == version) return entry.scale();
+        double scale = Double.POSITIVE_INFINITY;
+        for (Edge e : graph.getAllEdges()) {
+            if (e.getWeight() < 0.0) {
+                scale = Double.NaN;
+                break;
+            }
+            double length = AStarAlgorithm.calculateHeuristic(e.getSource(), e.getTarget());
+            if (length > 0.0) scale = Math.min(scale, e.getWeight() / length);
+        }
+        if (scale == Double.POSITIVE_INFINITY) scale = 0.0;
+        // Skip caching if the graph changed during the scan
+        if (graph.getVersion() == version) CACHE.put(graph, new Entry(version, scale));
+        return scale;
+    }
+
+    static boolean hasNegativeWeights(WeightedGraph graph) {
+        return Double.isNaN(of(graph));
+    }
+
+    /**
+     * The default A* heuristic for {@code graph}: Euclidean distance times {@link #of}. The
+     * scale is looked up on the first estimate, so creating the heuristic costs nothing and
+     * the engine checks its arguments, including {@link #hasNegativeWeights}, first.
+     */
+    static Heuristic heuristicFor(WeightedGraph graph) {
+        return new Heuristic() {
+            private double scale = -1.0;
+
+            @Override
+            public double estimate(Node from, Node to) {
+                if (scale < 0.0) scale = of(graph);
+                return scale * AStarAlgorithm.calculateHeuristic(from, to);
+            }
+        };
+    }
+}
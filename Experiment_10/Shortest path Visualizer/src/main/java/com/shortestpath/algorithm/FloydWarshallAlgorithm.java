@@ -0,0 +1,128 @@
+package com.shortestpath.algorithm;
+
+import com.shortestpath.model.Node;
+import com.shortestpath.model.WeightedGraph;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * Cache-blocked Floyd-Warshall all-pairs shortest paths for dense graphs.
+ *
+ * The distance matrix is one flat row-major {@code double[]} split into square tiles small
+ * enough to stay in cache. For each diagonal tile {@code k} the algorithm updates, in order,
+ * the diagonal tile itself, then the other tiles of row and column {@code k} (in parallel),
+ * then all remaining tiles (in parallel). Negative edges are allowed; negative cycles are
+ * rejected. An optional next-hop matrix allows paths to be rebuilt.
+ */
+public final class FloydWarshallAlgorithm {
+
+    /** Tile edge length; a 64 x 64 tile of doubles is 32 KiB. */
+    public static final int DEFAULT_BLOCK_SIZE = 64;
+
+    private FloydWarshallAlgorithm() {}
+
+    public static DistanceMatrix allPairs(WeightedGraph graph) {
+        return allPairs(graph, false, DEFAULT_BLOCK_SIZE, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * @param withPaths also compute next hops so {@link DistanceMatrix#getPath(Node, Node)} works
+     * @throws IllegalArgumentException if the graph contains a negative cycle, or has too many
+     *         nodes for the matrix to fit in one array
+     */
+    public static DistanceMatrix allPairs(WeightedGraph graph, boolean withPaths, int blockSize, int parallelism) {
+        if (graph == null) throw new IllegalArgumentException("graph must not be null");
+        if (blockSize < 1) throw new IllegalArgumentException("blockSize must be >= 1");
+        if (parallelism < 1) throw new IllegalArgumentException("parallelism must be >= 1");
+
+        // Every row offset i * n + j below stays within the int range once the size fits
+        int cells = DistanceMatrix.cellCount(graph.getNodeCount(), graph.getNodeCount());
+        CompactGraph g = CompactGraph.of(graph);
+        int n = g.size();
+        double[] d = new double[cells];
+        int[] next = withPaths ? new int[cells] : null;
+        Arrays.fill(d, Double.POSITIVE_INFINITY);
+        if (next != null) Arrays.fill(next, -1);
+        for (int i = 0; i < n; i++) {
+            d[i * n + i] = 0.0;
+            if (next != null) next[i * n + i] = i;
+        }
+        for (int u = 0; u < n; u++) {
+            for (int e = g.outStart[u]; e < g.outStart[u + 1]; e++) {
+                int v = g.outTarget[e];
+                if (g.outWeight[e] < d[u * n + v]) {
+                    d[u * n + v] = g.outWeight[e];
+                    if (next != null) next[u * n + v] = v;
+                }
+            }
+        }
+
+        // Tiles never need to be wider than the matrix; this also keeps n + size from overflowing
+        int size = Math.min(blockSize, Math.max(1, n));
+        int blocks = (n + size - 1) / size;
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            for (int k = 0; k < blocks; k++) {
+                int kb = k;
+                tile(d, next, n, size, kb, kb, kb);
+                pool.submit(() -> IntStream.range(0, 2 * blocks).parallel().forEach(t -> {
+                    int b = t >> 1;
+                    if (b == kb) return;
+                    if ((t & 1) == 0) tile(d, next, n, size, kb, b, kb);
+                    else tile(d, next, n, size, b, kb, kb);
+                })).join();
+                pool.submit(() -> IntStream.range(0, blocks * blocks).parallel().forEach(t -> {
+                    int bi = t / blocks;
+                    int bj = t % blocks;
+                    if (bi != kb && bj != kb) tile(d, next, n, size, bi, bj, kb);
+                })).join();
+            }
+        } finally {
+            pool.shutdown();
+        }
+
+        for (int i = 0; i < n; i++) {
+            if (d[i * n + i] < 0.0) throw new IllegalArgumentException("graph contains a negative cycle");
+        }
+        return new DistanceMatrix(g.nodes(), g.nodes(), d, next);
+    }
+
+    /** Relaxes tile (bi, bj) through the intermediate nodes of block bk. */
+    private static void tile(double[] d, int[] next, int n, int size, int bi, int bj, int bk) {
+        int iEnd = Math.min(n, (bi + 1) * size);
+        int jStart = bj * size;
+        int jEnd = Math.min(n, (bj + 1) * size);
+        int kEnd = Math.min(n, (bk + 1) * size);
+        for (int k = bk * size; k < kEnd; k++) {
+            int kRow = k * n;
+            for (int i = bi * size; i < iEnd; i++) {
+                int iRow = i * n;
+                double dik = d[iRow + k];
+                if (dik == Double.POSITIVE_INFINITY) continue;
+                for (int j = jStart; j < jEnd; j++) {
+                    double alt = dik + d[kRow + j];
+                    if (alt < d[iRow + j]) {
+                        d[iRow + j] = alt;
+                        if (next != null) next[iRow + j] = next[iRow + k];
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Times this algorithm against one Dijkstra per source ({@link JohnsonAlgorithm}, which
+     * reduces to repeated Dijkstra on non-negative graphs) with the same thread count and
+     * returns how many times faster Floyd-Warshall was.
+     */
+    public static double measureAgainstRepeatedDijkstra(WeightedGraph graph, int parallelism) {
+        long t0 = System.nanoTime();
+        allPairs(graph, false, DEFAULT_BLOCK_SIZE, parallelism);
+        long t1 = System.nanoTime();
+        JohnsonAlgorithm.allPairs(graph, parallelism);
+        long t2 = System.nanoTime();
+        return (double) (t2 - t1) / Math.max(1L, t1 - t0);
+    }
+}
@@ -0,0 +1,81 @@
+package com.shortestpath.algorithm;
+
+import com.shortestpath.model.Edge;
+import com.shortestpath.model.Node;
+import com.shortestpath.model.WeightedGraph;
+
+/**
+ * Lower bound on the shortest path distance between two nodes, used to guide A*.
+ * Implementations must never overestimate for A* to return optimal paths.
+ *
+ * The coordinate-based bounds below measure distance in coordinate units. They are only
+ * admissible if no edge is cheaper than its length; {@link #scaledEuclidean(WeightedGraph)}
+ * and {@link #admissibleScale(WeightedGraph, Heuristic)} convert them to weight units.
+ * A* caches each node's estimate for the duration of a query, so implementations are
+ * called at most once per node and query.
+ */
+@FunctionalInterface
+public interface Heuristic {
+
+    double estimate(Node from, Node to);
+
+    /** This estimate multiplied by {@code factor}. */
+    default Heuristic scaledBy(double factor) {
+        if (!(factor >= 0.0) || Double.isInfinite(factor)) {
+            throw new IllegalArgumentException("factor must be a finite value >= 0");
+        }
+        return (from, to) -> factor * estimate(from, to);
+    }
+
+    /** Straight-line distance between node coordinates. */
+    static Heuristic euclidean() {
+        return AStarAlgorithm::calculateHeuristic;
+    }
+
+    /** {@code |dx| + |dy|}; the exact distance on 4-connected grids. */
+    static Heuristic manhattan() {
+        return (from, to) -> Math.abs(to.getX() - from.getX()) + Math.abs(to.getY() - from.getY());
+    }
+
+    /** {@code max + (sqrt 2 - 1) * min} of {@code |dx|, |dy|}; the exact distance on 8-connected grids. */
+    static Heuristic octile() {
+        return (from, to) -> {
+            double dx = Math.abs(to.getX() - from.getX());
+            double dy = Math.abs(to.getY() - from.getY());
+            return Math.max(dx, dy) + (Math.sqrt(2.0) - 1.0) * Math.min(dx, dy);
+        };
+    }
+
+    /**
+     * Euclidean distance scaled to weight units as {@link #admissibleScale(WeightedGraph, Heuristic)}
+     * would; the scale is computed once per graph version and reused.
+     *
+     * @throws IllegalArgumentException if the graph has a negative edge weight
+     */
+    static Heuristic scaledEuclidean(WeightedGraph graph) {
+        if (graph == null) throw new IllegalArgumentException("graph must not be null");
+        double scale = EuclideanScale.of(graph);
+        if (Double.isNaN(scale)) throw new IllegalArgumentException("A* requires non-negative edge weights");
+        return euclidean().scaledBy(scale);
+    }
+
+    /**
+     * Largest factor {@code k} such that {@code k * base} never exceeds an edge's weight:
+     * the minimum of weight over {@code base} estimate across all edges. If {@code base}
+     * satisfies the triangle inequality (as every bound above does), {@code k * base} is
+     * then admissible for every pair of nodes. Returns 0 if no edge constrains the factor.
+     *
+     * @throws IllegalArgumentException if the graph has a negative edge weight
+     */
+    static double admissibleScale(WeightedGraph graph, Heuristic base) {
+        if (graph == null) throw new IllegalArgumentException("graph must not be null");
+        if (base == null) throw new IllegalArgumentException("base must not be null");
+        double scale = Double.POSITIVE_INFINITY;
+        for (Edge e : graph.getAllEdges()) {
+            if (e.getWeight() < 0.0) throw new IllegalArgumentException("A* requires non-negative edge weights");
+            double length = base.estimate(e.getSource(), e.getTarget());
+            if (length > 0.0) scale = Math.min(scale, e.getWeight() / length);
+        }
+        return scale == Double.POSITIVE_INFINITY ? 0.0 : scale;
+    }
+}
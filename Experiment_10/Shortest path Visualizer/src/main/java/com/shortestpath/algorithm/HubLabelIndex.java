@@ -0,0 +1,437 @@
+package com.shortestpath.algorithm;
+
+import com.shortestpath.model.Node;
+import com.shortestpath.model.WeightedGraph;
+
+import java.io.ByteArrayOutputStream;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * Hub-labeling distance oracle for graphs with non-negative edge weights.
+ *
+ * Every node keeps an outgoing label (hubs it can reach, with distances) and an incoming
+ * label (hubs that reach it). Labels are sorted by hub rank, so {@code d(s, t)} is a single
+ * merge-join of the outgoing label of {@code s} with the incoming label of {@code t}; no
+ * graph search runs at query time. Labels are built with pruned landmark labeling: nodes
+ * are processed by importance (degree) and each pruned Dijkstra only records hubs that
+ * existing labels cannot already answer.
+ *
+ * Construction processes roots in batches in parallel; a root's search is pruned only by
+ * labels of earlier batches, which keeps labels exact at the cost of a few extra entries.
+ * {@link #compress()} returns an equivalent index with delta/varint-encoded labels.
+ * The index only answers distances; use a path engine when the path itself is needed.
+ */
+public final class HubLabelIndex {
+
+    private final List<Node> nodes;
+    private final Map<Node, Integer> index;
+    private final boolean directed;
+    private final long preprocessingTimeMs;
+    // Plain storage: hub ranks ascending with matching distances
+    private final int[][] outHubs;
+    private final double[][] outDist;
+    private final int[][] inHubs;
+    private final double[][] inDist;
+    // Compressed storage: one byte stream, labels located through offsets
+    private final byte[] data;
+    private final int[] outOffset;
+    private final int[] inOffset;
+    private final boolean integralDistances;
+
+    private HubLabelIndex(List<Node> nodes, boolean directed, long preprocessingTimeMs,
+                          int[][] outHubs, double[][] outDist, int[][] inHubs, double[][] inDist,
+                          byte[] data, int[] outOffset, int[] inOffset, boolean integralDistances) {
+        this.nodes = nodes;
+        this.index = new HashMap<>(nodes.size() * 2);
+        for (int i = 0; i < nodes.size(); i++) {
+            index.put(nodes.get(i), i);
+        }
+        this.directed = directed;
+        this.preprocessingTimeMs = preprocessingTimeMs;
+        this.outHubs = outHubs;
+        this.outDist = outDist;
+        this.inHubs = inHubs;
+        this.inDist = inDist;
+        this.data = data;
+        this.outOffset = outOffset;
+        this.inOffset = inOffset;
+        this.integralDistances = integralDistances;
+    }
+
+    public static HubLabelIndex build(WeightedGraph graph) {
+        return build(graph, Runtime.getRuntime().availableProcessors());
+    }
+
+    /** Builds the labels using up to {@code parallelism} worker threads. */
+    public static HubLabelIndex build(WeightedGraph graph, int parallelism) {
+        if (graph == null) throw new IllegalArgumentException("graph must not be null");
+        if (parallelism < 1) throw new IllegalArgumentException("parallelism must be >= 1");
+
+        long start = System.currentTimeMillis();
+        CompactGraph g = CompactGraph.of(graph);
+        if (g.hasNegativeWeights()) {
+            throw new IllegalArgumentException("hub labeling requires non-negative edge weights");
+        }
+        int n = g.size();
+        boolean directed = graph.isDirected();
+
+        // Importance order: higher total degree first, ties by node index
+        Integer[] byImportance = new Integer[n];
+        for (int v = 0; v < n; v++) byImportance[v] = v;
+        Arrays.sort(byImportance, (a, b) -> {
+            int da = g.outStart[a + 1] - g.outStart[a] + g.inStart[a + 1] - g.inStart[a];
+            int db = g.outStart[b + 1] - g.outStart[b] + g.inStart[b + 1] - g.inStart[b];
+            return da != db ? Integer.compare(db, da) : Integer.compare(a, b);
+        });
+        int[] order = new int[n];
+        for (int r = 0; r < n; r++) order[r] = byImportance[r];
+
+        Label[] out = new Label[n];
+        Label[] in = directed ? new Label[n] : out;
+        for (int v = 0; v < n; v++) {
+            out[v] = new Label();
+            if (directed) in[v] = new Label();
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            ThreadLocal<PrunedSearch> searches = ThreadLocal.withInitial(() -> new PrunedSearch(n));
+            int batch = 1;
+            for (int first = 0; first < n; first += batch) {
+                // The first roots prune the most, so batches start small and grow to the thread count
+                batch = Math.min(Math.max(1, first / 4), parallelism);
+                int from = first;
+                int to = Math.min(n, first + batch);
+                int tasks = directed ? 2 * (to - from) : to - from;
+                List<int[]> hits = pool.submit(() -> IntStream.range(0, tasks).parallel()
+                        .mapToObj(task -> {
+                            int r = from + (directed ? task >> 1 : task);
+                            boolean reverse = directed && (task & 1) == 1;
+                            // Forward searches fill incoming labels, backward searches outgoing ones
+                            return searches.get().run(g, order[r], reverse,
+                                    reverse ? in[order[r]] : out[order[r]],
+                                    reverse ? out : in);
+                        })
+                        .toList()).join();
+                // Commit in rank order so every label stays sorted by hub rank
+                for (int task = 0; task < tasks; task++) {
+                    int r = from + (directed ? task >> 1 : task);
+                    boolean reverse = directed && (task & 1) == 1;
+                    PrunedSearch.commit(hits.get(task), r, reverse ? out : in);
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+
+        int[][] outHubs = new int[n][];
+        double[][] outDist = new double[n][];
+        int[][] inHubs = directed ? new int[n][] : outHubs;
+        double[][] inDist = directed ? new double[n][] : outDist;
+        for (int v = 0; v < n; v++) {
+            outHubs[v] = Arrays.copyOf(out[v].hubs, out[v].size);
+            outDist[v] = Arrays.copyOf(out[v].dists, out[v].size);
+            if (directed) {
+                inHubs[v] = Arrays.copyOf(in[v].hubs, in[v].size);
+                inDist[v] = Arrays.copyOf(in[v].dists, in[v].size);
+            }
+        }
+        return new HubLabelIndex(g.nodes(), directed, System.currentTimeMillis() - start,
+                outHubs, outDist, inHubs, inDist, null, null, null, false);
+    }
+
+    /** Shortest-path distance from {@code source} to {@code target}, or +infinity if unreachable. */
+    public double distance(Node source, Node target) {
+        if (source == null) throw new IllegalArgumentException("source must not be null");
+        if (target == null) throw new IllegalArgumentException("target must not be null");
+        Integer s = index.get(source);
+        Integer t = index.get(target);
+        if (s == null) throw new IllegalArgumentException("source not in index");
+        if (t == null) throw new IllegalArgumentException("target not in index");
+        if (s.equals(t)) return 0.0;
+        return data == null ? mergeJoin(s, t) : compressedMergeJoin(s, t);
+    }
+
+    /**
+     * Distance query packaged as an {@link AlgorithmResult} with an empty path and no steps,
+     * so it can be compared with the search-based engines.
+     */
+    public AlgorithmResult query(Node source, Node target) {
+        long start = System.currentTimeMillis();
+        double cost = distance(source, target);
+        List<Node> path = source.equals(target) ? List.of(source) : List.of();
+        return new AlgorithmResult(List.of(), path, cost, source, target, System.currentTimeMillis() - start, 0);
+    }
+
+    private double mergeJoin(int s, int t) {
+        int[] a = outHubs[s];
+        int[] b = inHubs[t];
+        double[] da = outDist[s];
+        double[] db = inDist[t];
+        double best = Double.POSITIVE_INFINITY;
+        int i = 0;
+        int j = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] == b[j]) {
+                best = Math.min(best, da[i++] + db[j++]);
+            } else if (a[i] < b[j]) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return best;
+    }
+
+    private double compressedMergeJoin(int s, int t) {
+        Cursor a = new Cursor(data, outOffset[s], integralDistances);
+        Cursor b = new Cursor(data, inOffset[t], integralDistances);
+        double best = Double.POSITIVE_INFINITY;
+        boolean hasA = a.next();
+        boolean hasB = b.next();
+        while (hasA && hasB) {
+            if (a.hub == b.hub) {
+                best = Math.min(best, a.dist + b.dist);
+                hasA = a.next();
+                hasB = b.next();
+            } else if (a.hub < b.hub) {
+                hasA = a.next();
+            } else {
+                hasB = b.next();
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Returns an equivalent index whose labels are packed into a single byte array: hub ranks
+     * are delta- and varint-encoded, and distances are varint-encoded when every distance is a
+     * whole number (raw doubles otherwise). Queries decode labels on the fly.
+     */
+    public HubLabelIndex compress() {
+        if (data != null) return this;
+        int n = nodes.size();
+        boolean integral = true;
+        for (int v = 0; v < n && integral; v++) {
+            integral = isIntegral(outDist[v]) && isIntegral(inDist[v]);
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        int[] outOff = new int[n];
+        int[] inOff = directed ? new int[n] : outOff;
+        for (int v = 0; v < n; v++) {
+            outOff[v] = bytes.size();
+            encode(bytes, outHubs[v], outDist[v], integral);
+            if (directed) {
+                inOff[v] = bytes.size();
+                encode(bytes, inHubs[v], inDist[v], integral);
+            }
+        }
+        return new HubLabelIndex(nodes, directed, preprocessingTimeMs, null, null, null, null,
+                bytes.toByteArray(), outOff, inOff, integral);
+    }
+
+    private static boolean isIntegral(double[] dists) {
+        for (double d : dists) {
+            if (d != Math.rint(d) || d > (double) (1L << 53)) return false;
+        }
+        return true;
+    }
+
+    private static void encode(ByteArrayOutputStream bytes, int[] hubs, double[] dists, boolean integral) {
+        writeVarint(bytes, hubs.length);
+        int previous = 0;
+        for (int i = 0; i < hubs.length; i++) {
+            writeVarint(bytes, hubs[i] - previous);
+            previous = hubs[i];
+            if (integral) {
+                writeVarint(bytes, (long) dists[i]);
+            } else {
+                long bits = Double.doubleToRawLongBits(dists[i]);
+                for (int k = 0; k < 8; k++) bytes.write((int) (bits >>> (8 * k)));
+            }
+        }
+    }
+
+    private static void writeVarint(ByteArrayOutputStream bytes, long value) {
+        while ((value & ~0x7FL) != 0) {
+            bytes.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        bytes.write((int) value);
+    }
+
+    public boolean isCompressed() { return data != null; }
+
+    /** Total number of (hub, distance) entries over all labels. */
+    public long getLabelEntryCount() {
+        long total = 0;
+        int n = nodes.size();
+        for (int v = 0; v < n; v++) {
+            total += labelSize(v, false);
+            if (directed) total += labelSize(v, true);
+        }
+        return total;
+    }
+
+    public double getAverageLabelSize() {
+        int labels = directed ? 2 * nodes.size() : nodes.size();
+        return labels == 0 ? 0.0 : (double) getLabelEntryCount() / labels;
+    }
+
+    /** Approximate bytes used by label storage. */
+    public long getLabelBytes() {
+        if (data != null) return data.length + 4L * (outOffset.length + (directed ? inOffset.length : 0));
+        return getLabelEntryCount() * (Integer.BYTES + Double.BYTES);
+    }
+
+    public long getPreprocessingTimeMs() { return preprocessingTimeMs; }
+
+    public int getNodeCount() { return nodes.size(); }
+
+    private int labelSize(int v, boolean incoming) {
+        if (data == null) return incoming ? inHubs[v].length : outHubs[v].length;
+        return (int) new Cursor(data, incoming ? inOffset[v] : outOffset[v], integralDistances).remaining;
+    }
+
+    /** Sequential decoder over one compressed label. */
+    private static final class Cursor {
+        private final byte[] data;
+        private final boolean integral;
+        private int pos;
+        long remaining;
+        int hub;
+        double dist;
+
+        Cursor(byte[] data, int offset, boolean integral) {
+            this.data = data;
+            this.integral = integral;
+            this.pos = offset;
+            this.remaining = readVarint();
+        }
+
+        boolean next() {
+            if (remaining == 0) return false;
+            remaining--;
+            hub += (int) readVarint();
+            if (integral) {
+                dist = readVarint();
+            } else {
+                long bits = 0;
+                for (int k = 0; k < 8; k++) bits |= (data[pos++] & 0xFFL) << (8 * k);
+                dist = Double.longBitsToDouble(bits);
+            }
+            return true;
+        }
+
+        private long readVarint() {
+            long value = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = data[pos++];
+                value |= (long) (b & 0x7F) << shift;
+                shift += 7;
+            } while ((b & 0x80) != 0);
+            return value;
+        }
+    }
+
+    /** Growable label used during construction. */
+    private static final class Label {
+        int[] hubs = new int[4];
+        double[] dists = new double[4];
+        int size;
+
+        void append(int hub, double dist) {
+            if (size == hubs.length) {
+                hubs = Arrays.copyOf(hubs, size * 2);
+                dists = Arrays.copyOf(dists, size * 2);
+            }
+            hubs[size] = hub;
+            dists[size] = dist;
+            size++;
+        }
+    }
+
+    /** Per-thread pruned Dijkstra with O(touched) reset. */
+    private static final class PrunedSearch {
+        private final double[] dist;
+        private final int[] touched;
+        private int touchedCount;
+        private final double[] rootLabel;
+        private final IndexedMinHeap heap;
+
+        PrunedSearch(int n) {
+            dist = new double[n];
+            touched = new int[n];
+            rootLabel = new double[n];
+            Arrays.fill(dist, Double.POSITIVE_INFINITY);
+            Arrays.fill(rootLabel, Double.POSITIVE_INFINITY);
+            heap = new IndexedMinHeap(n);
+        }
+
+        /**
+         * Pruned search from {@code root}; {@code rootSide} is the root's
+         * committed label on the query side and {@code targets} the labels this search extends.
+         * Returns flat (node, distance bits) pairs for every node that needs the root as a hub.
+         */
+        int[] run(CompactGraph g, int root, boolean reverse, Label rootSide, Label[] targets) {
+            int[] start = reverse ? g.inStart : g.outStart;
+            int[] adj = reverse ? g.inSource : g.outTarget;
+            double[] w = reverse ? g.inWeight : g.outWeight;
+            for (int i = 0; i < rootSide.size; i++) rootLabel[rootSide.hubs[i]] = rootSide.dists[i];
+
+            int[] found = new int[16];
+            int size = 0;
+            set(root, 0.0);
+            heap.insertOrDecrease(root, 0.0);
+            while (!heap.isEmpty()) {
+                int u = heap.poll();
+                double du = dist[u];
+                if (isCovered(targets[u], du)) continue;
+                if (size + 3 > found.length) found = Arrays.copyOf(found, found.length * 2);
+                long bits = Double.doubleToRawLongBits(du);
+                found[size++] = u;
+                found[size++] = (int) (bits >>> 32);
+                found[size++] = (int) bits;
+                for (int e = start[u]; e < start[u + 1]; e++) {
+                    int v = adj[e];
+                    double alt = du + w[e];
+                    if (alt < dist[v]) {
+                        set(v, alt);
+                        heap.insertOrDecrease(v, alt);
+                    }
+                }
+            }
+
+            for (int i = 0; i < rootSide.size; i++) rootLabel[rootSide.hubs[i]] = Double.POSITIVE_INFINITY;
+            for (int i = 0; i < touchedCount; i++) dist[touched[i]] = Double.POSITIVE_INFINITY;
+            touchedCount = 0;
+            heap.clear();
+            return Arrays.copyOf(found, size);
+        }
+
+        /** True if existing labels already give a distance no larger than {@code d}. */
+        private boolean isCovered(Label label, double d) {
+            for (int i = 0; i < label.size; i++) {
+                double viaHub = rootLabel[label.hubs[i]];
+                if (viaHub + label.dists[i] <= d) return true;
+            }
+            return false;
+        }
+
+        static void commit(int[] found, int rank, Label[] targets) {
+            for (int i = 0; i < found.length; i += 3) {
+                long bits = ((long) found[i + 1] << 32) | (found[i + 2] & 0xFFFFFFFFL);
+                targets[found[i]].append(rank, Double.longBitsToDouble(bits));
+            }
+        }
+
+        private void set(int v, double d) {
+            if (dist[v] == Double.POSITIVE_INFINITY) touched[touchedCount++] = v;
+            dist[v] = d;
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package com.shortestpath.algorithm;
+
+import com.shortestpath.model.Node;
+import com.shortestpath.model.WeightedGraph;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * Johnson's all-pairs shortest paths for graphs that may contain negative edge weights.
+ *
+ * One Bellman-Ford pass from a virtual source (joined to every node by a zero-weight edge)
+ * yields potentials {@code h}; reweighting each edge to {@code w + h(u) - h(v)} makes all
+ * weights non-negative without changing shortest paths, so one Dijkstra per source then
+ * suffices. The per-source searches run in parallel, for {@code O(V E log V)} total work
+ * instead of {@code O(V^2 E)} for Bellman-Ford from every node.
+ */
+public final class JohnsonAlgorithm {
+
+    private JohnsonAlgorithm() {}
+
+    public static DistanceMatrix allPairs(WeightedGraph graph) {
+        return allPairs(graph, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * @throws IllegalArgumentException if the graph contains a negative cycle, or has too many
+     *         nodes for the matrix to fit in one array; use {@link #writeAllPairs} for those
+     */
+    public static DistanceMatrix allPairs(WeightedGraph graph, int parallelism) {
+        if (graph == null) throw new IllegalArgumentException("graph must not be null");
+        // Fail before the potentials are computed
+        int cells = DistanceMatrix.cellCount(graph.getNodeCount(), graph.getNodeCount());
+        Reweighted r = prepare(graph, parallelism);
+        int n = r.graph.size();
+        double[] data = new double[cells];
+        run(r, parallelism, (source, row) -> System.arraycopy(row, 0, data, source * n, n));
+        return new DistanceMatrix(r.graph.nodes(), r.graph.nodes(), data);
+    }
+
+    /**
+     * Same as {@link #allPairs(WeightedGraph, int)} but writes each row to {@code file} as soon
+     * as it is computed, so only one row per thread is held in memory. The file can be read
+     * back with {@link DistanceMatrix#load(Path, WeightedGraph)}.
+     */
+    public static void writeAllPairs(WeightedGraph graph, Path file, int parallelism) throws IOException {
+        if (file == null) throw new IllegalArgumentException("file must not be null");
+        Reweighted r = prepare(graph, parallelism);
+        try (DistanceMatrix.RowWriter writer = new DistanceMatrix.RowWriter(file, r.graph.nodes(), r.graph.nodes())) {
+            run(r, parallelism, (source, row) -> {
+                try {
+                    writer.writeRow(source, row);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (RuntimeException e) {
+            // Fork-join may rethrow a copy of the worker's exception, so search the cause chain
+            for (Throwable t = e; t != null; t = t.getCause()) {
+                if (t instanceof UncheckedIOException u) throw u.getCause();
+            }
+            throw e;
+        }
+    }
+
+    private static Reweighted prepare(WeightedGraph graph, int parallelism) {
+        if (graph == null) throw new IllegalArgumentException("graph must not be null");
+        if (parallelism < 1) throw new IllegalArgumentException("parallelism must be >= 1");
+        CompactGraph g = CompactGraph.of(graph);
+        double[] h = potentials(g);
+        if (h == null) throw new IllegalArgumentException("graph contains a negative cycle");
+        double[] reweighted = new double[g.edgeCount()];
+        for (int u = 0; u < g.size(); u++) {
+            for (int e = g.outStart[u]; e < g.outStart[u + 1]; e++) {
+                // Clamp rounding noise so Dijkstra never sees a tiny negative weight
+                reweighted[e] = Math.max(0.0, g.outWeight[e] + h[u] - h[g.outTarget[e]]);
+            }
+        }
+        return new Reweighted(g, h, reweighted);
+    }
+
+    /**
+     * Bellman-Ford from the virtual source: every node starts at distance 0 and passes stop
+     * once nothing changes. Returns null if distances still change in pass {@code V + 1}.
+     */
+    static double[] potentials(CompactGraph g) {
+        int n = g.size();
+        double[] h = new double[n];
+        for (int pass = 1; pass <= n + 1; pass++) {
+            boolean changed = false;
+            for (int u = 0; u < n; u++) {
+                for (int e = g.outStart[u]; e < g.outStart[u + 1]; e++) {
+                    int v = g.outTarget[e];
+                    double alt = h[u] + g.outWeight[e];
+                    if (alt < h[v]) {
+                        h[v] = alt;
+                        changed = true;
+                    }
+                }
+            }
+            if (!changed) return h;
+        }
+        return null;
+    }
+
+    private static void run(Reweighted r, int parallelism, RowConsumer consumer) {
+        CompactGraph g = r.graph;
+        int n = g.size();
+        ThreadLocal<Workspace> workspaces = ThreadLocal.withInitial(() -> new Workspace(n));
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            pool.submit(() -> IntStream.range(0, n).parallel().forEach(source -> {
+                Workspace w = workspaces.get();
+                w.dijkstra(g, r.weights, source);
+                double[] row = new double[n];
+                for (int v = 0; v < n; v++) {
+                    double d = w.dist[v];
+                    row[v] = d == Double.POSITIVE_INFINITY ? d : d - r.h[source] + r.h[v];
+                }
+                consumer.accept(source, row);
+            })).join();
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @FunctionalInterface
+    private interface RowConsumer {
+        void accept(int source, double[] row);
+    }
+
+    private static final class Reweighted {
+        final CompactGraph graph;
+        final double[] h;
+        final double[] weights;
+
+        Reweighted(CompactGraph graph, double[] h, double[] weights) {
+            this.graph = graph;
+            this.h = h;
+            this.weights = weights;
+        }
+    }
+
+    /** Per-thread Dijkstra arrays reused across sources. */
+    private static final class Workspace {
+        final double[] dist;
+        final IndexedMinHeap heap;
+
+        Workspace(int n) {
+            dist = new double[n];
+            heap = new IndexedMinHeap(n);
+        }
+
+        void dijkstra(CompactGraph g, double[] weights, int source) {
+            Arrays.fill(dist, Double.POSITIVE_INFINITY);
+            dist[source] = 0.0;
+            heap.insertOrDecrease(source, 0.0);
+            while (!heap.isEmpty()) {
+                int u = heap.poll();
+                double du = dist[u];
+                for (int e = g.outStart[u]; e < g.outStart[u + 1]; e++) {
+                    int v = g.outTarget[e];
+                    double alt = du + weights[e];
+                    if (alt < dist[v]) {
+                        dist[v] = alt;
+                        heap.insertOrDecrease(v, alt);
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,322 @@
+package com.shortestpath.algorithm;
+
+import com.shortestpath.model.GridMap;
+import com.shortestpath.model.Node;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedDeque;
+
+/**
+ * Jump Point Search: A* on a {@link GridMap} that skips the many equally short orderings of
+ * straight and diagonal moves on uniform-cost grids.
+ *
+ * Instead of queueing every neighbour, the search scans ahead along each allowed direction
+ * until it reaches the target, a dead end, or a jump point: a cell where an obstacle ends
+ * beside the line, so a turn there may be needed by some shortest path. Only jump points
+ * enter the open list. Diagonal scans also scan straight along both of their components at
+ * every cell. On open maps this expands a small fraction of the cells A* would, and the scans
+ * read only the grid bits. Paths and costs are the same as A* with the octile heuristic on
+ * {@link GridMap#toWeightedGraph()}; no steps are recorded.
+ *
+ * Per-cell state lives in pooled workspaces with generation stamps, as in
+ * {@link SearchWorkspace}, so a query allocates nothing proportional to the grid and costs
+ * time only for the cells it touches.
+ */
+public final class JumpPointSearch {
+
+    /** Metric name for the number of cells read while scanning for jump points. */
+    public static final String SCANNED_CELLS = "scannedCells";
+
+    private static final double DIAGONAL_EXTRA = GridMap.DIAGONAL_COST - 1.0;
+
+    private JumpPointSearch() {}
+
+    /** Path between cells given by their {@code "row,col"} node ids. */
+    public static AlgorithmResult findShortestPath(GridMap grid, Node source, Node target) {
+        if (source == null) throw new IllegalArgumentException("source must not be null");
+        if (target == null) throw new IllegalArgumentException("target must not be null");
+        int[] s = GridMap.parseCellId(source.getId());
+        int[] t = GridMap.parseCellId(target.getId());
+        return findShortestPath(grid, s[0], s[1], t[0], t[1], SearchBudget.unlimited());
+    }
+
+    public static AlgorithmResult findShortestPath(GridMap grid, int sourceRow, int sourceCol,
+                                                   int targetRow, int targetCol) {
+        return findShortestPath(grid, sourceRow, sourceCol, targetRow, targetCol, SearchBudget.unlimited());
+    }
+
+    /**
+     * @return every cell of the path, as nodes named {@code "row,col"} placed at
+     *         {@code (col, row)}, with the expanded jump points as visited nodes and the
+     *         {@link #SCANNED_CELLS} metric
+     * @throws java.util.concurrent.CancellationException if {@code budget} is cancelled or runs
+     *         out before the search finishes
+     */
+    public static AlgorithmResult findShortestPath(GridMap grid, int sourceRow, int sourceCol,
+                                                   int targetRow, int targetCol, SearchBudget budget) {
+        if (grid == null) throw new IllegalArgumentException("grid must not be null");
+        if (budget == null) throw new IllegalArgumentException("budget must not be null");
+        if (!grid.isInside(sourceRow, sourceCol)) throw new IllegalArgumentException("source not in grid");
+        if (!grid.isInside(targetRow, targetCol)) throw new IllegalArgumentException("target not in grid");
+        if (!grid.isOpen(sourceRow, sourceCol)) throw new IllegalArgumentException("source cell is blocked");
+        if (!grid.isOpen(targetRow, targetCol)) throw new IllegalArgumentException("target cell is blocked");
+
+        Workspace w = Workspace.acquire(grid.getRows() * grid.getCols());
+        try {
+            return new Search(grid, targetRow, targetCol, budget, w).run(sourceRow, sourceCol);
+        } finally {
+            w.release();
+        }
+    }
+
+    /** Octile distance: the exact cost between cells with no obstacles in between. */
+    static double octile(int dr, int dc) {
+        int a = Math.abs(dr);
+        int b = Math.abs(dc);
+        return Math.max(a, b) + DIAGONAL_EXTRA * Math.min(a, b);
+    }
+
+    private static final class Search {
+        private final GridMap grid;
+        private final int cols;
+        private final int targetRow;
+        private final int targetCol;
+        private final SearchBudget budget;
+        private final Workspace w;
+        private final IndexedMinHeap open;
+        private int expansions;
+        private int scanned;
+
+        Search(GridMap grid, int targetRow, int targetCol, SearchBudget budget, Workspace w) {
+            this.grid = grid;
+            this.cols = grid.getCols();
+            this.targetRow = targetRow;
+            this.targetCol = targetCol;
+            this.budget = budget;
+            this.w = w;
+            this.open = w.open;
+        }
+
+        AlgorithmResult run(int sourceRow, int sourceCol) {
+            long start = System.currentTimeMillis();
+            int source = sourceRow * cols + sourceCol;
+            int target = targetRow * cols + targetCol;
+            w.update(source, 0.0, -1);
+            open.insertOrDecrease(source, h(sourceRow, sourceCol));
+            while (!open.isEmpty()) {
+                budget.check();
+                int u = open.poll();
+                if (u == target) break;
+                w.close(u);
+                expansions++;
+                expand(u);
+            }
+
+            double cost = w.g(target);
+            List<Node> path = cost == Double.POSITIVE_INFINITY ? List.of() : path(source, target);
+            return new AlgorithmResult(List.of(), path, cost, cell(sourceRow, sourceCol),
+                    cell(targetRow, targetCol), System.currentTimeMillis() - start, expansions)
+                    .withMetric(SCANNED_CELLS, scanned);
+        }
+
+        /** Scans from {@code u} in every direction its parent leaves open and queues the jump points found. */
+        private void expand(int u) {
+            int r = u / cols;
+            int c = u % cols;
+            int p = w.parent(u);
+            if (p < 0) {
+                for (int dr = -1; dr <= 1; dr++) {
+                    for (int dc = -1; dc <= 1; dc++) {
+                        if (dr != 0 || dc != 0) tryDirection(u, r, c, dr, dc);
+                    }
+                }
+                return;
+            }
+            int dr = Integer.signum(r - p / cols);
+            int dc = Integer.signum(c - p % cols);
+            if (dr != 0 && dc != 0) {
+                tryDirection(u, r, c, dr, 0);
+                tryDirection(u, r, c, 0, dc);
+                tryDirection(u, r, c, dr, dc);
+            } else if (dr == 0) {
+                // Moving along a row: ahead, plus turns towards rows that an obstacle may have hidden
+                tryDirection(u, r, c, 0, dc);
+                for (int side = -1; side <= 1; side += 2) {
+                    tryDirection(u, r, c, side, 0);
+                    tryDirection(u, r, c, side, dc);
+                }
+            } else {
+                tryDirection(u, r, c, dr, 0);
+                for (int side = -1; side <= 1; side += 2) {
+                    tryDirection(u, r, c, 0, side);
+                    tryDirection(u, r, c, dr, side);
+                }
+            }
+        }
+
+        private void tryDirection(int u, int r, int c, int dr, int dc) {
+            if (!canMove(r, c, dr, dc)) return;
+            int jp = jump(r + dr, c + dc, dr, dc);
+            if (jp < 0 || w.isClosed(jp)) return;
+            int jr = jp / cols;
+            int jc = jp % cols;
+            double alt = w.g(u) + octile(jr - r, jc - c);
+            if (alt < w.g(jp)) {
+                w.update(jp, alt, u);
+                open.insertOrDecrease(jp, alt + h(jr, jc));
+            }
+        }
+
+        /** Whether one move from {@code (r, c)} in this direction is allowed, without cutting a corner. */
+        private boolean canMove(int r, int c, int dr, int dc) {
+            if (!grid.isOpen(r + dr, c + dc)) return false;
+            return dr == 0 || dc == 0 || (grid.isOpen(r + dr, c) && grid.isOpen(r, c + dc));
+        }
+
+        /**
+         * First jump point found by moving from the open cell {@code (r, c)} in this direction,
+         * or -1 if the scan hits an obstacle or the edge of the grid first.
+         */
+        private int jump(int r, int c, int dr, int dc) {
+            while (true) {
+                scanned++;
+                if (r == targetRow && c == targetCol) return r * cols + c;
+                if (dr != 0 && dc != 0) {
+                    if ((canMove(r, c, 0, dc) && jump(r, c + dc, 0, dc) >= 0)
+                            || (canMove(r, c, dr, 0) && jump(r + dr, c, dr, 0) >= 0)) {
+                        return r * cols + c;
+                    }
+                } else if (dr == 0) {
+                    // An open cell beside us whose neighbour behind is blocked can only be reached through here
+                    if ((grid.isOpen(r - 1, c) && !grid.isOpen(r - 1, c - dc))
+                            || (grid.isOpen(r + 1, c) && !grid.isOpen(r + 1, c - dc))) {
+                        return r * cols + c;
+                    }
+                } else if ((grid.isOpen(r, c - 1) && !grid.isOpen(r - dr, c - 1))
+                        || (grid.isOpen(r, c + 1) && !grid.isOpen(r - dr, c + 1))) {
+                    return r * cols + c;
+                }
+                if (!canMove(r, c, dr, dc)) return -1;
+                r += dr;
+                c += dc;
+            }
+        }
+
+        private double h(int r, int c) {
+            return octile(targetRow - r, targetCol - c);
+        }
+
+        /** Every cell between consecutive jump points, which always lie on a straight or diagonal line. */
+        private List<Node> path(int source, int target) {
+            List<Node> path = new ArrayList<>();
+            for (int v = target; v != source; v = w.parent(v)) {
+                int r = v / cols;
+                int c = v % cols;
+                int pr = w.parent(v) / cols;
+                int pc = w.parent(v) % cols;
+                int dr = Integer.signum(pr - r);
+                int dc = Integer.signum(pc - c);
+                while (r != pr || c != pc) {
+                    path.add(cell(r, c));
+                    r += dr;
+                    c += dc;
+                }
+            }
+            path.add(cell(source / cols, source % cols));
+            Collections.reverse(path);
+            return path;
+        }
+    }
+
+    /**
+     * Cost, parent and closed flag per cell, valid only where the cell's stamp equals the
+     * current generation. Idle workspaces are pooled and grown to the largest grid seen.
+     */
+    private static final class Workspace {
+        private static final int MAX_IDLE = Math.max(4, 2 * Runtime.getRuntime().availableProcessors());
+        private static final ConcurrentLinkedDeque<Workspace> IDLE = new ConcurrentLinkedDeque<>();
+
+        private double[] g;
+        private int[] parent;
+        private int[] stamp;
+        private int[] closed;
+        private IndexedMinHeap open;
+        private int generation;
+
+        private Workspace(int cells) {
+            g = new double[cells];
+            parent = new int[cells];
+            stamp = new int[cells];
+            closed = new int[cells];
+            open = new IndexedMinHeap(cells);
+        }
+
+        /** Borrows a workspace for a grid of {@code cells} cells, preferring one that is already large enough. */
+        static Workspace acquire(int cells) {
+            Workspace w = null;
+            for (Iterator<Workspace> it = IDLE.iterator(); it.hasNext(); ) {
+                Workspace candidate = it.next();
+                if (candidate.g.length >= cells && IDLE.removeFirstOccurrence(candidate)) {
+                    w = candidate;
+                    break;
+                }
+            }
+            if (w == null) w = IDLE.pollFirst();
+            if (w == null) return new Workspace(cells).begin();
+            if (w.g.length < cells) {
+                w.g = new double[cells];
+                w.parent = new int[cells];
+                w.stamp = new int[cells];
+                w.closed = new int[cells];
+                w.open = new IndexedMinHeap(cells);
+            }
+            return w.begin();
+        }
+
+        private Workspace begin() {
+            if (generation == Integer.MAX_VALUE) {
+                Arrays.fill(stamp, 0);
+                Arrays.fill(closed, 0);
+                generation = 0;
+            }
+            generation++;
+            return this;
+        }
+
+        /** Returns this workspace to the pool; it must not be used afterwards. */
+        void release() {
+            open.clear();
+            if (IDLE.size() < MAX_IDLE) IDLE.addFirst(this);
+        }
+
+        double g(int v) {
+            return stamp[v] == generation ? g[v] : Double.POSITIVE_INFINITY;
+        }
+
+        int parent(int v) {
+            return stamp[v] == generation ? parent[v] : -1;
+        }
+
+        void update(int v, double cost, int from) {
+            g[v] = cost;
+            parent[v] = from;
+            stamp[v] = generation;
+        }
+
+        boolean isClosed(int v) {
+            return closed[v] == generation;
+        }
+
+        void close(int v) {
+            closed[v] = generation;
+        }
+    }
+
+    private static Node cell(int row, int col) {
+        return new Node(GridMap.cellId(row, col), col, row);
+    }
+}
@@ -0,0 +1,322 @@
+package com.shortestpath.algorithm;
+
+import com.shortestpath.model.Edge;
+import com.shortestpath.model.Node;
+import com.shortestpath.model.WeightedGraph;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * Yen's algorithm for the {@code k} shortest loopless paths between two nodes.
+ *
+ * Each accepted path is split at every node into a root path and a spur node. A spur path
+ * from the spur node to the target is searched without the root path's other nodes and
+ * without the edges that earlier accepted paths with the same root take out of the spur
+ * node; root plus spur path becomes a candidate. The spur searches of one path run in
+ * parallel, on the common pool unless the caller supplies one, and all candidates go into
+ * one shared heap from which the cheapest unseen path is accepted next.
+ *
+ * The built-in engines search a {@link CompactGraph} once per spur with the removed nodes and
+ * edges masked by generation stamps, so a spur search costs only what it explores. Negative
+ * weights are handled by Johnson's potentials, which stay valid in every masked subgraph. A
+ * custom {@link SpurSearch} instead receives a reduced copy of the graph for each spur, which
+ * costs {@code O(V + E)} per spur on top of the search.
+ */
+public final class KShortestPathsAlgorithm {
+
+    /** Metric name for the 1-based position of a path in the returned list. */
+    public static final String RANK = "rank";
+
+    /** Metric name for the number of spur searches run before the path was accepted. */
+    public static final String SPUR_SEARCHES = "spurSearches";
+
+    /** Point-to-point search used for the first path and every spur path. */
+    @FunctionalInterface
+    public interface SpurSearch {
+        AlgorithmResult find(WeightedGraph graph, Node source, Node target);
+    }
+
+    /** Dijkstra without recorded steps; requires non-negative edge weights. */
+    public static final SpurSearch DIJKSTRA =
+            (graph, source, target) -> DijkstraAlgorithm.findShortestPath(graph, source, target, RecordingLevel.NONE);
+
+    /** SPFA without recorded steps; allows negative edge weights. */
+    public static final SpurSearch SPFA =
+            (graph, source, target) -> SpfaAlgorithm.findShortestPath(graph, source, target, RecordingLevel.NONE);
+
+    private KShortestPathsAlgorithm() {}
+
+    /**
+     * Uses {@link #DIJKSTRA} for graphs with non-negative weights and {@link #SPFA} otherwise.
+     */
+    public static List<AlgorithmResult> findKShortestPaths(WeightedGraph graph, Node source, Node target, int k) {
+        return findKShortestPaths(graph, source, target, k, null, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Returns up to {@code k} loopless paths in order of increasing cost (ties broken by node
+     * ids), each as an {@link AlgorithmResult} without steps carrying the {@link #RANK} and
+     * {@link #SPUR_SEARCHES} metrics. The list is shorter if fewer paths exist.
+     *
+     * @param search engine for the spur searches, or null to choose one from the edge weights
+     * @param pool caller-owned pool for the spur searches, left running afterwards
+     * @throws IllegalArgumentException if the graph contains a negative cycle
+     */
+    public static List<AlgorithmResult> findKShortestPaths(WeightedGraph graph, Node source, Node target, int k,
+                                                           SpurSearch search, ForkJoinPool pool) {
+        if (pool == null) throw new IllegalArgumentException("pool must not be null");
+        return findKShortestPaths(graph, source, target, k, search, pool, pool.getParallelism());
+    }
+
+    /**
+     * As above, but on a pool of {@code parallelism} threads of its own. The pool is started
+     * only once the first path is found and more than one is wanted, and shut down afterwards.
+     */
+    public static List<AlgorithmResult> findKShortestPaths(WeightedGraph graph, Node source, Node target, int k,
+                                                           SpurSearch search, int parallelism) {
+        return findKShortestPaths(graph, source, target, k, search, null, parallelism);
+    }
+
+    /** Runs on {@code pool}, or on a pool created on demand when it is null. */
+    private static List<AlgorithmResult> findKShortestPaths(WeightedGraph graph, Node source, Node target, int k,
+                                                            SpurSearch search, ForkJoinPool pool, int parallelism) {
+        if (graph == null) throw new IllegalArgumentException("graph must not be null");
+        if (source == null) throw new IllegalArgumentException("source must not be null");
+        if (target == null) throw new IllegalArgumentException("target must not be null");
+        if (!graph.containsNode(source.getId())) throw new IllegalArgumentException("source not in graph");
+        if (!graph.containsNode(target.getId())) throw new IllegalArgumentException("target not in graph");
+        if (k < 1) throw new IllegalArgumentException("k must be >= 1");
+        if (parallelism < 1) throw new IllegalArgumentException("parallelism must be >= 1");
+
+        long start = System.currentTimeMillis();
+        CompactGraph compact = CompactGraph.of(graph);
+        double[] potentials = compact.hasNegativeWeights() ? JohnsonAlgorithm.potentials(compact) : null;
+        if (compact.hasNegativeWeights() && potentials == null) {
+            throw new IllegalArgumentException("graph contains a negative cycle");
+        }
+        SpurSearch engine = search != null ? search : compact.hasNegativeWeights() ? SPFA : DIJKSTRA;
+        MaskedGraph masked = search == null || search == DIJKSTRA || search == SPFA
+                ? new MaskedGraph(compact, potentials) : null;
+
+        List<AlgorithmResult> accepted = new ArrayList<>();
+        AlgorithmResult first = engine.find(graph, source, target);
+        if (!first.hasPath()) return accepted;
+
+        List<List<Node>> paths = new ArrayList<>();
+        PriorityQueue<Candidate> candidates = new PriorityQueue<>();
+        Set<List<Node>> seen = new HashSet<>();
+        paths.add(first.getShortestPath());
+        seen.add(first.getShortestPath());
+        int spurSearches = 0;
+        accepted.add(toResult(graph, first.getShortestPath(), first.getNodesVisited(), 1, spurSearches, start));
+        if (k == 1) return accepted;
+
+        ForkJoinPool workers = pool != null ? pool : new ForkJoinPool(parallelism);
+        try {
+            while (paths.size() < k) {
+                List<Node> previous = paths.get(paths.size() - 1);
+                int spurCount = previous.size() - 1;
+                workers.submit(() -> IntStream.range(0, spurCount).parallel().forEach(i -> {
+                    Candidate c = spur(graph, engine, masked, paths, previous, i, target);
+                    if (c == null) return;
+                    synchronized (candidates) {
+                        if (seen.add(c.path)) candidates.add(c);
+                    }
+                })).join();
+                spurSearches += spurCount;
+
+                Candidate next = candidates.poll();
+                if (next == null) break;
+                paths.add(next.path);
+                accepted.add(toResult(graph, next.path, next.nodesVisited, paths.size(), spurSearches, start));
+            }
+        } finally {
+            if (workers != pool) workers.shutdown();
+        }
+        return accepted;
+    }
+
+    /** Spur search from {@code previous.get(i)}; null if the spur node cannot reach the target. */
+    private static Candidate spur(WeightedGraph graph, SpurSearch engine, MaskedGraph masked,
+                                  List<List<Node>> paths, List<Node> previous, int i, Node target) {
+        List<Node> root = previous.subList(0, i + 1);
+        Node spurNode = previous.get(i);
+        Set<Node> removedNodes = new HashSet<>(root.subList(0, i));
+        Set<Node> bannedNext = new HashSet<>();
+        for (List<Node> p : paths) {
+            if (p.size() > i + 1 && p.subList(0, i + 1).equals(root)) bannedNext.add(p.get(i + 1));
+        }
+
+        if (masked != null) {
+            SpurWorkspace workspace = masked.workspaces.get();
+            List<Node> spurPath = workspace.search(spurNode, target, removedNodes, bannedNext);
+            if (spurPath.isEmpty()) return null;
+            List<Node> path = new ArrayList<>(root.subList(0, i));
+            path.addAll(spurPath);
+            return new Candidate(List.copyOf(path), pathCost(graph, path), workspace.settledCount);
+        }
+
+        WeightedGraph reduced = new WeightedGraph(true);
+        for (Node node : graph.getAllNodes()) {
+            if (!removedNodes.contains(node)) reduced.addNode(node);
+        }
+        for (Edge e : graph.getAllEdges()) {
+            Node u = e.getSource();
+            Node v = e.getTarget();
+            if (removedNodes.contains(u) || removedNodes.contains(v)) continue;
+            if (u.equals(spurNode) && bannedNext.contains(v)) continue;
+            reduced.addEdge(u, v, e.getWeight());
+        }
+
+        AlgorithmResult spurPath = engine.find(reduced, spurNode, target);
+        if (!spurPath.hasPath()) return null;
+        List<Node> path = new ArrayList<>(root.subList(0, i));
+        path.addAll(spurPath.getShortestPath());
+        return new Candidate(List.copyOf(path), pathCost(graph, path), spurPath.getNodesVisited());
+    }
+
+    /** Cost along the cheapest edge between each consecutive pair, summed in path order. */
+    private static double pathCost(WeightedGraph graph, List<Node> path) {
+        double cost = 0.0;
+        for (int i = 0; i + 1 < path.size(); i++) {
+            double best = Double.POSITIVE_INFINITY;
+            for (Edge e : graph.getOutgoingEdges(path.get(i))) {
+                if (e.getTarget().equals(path.get(i + 1))) best = Math.min(best, e.getWeight());
+            }
+            cost += best;
+        }
+        return cost;
+    }
+
+    private static AlgorithmResult toResult(WeightedGraph graph, List<Node> path, int nodesVisited, int rank,
+                                            int spurSearches, long start) {
+        return new AlgorithmResult(List.of(), path, pathCost(graph, path), path.get(0), path.get(path.size() - 1),
+                System.currentTimeMillis() - start, nodesVisited)
+                .withMetric(RANK, rank)
+                .withMetric(SPUR_SEARCHES, spurSearches);
+    }
+
+    /** Compact graph with non-negative (reweighted if needed) edge weights shared by all spur searches. */
+    private static final class MaskedGraph {
+        final CompactGraph g;
+        final double[] weight;
+        final ThreadLocal<SpurWorkspace> workspaces;
+
+        MaskedGraph(CompactGraph g, double[] potentials) {
+            this.g = g;
+            if (potentials == null) {
+                weight = g.outWeight;
+            } else {
+                weight = new double[g.edgeCount()];
+                for (int u = 0; u < g.size(); u++) {
+                    for (int e = g.outStart[u]; e < g.outStart[u + 1]; e++) {
+                        // Clamp rounding noise so Dijkstra never sees a tiny negative weight
+                        weight[e] = Math.max(0.0, g.outWeight[e] + potentials[u] - potentials[g.outTarget[e]]);
+                    }
+                }
+            }
+            workspaces = ThreadLocal.withInitial(() -> new SpurWorkspace(this));
+        }
+    }
+
+    /**
+     * Per-thread Dijkstra state. Entries are valid only while they carry the current stamp, so
+     * nothing is cleared between spur searches.
+     */
+    private static final class SpurWorkspace {
+        private final MaskedGraph m;
+        private final double[] dist;
+        private final int[] parent;
+        private final int[] reached;
+        private final int[] settled;
+        private final int[] removed;
+        private final int[] banned;
+        private final IndexedMinHeap heap;
+        private int stamp;
+        int settledCount;
+
+        SpurWorkspace(MaskedGraph m) {
+            this.m = m;
+            int n = m.g.size();
+            dist = new double[n];
+            parent = new int[n];
+            reached = new int[n];
+            settled = new int[n];
+            removed = new int[n];
+            banned = new int[n];
+            heap = new IndexedMinHeap(n);
+        }
+
+        /** Shortest path from {@code spur} to {@code target} avoiding the masked nodes and edges, or an empty list. */
+        List<Node> search(Node spurNode, Node targetNode, Set<Node> removedNodes, Set<Node> bannedNext) {
+            CompactGraph g = m.g;
+            if (++stamp == Integer.MAX_VALUE) {
+                Arrays.fill(reached, 0);
+                Arrays.fill(settled, 0);
+                Arrays.fill(removed, 0);
+                Arrays.fill(banned, 0);
+                stamp = 1;
+            }
+            for (Node n : removedNodes) removed[g.indexOf(n)] = stamp;
+            for (Node n : bannedNext) banned[g.indexOf(n)] = stamp;
+            int spur = g.indexOf(spurNode);
+            int target = g.indexOf(targetNode);
+
+            heap.clear();
+            settledCount = 0;
+            dist[spur] = 0.0;
+            parent[spur] = -1;
+            reached[spur] = stamp;
+            heap.insertOrDecrease(spur, 0.0);
+            while (!heap.isEmpty()) {
+                int u = heap.poll();
+                settled[u] = stamp;
+                settledCount++;
+                if (u == target) break;
+                double du = dist[u];
+                for (int e = g.outStart[u]; e < g.outStart[u + 1]; e++) {
+                    int v = g.outTarget[e];
+                    if (removed[v] == stamp || settled[v] == stamp) continue;
+                    if (u == spur && banned[v] == stamp) continue;
+                    double alt = du + m.weight[e];
+                    if (reached[v] != stamp || alt < dist[v]) {
+                        reached[v] = stamp;
+                        dist[v] = alt;
+                        parent[v] = u;
+                        heap.insertOrDecrease(v, alt);
+                    }
+                }
+            }
+            if (settled[target] != stamp) return List.of();
+            List<Node> path = new ArrayList<>();
+            for (int v = target; v >= 0; v = parent[v]) path.add(g.node(v));
+            Collections.reverse(path);
+            return path;
+        }
+    }
+
+    private static final class Candidate implements Comparable<Candidate> {
+        final List<Node> path;
+        final double cost;
+        final int nodesVisited;
+
+        Candidate(List<Node> path, double cost, int nodesVisited) {
+            this.path = path;
+            this.cost = cost;
+            this.nodesVisited = nodesVisited;
+        }
+
+        @Override
+        public int compareTo(Candidate other) {
+            int byCost = Double.compare(cost, other.cost);
+            if (byCost != 0) return byCost;
+            for (int i = 0; i < Math.min(path.size(), other.path.size()); i++) {
+                int byId = path.get(i).getId().compareTo(other.path.get(i).getId());
+                if (byId != 0) return byId;
+            }
+            return Integer.compare(path.size(), other.path.size());
+        }
+    }
+}
@@ -0,0 +1,335 @@
+package com.shortestpath.algorithm;
+
+import com.shortestpath.model.Edge;
+import com.shortestpath.model.Node;
+import com.shortestpath.model.WeightedGraph;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.stream.IntStream;
+
+/**
+ * ALT (A*, landmarks, triangle inequality) preprocessing. For each of {@code k} landmarks
+ * {@code L} the index stores {@code d(L, v)} and {@code d(v, L)} for every node, which gives the
+ * lower bound {@code d(v, t) >= max(d(L, t) - d(L, v), d(v, L) - d(t, L))}. Unlike the Euclidean
+ * heuristic this works for any non-negative weights (times, costs) and is usually much tighter.
+ *
+ * The index implements {@link Heuristic} and can be passed to {@link AStarAlgorithm} or
+ * {@link BidirectionalAStarAlgorithm}. Landmark searches run in parallel on the common
+ * fork-join pool. Tables can be saved next to the graph and reloaded with {@link #load}; the
+ * file carries a fingerprint of every edge's endpoints and weight, so tables computed before
+ * the graph was edited are rejected instead of giving A* bounds that may overestimate.
+ */
+public final class LandmarkIndex implements Heuristic {
+
+    /** Landmark selection strategy. */
+    public enum Selection {
+        /** Each new landmark is the node farthest from the landmarks chosen so far. */
+        FARTHEST,
+        /** Goldberg-Harrelson "avoid": grow landmarks into regions the current ones bound poorly. */
+        AVOID
+    }
+
+    private static final int FILE_MAGIC = 0x414C5432; // "ALT2"
+
+    private final List<Node> nodes;
+    private final Map<Node, Integer> index;
+    private final int[] landmarks;
+    private final double[][] fromLandmark;
+    private final double[][] toLandmark;
+    private final int edgeCount;
+    private final long fingerprint;
+    // Graph the tables were computed or loaded for, and its version at that time
+    private final WeightedGraph graph;
+    private final long graphVersion;
+    private final long preprocessingTimeMs;
+
+    private LandmarkIndex(List<Node> nodes, int[] landmarks, double[][] fromLandmark, double[][] toLandmark,
+                          int edgeCount, long fingerprint, WeightedGraph graph, long graphVersion,
+                          long preprocessingTimeMs) {
+        this.nodes = List.copyOf(nodes);
+        this.index = new HashMap<>(nodes.size() * 2);
+        for (int i = 0; i < nodes.size(); i++) {
+            index.put(nodes.get(i), i);
+        }
+        this.landmarks = landmarks;
+        this.fromLandmark = fromLandmark;
+        this.toLandmark = toLandmark;
+        this.edgeCount = edgeCount;
+        this.fingerprint = fingerprint;
+        this.graph = graph;
+        this.graphVersion = graphVersion;
+        this.preprocessingTimeMs = preprocessingTimeMs;
+    }
+
+    public static LandmarkIndex build(WeightedGraph graph, int landmarkCount) {
+        return build(graph, landmarkCount, Selection.AVOID);
+    }
+
+    public static LandmarkIndex build(WeightedGraph graph, int landmarkCount, Selection selection) {
+        if (graph == null) throw new IllegalArgumentException("graph must not be null");
+        if (selection == null) throw new IllegalArgumentException("selection must not be null");
+        if (landmarkCount < 1) throw new IllegalArgumentException("landmarkCount must be >= 1");
+
+        long start = System.currentTimeMillis();
+        long version = graph.getVersion();
+        long fingerprint = fingerprint(graph);
+        CompactGraph g = CompactGraph.of(graph);
+        if (g.size() == 0) {
+            throw new IllegalArgumentException("graph must contain at least one node");
+        }
+        if (g.hasNegativeWeights()) {
+            throw new IllegalArgumentException("landmark preprocessing requires non-negative edge weights");
+        }
+        int k = Math.min(landmarkCount, g.size());
+        double[][] from = new double[k][];
+        double[][] to = new double[k][];
+        int[] chosen = selection == Selection.FARTHEST
+                ? selectFarthest(g, k, from)
+                : selectAvoid(g, k, from, to);
+
+        // Fill whichever tables selection did not need, one task per landmark and direction
+        IntStream.range(0, 2 * k).parallel().forEach(task -> {
+            int l = task >> 1;
+            boolean reverse = (task & 1) == 1;
+            double[][] table = reverse ? to : from;
+            if (table[l] == null) {
+                table[l] = g.distancesFrom(chosen[l], reverse);
+            }
+        });
+
+        return new LandmarkIndex(g.nodes(), chosen, from, to, g.edgeCount(), fingerprint, graph, version,
+                System.currentTimeMillis() - start);
+    }
+
+    private static int[] selectFarthest(CompactGraph g, int k, double[][] from) {
+        int n = g.size();
+        int[] chosen = new int[k];
+        double[] nearest = new double[n];
+        Arrays.fill(nearest, Double.POSITIVE_INFINITY);
+        boolean[] isLandmark = new boolean[n];
+        // Start from the node farthest from node 0, the usual two-sweep seed
+        double[] seed = g.distancesFrom(0, false);
+        int next = argmaxFinite(seed, isLandmark, 0);
+        for (int l = 0; l < k; l++) {
+            chosen[l] = next;
+            isLandmark[next] = true;
+            from[l] = g.distancesFrom(next, false);
+            for (int v = 0; v < n; v++) {
+                nearest[v] = Math.min(nearest[v], from[l][v]);
+            }
+            if (l + 1 < k) {
+                next = pickFarthest(nearest, isLandmark);
+            }
+        }
+        return chosen;
+    }
+
+    private static int[] selectAvoid(CompactGraph g, int k, double[][] from, double[][] to) {
+        int n = g.size();
+        int[] chosen = new int[k];
+        boolean[] isLandmark = new boolean[n];
+        Random random = new Random(42);
+        int[] parent = new int[n];
+        double[] dist = new double[n];
+        for (int l = 0; l < k; l++) {
+            int root = random.nextInt(n);
+            Arrays.fill(dist, Double.POSITIVE_INFINITY);
+            g.dijkstra(root, false, dist, parent);
+
+            // weight(v) = d(r, v) - LB(r, v): how badly the current landmarks bound v
+            double[] size = new double[n];
+            for (int v = 0; v < n; v++) {
+                if (Double.isInfinite(dist[v])) continue;
+                double lb = 0.0;
+                for (int j = 0; j < l; j++) {
+                    lb = Math.max(lb, bound(from[j][root], from[j][v], to[j][root], to[j][v]));
+                }
+                size[v] = dist[v] - lb;
+            }
+            // Accumulate subtree sizes bottom-up; a subtree that holds a landmark scores zero
+            Integer[] order = new Integer[n];
+            for (int v = 0; v < n; v++) order[v] = v;
+            Arrays.sort(order, (a, b) -> Double.compare(dist[b], dist[a]));
+            boolean[] hasLandmark = isLandmark.clone();
+            for (int v : order) {
+                if (Double.isInfinite(dist[v]) || v == root) continue;
+                int p = parent[v];
+                if (hasLandmark[v]) {
+                    hasLandmark[p] = true;
+                } else {
+                    size[p] += size[v];
+                }
+            }
+            for (int v = 0; v < n; v++) {
+                if (hasLandmark[v]) size[v] = 0.0;
+            }
+            // Walk down from the root into the largest subtree until reaching a leaf
+            int[] bestChild = new int[n];
+            Arrays.fill(bestChild, -1);
+            for (int v = 0; v < n; v++) {
+                if (Double.isInfinite(dist[v]) || v == root || size[v] <= 0.0) continue;
+                int p = parent[v];
+                if (bestChild[p] < 0 || size[v] > size[bestChild[p]]) bestChild[p] = v;
+            }
+            int v = root;
+            while (bestChild[v] >= 0) v = bestChild[v];
+            if (isLandmark[v]) {
+                v = argmaxFinite(dist, isLandmark, root);
+            }
+            if (isLandmark[v]) {
+                v = firstNonLandmark(isLandmark);
+            }
+            chosen[l] = v;
+            isLandmark[v] = true;
+            int landmark = v;
+            int current = l;
+            IntStream.range(0, 2).parallel().forEach(dir -> {
+                if (dir == 0) from[current] = g.distancesFrom(landmark, false);
+                else to[current] = g.distancesFrom(landmark, true);
+            });
+        }
+        return chosen;
+    }
+
+    private static int pickFarthest(double[] nearest, boolean[] isLandmark) {
+        // Nodes no landmark reaches are the least covered; take one of those first
+        for (int v = 0; v < nearest.length; v++) {
+            if (!isLandmark[v] && Double.isInfinite(nearest[v])) return v;
+        }
+        return argmaxFinite(nearest, isLandmark, firstNonLandmark(isLandmark));
+    }
+
+    private static int argmaxFinite(double[] values, boolean[] excluded, int fallback) {
+        int best = -1;
+        for (int v = 0; v < values.length; v++) {
+            if (excluded[v] || Double.isInfinite(values[v])) continue;
+            if (best < 0 || values[v] > values[best]) best = v;
+        }
+        return best < 0 ? fallback : best;
+    }
+
+    private static int firstNonLandmark(boolean[] isLandmark) {
+        for (int v = 0; v < isLandmark.length; v++) {
+            if (!isLandmark[v]) return v;
+        }
+        return 0;
+    }
+
+    /** Triangle-inequality bound on d(v, t) from one landmark; infinite terms are ignored. */
+    private static double bound(double landmarkToV, double landmarkToT, double vToLandmark, double tToLandmark) {
+        double lb = 0.0;
+        double a = landmarkToT - landmarkToV;
+        if (!Double.isNaN(a) && !Double.isInfinite(a)) lb = Math.max(lb, a);
+        double b = vToLandmark - tToLandmark;
+        if (!Double.isNaN(b) && !Double.isInfinite(b)) lb = Math.max(lb, b);
+        return lb;
+    }
+
+    @Override
+    public double estimate(Node from, Node to) {
+        Integer v = index.get(from);
+        Integer t = index.get(to);
+        if (v == null || t == null) return 0.0;
+        return lowerBound(v, t);
+    }
+
+    double lowerBound(int v, int t) {
+        double lb = 0.0;
+        for (int l = 0; l < landmarks.length; l++) {
+            lb = Math.max(lb, bound(fromLandmark[l][v], fromLandmark[l][t], toLandmark[l][v], toLandmark[l][t]));
+        }
+        return lb;
+    }
+
+    public List<Node> getLandmarks() {
+        List<Node> result = new ArrayList<>(landmarks.length);
+        for (int l : landmarks) result.add(nodes.get(l));
+        return Collections.unmodifiableList(result);
+    }
+
+    public int getLandmarkCount() { return landmarks.length; }
+
+    public long getPreprocessingTimeMs() { return preprocessingTimeMs; }
+
+    /**
+     * True if the index was built or loaded for {@code graph} (the same instance) and the graph
+     * has not changed since, per {@link WeightedGraph#getVersion()}. Any edit, including a
+     * weight set in place, can invalidate the distance bounds.
+     */
+    public boolean isCompatibleWith(WeightedGraph graph) {
+        return graph != null && graph == this.graph && graph.getVersion() == graphVersion;
+    }
+
+    /** Writes the landmark tables to {@code file}, keyed by node id. */
+    public void save(Path file) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)))) {
+            out.writeInt(FILE_MAGIC);
+            out.writeInt(nodes.size());
+            out.writeInt(edgeCount);
+            out.writeLong(fingerprint);
+            out.writeInt(landmarks.length);
+            for (Node n : nodes) out.writeUTF(n.getId());
+            for (int l : landmarks) out.writeInt(l);
+            for (int l = 0; l < landmarks.length; l++) {
+                for (double d : fromLandmark[l]) out.writeDouble(d);
+                for (double d : toLandmark[l]) out.writeDouble(d);
+            }
+        }
+    }
+
+    /**
+     * Reads tables written by {@link #save(Path)} and binds them to the nodes of {@code graph}.
+     *
+     * @throws IOException if the file is not a landmark index or was saved for a graph with
+     *         different nodes, edges or weights
+     */
+    public static LandmarkIndex load(Path file, WeightedGraph graph) throws IOException {
+        if (graph == null) throw new IllegalArgumentException("graph must not be null");
+        long start = System.currentTimeMillis();
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != FILE_MAGIC) throw new IOException("not a landmark index file: " + file);
+            int n = in.readInt();
+            int edgeCount = in.readInt();
+            long fingerprint = in.readLong();
+            int k = in.readInt();
+            if (n != graph.getNodeCount() || edgeCount != graph.getEdgeCount()) {
+                throw new IOException("landmark index does not match graph " + graph);
+            }
+            if (fingerprint != fingerprint(graph)) {
+                throw new IOException("landmark index was saved for different edges or weights of graph " + graph);
+            }
+            List<Node> nodes = new ArrayList<>(n);
+            for (int i = 0; i < n; i++) {
+                String id = in.readUTF();
+                Node node = graph.getNode(id);
+                if (node == null) throw new IOException("landmark index refers to unknown node " + id);
+                nodes.add(node);
+            }
+            int[] landmarks = new int[k];
+            for (int l = 0; l < k; l++) landmarks[l] = in.readInt();
+            double[][] from = new double[k][n];
+            double[][] to = new double[k][n];
+            for (int l = 0; l < k; l++) {
+                for (int v = 0; v < n; v++) from[l][v] = in.readDouble();
+                for (int v = 0; v < n; v++) to[l][v] = in.readDouble();
+            }
+            return new LandmarkIndex(nodes, landmarks, from, to, edgeCount, fingerprint, graph, graph.getVersion(),
+                    System.currentTimeMillis() - start);
+        }
+    }
+
+    /** Order-independent hash of every edge's endpoint ids and weight. */
+    static long fingerprint(WeightedGraph graph) {
+        long sum = 0;
+        for (Edge e : graph.getAllEdges()) {
+            long h = e.getSource().getId().hashCode() * 0x9E3779B97F4A7C15L;
+            h = (h ^ e.getTarget().getId().hashCode()) * 0xBF58476D1CE4E5B9L;
+            h = (h ^ Double.doubleToLongBits(e.getWeight())) * 0x94D049BB133111EBL;
+            sum += h ^ (h >>> 31);
+        }
+        return sum;
+    }
+}
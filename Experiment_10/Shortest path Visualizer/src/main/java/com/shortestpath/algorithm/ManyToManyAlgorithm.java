@@ -0,0 +1,137 @@
+package com.shortestpath.algorithm;
+
+import com.shortestpath.model.Node;
+import com.shortestpath.model.WeightedGraph;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * Distances from a set of sources to a set of targets for graphs with non-negative edge
+ * weights.
+ *
+ * Each source runs its own Dijkstra search that stops as soon as every distinct target has
+ * been settled, so targets close to the sources cost far less than full one-to-all
+ * searches. Sources are processed in parallel, each thread reusing its own arrays and
+ * resetting only the entries the previous search touched.
+ */
+public final class ManyToManyAlgorithm {
+
+    private ManyToManyAlgorithm() {}
+
+    public static DistanceMatrix distanceMatrix(WeightedGraph graph, List<Node> sources, List<Node> targets) {
+        return distanceMatrix(graph, sources, targets, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Row {@code i} of the result holds the distances from {@code sources.get(i)} to each
+     * target, in the order given. Unreachable targets are +infinity.
+     */
+    public static DistanceMatrix distanceMatrix(WeightedGraph graph, List<Node> sources, List<Node> targets,
+                                                int parallelism) {
+        if (graph == null) throw new IllegalArgumentException("graph must not be null");
+        if (sources == null) throw new IllegalArgumentException("sources must not be null");
+        if (targets == null) throw new IllegalArgumentException("targets must not be null");
+        if (parallelism < 1) throw new IllegalArgumentException("parallelism must be >= 1");
+
+        CompactGraph g = CompactGraph.of(graph);
+        if (g.hasNegativeWeights()) {
+            throw new IllegalArgumentException("many-to-many search requires non-negative edge weights");
+        }
+        int[] sourceIds = indices(g, sources, "source");
+        int[] targetIds = indices(g, targets, "target");
+
+        // Column of each node, or -1; duplicate targets share the first column and are copied after
+        int n = g.size();
+        int[] column = new int[n];
+        Arrays.fill(column, -1);
+        int distinctTargets = 0;
+        for (int c = 0; c < targetIds.length; c++) {
+            if (column[targetIds[c]] < 0) {
+                column[targetIds[c]] = c;
+                distinctTargets++;
+            }
+        }
+
+        int columns = targetIds.length;
+        double[] data = new double[DistanceMatrix.cellCount(sourceIds.length, columns)];
+        int wanted = distinctTargets;
+        ThreadLocal<Workspace> workspaces = ThreadLocal.withInitial(() -> new Workspace(n));
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            pool.submit(() -> IntStream.range(0, sourceIds.length).parallel().forEach(row -> {
+                int offset = row * columns;
+                Arrays.fill(data, offset, offset + columns, Double.POSITIVE_INFINITY);
+                workspaces.get().search(g, sourceIds[row], column, wanted, data, offset);
+                for (int c = 0; c < columns; c++) {
+                    data[offset + c] = data[offset + column[targetIds[c]]];
+                }
+            })).join();
+        } finally {
+            pool.shutdown();
+        }
+        return new DistanceMatrix(sources, targets, data);
+    }
+
+    private static int[] indices(CompactGraph g, List<Node> nodes, String role) {
+        int[] ids = new int[nodes.size()];
+        for (int i = 0; i < ids.length; i++) {
+            Node node = nodes.get(i);
+            if (node == null) throw new IllegalArgumentException(role + " must not be null");
+            if (!g.contains(node)) throw new IllegalArgumentException(role + " not in graph: " + node);
+            ids[i] = g.indexOf(node);
+        }
+        return ids;
+    }
+
+    /** Per-thread Dijkstra arrays; only entries touched by the last search are reset. */
+    private static final class Workspace {
+        final double[] dist;
+        final IndexedMinHeap heap;
+        int[] touched = new int[16];
+        int touchedCount;
+
+        Workspace(int n) {
+            dist = new double[n];
+            Arrays.fill(dist, Double.POSITIVE_INFINITY);
+            heap = new IndexedMinHeap(n);
+        }
+
+        /** Writes each settled target's distance to {@code out[offset + column[v]]}. */
+        void search(CompactGraph g, int source, int[] column, int wanted, double[] out, int offset) {
+            for (int i = 0; i < touchedCount; i++) dist[touched[i]] = Double.POSITIVE_INFINITY;
+            touchedCount = 0;
+            heap.clear();
+
+            int remaining = wanted;
+            touch(source, 0.0);
+            heap.insertOrDecrease(source, 0.0);
+            while (remaining > 0 && !heap.isEmpty()) {
+                int u = heap.poll();
+                double du = dist[u];
+                if (column[u] >= 0) {
+                    out[offset + column[u]] = du;
+                    remaining--;
+                }
+                for (int e = g.outStart[u]; e < g.outStart[u + 1]; e++) {
+                    int v = g.outTarget[e];
+                    double alt = du + g.outWeight[e];
+                    if (alt < dist[v]) {
+                        touch(v, alt);
+                        heap.insertOrDecrease(v, alt);
+                    }
+                }
+            }
+        }
+
+        private void touch(int v, double d) {
+            if (dist[v] == Double.POSITIVE_INFINITY) {
+                if (touchedCount == touched.length) touched = Arrays.copyOf(touched, touchedCount * 2);
+                touched[touchedCount++] = v;
+            }
+            dist[v] = d;
+        }
+    }
+}
@@ -0,0 +1,219 @@
+package com.shortestpath.algorithm;
+
+import com.shortestpath.model.Node;
+import com.shortestpath.model.WeightedGraph;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.IntStream;
+
+/**
+ * Bellman-Ford with the edge array split into chunks that are relaxed in parallel on a
+ * fork-join pool. Each round reads the distances of the previous round and lowers the new
+ * ones with an atomic minimum on a primitive array; rounds are separated by a join and
+ * stop early once nothing changes. Negative cycles are detected as in
+ * {@link BellmanFordAlgorithm}: some distance still improves in round {@code V}; the
+ * cycle is then attached to the result.
+ *
+ * A node's predecessor is the lowest-numbered edge that produced its new distance in the
+ * round it last improved, so results are identical for every thread count. The default
+ * overloads run on the common pool; callers that want their own threads pass a pool, or a
+ * thread count for a one-off pool.
+ */
+public final class ParallelBellmanFordAlgorithm {
+
+    /** Metric name for the number of relaxation rounds performed. */
+    public static final String ROUNDS = "rounds";
+
+    private ParallelBellmanFordAlgorithm() {}
+
+    public static AlgorithmResult findShortestPath(WeightedGraph graph, Node source, Node target) {
+        return findShortestPath(graph, source, target, RecordingLevel.FULL);
+    }
+
+    public static AlgorithmResult findShortestPath(WeightedGraph graph, Node source, Node target,
+                                                   RecordingLevel level) {
+        return findShortestPath(graph, source, target, level, ForkJoinPool.commonPool());
+    }
+
+    /** Runs on a dedicated pool of {@code parallelism} threads that is shut down afterwards. */
+    public static AlgorithmResult findShortestPath(WeightedGraph graph, Node source, Node target,
+                                                   RecordingLevel level, int parallelism) {
+        if (parallelism < 1) throw new IllegalArgumentException("parallelism must be >= 1");
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            return findShortestPath(graph, source, target, level, pool);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /** Runs on a caller-owned pool, which is left running for later queries. */
+    public static AlgorithmResult findShortestPath(WeightedGraph graph, Node source, Node target,
+                                                   RecordingLevel level, ForkJoinPool pool) {
+        if (level == null) throw new IllegalArgumentException("level must not be null");
+        if (pool == null) throw new IllegalArgumentException("pool must not be null");
+        if (graph == null) throw new IllegalArgumentException("graph must not be null");
+        if (source == null) throw new IllegalArgumentException("source must not be null");
+        if (target == null) throw new IllegalArgumentException("target must not be null");
+        if (!graph.containsNode(source.getId())) throw new IllegalArgumentException("source not in graph");
+        if (!graph.containsNode(target.getId())) throw new IllegalArgumentException("target not in graph");
+
+        long start = System.currentTimeMillis();
+        CompactGraph g = CompactGraph.of(graph);
+        int n = g.size();
+        int m = g.edgeCount();
+        int[] edgeSource = new int[m];
+        for (int u = 0; u < n; u++) {
+            for (int e = g.outStart[u]; e < g.outStart[u + 1]; e++) edgeSource[e] = u;
+        }
+        int s = g.indexOf(source);
+
+        double[] dist = new double[n];
+        int[] pred = new int[n];
+        Arrays.fill(dist, Double.POSITIVE_INFINITY);
+        Arrays.fill(pred, -1);
+        dist[s] = 0.0;
+        AtomicLongArray next = new AtomicLongArray(n);
+        AtomicIntegerArray predEdge = new AtomicIntegerArray(n);
+
+        List<AlgorithmStep> steps = new ArrayList<>();
+        AlgorithmTrace.Recorder trace = level.recordsEveryStep() ? new AlgorithmTrace.Recorder(g.nodes()) : null;
+        if (trace != null) {
+            trace.update(source, 0.0, null);
+            trace.settle(source);
+            trace.endStep(null, "Initialized source node " + source + " with distance 0");
+        } else if (level.recordsAnySteps()) {
+            steps.add(createStepSnapshot(0, g, dist, pred, "Initialized source node " + source + " with distance 0"));
+        }
+
+        int chunks = Math.max(1, Math.min(m, pool.getParallelism() * 4));
+        int chunkSize = m == 0 ? 0 : (m + chunks - 1) / chunks;
+        boolean negativeCycle = false;
+        int rounds = 0;
+        for (int round = 1; round <= n; round++) {
+            for (int v = 0; v < n; v++) {
+                next.set(v, sortableBits(dist[v]));
+                predEdge.set(v, Integer.MAX_VALUE);
+            }
+            // Pass 1: atomic minimum of old distance + weight over every edge chunk
+            pool.submit(() -> IntStream.range(0, chunks).parallel().forEach(c -> {
+                int end = Math.min(m, (c + 1) * chunkSize);
+                for (int e = c * chunkSize; e < end; e++) {
+                    double du = dist[edgeSource[e]];
+                    if (du == Double.POSITIVE_INFINITY) continue;
+                    atomicMin(next, g.outTarget[e], sortableBits(du + g.outWeight[e]));
+                }
+            })).join();
+            // Pass 2: lowest-numbered edge that produced each improved distance
+            pool.submit(() -> IntStream.range(0, chunks).parallel().forEach(c -> {
+                int end = Math.min(m, (c + 1) * chunkSize);
+                for (int e = c * chunkSize; e < end; e++) {
+                    int v = g.outTarget[e];
+                    double du = dist[edgeSource[e]];
+                    double dv = fromSortableBits(next.get(v));
+                    if (dv < dist[v] && du + g.outWeight[e] == dv) {
+                        predEdge.accumulateAndGet(v, e, Math::min);
+                    }
+                }
+            })).join();
+
+            int updates = 0;
+            for (int v = 0; v < n; v++) {
+                double dv = fromSortableBits(next.get(v));
+                if (dv < dist[v]) {
+                    if (trace != null) {
+                        if (dist[v] == Double.POSITIVE_INFINITY) trace.settle(g.node(v));
+                    }
+                    dist[v] = dv;
+                    pred[v] = edgeSource[predEdge.get(v)];
+                    updates++;
+                    if (trace != null) trace.update(g.node(v), dv, g.node(pred[v]));
+                }
+            }
+            if (updates == 0) break;
+            if (round == n) {
+                negativeCycle = true;
+                break;
+            }
+            rounds = round;
+            if (trace != null) {
+                trace.endStep(null, "Iteration " + round + ": Relaxed edges, updated " + updates + " distances");
+            }
+        }
+
+        int nodesVisited = 0;
+        for (double d : dist) {
+            if (d != Double.POSITIVE_INFINITY) nodesVisited++;
+        }
+
+        if (negativeCycle) {
+            if (trace != null) {
+                trace.endStep(null, "Negative cycle detected");
+            } else if (level.recordsAnySteps()) {
+                steps.add(createStepSnapshot(1, g, dist, pred, "Negative cycle detected"));
+            }
+            long timeMs = System.currentTimeMillis() - start;
+            AlgorithmResult result = new AlgorithmResult(trace != null ? trace.build() : steps, List.of(),
+                    Double.POSITIVE_INFINITY, source, target, timeMs, nodesVisited).withMetric(ROUNDS, n);
+            return BellmanFordAlgorithm.withNegativeCycle(result, graph, source);
+        }
+
+        if (level == RecordingLevel.SUMMARY) {
+            steps.add(createStepSnapshot(1, g, dist, pred, "Converged after " + rounds + " iterations"));
+        }
+
+        int t = g.indexOf(target);
+        List<Node> path = reconstructPath(g, pred, s, t, dist);
+        long timeMs = System.currentTimeMillis() - start;
+        return new AlgorithmResult(trace != null ? trace.build() : steps, path,
+                path.isEmpty() ? Double.POSITIVE_INFINITY : dist[t],
+                source, target, timeMs, nodesVisited).withMetric(ROUNDS, rounds);
+    }
+
+    /** Maps a double to a long whose signed order matches the numeric order of the doubles. */
+    private static long sortableBits(double d) {
+        long bits = Double.doubleToRawLongBits(d);
+        return bits >= 0 ? bits : bits ^ Long.MAX_VALUE;
+    }
+
+    private static double fromSortableBits(long key) {
+        return Double.longBitsToDouble(key >= 0 ? key : key ^ Long.MAX_VALUE);
+    }
+
+    private static void atomicMin(AtomicLongArray values, int i, long candidate) {
+        long current = values.get(i);
+        while (candidate < current) {
+            if (values.compareAndSet(i, current, candidate)) return;
+            current = values.get(i);
+        }
+    }
+
+    private static List<Node> reconstructPath(CompactGraph g, int[] pred, int s, int t, double[] dist) {
+        if (s == t) return List.of(g.node(s));
+        if (dist[t] == Double.POSITIVE_INFINITY) return List.of();
+        List<Node> path = new ArrayList<>();
+        for (int v = t; v != -1 && path.size() <= g.size(); v = v == s ? -1 : pred[v]) {
+            path.add(g.node(v));
+        }
+        if (!path.get(path.size() - 1).equals(g.node(s))) return List.of();
+        Collections.reverse(path);
+        return path;
+    }
+
+    private static AlgorithmStep createStepSnapshot(int stepNumber, CompactGraph g, double[] dist, int[] pred,
+                                                    String description) {
+        Set<Node> visited = new HashSet<>();
+        Map<Node, Double> distances = new HashMap<>();
+        Map<Node, Node> predecessors = new HashMap<>();
+        for (int v = 0; v < g.size(); v++) {
+            Node node = g.node(v);
+            if (dist[v] != Double.POSITIVE_INFINITY) visited.add(node);
+            distances.put(node, dist[v]);
+            predecessors.put(node, pred[v] < 0 ? null : g.node(pred[v]));
+        }
+        return new AlgorithmStep(stepNumber, null, visited, distances, predecessors, List.of(), description);
+    }
+}
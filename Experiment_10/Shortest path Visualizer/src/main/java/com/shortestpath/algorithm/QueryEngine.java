@@ -0,0 +1,240 @@
+package com.shortestpath.algorithm;
+
+import com.shortestpath.model.Node;
+import com.shortestpath.model.WeightedGraph;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Runs many point-to-point queries concurrently against one shared graph.
+ *
+ * Queries execute on virtual threads or on a fixed pool of platform threads. At most
+ * {@code maxInFlight} queries are queued or running at once; submitting more blocks the
+ * caller until one finishes, so a fast producer cannot queue unbounded work. Results are
+ * recorded at {@link RecordingLevel#NONE} and carry their latency as metrics, and the
+ * engine keeps aggregate latency and throughput figures.
+ *
+ * The graph is only read, but it must not be modified while queries are running.
+ */
+public final class QueryEngine implements AutoCloseable {
+
+    /** Metric name for the time from submission to completion, in milliseconds. */
+    public static final String LATENCY_MS = "latencyMs";
+
+    /** Metric name for the time a query waited before it started, in milliseconds. */
+    public static final String QUEUE_MS = "queueMs";
+
+    /** One point-to-point request. */
+    public static final class Query {
+        private final Node source;
+        private final Node target;
+        private final SearchEngine engine;
+
+        public Query(Node source, Node target, SearchEngine engine) {
+            if (source == null) throw new IllegalArgumentException("source must not be null");
+            if (target == null) throw new IllegalArgumentException("target must not be null");
+            if (engine == null) throw new IllegalArgumentException("engine must not be null");
+            this.source = source;
+            this.target = target;
+            this.engine = engine;
+        }
+
+        public Node getSource() { return source; }
+
+        public Node getTarget() { return target; }
+
+        public SearchEngine getEngine() { return engine; }
+
+        @Override
+        public String toString() {
+            return engine.getDisplayName() + " " + source.getId() + " -> " + target.getId();
+        }
+    }
+
+    private final WeightedGraph graph;
+    private final ExecutorService executor;
+    private final Semaphore permits;
+
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder totalLatencyNanos = new LongAdder();
+    private final AtomicLong maxLatencyNanos = new AtomicLong();
+    private final AtomicLong firstSubmitNanos = new AtomicLong(Long.MIN_VALUE);
+    private final AtomicLong lastCompletionNanos = new AtomicLong(Long.MIN_VALUE);
+
+    private QueryEngine(WeightedGraph graph, ExecutorService executor, int maxInFlight) {
+        this.graph = graph;
+        this.executor = executor;
+        this.permits = new Semaphore(maxInFlight);
+    }
+
+    /** Runs every query on its own virtual thread. */
+    public static QueryEngine withVirtualThreads(WeightedGraph graph, int maxInFlight) {
+        validate(graph, maxInFlight);
+        return new QueryEngine(graph, Executors.newVirtualThreadPerTaskExecutor(), maxInFlight);
+    }
+
+    /** Runs queries on {@code threads} platform threads. */
+    public static QueryEngine withThreadPool(WeightedGraph graph, int threads, int maxInFlight) {
+        validate(graph, maxInFlight);
+        if (threads < 1) throw new IllegalArgumentException("threads must be >= 1");
+        return new QueryEngine(graph, Executors.newFixedThreadPool(threads), maxInFlight);
+    }
+
+    private static void validate(WeightedGraph graph, int maxInFlight) {
+        if (graph == null) throw new IllegalArgumentException("graph must not be null");
+        if (maxInFlight < 1) throw new IllegalArgumentException("maxInFlight must be >= 1");
+    }
+
+    /**
+     * Queues one query, blocking while {@code maxInFlight} queries are already pending. The
+     * future fails with the engine's exception if the query is invalid.
+     */
+    public CompletableFuture<AlgorithmResult> submit(Query query) throws InterruptedException {
+        return submit(query, SearchBudget.unlimited());
+    }
+
+    /**
+     * Same as {@link #submit(Query)}, but the search stops once {@code budget} runs out, and
+     * cancelling the returned future cancels the budget so a running search stops early.
+     * The future then fails with a {@link CancellationException}.
+     */
+    public CompletableFuture<AlgorithmResult> submit(Query query, SearchBudget budget) throws InterruptedException {
+        if (query == null) throw new IllegalArgumentException("query must not be null");
+        if (budget == null) throw new IllegalArgumentException("budget must not be null");
+        permits.acquire();
+        long submitted = System.nanoTime();
+        firstSubmitNanos.compareAndSet(Long.MIN_VALUE, submitted);
+        CompletableFuture<AlgorithmResult> future = new CompletableFuture<>();
+        future.whenComplete((result, error) -> {
+            if (future.isCancelled()) budget.cancel();
+        });
+        try {
+            executor.execute(() -> {
+                long started = System.nanoTime();
+                try {
+                    AlgorithmResult result = query.getEngine().run(graph, query.getSource(), query.getTarget(),
+                            RecordingLevel.NONE, budget);
+                    long done = System.nanoTime();
+                    record(done - submitted, done);
+                    future.complete(result
+                            .withMetric(QUEUE_MS, (started - submitted) / 1_000_000.0)
+                            .withMetric(LATENCY_MS, (done - submitted) / 1_000_000.0));
+                } catch (Throwable e) {
+                    // Complete the future even on an Error, or callers waiting on it block forever
+                    failed.increment();
+                    future.completeExceptionally(e);
+                    if (e instanceof Error error) throw error;
+                } finally {
+                    permits.release();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            permits.release();
+            throw new IllegalStateException("query engine is closed", e);
+        }
+        return future;
+    }
+
+    private void record(long latency, long done) {
+        completed.increment();
+        totalLatencyNanos.add(latency);
+        maxLatencyNanos.accumulateAndGet(latency, Math::max);
+        lastCompletionNanos.accumulateAndGet(done, Math::max);
+    }
+
+    /**
+     * Runs all queries and returns their results in the same order.
+     *
+     * @throws RuntimeException the first failure, in query order; an {@link Error} thrown by a
+     *         search is rethrown as is
+     */
+    public List<AlgorithmResult> runBatch(List<Query> queries) throws InterruptedException {
+        if (queries == null) throw new IllegalArgumentException("queries must not be null");
+        List<CompletableFuture<AlgorithmResult>> futures = new ArrayList<>(queries.size());
+        for (Query q : queries) futures.add(submit(q));
+        List<AlgorithmResult> results = new ArrayList<>(futures.size());
+        for (CompletableFuture<AlgorithmResult> f : futures) {
+            try {
+                results.add(f.get());
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof RuntimeException r) throw r;
+                if (e.getCause() instanceof Error error) throw error;
+                throw new IllegalStateException(e.getCause());
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Submits queries as the stream produces them, so at most {@code maxInFlight} are pending
+     * at any time, and hands each result to {@code sink} as it completes. {@code sink} may be
+     * called from several threads at once. Returns after every query has finished.
+     *
+     * @return the number of queries that failed or whose result {@code sink} rejected with an exception
+     */
+    public long runStream(Stream<Query> queries, Consumer<AlgorithmResult> sink) throws InterruptedException {
+        if (queries == null) throw new IllegalArgumentException("queries must not be null");
+        if (sink == null) throw new IllegalArgumentException("sink must not be null");
+        LongAdder streamFailures = new LongAdder();
+        List<CompletableFuture<Void>> pending = new ArrayList<>();
+        Iterator<Query> it = queries.iterator();
+        while (it.hasNext()) {
+            pending.add(submit(it.next()).handle((result, error) -> {
+                if (error != null) {
+                    streamFailures.increment();
+                    return null;
+                }
+                try {
+                    sink.accept(result);
+                } catch (RuntimeException e) {
+                    // A failing sink counts like a failed query
+                    streamFailures.increment();
+                }
+                return null;
+            }));
+            pending.removeIf(CompletableFuture::isDone);
+        }
+        for (CompletableFuture<Void> f : pending) {
+            try {
+                f.get();
+            } catch (ExecutionException e) {
+                throw new IllegalStateException(e.getCause());
+            }
+        }
+        return streamFailures.sum();
+    }
+
+    public long getCompletedCount() { return completed.sum(); }
+
+    public long getFailedCount() { return failed.sum(); }
+
+    /** Mean submission-to-completion time of successful queries, in milliseconds. */
+    public double getMeanLatencyMs() {
+        long n = completed.sum();
+        return n == 0 ? 0.0 : totalLatencyNanos.sum() / 1_000_000.0 / n;
+    }
+
+    public double getMaxLatencyMs() { return maxLatencyNanos.get() / 1_000_000.0; }
+
+    /** Successful queries per second between the first submission and the last completion. */
+    public double getThroughputPerSecond() {
+        long first = firstSubmitNanos.get();
+        long last = lastCompletionNanos.get();
+        if (first == Long.MIN_VALUE || last == Long.MIN_VALUE) return 0.0;
+        return completed.sum() / (Math.max(1L, last - first) / 1_000_000_000.0);
+    }
+
+    /** Stops accepting queries and waits for the pending ones to finish. */
+    @Override
+    public void close() {
+        executor.close();
+    }
+}
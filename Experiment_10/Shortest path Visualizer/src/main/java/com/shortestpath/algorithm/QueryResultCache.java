@@ -0,0 +1,148 @@
+package com.shortestpath.algorithm;
+
+import com.shortestpath.model.Node;
+import com.shortestpath.model.WeightedGraph;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Bounded least-recently-used cache of point-to-point results for one graph.
+ *
+ * Entries are keyed by the graph's {@link WeightedGraph#getVersion() version}, the endpoint
+ * ids, the engine and the recording level, so a result recorded without steps is never
+ * served to a caller that asked for a trace, and results without steps stay small. Any
+ * change to the graph bumps its version; the next lookup then drops every entry at once.
+ * Hits, misses, evictions and invalidations are counted.
+ *
+ * Lookups are thread-safe. Searches run outside the lock, so two threads missing on the
+ * same key may both compute it; the graph must not be modified while they run.
+ */
+public final class QueryResultCache {
+
+    private final WeightedGraph graph;
+    private final int capacity;
+    private final LinkedHashMap<Key, AlgorithmResult> entries;
+    private long version;
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long invalidations;
+
+    private QueryResultCache(WeightedGraph graph, int capacity) {
+        this.graph = graph;
+        this.capacity = capacity;
+        this.version = graph.getVersion();
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, AlgorithmResult> eldest) {
+                if (size() <= QueryResultCache.this.capacity) return false;
+                evictions++;
+                return true;
+            }
+        };
+    }
+
+    /** Cache holding at most {@code capacity} results for {@code graph}. */
+    public static QueryResultCache forGraph(WeightedGraph graph, int capacity) {
+        if (graph == null) throw new IllegalArgumentException("graph must not be null");
+        if (capacity < 1) throw new IllegalArgumentException("capacity must be >= 1");
+        return new QueryResultCache(graph, capacity);
+    }
+
+    public WeightedGraph getGraph() { return graph; }
+
+    /** Cached result of {@code engine} for this query, running the engine on a miss. */
+    public AlgorithmResult findShortestPath(Node source, Node target, SearchEngine engine, RecordingLevel level) {
+        if (source == null) throw new IllegalArgumentException("source must not be null");
+        if (target == null) throw new IllegalArgumentException("target must not be null");
+        if (engine == null) throw new IllegalArgumentException("engine must not be null");
+        if (level == null) throw new IllegalArgumentException("level must not be null");
+
+        long current = graph.getVersion();
+        Key key = new Key(current, source.getId(), target.getId(), engine, level);
+        synchronized (this) {
+            invalidateIfStale(current);
+            AlgorithmResult cached = entries.get(key);
+            if (cached != null) {
+                hits++;
+                return cached;
+            }
+            misses++;
+        }
+        AlgorithmResult result = engine.run(graph, source, target, level);
+        synchronized (this) {
+            // Skip storing if the graph changed during the search
+            if (graph.getVersion() == current) {
+                invalidateIfStale(current);
+                entries.put(key, result);
+            }
+        }
+        return result;
+    }
+
+    private void invalidateIfStale(long current) {
+        if (current == version) return;
+        if (!entries.isEmpty()) invalidations++;
+        entries.clear();
+        version = current;
+    }
+
+    /** Removes every entry without touching the counters. */
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    public synchronized int size() {
+        invalidateIfStale(graph.getVersion());
+        return entries.size();
+    }
+
+    public int getCapacity() { return capacity; }
+
+    public synchronized long getHitCount() { return hits; }
+
+    public synchronized long getMissCount() { return misses; }
+
+    /** Hits over all lookups, or 0 before the first lookup. */
+    public synchronized double getHitRate() {
+        long total = hits + misses;
+        return total == 0 ? 0.0 : (double) hits / total;
+    }
+
+    /** Entries dropped because the cache was full. */
+    public synchronized long getEvictionCount() { return evictions; }
+
+    /** Times the whole cache was dropped because the graph changed. */
+    public synchronized long getInvalidationCount() { return invalidations; }
+
+    private static final class Key {
+        private final long version;
+        private final String source;
+        private final String target;
+        private final SearchEngine engine;
+        private final RecordingLevel level;
+
+        Key(long version, String source, String target, SearchEngine engine, RecordingLevel level) {
+            this.version = version;
+            this.source = source;
+            this.target = target;
+            this.engine = engine;
+            this.level = level;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key k)) return false;
+            return version == k.version && source.equals(k.source) && target.equals(k.target)
+                    && engine == k.engine && level == k.level;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(version, source, target, engine, level);
+        }
+    }
+}
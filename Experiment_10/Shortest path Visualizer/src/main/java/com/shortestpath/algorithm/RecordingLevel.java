@@ -0,0 +1,21 @@
+package com.shortestpath.algorithm;
+
+/**
+ * Controls how much intermediate state a shortest path algorithm records while it runs.
+ */
+public enum RecordingLevel {
+    /** Only path, cost and counters are returned; no steps are recorded. */
+    NONE,
+    /** The initial and the final state are recorded as two steps. */
+    SUMMARY,
+    /** Every iteration is recorded so the run can be animated step by step. */
+    FULL;
+
+    boolean recordsEveryStep() {
+        return this == FULL;
+    }
+
+    boolean recordsAnySteps() {
+        return this != NONE;
+    }
+}
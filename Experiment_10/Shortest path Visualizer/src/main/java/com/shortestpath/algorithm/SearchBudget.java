@@ -0,0 +1,96 @@
+package com.shortestpath.algorithm;
+
+import java.time.Duration;
+import java.util.concurrent.CancellationException;
+
+/**
+ * Cooperative stop signal for a running search: an optional deadline plus a cancel flag
+ * that any thread may set. Engines call {@link #check()} as they expand nodes or relax
+ * edges and abandon the search with a {@link CancellationException} once the budget is
+ * spent, so a caller can bound the time a query may take or stop it from another thread.
+ *
+ * Checks are cheap: the cancel flag is read every time, but the clock only every
+ * {@value #CLOCK_INTERVAL} checks. One budget may be shared by several searches.
+ */
+public final class SearchBudget {
+
+    private static final int CLOCK_INTERVAL = 64;
+
+    private final long deadlineNanos;
+    private final boolean hasDeadline;
+    private volatile boolean cancelled;
+    private volatile boolean expired;
+    // Only samples the clock; lost updates from concurrent searches are harmless.
+    // Starts full so the first check already reads the clock
+    private int checksSinceClock = CLOCK_INTERVAL - 1;
+
+    private SearchBudget(long deadlineNanos, boolean hasDeadline) {
+        this.deadlineNanos = deadlineNanos;
+        this.hasDeadline = hasDeadline;
+    }
+
+    /** A budget without a deadline that only stops when {@link #cancel()} is called. */
+    public static SearchBudget unlimited() {
+        return new SearchBudget(0L, false);
+    }
+
+    /** A budget that runs out {@code timeout} from now. */
+    public static SearchBudget withTimeout(Duration timeout) {
+        if (timeout == null) throw new IllegalArgumentException("timeout must not be null");
+        if (timeout.isNegative()) throw new IllegalArgumentException("timeout must be >= 0");
+        long nanos;
+        try {
+            nanos = timeout.toNanos();
+        } catch (ArithmeticException e) {
+            return unlimited();
+        }
+        long now = System.nanoTime();
+        // Timeouts too long to represent never expire in practice
+        return now + nanos < now ? unlimited() : new SearchBudget(now + nanos, true);
+    }
+
+    /** Asks every search using this budget to stop at its next check. */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    public boolean isCancelled() { return cancelled; }
+
+    /** Whether the search should stop, because it was cancelled or the deadline has passed. */
+    public boolean isExhausted() {
+        if (cancelled || expired) return true;
+        if (hasDeadline && System.nanoTime() - deadlineNanos >= 0) {
+            expired = true;
+            return true;
+        }
+        return false;
+    }
+
+    /** Time left before the deadline, {@link Duration#ZERO} once exhausted, or null without a deadline. */
+    public Duration getRemaining() {
+        if (isExhausted()) return Duration.ZERO;
+        return hasDeadline ? Duration.ofNanos(deadlineNanos - System.nanoTime()) : null;
+    }
+
+    /**
+     * Called by engines between units of work.
+     *
+     * @throws CancellationException if the budget was cancelled or has run out
+     */
+    void check() {
+        if (shouldStop()) {
+            throw new CancellationException(cancelled ? "search was cancelled" : "search deadline exceeded");
+        }
+    }
+
+    /** Non-throwing form of {@link #check()} for engines that return a partial result instead. */
+    boolean shouldStop() {
+        if (cancelled) return true;
+        if (!hasDeadline) return false;
+        if (expired) return true;
+        if (++checksSinceClock < CLOCK_INTERVAL) return false;
+        checksSinceClock = 0;
+        if (System.nanoTime() - deadlineNanos >= 0) expired = true;
+        return expired;
+    }
+}
@@ -0,0 +1,64 @@
+package com.shortestpath.algorithm;
+
+import com.shortestpath.model.Node;
+import com.shortestpath.model.WeightedGraph;
+
+/**
+ * The point-to-point search engines by name, so callers can choose one at run time.
+ * Display names match the algorithm selector of the main window.
+ */
+public enum SearchEngine {
+    DIJKSTRA("Dijkstra"),
+    BIDIRECTIONAL_DIJKSTRA("Bidirectional Dijkstra"),
+    BELLMAN_FORD("Bellman-Ford"),
+    SPFA("Bellman-Ford (SPFA)"),
+    BELLMAN_FORD_TARJAN("Bellman-Ford (Tarjan)"),
+    A_STAR("A*"),
+    BIDIRECTIONAL_A_STAR("Bidirectional A*");
+
+    private final String displayName;
+
+    SearchEngine(String displayName) {
+        this.displayName = displayName;
+    }
+
+    public String getDisplayName() { return displayName; }
+
+    /** Whether the engine returns correct results when some edge weights are negative. */
+    public boolean supportsNegativeWeights() {
+        return this == BELLMAN_FORD || this == SPFA || this == BELLMAN_FORD_TARJAN;
+    }
+
+    public AlgorithmResult run(WeightedGraph graph, Node source, Node target, RecordingLevel level) {
+        return run(graph, source, target, level, SearchBudget.unlimited());
+    }
+
+    /**
+     * @throws java.util.concurrent.CancellationException if {@code budget} is cancelled or runs
+     *         out before the search finishes
+     */
+    public AlgorithmResult run(WeightedGraph graph, Node source, Node target, RecordingLevel level,
+                               SearchBudget budget) {
+        return switch (this) {
+            case DIJKSTRA -> DijkstraAlgorithm.findShortestPath(graph, source, target, level, budget);
+            case BIDIRECTIONAL_DIJKSTRA ->
+                    BidirectionalDijkstraAlgorithm.findShortestPath(graph, source, target, level, budget);
+            case BELLMAN_FORD -> BellmanFordAlgorithm.findShortestPath(graph, source, target, level, budget);
+            case SPFA -> SpfaAlgorithm.findShortestPath(graph, source, target, level,
+                    SpfaAlgorithm.QueueStrategy.SLF_LLL, budget);
+            case BELLMAN_FORD_TARJAN -> TarjanBellmanFordAlgorithm.findShortestPath(graph, source, target, level, budget);
+            case A_STAR -> AStarAlgorithm.findShortestPath(graph, source, target, level,
+                    EuclideanScale.heuristicFor(graph), budget);
+            case BIDIRECTIONAL_A_STAR -> BidirectionalAStarAlgorithm.findShortestPath(graph, source, target, level,
+                    EuclideanScale.heuristicFor(graph), budget);
+        };
+    }
+
+    /** Engine with the given display name, or null if there is none. */
+    public static SearchEngine fromDisplayName(String name) {
+        for (SearchEngine engine : values()) {
+            if (engine.displayName.equals(name)) return engine;
+        }
+        return null;
+    }
+}
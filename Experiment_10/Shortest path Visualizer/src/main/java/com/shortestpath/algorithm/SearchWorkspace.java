@@ -0,0 +1,141 @@
+package com.shortestpath.algorithm;
+
+import com.shortestpath.model.Node;
+import com.shortestpath.model.WeightedGraph;
+
+import java.lang.ref.WeakReference;
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedDeque;
+
+/**
+ * Reusable search state for the map-based engines: primitive distance and parent arrays
+ * indexed by a per-graph node number, plus a generation stamp per node. Starting a new
+ * search only increments the generation, so entries written by earlier searches read as
+ * unvisited without being cleared and a short query costs time proportional to the nodes
+ * it touches rather than to the size of the graph.
+ *
+ * Workspaces are borrowed with {@link #acquire(WeightedGraph)} and returned with
+ * {@link #release()}; idle ones are pooled rather than kept per thread so virtual threads
+ * reuse them too. Node numbers are assigned on first use and survive graph edits, so nodes
+ * added later simply get the next number.
+ */
+final class SearchWorkspace {
+
+    private static final int MAX_IDLE = Math.max(4, 2 * Runtime.getRuntime().availableProcessors());
+    private static final ConcurrentLinkedDeque<SearchWorkspace> IDLE = new ConcurrentLinkedDeque<>();
+
+    private WeakReference<WeightedGraph> graph = new WeakReference<>(null);
+    private final Map<Node, Integer> index = new HashMap<>();
+    private Node[] nodes = new Node[16];
+    private double[] dist = new double[16];
+    private int[] parent = new int[16];
+    private int[] stamp = new int[16];
+    private int[] settled = new int[16];
+    private double[] estimates = new double[16];
+    private int[] estimateStamp = new int[16];
+    private int generation;
+
+    private SearchWorkspace() {}
+
+    /** Borrows a workspace for one search on {@code graph}, preferring one already bound to it. */
+    static SearchWorkspace acquire(WeightedGraph graph) {
+        SearchWorkspace w = null;
+        for (Iterator<SearchWorkspace> it = IDLE.iterator(); it.hasNext(); ) {
+            SearchWorkspace candidate = it.next();
+            if (candidate.graph.get() == graph && IDLE.removeFirstOccurrence(candidate)) {
+                w = candidate;
+                break;
+            }
+        }
+        if (w == null) w = IDLE.pollFirst();
+        if (w == null) w = new SearchWorkspace();
+        w.begin(graph);
+        return w;
+    }
+
+    /** Returns this workspace to the pool; it must not be used afterwards. */
+    void release() {
+        if (IDLE.size() < MAX_IDLE) IDLE.addFirst(this);
+    }
+
+    private void begin(WeightedGraph g) {
+        // Numbers of removed nodes are never reclaimed, so start over once they dominate
+        if (graph.get() != g || index.size() > 2 * g.getNodeCount() + 16) {
+            graph = new WeakReference<>(g);
+            index.clear();
+            Arrays.fill(nodes, null);
+        }
+        if (generation == Integer.MAX_VALUE) {
+            Arrays.fill(stamp, 0);
+            Arrays.fill(settled, 0);
+            Arrays.fill(estimateStamp, 0);
+            generation = 0;
+        }
+        generation++;
+    }
+
+    /** Number of {@code node} in this workspace, assigning the next free one on first use. */
+    int id(Node node) {
+        Integer i = index.get(node);
+        if (i == null) {
+            i = index.size();
+            index.put(node, i);
+            if (i == nodes.length) grow();
+        }
+        nodes[i] = node;
+        return i;
+    }
+
+    private void grow() {
+        int capacity = nodes.length * 2;
+        nodes = Arrays.copyOf(nodes, capacity);
+        dist = Arrays.copyOf(dist, capacity);
+        parent = Arrays.copyOf(parent, capacity);
+        stamp = Arrays.copyOf(stamp, capacity);
+        settled = Arrays.copyOf(settled, capacity);
+        estimates = Arrays.copyOf(estimates, capacity);
+        estimateStamp = Arrays.copyOf(estimateStamp, capacity);
+    }
+
+    Node node(int i) { return nodes[i]; }
+
+    /** Distance in the current search, +infinity if not reached yet. */
+    double distance(int i) {
+        return stamp[i] == generation ? dist[i] : Double.POSITIVE_INFINITY;
+    }
+
+    /** Parent in the current search, or -1. */
+    int parent(int i) {
+        return stamp[i] == generation ? parent[i] : -1;
+    }
+
+    void update(int i, double distance, int parentId) {
+        stamp[i] = generation;
+        dist[i] = distance;
+        parent[i] = parentId;
+    }
+
+    boolean isSettled(int i) { return settled[i] == generation; }
+
+    void settle(int i) { settled[i] = generation; }
+
+    /** Heuristic estimate from node {@code i} to {@code target}, computed once per search. */
+    double estimate(int i, Heuristic heuristic, Node target) {
+        if (estimateStamp[i] != generation) {
+            estimates[i] = heuristic.estimate(nodes[i], target);
+            estimateStamp[i] = generation;
+        }
+        return estimates[i];
+    }
+
+    /** Path from {@code s} to {@code t} by parents, or an empty list if {@code t} was not reached. */
+    List<Node> path(int s, int t) {
+        if (s == t) return new ArrayList<>(List.of(nodes[s]));
+        if (parent(t) < 0) return List.of();
+        List<Node> path = new ArrayList<>();
+        for (int v = t; v >= 0; v = v == s ? -1 : parent(v)) path.add(nodes[v]);
+        if (!path.get(path.size() - 1).equals(nodes[s])) return List.of();
+        Collections.reverse(path);
+        return path;
+    }
+}
@@ -0,0 +1,108 @@
+package com.shortestpath.algorithm;
+
+import com.shortestpath.model.Node;
+
+import java.util.*;
+
+/**
+ * Result of a one-to-all query: distances and predecessors from a single source, held in
+ * primitive arrays indexed by node number. Paths are rebuilt by walking predecessors, in
+ * time proportional to the path length.
+ */
+public final class ShortestPathTree {
+
+    private final List<Node> nodes;
+    private final Map<Node, Integer> index;
+    private final int source;
+    private final double[] distances;
+    private final int[] parents;
+    private final long executionTimeMs;
+
+    ShortestPathTree(List<Node> nodes, Map<Node, Integer> index, int source, double[] distances, int[] parents,
+                     long executionTimeMs) {
+        this.nodes = nodes;
+        this.index = index;
+        this.source = source;
+        this.distances = distances;
+        this.parents = parents;
+        this.executionTimeMs = executionTimeMs;
+    }
+
+    ShortestPathTree(CompactGraph graph, int source, double[] distances, int[] parents, long executionTimeMs) {
+        this(graph.nodes(), indexOf(graph.nodes()), source, distances, parents, executionTimeMs);
+    }
+
+    private static Map<Node, Integer> indexOf(List<Node> nodes) {
+        Map<Node, Integer> index = new HashMap<>(nodes.size() * 2);
+        for (int i = 0; i < nodes.size(); i++) {
+            index.put(nodes.get(i), i);
+        }
+        return index;
+    }
+
+    public Node getSource() { return nodes.get(source); }
+
+    public long getExecutionTimeMs() { return executionTimeMs; }
+
+    /** Distance from the source, or +infinity if {@code node} is unreachable. */
+    public double getDistance(Node node) {
+        return distances[require(node)];
+    }
+
+    /** Predecessor on the shortest path from the source, or null for the source and unreachable nodes. */
+    public Node getPredecessor(Node node) {
+        int p = parents[require(node)];
+        return p < 0 ? null : nodes.get(p);
+    }
+
+    public boolean hasPath(Node node) {
+        return distances[require(node)] != Double.POSITIVE_INFINITY;
+    }
+
+    /** Shortest path from the source to {@code target}, or an empty list if unreachable. */
+    public List<Node> getPath(Node target) {
+        int t = require(target);
+        if (distances[t] == Double.POSITIVE_INFINITY) return List.of();
+        List<Node> path = new ArrayList<>();
+        for (int v = t; v >= 0; v = v == source ? -1 : parents[v]) {
+            path.add(nodes.get(v));
+        }
+        Collections.reverse(path);
+        return path;
+    }
+
+    /** Number of nodes with a finite distance, including the source. */
+    public int getReachableCount() {
+        int count = 0;
+        for (double d : distances) {
+            if (d != Double.POSITIVE_INFINITY) count++;
+        }
+        return count;
+    }
+
+    public int getNodeCount() { return nodes.size(); }
+
+    /** Point-to-point view of this tree for {@code target}, without recorded steps. */
+    public AlgorithmResult toResult(Node target) {
+        List<Node> path = getPath(target);
+        return new AlgorithmResult(List.of(), path, path.isEmpty() ? Double.POSITIVE_INFINITY : getDistance(target),
+                getSource(), target, executionTimeMs, getReachableCount());
+    }
+
+    /** Approximate bytes held by the distance and parent arrays. */
+    long getArrayBytes() {
+        return arrayBytes(distances.length);
+    }
+
+    /** Bytes held by the arrays of a tree over {@code nodeCount} nodes. */
+    static long arrayBytes(int nodeCount) {
+        return (long) nodeCount * (Double.BYTES + Integer.BYTES);
+    }
+
+    private int require(Node node) {
+        if (node == null) throw new IllegalArgumentException("node must not be null");
+        Integer i = index.get(node);
+        if (i == null) throw new IllegalArgumentException("node not in tree: " + node);
+        return i;
+    }
+}
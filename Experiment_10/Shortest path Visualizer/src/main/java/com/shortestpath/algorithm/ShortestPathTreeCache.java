@@ -0,0 +1,246 @@
+package com.shortestpath.algorithm;
+
+import com.shortestpath.model.Node;
+import com.shortestpath.model.WeightedGraph;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Full shortest-path trees for the hot sources of one graph, kept within a memory budget.
+ *
+ * Once a source has been queried {@code hotThreshold} times, one Dijkstra run over a
+ * {@link CompactGraph} stores its distances and predecessors in primitive arrays; every later
+ * query from that source is answered by walking predecessors, in time proportional to the
+ * path length. Colder sources are answered by a point-to-point search without recorded steps.
+ * Trees are evicted least recently used first whenever their arrays together exceed
+ * {@code maxBytes}. If one tree of the graph is larger than the whole budget, every query
+ * takes the point-to-point path; {@link #getTree} still builds the tree but does not store it.
+ * Query counts are kept for at most {@link #MAX_COUNTED_SOURCES} cold sources; beyond that
+ * all counts are halved and sources whose count drops to zero are forgotten.
+ *
+ * Trees are tied to the graph's {@link WeightedGraph#getVersion() version}: any change to the
+ * graph drops every tree and source count on the next lookup. Lookups are thread-safe and
+ * trees are built outside the lock; the graph must not be modified while a tree is built.
+ * Requires non-negative edge weights.
+ */
+public final class ShortestPathTreeCache {
+
+    /** Cold sources whose query counts are kept before the counts are aged. */
+    static final int MAX_COUNTED_SOURCES = 1024;
+
+    private final WeightedGraph graph;
+    private final long maxBytes;
+    private final int hotThreshold;
+    private final LinkedHashMap<Node, ShortestPathTree> trees = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<Node, Integer> queryCounts = new HashMap<>();
+    private long version;
+    private CompactGraph compact;
+    private long cachedBytes;
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long invalidations;
+
+    private ShortestPathTreeCache(WeightedGraph graph, long maxBytes, int hotThreshold) {
+        this.graph = graph;
+        this.maxBytes = maxBytes;
+        this.hotThreshold = hotThreshold;
+        this.version = graph.getVersion();
+    }
+
+    /** Cache that builds a tree for every source on its first query. */
+    public static ShortestPathTreeCache forGraph(WeightedGraph graph, long maxBytes) {
+        return forGraph(graph, maxBytes, 1);
+    }
+
+    /**
+     * @param maxBytes     budget for the distance and parent arrays of all stored trees
+     * @param hotThreshold queries from a source before its tree is built and stored
+     */
+    public static ShortestPathTreeCache forGraph(WeightedGraph graph, long maxBytes, int hotThreshold) {
+        if (graph == null) throw new IllegalArgumentException("graph must not be null");
+        if (maxBytes < 1) throw new IllegalArgumentException("maxBytes must be >= 1");
+        if (hotThreshold < 1) throw new IllegalArgumentException("hotThreshold must be >= 1");
+        return new ShortestPathTreeCache(graph, maxBytes, hotThreshold);
+    }
+
+    public WeightedGraph getGraph() { return graph; }
+
+    /**
+     * Shortest path from {@code source} to {@code target} without recorded steps. A hit walks
+     * the cached tree; the reported execution time is then the time taken to build the tree.
+     */
+    public AlgorithmResult findShortestPath(Node source, Node target) {
+        if (source == null) throw new IllegalArgumentException("source must not be null");
+        if (target == null) throw new IllegalArgumentException("target must not be null");
+        if (!graph.containsNode(source.getId())) throw new IllegalArgumentException("source not in graph");
+        if (!graph.containsNode(target.getId())) throw new IllegalArgumentException("target not in graph");
+
+        long current = graph.getVersion();
+        CompactGraph g;
+        synchronized (this) {
+            g = snapshot(current);
+            ShortestPathTree cached = trees.get(source);
+            if (cached != null) {
+                hits++;
+                return cached.toResult(target);
+            }
+            misses++;
+            if (ShortestPathTree.arrayBytes(g.size()) > maxBytes || !countQuery(source)) g = null;
+        }
+        if (g == null) return DijkstraAlgorithm.findShortestPath(graph, source, target, RecordingLevel.NONE);
+        return build(g, source, current).toResult(target);
+    }
+
+    /** Tree from {@code source}, built and stored regardless of how often the source was queried. */
+    public ShortestPathTree getTree(Node source) {
+        if (source == null) throw new IllegalArgumentException("source must not be null");
+        if (!graph.containsNode(source.getId())) throw new IllegalArgumentException("source not in graph");
+
+        long current = graph.getVersion();
+        CompactGraph g;
+        synchronized (this) {
+            g = snapshot(current);
+            ShortestPathTree cached = trees.get(source);
+            if (cached != null) {
+                hits++;
+                return cached;
+            }
+            misses++;
+        }
+        return build(g, source, current);
+    }
+
+    /** Whether a tree from {@code source} is stored for the current graph version. */
+    public synchronized boolean contains(Node source) {
+        invalidateIfStale(graph.getVersion());
+        return trees.containsKey(source);
+    }
+
+    private ShortestPathTree build(CompactGraph g, Node source, long current) {
+        long start = System.currentTimeMillis();
+        int s = g.indexOf(source);
+        double[] dist = new double[g.size()];
+        int[] parent = new int[g.size()];
+        Arrays.fill(dist, Double.POSITIVE_INFINITY);
+        Arrays.fill(parent, -1);
+        g.dijkstra(s, false, dist, parent);
+        ShortestPathTree tree = new ShortestPathTree(g.nodes(), g.index(), s, dist, parent,
+                System.currentTimeMillis() - start);
+        synchronized (this) {
+            // Skip storing if the graph changed during the search
+            if (graph.getVersion() == current) {
+                invalidateIfStale(current);
+                store(source, tree);
+            }
+        }
+        return tree;
+    }
+
+    /** Counts a query from a source without a tree; true once the source is hot. */
+    private boolean countQuery(Node source) {
+        int count = queryCounts.merge(source, 1, Integer::sum);
+        if (count >= hotThreshold) return true;
+        if (queryCounts.size() > MAX_COUNTED_SOURCES) age();
+        return false;
+    }
+
+    /** Halves every count until at most half of {@link #MAX_COUNTED_SOURCES} sources remain. */
+    private void age() {
+        while (queryCounts.size() > MAX_COUNTED_SOURCES / 2) {
+            Iterator<Map.Entry<Node, Integer>> it = queryCounts.entrySet().iterator();
+            while (it.hasNext()) {
+                Map.Entry<Node, Integer> entry = it.next();
+                int halved = entry.getValue() >> 1;
+                if (halved == 0) it.remove();
+                else entry.setValue(halved);
+            }
+        }
+    }
+
+    private void store(Node source, ShortestPathTree tree) {
+        long bytes = tree.getArrayBytes();
+        queryCounts.remove(source);
+        if (bytes > maxBytes) return;
+        ShortestPathTree previous = trees.put(source, tree);
+        if (previous != null) cachedBytes -= previous.getArrayBytes();
+        cachedBytes += bytes;
+        Iterator<ShortestPathTree> eldest = trees.values().iterator();
+        while (cachedBytes > maxBytes) {
+            cachedBytes -= eldest.next().getArrayBytes();
+            eldest.remove();
+            evictions++;
+        }
+    }
+
+    /** Compact form of the current graph version, rebuilt after the graph changes. */
+    private CompactGraph snapshot(long current) {
+        invalidateIfStale(current);
+        if (compact == null) {
+            compact = CompactGraph.of(graph);
+            if (compact.hasNegativeWeights()) {
+                compact = null;
+                throw new IllegalArgumentException("shortest-path tree cache requires non-negative edge weights");
+            }
+        }
+        return compact;
+    }
+
+    private void invalidateIfStale(long current) {
+        if (current == version) return;
+        if (!trees.isEmpty()) invalidations++;
+        trees.clear();
+        queryCounts.clear();
+        compact = null;
+        cachedBytes = 0;
+        version = current;
+    }
+
+    /** Number of cold sources whose queries are being counted. */
+    synchronized int getCountedSourceCount() { return queryCounts.size(); }
+
+    /** Removes every tree and source count without touching the counters. */
+    public synchronized void clear() {
+        trees.clear();
+        queryCounts.clear();
+        cachedBytes = 0;
+    }
+
+    /** Number of stored trees. */
+    public synchronized int size() {
+        invalidateIfStale(graph.getVersion());
+        return trees.size();
+    }
+
+    /** Bytes held by the arrays of the stored trees, never more than {@link #getMaxBytes()}. */
+    public synchronized long getCachedBytes() {
+        invalidateIfStale(graph.getVersion());
+        return cachedBytes;
+    }
+
+    public long getMaxBytes() { return maxBytes; }
+
+    public int getHotThreshold() { return hotThreshold; }
+
+    /** Lookups answered from a stored tree. */
+    public synchronized long getHitCount() { return hits; }
+
+    /** Lookups that ran a search, whether or not a tree was built. */
+    public synchronized long getMissCount() { return misses; }
+
+    /** Hits over all lookups, or 0 before the first lookup. */
+    public synchronized double getHitRate() {
+        long total = hits + misses;
+        return total == 0 ? 0.0 : (double) hits / total;
+    }
+
+    /** Trees dropped to stay within the byte budget. */
+    public synchronized long getEvictionCount() { return evictions; }
+
+    /** Times every tree was dropped because the graph changed. */
+    public synchronized long getInvalidationCount() { return invalidations; }
+}
@@ -0,0 +1,248 @@
+package com.shortestpath.algorithm;
+
+import com.shortestpath.model.Edge;
+import com.shortestpath.model.Node;
+import com.shortestpath.model.WeightedGraph;
+
+import java.util.*;
+
+/**
+ * Queue-based Bellman-Ford (SPFA) supporting negative edge weights.
+ *
+ * Only edges leaving nodes whose distance changed are relaxed, and the search ends as
+ * soon as the queue is empty, which is usually near-linear in practice instead of
+ * {@code O(V * E)}. The queue can reorder nodes with the Small-Label-First and/or
+ * Large-Label-Last heuristics. A negative cycle is reported once some distance is
+ * produced by a chain of {@code V} or more relaxations, which cannot happen otherwise.
+ */
+public final class SpfaAlgorithm {
+
+    /** Queue discipline used when a node's distance improves. */
+    public enum QueueStrategy {
+        /** Plain first-in, first-out queue. */
+        FIFO,
+        /** Small-Label-First: a node smaller than the queue head is pushed to the front. */
+        SLF,
+        /** Large-Label-Last: heads larger than the queue average are rotated to the back. */
+        LLL,
+        /** Both SLF and LLL. */
+        SLF_LLL
+    }
+
+    /** Metric names for the number of queue removals and successful relaxations. */
+    public static final String QUEUE_POPS = "queuePops";
+    public static final String RELAXATIONS = "relaxations";
+
+    private SpfaAlgorithm() {}
+
+    public static AlgorithmResult findShortestPath(WeightedGraph graph, Node source, Node target) {
+        return findShortestPath(graph, source, target, RecordingLevel.FULL, QueueStrategy.SLF_LLL);
+    }
+
+    public static AlgorithmResult findShortestPath(WeightedGraph graph, Node source, Node target,
+                                                   RecordingLevel level) {
+        return findShortestPath(graph, source, target, level, QueueStrategy.SLF_LLL);
+    }
+
+    public static AlgorithmResult findShortestPath(WeightedGraph graph, Node source, Node target,
+                                                   RecordingLevel level, QueueStrategy strategy) {
+        return findShortestPath(graph, source, target, level, strategy, SearchBudget.unlimited());
+    }
+
+    /**
+     * @throws java.util.concurrent.CancellationException if {@code budget} is cancelled or runs
+     *         out before the search finishes
+     */
+    public static AlgorithmResult findShortestPath(WeightedGraph graph, Node source, Node target,
+                                                   RecordingLevel level, QueueStrategy strategy,
+                                                   SearchBudget budget) {
+        if (budget == null) throw new IllegalArgumentException("budget must not be null");
+        if (level == null) throw new IllegalArgumentException("level must not be null");
+        if (strategy == null) throw new IllegalArgumentException("strategy must not be null");
+        if (graph == null) throw new IllegalArgumentException("graph must not be null");
+        if (source == null) throw new IllegalArgumentException("source must not be null");
+        if (target == null) throw new IllegalArgumentException("target must not be null");
+        if (!graph.containsNode(source.getId())) throw new IllegalArgumentException("source not in graph");
+        if (!graph.containsNode(target.getId())) throw new IllegalArgumentException("target not in graph");
+
+        long start = System.currentTimeMillis();
+        boolean slf = strategy == QueueStrategy.SLF || strategy == QueueStrategy.SLF_LLL;
+        boolean lll = strategy == QueueStrategy.LLL || strategy == QueueStrategy.SLF_LLL;
+
+        Collection<Node> nodes = graph.getAllNodes();
+        int V = nodes.size();
+        Map<Node, Double> dist = new HashMap<>();
+        Map<Node, Node> pred = new HashMap<>();
+        Map<Node, Integer> chainLength = new HashMap<>();
+        for (Node n : nodes) {
+            dist.put(n, Double.POSITIVE_INFINITY);
+            pred.put(n, null);
+        }
+        dist.put(source, 0.0);
+        chainLength.put(source, 0);
+
+        Deque<Node> queue = new ArrayDeque<>();
+        Set<Node> queued = new HashSet<>();
+        Set<Node> visited = new HashSet<>();
+        queue.add(source);
+        queued.add(source);
+        double queuedSum = 0.0;
+
+        AlgorithmTrace.Recorder trace = level.recordsEveryStep() ? new AlgorithmTrace.Recorder(nodes) : null;
+        List<AlgorithmStep> steps = new ArrayList<>();
+        if (trace != null) {
+            trace.update(source, 0.0, null);
+            trace.push(source, 0.0);
+            trace.endStep(null, "Initialized source node " + source + " with distance 0");
+        } else if (level.recordsAnySteps()) {
+            steps.add(createStepSnapshot(0, null, visited, dist, pred, queue,
+                    "Initialized source node " + source + " with distance 0"));
+        }
+
+        int pops = 0;
+        int relaxations = 0;
+        boolean negativeCycle = false;
+        Node last = null;
+
+        while (!queue.isEmpty() && !negativeCycle) {
+            budget.check();
+            if (lll) {
+                // Rotate heads above the average queued distance to the back; at most one full turn
+                double average = queuedSum / queue.size();
+                for (int i = queue.size(); i > 1 && dist.get(queue.peekFirst()) > average; i--) {
+                    queue.addLast(queue.pollFirst());
+                }
+            }
+            Node u = queue.pollFirst();
+            queued.remove(u);
+            double du = dist.get(u);
+            queuedSum -= du;
+            pops++;
+            visited.add(u);
+            last = u;
+            if (trace != null) {
+                trace.pop(u);
+                trace.settle(u);
+            }
+
+            List<Node> updated = trace != null ? new ArrayList<>() : null;
+            for (Edge e : graph.getOutgoingEdges(u)) {
+                Node v = e.getTarget();
+                double alt = du + e.getWeight();
+                double dv = dist.get(v);
+                if (alt < dv) {
+                    relaxations++;
+                    dist.put(v, alt);
+                    pred.put(v, u);
+                    int length = chainLength.get(u) + 1;
+                    chainLength.put(v, length);
+                    if (trace != null) {
+                        updated.add(v);
+                        trace.update(v, alt, u);
+                    }
+                    if (length >= V) {
+                        negativeCycle = true;
+                        break;
+                    }
+                    if (queued.contains(v)) {
+                        queuedSum += alt - dv;
+                        if (trace != null) {
+                            trace.pop(v);
+                            trace.push(v, alt);
+                        }
+                        continue;
+                    }
+                    if (slf && !queue.isEmpty() && alt < dist.get(queue.peekFirst())) {
+                        queue.addFirst(v);
+                    } else {
+                        queue.addLast(v);
+                    }
+                    queued.add(v);
+                    queuedSum += alt;
+                    if (trace != null) trace.push(v, alt);
+                }
+            }
+
+            if (trace != null) {
+                trace.endStep(u, formatDescription(u, updated));
+            }
+        }
+
+        if (negativeCycle) {
+            if (trace != null) {
+                trace.endStep(last, "Negative cycle detected");
+            } else if (level.recordsAnySteps()) {
+                steps.add(createStepSnapshot(1, last, visited, dist, pred, queue, "Negative cycle detected"));
+            }
+            long timeMs = System.currentTimeMillis() - start;
+            AlgorithmResult result = new AlgorithmResult(trace != null ? trace.build() : steps, List.of(),
+                    Double.POSITIVE_INFINITY, source, target, timeMs, visited.size())
+                    .withMetric(QUEUE_POPS, pops)
+                    .withMetric(RELAXATIONS, relaxations);
+            return BellmanFordAlgorithm.withNegativeCycle(result, graph, source);
+        }
+
+        if (level == RecordingLevel.SUMMARY) {
+            steps.add(createStepSnapshot(1, last, visited, dist, pred, queue,
+                    "Queue empty after " + pops + " removals"));
+        }
+
+        List<Node> path = reconstructPath(pred, source, target);
+        double cost = dist.getOrDefault(target, Double.POSITIVE_INFINITY);
+        long timeMs = System.currentTimeMillis() - start;
+        return new AlgorithmResult(trace != null ? trace.build() : steps, path,
+                (path.isEmpty() && !source.equals(target)) ? Double.POSITIVE_INFINITY : cost,
+                source, target, timeMs, visited.size())
+                .withMetric(QUEUE_POPS, pops)
+                .withMetric(RELAXATIONS, relaxations);
+    }
+
+    private static List<Node> reconstructPath(Map<Node, Node> predecessors, Node source, Node target) {
+        List<Node> path = new ArrayList<>();
+        if (source.equals(target)) {
+            path.add(source);
+            return path;
+        }
+        Node curr = target;
+        if (predecessors.get(curr) == null) {
+            return path; // empty
+        }
+        while (curr != null) {
+            path.add(curr);
+            if (curr.equals(source)) break;
+            curr = predecessors.get(curr);
+        }
+        if (!path.isEmpty() && path.get(path.size() - 1).equals(source)) {
+            Collections.reverse(path);
+            return path;
+        }
+        return List.of();
+    }
+
+    private static AlgorithmStep createStepSnapshot(int stepNumber, Node current, Set<Node> visited,
+                                                    Map<Node, Double> distances, Map<Node, Node> predecessors,
+                                                    Deque<Node> queue, String description) {
+        return new AlgorithmStep(
+                stepNumber,
+                current,
+                new HashSet<>(visited),
+                new HashMap<>(distances),
+                new HashMap<>(predecessors),
+                new ArrayList<>(queue),
+                description
+        );
+    }
+
+    private static String formatDescription(Node current, List<Node> updatedNeighbors) {
+        if (updatedNeighbors.isEmpty()) {
+            return "Processing node " + current + ", no updates";
+        }
+        StringBuilder sb = new StringBuilder();
+        sb.append("Processing node ").append(current).append(", updated neighbors: ");
+        for (int i = 0; i < updatedNeighbors.size(); i++) {
+            if (i > 0) sb.append(", ");
+            sb.append(updatedNeighbors.get(i));
+        }
+        return sb.toString();
+    }
+}
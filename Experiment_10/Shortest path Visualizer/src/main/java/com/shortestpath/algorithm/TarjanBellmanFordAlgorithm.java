@@ -0,0 +1,319 @@
+package com.shortestpath.algorithm;
+
+import com.shortestpath.model.Node;
+import com.shortestpath.model.WeightedGraph;
+
+import java.util.*;
+
+/**
+ * Bellman-Ford with Tarjan's subtree disassembly, for graphs with negative edge weights.
+ *
+ * As in {@link SpfaAlgorithm}, only nodes whose distance improved are scanned again, in FIFO
+ * order. The current shortest-path tree is also kept as a preorder thread with node depths.
+ * When a node's distance drops, its whole subtree is detached: those distances are known to
+ * be too high, so their pending scans are skipped until they improve again. If the node whose
+ * edge caused the drop lies in the detached subtree, that edge closes a cycle in the parent
+ * graph, and such a cycle is always negative. The search then stops at once and reports the
+ * cycle with {@link AlgorithmResult#getNegativeCycle()}, instead of after {@code V - 1} passes.
+ */
+public final class TarjanBellmanFordAlgorithm {
+
+    /** Metric name for the number of nodes detached from the tree by distance drops. */
+    public static final String DETACHED_NODES = "detachedNodes";
+
+    private TarjanBellmanFordAlgorithm() {}
+
+    public static AlgorithmResult findShortestPath(WeightedGraph graph, Node source, Node target) {
+        return findShortestPath(graph, source, target, RecordingLevel.FULL);
+    }
+
+    public static AlgorithmResult findShortestPath(WeightedGraph graph, Node source, Node target,
+                                                   RecordingLevel level) {
+        return findShortestPath(graph, source, target, level, SearchBudget.unlimited());
+    }
+
+    /**
+     * Reports queue removals and relaxations as the {@link SpfaAlgorithm#QUEUE_POPS} and
+     * {@link SpfaAlgorithm#RELAXATIONS} metrics, plus {@link #DETACHED_NODES}.
+     *
+     * @throws java.util.concurrent.CancellationException if {@code budget} is cancelled or runs
+     *         out before the search finishes
+     */
+    public static AlgorithmResult findShortestPath(WeightedGraph graph, Node source, Node target,
+                                                   RecordingLevel level, SearchBudget budget) {
+        if (budget == null) throw new IllegalArgumentException("budget must not be null");
+        if (level == null) throw new IllegalArgumentException("level must not be null");
+        if (graph == null) throw new IllegalArgumentException("graph must not be null");
+        if (source == null) throw new IllegalArgumentException("source must not be null");
+        if (target == null) throw new IllegalArgumentException("target must not be null");
+        if (!graph.containsNode(source.getId())) throw new IllegalArgumentException("source not in graph");
+        if (!graph.containsNode(target.getId())) throw new IllegalArgumentException("target not in graph");
+
+        long start = System.currentTimeMillis();
+        CompactGraph g = CompactGraph.of(graph);
+        int s = g.indexOf(source);
+        AlgorithmTrace.Recorder trace = level.recordsEveryStep() ? new AlgorithmTrace.Recorder(g.nodes()) : null;
+        List<AlgorithmStep> steps = new ArrayList<>();
+        if (trace != null) {
+            trace.update(source, 0.0, null);
+            trace.push(source, 0.0);
+            trace.endStep(null, "Initialized source node " + source + " with distance 0");
+        }
+
+        Disassembly d = new Disassembly(g, g.size());
+        d.seedSource(s);
+        if (level == RecordingLevel.SUMMARY) {
+            steps.add(createStepSnapshot(0, g, d, "Initialized source node " + source + " with distance 0"));
+        }
+        List<Node> cycle = d.run(budget, trace);
+
+        String description = cycle.isEmpty() ? "Queue empty after " + d.pops + " removals"
+                : "Negative cycle detected: " + format(cycle);
+        if (trace != null) {
+            if (!cycle.isEmpty()) trace.endStep(cycle.get(0), description);
+        } else if (level == RecordingLevel.SUMMARY) {
+            steps.add(createStepSnapshot(1, g, d, description));
+        }
+
+        int nodesVisited = 0;
+        for (int v = 0; v < g.size(); v++) {
+            if (d.dist[v] != Double.POSITIVE_INFINITY) nodesVisited++;
+        }
+        List<Node> path = cycle.isEmpty() ? d.path(s, g.indexOf(target)) : List.of();
+        AlgorithmResult result = new AlgorithmResult(trace != null ? trace.build() : steps, path,
+                path.isEmpty() ? Double.POSITIVE_INFINITY : d.dist[g.indexOf(target)],
+                source, target, System.currentTimeMillis() - start, nodesVisited)
+                .withMetric(SpfaAlgorithm.QUEUE_POPS, d.pops)
+                .withMetric(SpfaAlgorithm.RELAXATIONS, d.relaxations)
+                .withMetric(DETACHED_NODES, d.detached);
+        return cycle.isEmpty() ? result : result.withNegativeCycle(cycle);
+    }
+
+    /**
+     * A negative cycle reachable from {@code source}, in edge order with the first node repeated
+     * at the end, or an empty list if there is none.
+     */
+    public static List<Node> findNegativeCycle(WeightedGraph graph, Node source) {
+        if (graph == null) throw new IllegalArgumentException("graph must not be null");
+        if (source == null) throw new IllegalArgumentException("source must not be null");
+        if (!graph.containsNode(source.getId())) throw new IllegalArgumentException("source not in graph");
+        CompactGraph g = CompactGraph.of(graph);
+        Disassembly d = new Disassembly(g, g.size());
+        d.seedSource(g.indexOf(source));
+        return d.run(SearchBudget.unlimited(), null);
+    }
+
+    /**
+     * A negative cycle anywhere in the graph, found from a virtual source joined to every node
+     * by a zero-weight edge, or an empty list if the graph has none.
+     */
+    public static List<Node> findNegativeCycle(WeightedGraph graph) {
+        if (graph == null) throw new IllegalArgumentException("graph must not be null");
+        CompactGraph g = CompactGraph.of(graph);
+        Disassembly d = new Disassembly(g, g.size() + 1);
+        d.seedVirtualSource();
+        return d.run(SearchBudget.unlimited(), null);
+    }
+
+    private static String format(List<Node> cycle) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < cycle.size(); i++) {
+            if (i > 0) sb.append(" -> ");
+            sb.append(cycle.get(i));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Search state on primitive arrays. The tree is a circular doubly linked list in preorder
+     * starting at the root, so a subtree is the run of nodes after its root with greater depth.
+     */
+    private static final class Disassembly {
+        private final CompactGraph g;
+        private final double[] dist;
+        private final int[] parent;
+        private final int[] depth;
+        private final int[] next;
+        private final int[] prev;
+        private final boolean[] inTree;
+        private final boolean[] queued;
+        private final ArrayDeque<Integer> queue = new ArrayDeque<>();
+        private int root;
+        private int pops;
+        private int relaxations;
+        private int detached;
+
+        Disassembly(CompactGraph g, int size) {
+            this.g = g;
+            dist = new double[size];
+            parent = new int[size];
+            depth = new int[size];
+            next = new int[size];
+            prev = new int[size];
+            inTree = new boolean[size];
+            queued = new boolean[size];
+            Arrays.fill(dist, Double.POSITIVE_INFINITY);
+            Arrays.fill(parent, -1);
+        }
+
+        void seedSource(int s) {
+            root = s;
+            dist[s] = 0.0;
+            next[s] = s;
+            prev[s] = s;
+            inTree[s] = true;
+            enqueue(s);
+        }
+
+        /** Root at the extra index {@code V} with every real node as a child at distance 0. */
+        void seedVirtualSource() {
+            root = g.size();
+            dist[root] = 0.0;
+            inTree[root] = true;
+            int last = root;
+            for (int v = 0; v < g.size(); v++) {
+                dist[v] = 0.0;
+                parent[v] = root;
+                depth[v] = 1;
+                inTree[v] = true;
+                next[last] = v;
+                prev[v] = last;
+                last = v;
+                enqueue(v);
+            }
+            next[last] = root;
+            prev[root] = last;
+        }
+
+        /** Runs until the queue is empty; returns the negative cycle that stopped it, if any. */
+        List<Node> run(SearchBudget budget, AlgorithmTrace.Recorder trace) {
+            while (!queue.isEmpty()) {
+                budget.check();
+                int u = queue.poll();
+                queued[u] = false;
+                if (trace != null) trace.pop(g.node(u));
+                // A detached node's distance is too high; it is queued again once it improves
+                if (!inTree[u]) continue;
+                pops++;
+                if (trace != null) trace.settle(g.node(u));
+
+                List<Node> updated = trace != null ? new ArrayList<>() : null;
+                int detachedBefore = detached;
+                double du = dist[u];
+                for (int e = g.outStart[u]; e < g.outStart[u + 1]; e++) {
+                    int v = g.outTarget[e];
+                    double alt = du + g.outWeight[e];
+                    if (alt >= dist[v]) continue;
+                    relaxations++;
+                    if (inTree[v] && detachSubtree(v, u)) {
+                        List<Node> cycle = cycle(u, v);
+                        if (trace != null) trace.update(g.node(v), alt, g.node(u));
+                        return cycle;
+                    }
+                    dist[v] = alt;
+                    parent[v] = u;
+                    attachAfter(v, u);
+                    if (trace != null) {
+                        updated.add(g.node(v));
+                        trace.update(g.node(v), alt, g.node(u));
+                        if (queued[v]) trace.pop(g.node(v));
+                        trace.push(g.node(v), alt);
+                    }
+                    enqueue(v);
+                }
+                if (trace != null) {
+                    trace.endStep(g.node(u), formatDescription(g.node(u), updated, detached - detachedBefore));
+                }
+            }
+            return List.of();
+        }
+
+        private void enqueue(int v) {
+            if (queued[v]) return;
+            queued[v] = true;
+            queue.add(v);
+        }
+
+        /**
+         * Removes {@code v} and its subtree from the tree. Returns true, leaving the tree
+         * partly detached, if {@code u} is {@code v} or one of its descendants.
+         */
+        private boolean detachSubtree(int v, int u) {
+            if (v == u) return true;
+            int x = next[v];
+            while (x != root && depth[x] > depth[v]) {
+                if (x == u) return true;
+                inTree[x] = false;
+                detached++;
+                x = next[x];
+            }
+            next[prev[v]] = x;
+            prev[x] = prev[v];
+            inTree[v] = false;
+            return false;
+        }
+
+        private void attachAfter(int v, int u) {
+            depth[v] = depth[u] + 1;
+            int after = next[u];
+            next[u] = v;
+            prev[v] = u;
+            next[v] = after;
+            prev[after] = v;
+            inTree[v] = true;
+        }
+
+        /** The cycle closed by edge {@code u -> v}, where {@code u} descends from {@code v}. */
+        private List<Node> cycle(int u, int v) {
+            List<Node> cycle = new ArrayList<>();
+            cycle.add(g.node(v));
+            for (int x = u; x != v; x = parent[x]) cycle.add(g.node(x));
+            cycle.add(g.node(v));
+            Collections.reverse(cycle);
+            return cycle;
+        }
+
+        List<Node> path(int s, int t) {
+            if (dist[t] == Double.POSITIVE_INFINITY) return List.of();
+            List<Node> path = new ArrayList<>();
+            for (int v = t; v != -1 && path.size() <= g.size(); v = v == s ? -1 : parent[v]) {
+                path.add(g.node(v));
+            }
+            if (!path.get(path.size() - 1).equals(g.node(s))) return List.of();
+            Collections.reverse(path);
+            return path;
+        }
+    }
+
+    private static AlgorithmStep createStepSnapshot(int stepNumber, CompactGraph g, Disassembly d,
+                                                    String description) {
+        Set<Node> visited = new HashSet<>();
+        Map<Node, Double> distances = new HashMap<>();
+        Map<Node, Node> predecessors = new HashMap<>();
+        for (int v = 0; v < g.size(); v++) {
+            Node node = g.node(v);
+            if (d.dist[v] != Double.POSITIVE_INFINITY) visited.add(node);
+            distances.put(node, d.dist[v]);
+            predecessors.put(node, d.parent[v] < 0 ? null : g.node(d.parent[v]));
+        }
+        List<Node> queue = new ArrayList<>(d.queue.size());
+        for (int v : d.queue) queue.add(g.node(v));
+        return new AlgorithmStep(stepNumber, null, visited, distances, predecessors, queue, description);
+    }
+
+    private static String formatDescription(Node current, List<Node> updatedNeighbors, int detached) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("Processing node ").append(current);
+        if (updatedNeighbors.isEmpty()) {
+            sb.append(", no updates");
+        } else {
+            sb.append(", updated neighbors: ");
+            for (int i = 0; i < updatedNeighbors.size(); i++) {
+                if (i > 0) sb.append(", ");
+                sb.append(updatedNeighbors.get(i));
+            }
+        }
+        if (detached > 0) sb.append(", detached ").append(detached).append(" stale descendants");
+        return sb.toString();
+    }
+}
@@ -7,6 +7,8 @@ public class Edge {
     private final Node source;
     private final Node target;
     private double weight;
+    // Graph whose version a weight change must bump; set when the edge is added to a graph
+    private WeightedGraph owner;
 
     public Edge(Node source, Node target, double weight) {
         this(source.getId() + "->" + target.getId(), source, target, weight);
@@ -46,9 +48,14 @@ public class Edge {
 
     public void setWeight(double weight) {
         validateWeight(weight);
+        if (owner != null && weight != this.weight) owner.markModified();
         this.weight = weight;
     }
 
+    void setOwner(WeightedGraph owner) {
+        this.owner = owner;
+    }
+
     public String getId() {
         return id;
     }
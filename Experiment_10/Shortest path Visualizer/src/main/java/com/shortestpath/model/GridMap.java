@@ -0,0 +1,206 @@
+package com.shortestpath.model;
+
+import java.util.Arrays;
+
+/**
+ * Uniform-cost grid map holding one bit per cell, set when the cell is open.
+ *
+ * Moves go to the 8 neighbouring cells: straight moves cost 1 and diagonal moves sqrt 2.
+ * A diagonal move may not cut a corner, so both cells it passes between must be open.
+ * Cells map to {@link WeightedGraph} nodes named {@code "row,col"} for visualisation.
+ */
+public class GridMap {
+    public static final double DIAGONAL_COST = Math.sqrt(2.0);
+
+    private final int rows;
+    private final int cols;
+    private final long[] open;
+
+    /** Grid with every cell open. */
+    public GridMap(int rows, int cols) {
+        if (rows < 1 || cols < 1) {
+            throw new IllegalArgumentException("Grid must have at least one row and column");
+        }
+        if ((long) rows * cols > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Grid too large: " + rows + "x" + cols);
+        }
+        this.rows = rows;
+        this.cols = cols;
+        int cells = rows * cols;
+        this.open = new long[(cells + 63) >>> 6];
+        Arrays.fill(open, -1L);
+        // Keep the padding bits of the last word clear so they never count as open cells
+        if ((cells & 63) != 0) open[open.length - 1] = (1L << (cells & 63)) - 1;
+    }
+
+    /**
+     * Grid read from text rows of equal length: {@code '.'} is open, {@code '#'} or
+     * {@code '@'} blocked.
+     */
+    public static GridMap parse(String... lines) {
+        if (lines == null || lines.length == 0) {
+            throw new IllegalArgumentException("Grid text cannot be empty");
+        }
+        GridMap grid = new GridMap(lines.length, lines[0].length());
+        for (int r = 0; r < lines.length; r++) {
+            if (lines[r].length() != grid.cols) {
+                throw new IllegalArgumentException("Row " + r + " has length " + lines[r].length()
+                        + ", expected " + grid.cols);
+            }
+            for (int c = 0; c < grid.cols; c++) {
+                char ch = lines[r].charAt(c);
+                if (ch == '#' || ch == '@') {
+                    grid.setBlocked(r, c, true);
+                } else if (ch != '.') {
+                    throw new IllegalArgumentException("Unknown grid character '" + ch + "' at " + cellId(r, c));
+                }
+            }
+        }
+        return grid;
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public int getCols() {
+        return cols;
+    }
+
+    public boolean isInside(int row, int col) {
+        return row >= 0 && row < rows && col >= 0 && col < cols;
+    }
+
+    /** Whether the cell can be entered; false for cells outside the grid. */
+    public boolean isOpen(int row, int col) {
+        if (!isInside(row, col)) return false;
+        int i = row * cols + col;
+        return (open[i >>> 6] & (1L << i)) != 0;
+    }
+
+    public void setBlocked(int row, int col, boolean blocked) {
+        if (!isInside(row, col)) {
+            throw new IllegalArgumentException("Cell outside grid: " + cellId(row, col));
+        }
+        int i = row * cols + col;
+        if (blocked) {
+            open[i >>> 6] &= ~(1L << i);
+        } else {
+            open[i >>> 6] |= 1L << i;
+        }
+    }
+
+    public int getOpenCount() {
+        int count = 0;
+        for (long word : open) count += Long.bitCount(word);
+        return count;
+    }
+
+    /** Bytes held by the cell bits. */
+    public long getBitsetBytes() {
+        return (long) open.length * Long.BYTES;
+    }
+
+    /** Node id of a cell, {@code "row,col"}. */
+    public static String cellId(int row, int col) {
+        return row + "," + col;
+    }
+
+    /**
+     * Parses a {@code "row,col"} node id into {@code {row, col}}.
+     *
+     * @throws IllegalArgumentException if the id is not two non-negative integers
+     */
+    public static int[] parseCellId(String id) {
+        int comma = id == null ? -1 : id.indexOf(',');
+        if (comma < 0) throw new IllegalArgumentException("Not a grid cell id: " + id);
+        try {
+            int row = Integer.parseInt(id.substring(0, comma).trim());
+            int col = Integer.parseInt(id.substring(comma + 1).trim());
+            if (row < 0 || col < 0) throw new IllegalArgumentException("Not a grid cell id: " + id);
+            return new int[] {row, col};
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Not a grid cell id: " + id, e);
+        }
+    }
+
+    public WeightedGraph toWeightedGraph() {
+        return toWeightedGraph(1.0);
+    }
+
+    /**
+     * Undirected graph with a node per open cell, placed {@code cellSize} apart, and an edge
+     * per allowed move. With a cell size of 1 the node coordinates suit the Euclidean and
+     * octile heuristics directly.
+     */
+    public WeightedGraph toWeightedGraph(double cellSize) {
+        if (!(cellSize > 0.0) || Double.isInfinite(cellSize)) {
+            throw new IllegalArgumentException("Cell size must be a finite value > 0");
+        }
+        WeightedGraph graph = new WeightedGraph(false);
+        Node[] nodes = new Node[rows * cols];
+        for (int r = 0; r < rows; r++) {
+            for (int c = 0; c < cols; c++) {
+                if (!isOpen(r, c)) continue;
+                Node node = new Node(cellId(r, c), c * cellSize, r * cellSize);
+                nodes[r * cols + c] = node;
+                graph.addNode(node);
+            }
+        }
+        // Each move is added once, from the cell that precedes it in row-major order
+        for (int r = 0; r < rows; r++) {
+            for (int c = 0; c < cols; c++) {
+                Node from = nodes[r * cols + c];
+                if (from == null) continue;
+                if (isOpen(r, c + 1)) graph.addEdge(from, nodes[r * cols + c + 1], 1.0);
+                if (isOpen(r + 1, c)) graph.addEdge(from, nodes[(r + 1) * cols + c], 1.0);
+                if (isOpen(r + 1, c + 1) && isOpen(r, c + 1) && isOpen(r + 1, c)) {
+                    graph.addEdge(from, nodes[(r + 1) * cols + c + 1], DIAGONAL_COST);
+                }
+                if (isOpen(r + 1, c - 1) && isOpen(r, c - 1) && isOpen(r + 1, c)) {
+                    graph.addEdge(from, nodes[(r + 1) * cols + c - 1], DIAGONAL_COST);
+                }
+            }
+        }
+        return graph;
+    }
+
+    /**
+     * Grid whose open cells are the nodes of {@code graph}, which must all be named
+     * {@code "row,col"}. Edges are not read: moves follow from which cells are open.
+     */
+    public static GridMap fromWeightedGraph(WeightedGraph graph) {
+        if (graph == null) {
+            throw new IllegalArgumentException("Graph cannot be null");
+        }
+        if (graph.getNodeCount() == 0) {
+            throw new IllegalArgumentException("Graph has no nodes");
+        }
+        int maxRow = 0;
+        int maxCol = 0;
+        for (Node n : graph.getAllNodes()) {
+            int[] cell = parseCellId(n.getId());
+            maxRow = Math.max(maxRow, cell[0]);
+            maxCol = Math.max(maxCol, cell[1]);
+        }
+        GridMap grid = new GridMap(maxRow + 1, maxCol + 1);
+        Arrays.fill(grid.open, 0L);
+        for (Node n : graph.getAllNodes()) {
+            int[] cell = parseCellId(n.getId());
+            grid.setBlocked(cell[0], cell[1], false);
+        }
+        return grid;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        for (int r = 0; r < rows; r++) {
+            if (r > 0) sb.append('\n');
+            for (int c = 0; c < cols; c++) {
+                sb.append(isOpen(r, c) ? '.' : '#');
+            }
+        }
+        return sb.toString();
+    }
+}
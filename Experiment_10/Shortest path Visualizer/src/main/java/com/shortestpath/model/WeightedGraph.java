@@ -6,7 +6,9 @@ public class WeightedGraph implements Cloneable {
     private final Map<String, Node> nodes = new HashMap<>();
     private final List<Edge> edges = new ArrayList<>();
     private final Map<Node, List<Edge>> adjacencyList = new HashMap<>();
+    private final Map<Node, List<Edge>> incomingList = new HashMap<>();
     private final boolean directed;
+    private long version;
 
     public WeightedGraph() {
         this(true);
@@ -27,6 +29,8 @@ public class WeightedGraph implements Cloneable {
         }
         nodes.put(id, node);
         adjacencyList.put(node, new ArrayList<>());
+        incomingList.put(node, new ArrayList<>());
+        version++;
     }
 
     public Node getNode(String nodeId) {
@@ -48,11 +52,17 @@ public class WeightedGraph implements Cloneable {
     public void removeNode(String nodeId) {
         Node node = nodes.remove(nodeId);
         if (node == null) return;
+        version++;
         // Remove outgoing edges
         List<Edge> outgoing = adjacencyList.remove(node);
         if (outgoing != null) {
             edges.removeAll(outgoing);
+            for (Edge e : outgoing) {
+                List<Edge> in = incomingList.get(e.getTarget());
+                if (in != null) in.remove(e);
+            }
         }
+        incomingList.remove(node);
         // Remove incoming edges and clean adjacency lists
         Iterator<Edge> it = edges.iterator();
         while (it.hasNext()) {
@@ -63,6 +73,10 @@ public class WeightedGraph implements Cloneable {
                 if (list != null) {
                     list.remove(e);
                 }
+                List<Edge> in = incomingList.get(e.getTarget());
+                if (in != null) {
+                    in.remove(e);
+                }
             }
         }
         // Remove node from adjacency keys where empty lists may remain handled already
@@ -79,13 +93,18 @@ public class WeightedGraph implements Cloneable {
             throw new IllegalArgumentException("Both source and target nodes must exist in the graph");
         }
         // Add forward edge
+        version++;
+        edge.setOwner(this);
         edges.add(edge);
         adjacencyList.computeIfAbsent(src, k -> new ArrayList<>()).add(edge);
+        incomingList.computeIfAbsent(dst, k -> new ArrayList<>()).add(edge);
         // If undirected, add reverse edge automatically
         if (!directed) {
             Edge reverse = new Edge(dst, src, edge.getWeight());
+            reverse.setOwner(this);
             edges.add(reverse);
             adjacencyList.computeIfAbsent(dst, k -> new ArrayList<>()).add(reverse);
+            incomingList.computeIfAbsent(src, k -> new ArrayList<>()).add(reverse);
         }
     }
 
@@ -102,8 +121,11 @@ public class WeightedGraph implements Cloneable {
             Edge e = it.next();
             if (edgeId.equals(e.getId())) {
                 it.remove();
+                version++;
                 List<Edge> list = adjacencyList.get(e.getSource());
                 if (list != null) list.remove(e);
+                List<Edge> in = incomingList.get(e.getTarget());
+                if (in != null) in.remove(e);
                 break;
             }
         }
@@ -116,8 +138,11 @@ public class WeightedGraph implements Cloneable {
             Edge e = it.next();
             if (e.getSource().equals(source) && e.getTarget().equals(target)) {
                 it.remove();
+                version++;
                 List<Edge> list = adjacencyList.get(source);
                 if (list != null) list.remove(e);
+                List<Edge> in = incomingList.get(target);
+                if (in != null) in.remove(e);
                 // if undirected, also remove reverse
                 if (!directed) {
                     removeEdge(target, source);
@@ -162,13 +187,8 @@ public class WeightedGraph implements Cloneable {
     }
 
     public List<Edge> getIncomingEdges(Node node) {
-        List<Edge> incoming = new ArrayList<>();
-        for (Edge e : edges) {
-            if (e.getTarget().equals(node)) {
-                incoming.add(e);
-            }
-        }
-        return Collections.unmodifiableList(incoming);
+        List<Edge> list = incomingList.get(node);
+        return list == null ? Collections.emptyList() : Collections.unmodifiableList(list);
     }
 
     public double getEdgeWeight(Node source, Node target) {
@@ -181,10 +201,25 @@ public class WeightedGraph implements Cloneable {
         return directed;
     }
 
+    /**
+     * Counter that changes whenever nodes or edges are added or removed or an edge weight
+     * changes, so derived data such as cached query results can tell that it is stale.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /** Bumps {@link #getVersion()} after a change the graph cannot see by itself. */
+    public void markModified() {
+        version++;
+    }
+
     public void clear() {
+        version++;
         nodes.clear();
         edges.clear();
         adjacencyList.clear();
+        incomingList.clear();
     }
 
     @Override
@@ -98,6 +98,20 @@ public final class AnimationEngine {
         notifyStepListeners(step);
     }
 
+    public void jumpToStep(int index) {
+        if (!hasAlgorithm()) return;
+        int total = currentState.getTotalSteps();
+        if (index < 0 || index >= total) {
+            throw new IllegalArgumentException("index must be in [0, " + total + ")");
+        }
+        if (currentState.isPlaying()) pause();
+        currentState = new AlgorithmState(index, total, AlgorithmState.PlaybackStatus.PAUSED, currentState.getPlaybackSpeed());
+        notifyStateListeners();
+        // Delta-encoded traces rebuild the step from the nearest checkpoint
+        AlgorithmStep step = algorithmResult.getSteps().get(index);
+        notifyStepListeners(step);
+    }
+
     public void reset() {
         stop();
     }
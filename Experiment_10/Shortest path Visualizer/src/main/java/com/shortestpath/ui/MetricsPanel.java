@@ -30,6 +30,7 @@ public class MetricsPanel extends VBox {
     private final Label executionTimeLabel;
     private final Label nodesVisitedLabel;
     private final Label pathCostLabel;
+    private final Label engineMetricsLabel;
     private final TextArea pathSequenceArea;
     private final Label currentStepLabel;
 
@@ -54,6 +55,8 @@ public class MetricsPanel extends VBox {
         executionTimeLabel = new Label("Execution Time: —");
         nodesVisitedLabel = new Label("Nodes Visited: —");
         pathCostLabel = new Label("Path Cost: —");
+        engineMetricsLabel = new Label("");
+        engineMetricsLabel.setWrapText(true);
         currentStepLabel = new Label("Current Step: —");
         currentStepLabel.setStyle("-fx-font-weight: bold;");
 
@@ -82,6 +85,7 @@ public class MetricsPanel extends VBox {
                 executionTimeLabel,
                 nodesVisitedLabel,
                 pathCostLabel,
+                engineMetricsLabel,
                 currentStepLabel,
                 new Separator(Orientation.HORIZONTAL),
                 pathSectionTitle,
@@ -101,6 +105,7 @@ public class MetricsPanel extends VBox {
         currentAlgorithmLabel.setText("Algorithm: " + algorithmName);
         executionTimeLabel.setText("Execution Time: " + result.getExecutionTimeMs() + " ms");
         nodesVisitedLabel.setText("Nodes Visited: " + result.getNodesVisited());
+        engineMetricsLabel.setText(formatMetrics(result.getMetrics()));
         if (result.hasPath()) {
             pathCostLabel.setText("Path Cost: " + String.format("%.2f", result.getPathCost()));
             List<Node> path = result.getShortestPath();
@@ -137,12 +142,21 @@ public class MetricsPanel extends VBox {
         executionTimeLabel.setText("Execution Time: —");
         nodesVisitedLabel.setText("Nodes Visited: —");
         pathCostLabel.setText("Path Cost: —");
+        engineMetricsLabel.setText("");
         pathSequenceArea.clear();
         currentStepLabel.setText("Current Step: —");
         clearComparison();
         currentResult = null;
     }
 
+    private static String formatMetrics(Map<String, Double> metrics) {
+        return metrics.entrySet().stream()
+                .map(e -> e.getKey() + ": " + (e.getValue() == Math.rint(e.getValue())
+                        ? String.valueOf(e.getValue().longValue())
+                        : String.format("%.3f", e.getValue())))
+                .collect(Collectors.joining("\n"));
+    }
+
     public void addComparisonResult(String algorithmName, AlgorithmResult result) {
         if (algorithmName == null || result == null) return;
         comparisonResults.put(algorithmName, result);
@@ -2,6 +2,7 @@ package com.shortestpath.algorithm;
 
 import com.shortestpath.model.Node;
 import com.shortestpath.model.WeightedGraph;
+import com.shortestpath.util.RandomGraphGenerator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -200,6 +201,59 @@ class AStarAlgorithmTest {
         assertTrue(elapsed < 1000, "Algorithm should finish under 1000ms, took " + elapsed + "ms");
     }
 
+    @Test
+    @DisplayName("Recording levels: NONE and SUMMARY return the same path with fewer steps")
+    void testRecordingLevels() {
+        Node A = new Node("A", 0, 0);
+        Node B = new Node("B", 1, 0);
+        Node C = new Node("C", 2, 0);
+        Node D = new Node("D", 3, 0);
+        graph.addNode(A); graph.addNode(B); graph.addNode(C); graph.addNode(D);
+        graph.addEdge(A, B, 1.0);
+        graph.addEdge(B, C, 2.0);
+        graph.addEdge(A, C, 4.0);
+        graph.addEdge(C, D, 1.0);
+
+        AlgorithmResult full = AStarAlgorithm.findShortestPath(graph, A, D, RecordingLevel.FULL);
+        AlgorithmResult summary = AStarAlgorithm.findShortestPath(graph, A, D, RecordingLevel.SUMMARY);
+        AlgorithmResult none = AStarAlgorithm.findShortestPath(graph, A, D, RecordingLevel.NONE);
+
+        for (AlgorithmResult r : List.of(summary, none)) {
+            assertEquals(full.getPathCost(), r.getPathCost(), 1e-9);
+            assertPathEquals(full.getShortestPath(), r.getShortestPath());
+            assertEquals(full.getNodesVisited(), r.getNodesVisited());
+        }
+        assertTrue(full.getStepCount() > 2);
+        assertEquals(2, summary.getStepCount());
+        assertEquals(0, summary.getSteps().get(0).getStepNumber());
+        assertEquals(4.0, summary.getSteps().get(1).getDistance(D), 1e-9);
+        assertEquals(0, none.getStepCount());
+        assertThrows(IllegalArgumentException.class, () -> AStarAlgorithm.findShortestPath(graph, A, D, null));
+    }
+
+    @Test
+    @DisplayName("A queued node whose key drops below the heap root is still polled first")
+    void testDecreaseKeyOfQueuedNode() {
+        // S queues T (40), A (90), B (80) and X (30). Settling X lowers A to 35 while A's old
+        // entry sits below T; a queue ordered by the live distances then polls T at 40
+        Node S = new Node("S");
+        Node X = new Node("X");
+        Node A = new Node("A");
+        Node B = new Node("B");
+        Node T = new Node("T");
+        for (Node n : List.of(S, X, A, B, T)) graph.addNode(n);
+        graph.addEdge(S, T, 40.0);
+        graph.addEdge(S, A, 90.0);
+        graph.addEdge(S, B, 80.0);
+        graph.addEdge(S, X, 30.0);
+        graph.addEdge(X, A, 5.0);
+        graph.addEdge(A, T, 1.0);
+
+        AlgorithmResult result = AStarAlgorithm.findShortestPath(graph, S, T);
+        assertEquals(36.0, result.getPathCost(), 1e-9);
+        assertPathEquals(List.of(S, X, A, T), result.getShortestPath());
+    }
+
     // Helpers
     private static void assertPathEquals(List<Node> expected, List<Node> actual) {
         assertEquals(expected.size(), actual.size(), "Path length differs");
@@ -207,4 +261,23 @@ class AStarAlgorithmTest {
             assertEquals(expected.get(i), actual.get(i), "Mismatch at index " + i);
         }
     }
+
+    @Test
+    @DisplayName("Default heuristic matches Dijkstra on generated graphs with short edges")
+    void testDefaultHeuristicOnGeneratedGraph() {
+        // Nodes lie on a circle of radius 300 while weights are 1-20, so plain Euclidean overestimates
+        WeightedGraph g = RandomGraphGenerator.generateRandomGraph(40, 0.15, 1, 20, true);
+        assertTrue(Heuristic.admissibleScale(g, Heuristic.euclidean()) < 1.0);
+        Random rnd = new Random(45);
+        for (int q = 0; q < 140; q++) {
+            Node s = g.getNode("N" + rnd.nextInt(40));
+            Node t = g.getNode("N" + rnd.nextInt(40));
+            double expected = DijkstraAlgorithm.findShortestPath(g, s, t, RecordingLevel.NONE).getPathCost();
+            assertEquals(expected, AStarAlgorithm.findShortestPath(g, s, t).getPathCost(), 1e-9);
+            assertEquals(expected, SearchEngine.A_STAR.run(g, s, t, RecordingLevel.NONE).getPathCost(), 1e-9);
+            assertEquals(expected, SearchEngine.BIDIRECTIONAL_A_STAR.run(g, s, t, RecordingLevel.NONE).getPathCost(),
+                    1e-9);
+            assertEquals(expected, BidirectionalAStarAlgorithm.findShortestPath(g, s, t).getPathCost(), 1e-9);
+        }
+    }
 }
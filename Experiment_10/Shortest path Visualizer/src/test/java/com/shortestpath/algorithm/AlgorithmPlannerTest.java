@@ -0,0 +1,145 @@
+package com.shortestpath.algorithm;
+
+import com.shortestpath.model.Edge;
+import com.shortestpath.model.Node;
+import com.shortestpath.model.WeightedGraph;
+import com.shortestpath.util.RandomGraphGenerator;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("AlgorithmPlanner Tests")
+class AlgorithmPlannerTest {
+
+    /** Grid whose edge weights equal the distance between node coordinates. */
+    private static WeightedGraph grid(int size) {
+        WeightedGraph g = new WeightedGraph(false);
+        for (int r = 0; r < size; r++) {
+            for (int c = 0; c < size; c++) g.addNode(new Node(r + "," + c, c * 10.0, r * 10.0));
+        }
+        for (int r = 0; r < size; r++) {
+            for (int c = 0; c < size; c++) {
+                if (c + 1 < size) g.addEdge(g.getNode(r + "," + c), g.getNode(r + "," + (c + 1)), 10.0 + (r % 3));
+                if (r + 1 < size) g.addEdge(g.getNode(r + "," + c), g.getNode((r + 1) + "," + c), 10.0 + (c % 2));
+            }
+        }
+        return g;
+    }
+
+    @Test
+    @DisplayName("Spread coordinates pick A* with a scaled bound, otherwise Dijkstra, and the choice is recorded")
+    void testHeuristicChoice() {
+        WeightedGraph g = grid(8);
+        AlgorithmPlanner planner = AlgorithmPlanner.forGraph(g);
+        assertTrue(planner.hasAdmissibleCoordinates());
+        assertFalse(planner.hasNegativeWeights());
+        assertEquals("A*", planner.plan(RecordingLevel.FULL).getEngine());
+
+        Node s = g.getNode("0,0");
+        Node t = g.getNode("7,5");
+        AlgorithmResult result = planner.findShortestPath(s, t, RecordingLevel.FULL);
+        assertEquals(DijkstraAlgorithm.findShortestPath(g, s, t).getPathCost(), result.getPathCost(), 1e-9);
+        assertTrue(result.getPlan().startsWith("A*"));
+        assertFalse(result.getSteps().isEmpty());
+
+        // Edges far cheaper than their length still give A* a bound once it is scaled down
+        WeightedGraph random = RandomGraphGenerator.generateRandomGraph(30, 0.2, 1, 2, true);
+        AlgorithmPlanner scaled = AlgorithmPlanner.forGraph(random);
+        assertFalse(scaled.hasAdmissibleCoordinates());
+        AlgorithmPlanner.Plan plan = scaled.plan(RecordingLevel.NONE);
+        assertEquals("A*", plan.getEngine());
+        assertTrue(plan.getReason().contains("scaled"));
+        for (Node from : random.getAllNodes()) {
+            Node to = random.getNode("N7");
+            assertEquals(DijkstraAlgorithm.findShortestPath(random, from, to, RecordingLevel.NONE).getPathCost(),
+                    scaled.findShortestPath(from, to, RecordingLevel.NONE).getPathCost(), 1e-9);
+        }
+
+        WeightedGraph stacked = new WeightedGraph(true);
+        for (int i = 0; i < 3; i++) stacked.addNode(new Node("S" + i, 5, 5));
+        stacked.addEdge(stacked.getNode("S0"), stacked.getNode("S1"), 1.0);
+        stacked.addEdge(stacked.getNode("S1"), stacked.getNode("S2"), 1.0);
+        AlgorithmPlanner other = AlgorithmPlanner.forGraph(stacked);
+        assertFalse(other.hasAdmissibleCoordinates());
+        assertEquals("Dijkstra", other.plan(RecordingLevel.NONE).getEngine());
+        assertEquals("Bidirectional Dijkstra", other.plan(RecordingLevel.FULL).getEngine());
+    }
+
+    @Test
+    @DisplayName("Negative weights switch to SPFA as soon as the graph changes")
+    void testNegativeWeights() {
+        WeightedGraph g = new WeightedGraph(true);
+        Node a = new Node("A", 0, 0);
+        Node b = new Node("B", 10, 0);
+        Node x = new Node("X", 5, 5);
+        g.addNode(a); g.addNode(b); g.addNode(x);
+        g.addEdge(a, b, 12.0);
+        AlgorithmPlanner planner = AlgorithmPlanner.forGraph(g);
+        assertEquals("A*", planner.plan(RecordingLevel.FULL).getEngine());
+        g.addEdge(x, b, -5.0);
+        g.addEdge(a, x, 1.0);
+        assertEquals("Bellman-Ford (SPFA)", planner.plan(RecordingLevel.FULL).getEngine());
+        AlgorithmResult result = planner.findShortestPath(a, b, RecordingLevel.NONE);
+        assertEquals(-4.0, result.getPathCost(), 1e-9);
+        assertTrue(result.getPlan().contains("negative"));
+    }
+
+    @Test
+    @DisplayName("Attached indexes are used only when they apply")
+    void testPreprocessing() {
+        WeightedGraph g = RandomGraphGenerator.generateRandomGraph(60, 0.08, 1, 10, false);
+        ContractionHierarchy ch = ContractionHierarchy.build(g, 1);
+        LandmarkIndex landmarks = LandmarkIndex.build(g, 4);
+        AlgorithmPlanner planner = AlgorithmPlanner.forGraph(g).withContractionHierarchy(ch).withLandmarks(landmarks);
+
+        assertEquals("Contraction Hierarchy", planner.plan(RecordingLevel.NONE).getEngine());
+        assertEquals("A* (landmarks)", planner.plan(RecordingLevel.FULL).getEngine());
+        Node s = g.getNode("N3");
+        Node t = g.getNode("N41");
+        double expected = DijkstraAlgorithm.findShortestPath(g, s, t, RecordingLevel.NONE).getPathCost();
+        assertEquals(expected, planner.findShortestPath(s, t, RecordingLevel.NONE).getPathCost(), 1e-9);
+        assertEquals(expected, planner.findShortestPath(s, t, RecordingLevel.SUMMARY).getPathCost(), 1e-9);
+
+        // Structural change makes both snapshots stale
+        g.addNode(new Node("extra"));
+        assertEquals("A*", planner.plan(RecordingLevel.NONE).getEngine());
+        assertEquals(expected, planner.findShortestPath(s, t, RecordingLevel.NONE).getPathCost(), 1e-9);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> AlgorithmPlanner.forGraph(grid(2)).withContractionHierarchy(ch));
+        assertThrows(IllegalArgumentException.class, () -> AlgorithmPlanner.forGraph(null));
+        assertThrows(IllegalArgumentException.class, () -> planner.plan(null));
+    }
+
+    @Test
+    @DisplayName("A weight set in place detaches indexes and is re-checked")
+    void testWeightChangedInPlace() {
+        WeightedGraph g = new WeightedGraph(true);
+        Node a = new Node("A");
+        Node b = new Node("B");
+        Node c = new Node("C");
+        g.addNode(a); g.addNode(b); g.addNode(c);
+        Edge ab = g.addEdge(a, b, 1.0);
+        g.addEdge(b, c, 1.0);
+        g.addEdge(a, c, 5.0);
+        ContractionHierarchy ch = ContractionHierarchy.build(g, 1);
+        LandmarkIndex landmarks = LandmarkIndex.build(g, 2);
+        AlgorithmPlanner planner = AlgorithmPlanner.forGraph(g).withContractionHierarchy(ch).withLandmarks(landmarks);
+        assertEquals(2.0, planner.findShortestPath(a, c, RecordingLevel.NONE).getPathCost(), 0.0);
+
+        ab.setWeight(10.0);
+        assertEquals("Dijkstra", planner.plan(RecordingLevel.NONE).getEngine());
+        assertEquals("Bidirectional Dijkstra", planner.plan(RecordingLevel.FULL).getEngine());
+        assertEquals(5.0, planner.findShortestPath(a, c, RecordingLevel.NONE).getPathCost(), 0.0);
+        assertThrows(IllegalArgumentException.class, () -> planner.withContractionHierarchy(ch));
+
+        // Re-attaching a stale landmark index has no effect
+        planner.withLandmarks(landmarks);
+        assertEquals("Bidirectional Dijkstra", planner.plan(RecordingLevel.FULL).getEngine());
+
+        ab.setWeight(-1.0);
+        assertTrue(planner.hasNegativeWeights());
+        assertEquals(0.0, planner.findShortestPath(a, c, RecordingLevel.NONE).getPathCost(), 0.0);
+    }
+}
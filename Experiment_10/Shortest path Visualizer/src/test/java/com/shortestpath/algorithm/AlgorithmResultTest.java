@@ -90,4 +90,20 @@ class AlgorithmResultTest {
         assertThrows(IllegalArgumentException.class, () -> new AlgorithmResult(List.of(), List.of(), 0.0, A, B, -1, 0));
         assertThrows(IllegalArgumentException.class, () -> new AlgorithmResult(List.of(), List.of(), 0.0, A, B, 0, -2));
     }
+
+    @Test
+    @DisplayName("Metrics are attached to copies and are unmodifiable")
+    void testWithMetric() {
+        Node A = new Node("A");
+        Node B = new Node("B");
+        AlgorithmResult res = new AlgorithmResult(List.of(), List.of(A, B), 2.0, A, B, 5, 2);
+        AlgorithmResult withMetric = res.withMetric("forwardNodesVisited", 3).withMetric("backwardNodesVisited", 4);
+        assertTrue(res.getMetrics().isEmpty());
+        assertEquals(3.0, withMetric.getMetric("forwardNodesVisited", -1), 1e-9);
+        assertEquals(-1.0, withMetric.getMetric("missing", -1), 1e-9);
+        assertEquals(List.of("forwardNodesVisited", "backwardNodesVisited"), List.copyOf(withMetric.getMetrics().keySet()));
+        assertEquals(res.getShortestPath(), withMetric.getShortestPath());
+        assertThrows(UnsupportedOperationException.class, () -> withMetric.getMetrics().put("x", 1.0));
+        assertThrows(IllegalArgumentException.class, () -> res.withMetric("", 1.0));
+    }
 }
@@ -0,0 +1,157 @@
+package com.shortestpath.algorithm;
+
+import com.shortestpath.model.Node;
+import com.shortestpath.model.WeightedGraph;
+import com.shortestpath.util.RandomGraphGenerator;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("AlgorithmTrace Tests")
+class AlgorithmTraceTest {
+
+    @Test
+    @DisplayName("Steps rebuilt from deltas match checkpointed steps")
+    void testReplayMatchesCheckpoints() {
+        Node A = new Node("A");
+        Node B = new Node("B");
+        Node C = new Node("C");
+        List<Node> nodes = List.of(A, B, C);
+        AlgorithmTrace dense = record(new AlgorithmTrace.Recorder(nodes, 1), A, B, C);
+        AlgorithmTrace sparse = record(new AlgorithmTrace.Recorder(nodes, 3), A, B, C);
+
+        assertEquals(dense.size(), sparse.size());
+        assertEquals(dense.size(), dense.getCheckpointCount());
+        assertEquals(2, sparse.getCheckpointCount());
+        for (int i = 0; i < dense.size(); i++) {
+            AlgorithmStep d = dense.get(i);
+            AlgorithmStep s = sparse.get(i);
+            assertEquals(i, s.getStepNumber());
+            assertEquals(d.getCurrentNode(), s.getCurrentNode());
+            assertEquals(d.getVisitedNodes(), s.getVisitedNodes());
+            assertEquals(d.getDistances(), s.getDistances());
+            assertEquals(d.getPredecessors(), s.getPredecessors());
+            assertEquals(d.getPriorityQueue(), s.getPriorityQueue());
+            assertEquals(d.getDescription(), s.getDescription());
+        }
+    }
+
+    @Test
+    @DisplayName("The default checkpoint interval grows with nodes and steps")
+    void testAdaptiveCheckpointInterval() {
+        int n = 600;
+        List<Node> nodes = new ArrayList<>();
+        for (int i = 0; i < n; i++) nodes.add(new Node("N" + i));
+        AlgorithmTrace adaptive = recordChain(new AlgorithmTrace.Recorder(nodes), nodes);
+        AlgorithmTrace fixed = recordChain(new AlgorithmTrace.Recorder(nodes, 7), nodes);
+
+        int interval = adaptive.getCheckpointInterval();
+        assertTrue((long) interval * interval >= (long) n * adaptive.size(), "interval " + interval);
+        assertEquals((adaptive.size() - 1) / interval + 1, adaptive.getCheckpointCount());
+        for (int i = 0; i < adaptive.size(); i += 37) {
+            AlgorithmStep a = adaptive.get(i);
+            AlgorithmStep f = fixed.get(i);
+            assertEquals(f.getVisitedNodes(), a.getVisitedNodes());
+            assertEquals(f.getDistances(), a.getDistances());
+            assertEquals(f.getPredecessors(), a.getPredecessors());
+            assertEquals(f.getPriorityQueue(), a.getPriorityQueue());
+        }
+        assertThrows(UnsupportedOperationException.class, () -> adaptive.get(0).getDistances().clear());
+        assertThrows(UnsupportedOperationException.class, () -> adaptive.get(5).getVisitedNodes().clear());
+    }
+
+    @Test
+    @DisplayName("Queue contents follow pushes and pops in key order")
+    void testQueueReconstruction() {
+        Node A = new Node("A");
+        Node B = new Node("B");
+        Node C = new Node("C");
+        AlgorithmTrace trace = record(new AlgorithmTrace.Recorder(List.of(A, B, C), 2), A, B, C);
+
+        assertEquals(List.of(A), trace.get(0).getPriorityQueue());
+        assertEquals(List.of(C, B), trace.get(1).getPriorityQueue());
+        assertEquals(List.of(B, B), trace.get(2).getPriorityQueue()); // stale entry kept until popped
+        assertTrue(trace.get(3).getPriorityQueue().isEmpty());
+        assertEquals(Double.POSITIVE_INFINITY, trace.get(0).getDistance(B));
+        assertEquals(3.0, trace.get(3).getDistance(B), 1e-9);
+        assertEquals(C, trace.get(3).getPredecessor(B));
+    }
+
+    @Test
+    @DisplayName("Trace is read-only and bounds-checked")
+    void testReadOnly() {
+        Node A = new Node("A");
+        AlgorithmTrace.Recorder recorder = new AlgorithmTrace.Recorder(List.of(A));
+        recorder.endStep(null, "init");
+        AlgorithmTrace trace = recorder.build();
+        assertThrows(UnsupportedOperationException.class, () -> trace.add(trace.get(0)));
+        assertThrows(IndexOutOfBoundsException.class, () -> trace.get(1));
+        assertThrows(IllegalArgumentException.class, () -> new AlgorithmTrace.Recorder(List.of(A), 0));
+    }
+
+    @Test
+    @DisplayName("Full recording results keep the delta-encoded trace")
+    void testAlgorithmsUseDeltaTrace() {
+        WeightedGraph g = RandomGraphGenerator.generateRandomGraph(120, 0.1, 1.0, 10.0, true);
+        Node s = g.getNode("N0");
+        Node t = g.getNode("N119");
+        for (AlgorithmResult r : List.of(
+                DijkstraAlgorithm.findShortestPath(g, s, t),
+                AStarAlgorithm.findShortestPath(g, s, t),
+                BellmanFordAlgorithm.findShortestPath(g, s, t))) {
+            assertInstanceOf(AlgorithmTrace.class, r.getSteps());
+            AlgorithmStep lastStep = r.getSteps().get(r.getStepCount() - 1);
+            assertEquals(r.getPathCost(), lastStep.getDistance(t), 1e-9);
+            assertEquals(r.getStepCount() - 1, lastStep.getStepNumber());
+        }
+    }
+
+    // Dijkstra-like run: A(0) -> B(5), A -> C(1), C -> B(3)
+    private static AlgorithmTrace record(AlgorithmTrace.Recorder r, Node A, Node B, Node C) {
+        r.update(A, 0.0, null);
+        r.push(A, 0.0);
+        r.endStep(null, "init");
+
+        r.pop(A);
+        r.settle(A);
+        r.update(B, 5.0, A);
+        r.push(B, 5.0);
+        r.update(C, 1.0, A);
+        r.push(C, 1.0);
+        r.endStep(A, "visit A");
+
+        r.pop(C);
+        r.settle(C);
+        r.update(B, 3.0, C);
+        r.push(B, 3.0);
+        r.endStep(C, "visit C");
+
+        r.pop(B);
+        r.settle(B);
+        r.pop(B);
+        r.endStep(B, "visit B");
+        return r.build();
+    }
+
+    /** Settles a chain of nodes in order, one step per node. */
+    private static AlgorithmTrace recordChain(AlgorithmTrace.Recorder r, List<Node> nodes) {
+        r.update(nodes.get(0), 0.0, null);
+        r.push(nodes.get(0), 0.0);
+        r.endStep(null, "init");
+        for (int i = 0; i < nodes.size(); i++) {
+            Node u = nodes.get(i);
+            r.pop(u);
+            r.settle(u);
+            if (i + 1 < nodes.size()) {
+                r.update(nodes.get(i + 1), i + 1.0, u);
+                r.push(nodes.get(i + 1), i + 1.0);
+            }
+            r.endStep(u, "visit " + u.getId());
+        }
+        return r.build();
+    }
+}
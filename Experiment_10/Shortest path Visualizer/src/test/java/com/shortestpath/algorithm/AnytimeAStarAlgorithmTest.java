@@ -0,0 +1,134 @@
+package com.shortestpath.algorithm;
+
+import com.shortestpath.model.Node;
+import com.shortestpath.model.WeightedGraph;
+import com.shortestpath.util.RandomGraphGenerator;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("AnytimeAStarAlgorithm Tests")
+class AnytimeAStarAlgorithmTest {
+
+    /** Grid whose weights are at least the Euclidean length, so the plain Euclidean bound is admissible. */
+    private static WeightedGraph grid(int size, long seed) {
+        Random rnd = new Random(seed);
+        WeightedGraph g = new WeightedGraph(false);
+        for (int r = 0; r < size; r++) {
+            for (int c = 0; c < size; c++) g.addNode(new Node(r + "," + c, c * 10, r * 10));
+        }
+        for (int r = 0; r < size; r++) {
+            for (int c = 0; c < size; c++) {
+                Node n = g.getNode(r + "," + c);
+                if (c + 1 < size) g.addEdge(n, g.getNode(r + "," + (c + 1)), 10 + rnd.nextInt(30));
+                if (r + 1 < size) g.addEdge(n, g.getNode((r + 1) + "," + c), 10 + rnd.nextInt(30));
+            }
+        }
+        return g;
+    }
+
+    @Test
+    @DisplayName("Without a deadline the search ends with the optimal path and bound 1")
+    void testConvergesToOptimum() {
+        WeightedGraph g = grid(20, 1);
+        Random rnd = new Random(2);
+        for (int i = 0; i < 30; i++) {
+            Node s = g.getNode(rnd.nextInt(20) + "," + rnd.nextInt(20));
+            Node t = g.getNode(rnd.nextInt(20) + "," + rnd.nextInt(20));
+            AlgorithmResult expected = DijkstraAlgorithm.findShortestPath(g, s, t, RecordingLevel.NONE);
+            AlgorithmResult result = AnytimeAStarAlgorithm.findShortestPath(g, s, t, Heuristic.euclidean(),
+                    SearchBudget.unlimited());
+            assertEquals(expected.getPathCost(), result.getPathCost(), 1e-9);
+            assertEquals(1.0, result.getMetric(AnytimeAStarAlgorithm.SUBOPTIMALITY_BOUND, -1), 0.0);
+            if (expected.hasPath()) {
+                assertEquals(s, result.getShortestPath().get(0));
+                assertEquals(t, result.getShortestPath().get(result.getShortestPath().size() - 1));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Each reported path improves and stays within its bound of the optimum")
+    void testImprovementsRespectBounds() {
+        WeightedGraph g = RandomGraphGenerator.generateRandomGraph(300, 0.02, 1, 50, false);
+        Heuristic h = Heuristic.scaledEuclidean(g);
+        Random rnd = new Random(4);
+        for (int i = 0; i < 30; i++) {
+            Node s = g.getNode("N" + rnd.nextInt(300));
+            Node t = g.getNode("N" + rnd.nextInt(300));
+            double optimum = DijkstraAlgorithm.findShortestPath(g, s, t, RecordingLevel.NONE).getPathCost();
+            List<AlgorithmResult> improvements = new ArrayList<>();
+            AlgorithmResult result = AnytimeAStarAlgorithm.findShortestPath(g, s, t, h, 5.0, 1.0,
+                    SearchBudget.unlimited(), improvements::add);
+            assertFalse(improvements.isEmpty());
+            double previousCost = Double.POSITIVE_INFINITY;
+            for (AlgorithmResult r : improvements) {
+                double bound = r.getMetric(AnytimeAStarAlgorithm.SUBOPTIMALITY_BOUND, -1);
+                assertTrue(bound <= r.getMetric(AnytimeAStarAlgorithm.WEIGHT, -1));
+                assertTrue(r.getPathCost() <= bound * optimum + 1e-9, r.getPathCost() + " > " + bound + " * " + optimum);
+                assertTrue(r.getPathCost() < previousCost || Double.isInfinite(optimum));
+                previousCost = r.getPathCost();
+            }
+            assertEquals(optimum, result.getPathCost(), 1e-9);
+        }
+    }
+
+    @Test
+    @DisplayName("An exhausted budget returns no path and an infinite bound")
+    void testExhaustedBudget() {
+        WeightedGraph g = grid(10, 3);
+        SearchBudget budget = SearchBudget.unlimited();
+        budget.cancel();
+        AlgorithmResult result = AnytimeAStarAlgorithm.findShortestPath(g, g.getNode("0,0"), g.getNode("9,9"),
+                Heuristic.euclidean(), budget);
+        assertFalse(result.hasPath());
+        assertEquals(Double.POSITIVE_INFINITY, result.getMetric(AnytimeAStarAlgorithm.SUBOPTIMALITY_BOUND, 0), 0.0);
+        assertEquals(0.0, result.getMetric(AnytimeAStarAlgorithm.PASSES, -1), 0.0);
+    }
+
+    @Test
+    @DisplayName("Unreachable targets are proven unreachable with bound 1")
+    void testUnreachable() {
+        WeightedGraph g = new WeightedGraph(true);
+        Node a = new Node("A", 0, 0);
+        Node b = new Node("B", 10, 0);
+        Node c = new Node("C", 20, 0);
+        g.addNode(a); g.addNode(b); g.addNode(c);
+        g.addEdge(a, b, 10);
+        AlgorithmResult result = AnytimeAStarAlgorithm.findShortestPath(g, a, c, Heuristic.euclidean(),
+                SearchBudget.unlimited());
+        assertFalse(result.hasPath());
+        assertTrue(result.getShortestPath().isEmpty());
+        assertEquals(1.0, result.getMetric(AnytimeAStarAlgorithm.SUBOPTIMALITY_BOUND, -1), 0.0);
+
+        AlgorithmResult self = AnytimeAStarAlgorithm.findShortestPath(g, a, a, Heuristic.euclidean(),
+                SearchBudget.unlimited());
+        assertEquals(List.of(a), self.getShortestPath());
+        assertEquals(0.0, self.getPathCost(), 0.0);
+    }
+
+    @Test
+    @DisplayName("Invalid arguments are rejected")
+    void testValidation() {
+        WeightedGraph g = grid(3, 5);
+        Node s = g.getNode("0,0");
+        SearchBudget budget = SearchBudget.unlimited();
+        assertThrows(IllegalArgumentException.class,
+                () -> AnytimeAStarAlgorithm.findShortestPath(null, s, s, Heuristic.euclidean(), budget));
+        assertThrows(IllegalArgumentException.class,
+                () -> AnytimeAStarAlgorithm.findShortestPath(g, s, s, null, budget));
+        assertThrows(IllegalArgumentException.class,
+                () -> AnytimeAStarAlgorithm.findShortestPath(g, s, s, Heuristic.euclidean(), null));
+        assertThrows(IllegalArgumentException.class,
+                () -> AnytimeAStarAlgorithm.findShortestPath(g, s, s, Heuristic.euclidean(), 0.5, 0.5, budget, r -> {}));
+        assertThrows(IllegalArgumentException.class,
+                () -> AnytimeAStarAlgorithm.findShortestPath(g, s, s, Heuristic.euclidean(), 2.0, 0.0, budget, r -> {}));
+        assertThrows(IllegalArgumentException.class,
+                () -> AnytimeAStarAlgorithm.findShortestPath(g, s, new Node("X"), Heuristic.euclidean(), budget));
+    }
+}
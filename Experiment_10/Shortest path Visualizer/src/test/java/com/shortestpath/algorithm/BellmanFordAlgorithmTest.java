@@ -241,6 +241,36 @@ class BellmanFordAlgorithmTest {
         assertTrue(result.getStepCount() >= N - 1); // init + iterations (some may early break)
     }
 
+    @Test
+    @DisplayName("Recording levels: NONE and SUMMARY return the same path with fewer steps")
+    void testRecordingLevels() {
+        Node A = new Node("A", 0, 0);
+        Node B = new Node("B", 1, 0);
+        Node C = new Node("C", 2, 0);
+        Node D = new Node("D", 3, 0);
+        graph.addNode(A); graph.addNode(B); graph.addNode(C); graph.addNode(D);
+        graph.addEdge(A, B, 1.0);
+        graph.addEdge(B, C, 2.0);
+        graph.addEdge(A, C, 4.0);
+        graph.addEdge(C, D, 1.0);
+
+        AlgorithmResult full = BellmanFordAlgorithm.findShortestPath(graph, A, D, RecordingLevel.FULL);
+        AlgorithmResult summary = BellmanFordAlgorithm.findShortestPath(graph, A, D, RecordingLevel.SUMMARY);
+        AlgorithmResult none = BellmanFordAlgorithm.findShortestPath(graph, A, D, RecordingLevel.NONE);
+
+        for (AlgorithmResult r : List.of(summary, none)) {
+            assertEquals(full.getPathCost(), r.getPathCost(), 1e-9);
+            assertPathEquals(full.getShortestPath(), r.getShortestPath());
+            assertEquals(full.getNodesVisited(), r.getNodesVisited());
+        }
+        assertTrue(full.getStepCount() > 2);
+        assertEquals(2, summary.getStepCount());
+        assertEquals(0, summary.getSteps().get(0).getStepNumber());
+        assertEquals(4.0, summary.getSteps().get(1).getDistance(D), 1e-9);
+        assertEquals(0, none.getStepCount());
+        assertThrows(IllegalArgumentException.class, () -> BellmanFordAlgorithm.findShortestPath(graph, A, D, null));
+    }
+
     // Helpers
     private static void assertPathEquals(List<Node> expected, List<Node> actual) {
         assertEquals(expected.size(), actual.size(), "Path length differs");
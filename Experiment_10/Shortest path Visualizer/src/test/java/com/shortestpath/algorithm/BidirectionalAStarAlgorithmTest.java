@@ -0,0 +1,114 @@
+package com.shortestpath.algorithm;
+
+import com.shortestpath.model.Node;
+import com.shortestpath.model.WeightedGraph;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("BidirectionalAStarAlgorithm Tests")
+class BidirectionalAStarAlgorithmTest {
+
+    @Test
+    @DisplayName("Simple Path Test with coordinates: A -> B -> C")
+    void testSimplePath() {
+        WeightedGraph graph = new WeightedGraph();
+        Node A = new Node("A", 0, 0);
+        Node B = new Node("B", 1, 0);
+        Node C = new Node("C", 2, 0);
+        Node D = new Node("D", 1, 5);
+        graph.addNode(A); graph.addNode(B); graph.addNode(C); graph.addNode(D);
+        graph.addEdge(A, B, 1.0);
+        graph.addEdge(B, C, 1.5);
+        graph.addEdge(A, D, 6.0);
+        graph.addEdge(D, C, 6.0);
+
+        AlgorithmResult result = BidirectionalAStarAlgorithm.findShortestPath(graph, A, C);
+        assertTrue(result.hasPath());
+        assertEquals(2.5, result.getPathCost(), 1e-9);
+        assertEquals(List.of(A, B, C), result.getShortestPath());
+        assertFalse(result.getSteps().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Matches Dijkstra on random geometric graphs")
+    void testMatchesDijkstraOnGeometricGraphs() {
+        Random rnd = new Random(11);
+        for (int round = 0; round < 5; round++) {
+            WeightedGraph g = randomGeometricGraph(rnd, 150, 4);
+            List<Node> nodes = new ArrayList<>(g.getAllNodes());
+            for (int q = 0; q < 20; q++) {
+                Node s = nodes.get(rnd.nextInt(nodes.size()));
+                Node t = nodes.get(rnd.nextInt(nodes.size()));
+                AlgorithmResult expected = DijkstraAlgorithm.findShortestPath(g, s, t, RecordingLevel.NONE);
+                AlgorithmResult actual = BidirectionalAStarAlgorithm.findShortestPath(g, s, t, RecordingLevel.NONE);
+                assertEquals(expected.getPathCost(), actual.getPathCost(), 1e-6);
+                assertEquals(expected.hasPath(), !actual.getShortestPath().isEmpty());
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Reports nodes visited per direction and beats bidirectional Dijkstra on a grid")
+    void testDirectionMetricsOnGrid() {
+        int n = 30;
+        Node[][] grid = new Node[n][n];
+        WeightedGraph g = new WeightedGraph(false);
+        for (int r = 0; r < n; r++) {
+            for (int c = 0; c < n; c++) {
+                grid[r][c] = new Node(r + "," + c, c, r);
+                g.addNode(grid[r][c]);
+                if (c > 0) g.addEdge(grid[r][c - 1], grid[r][c], 1.0);
+                if (r > 0) g.addEdge(grid[r - 1][c], grid[r][c], 1.0);
+            }
+        }
+        Node s = grid[n / 2][1];
+        Node t = grid[n / 2][n - 2];
+        AlgorithmResult biDijkstra = BidirectionalDijkstraAlgorithm.findShortestPath(g, s, t, RecordingLevel.NONE);
+        AlgorithmResult biAStar = BidirectionalAStarAlgorithm.findShortestPath(g, s, t, RecordingLevel.NONE);
+
+        assertEquals(biDijkstra.getPathCost(), biAStar.getPathCost(), 1e-9);
+        double forward = biAStar.getMetric(BidirectionalDijkstraAlgorithm.FORWARD_NODES_VISITED, -1);
+        double backward = biAStar.getMetric(BidirectionalDijkstraAlgorithm.BACKWARD_NODES_VISITED, -1);
+        assertTrue(forward > 0 && backward > 0);
+        assertEquals(biAStar.getNodesVisited(), forward + backward, 1e-9);
+        assertTrue(biAStar.getNodesVisited() < biDijkstra.getNodesVisited(),
+                "A* visited " + biAStar.getNodesVisited() + ", Dijkstra " + biDijkstra.getNodesVisited());
+    }
+
+    @Test
+    @DisplayName("Validation: nulls and missing nodes throw")
+    void testValidation() {
+        WeightedGraph graph = new WeightedGraph();
+        Node A = new Node("A", 0, 0);
+        assertThrows(IllegalArgumentException.class, () -> BidirectionalAStarAlgorithm.findShortestPath(null, A, A));
+        assertThrows(IllegalArgumentException.class, () -> BidirectionalAStarAlgorithm.findShortestPath(graph, null, A));
+        assertThrows(IllegalArgumentException.class, () -> BidirectionalAStarAlgorithm.findShortestPath(graph, A, A, null));
+        assertThrows(IllegalArgumentException.class, () -> BidirectionalAStarAlgorithm.findShortestPath(graph, A, A));
+    }
+
+    // Points in a 100x100 square, each linked to a few random others with weight >= Euclidean length
+    private static WeightedGraph randomGeometricGraph(Random rnd, int count, int degree) {
+        WeightedGraph g = new WeightedGraph();
+        List<Node> nodes = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Node node = new Node("N" + i, rnd.nextDouble() * 100, rnd.nextDouble() * 100);
+            nodes.add(node);
+            g.addNode(node);
+        }
+        for (Node u : nodes) {
+            for (int k = 0; k < degree; k++) {
+                Node v = nodes.get(rnd.nextInt(count));
+                if (v.equals(u) || g.getEdge(u, v) != null) continue;
+                double length = Math.hypot(u.getX() - v.getX(), u.getY() - v.getY());
+                g.addEdge(u, v, length * (1.0 + rnd.nextDouble()));
+            }
+        }
+        return g;
+    }
+}
@@ -0,0 +1,139 @@
+package com.shortestpath.algorithm;
+
+import com.shortestpath.model.Node;
+import com.shortestpath.model.WeightedGraph;
+import com.shortestpath.util.RandomGraphGenerator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("BidirectionalDijkstraAlgorithm Tests")
+class BidirectionalDijkstraAlgorithmTest {
+
+    private WeightedGraph graph;
+
+    @BeforeEach
+    void setup() {
+        graph = new WeightedGraph();
+    }
+
+    @Test
+    @DisplayName("Multiple paths: chooses the shortest one")
+    void testMultiplePathsChoosesShortest() {
+        Node A = new Node("A", 0, 0);
+        Node B = new Node("B", 1, 0);
+        Node C = new Node("C", 2, 0);
+        Node D = new Node("D", 3, 0);
+        graph.addNode(A); graph.addNode(B); graph.addNode(C); graph.addNode(D);
+        graph.addEdge(A, B, 1.0);
+        graph.addEdge(B, D, 5.0); // 6
+        graph.addEdge(A, C, 2.0);
+        graph.addEdge(C, D, 2.0); // 4
+
+        AlgorithmResult result = BidirectionalDijkstraAlgorithm.findShortestPath(graph, A, D);
+        assertTrue(result.hasPath());
+        assertEquals(4.0, result.getPathCost(), 1e-9);
+        assertEquals(List.of(A, C, D), result.getShortestPath());
+    }
+
+    @Test
+    @DisplayName("Disconnected graph and source equals target")
+    void testNoPathAndTrivialPath() {
+        Node A = new Node("A", 0, 0);
+        Node B = new Node("B", 1, 0);
+        Node C = new Node("C", 2, 0);
+        graph.addNode(A); graph.addNode(B); graph.addNode(C);
+        graph.addEdge(A, B, 1.0);
+        graph.addEdge(C, B, 1.0);
+
+        AlgorithmResult none = BidirectionalDijkstraAlgorithm.findShortestPath(graph, A, C);
+        assertFalse(none.hasPath());
+        assertTrue(none.getShortestPath().isEmpty());
+
+        AlgorithmResult self = BidirectionalDijkstraAlgorithm.findShortestPath(graph, A, A);
+        assertEquals(0.0, self.getPathCost(), 1e-9);
+        assertEquals(List.of(A), self.getShortestPath());
+    }
+
+    @Test
+    @DisplayName("Matches Dijkstra on random directed and undirected graphs")
+    void testMatchesDijkstra() {
+        for (boolean directed : new boolean[]{true, false}) {
+            WeightedGraph g = RandomGraphGenerator.generateRandomGraph(80, 0.05, 1.0, 20.0, directed);
+            for (int i = 0; i < 20; i++) {
+                Node s = g.getNode("N" + (i * 7 % 80));
+                Node t = g.getNode("N" + (i * 13 % 80));
+                AlgorithmResult expected = DijkstraAlgorithm.findShortestPath(g, s, t, RecordingLevel.NONE);
+                AlgorithmResult actual = BidirectionalDijkstraAlgorithm.findShortestPath(g, s, t, RecordingLevel.NONE);
+                assertEquals(expected.getPathCost(), actual.getPathCost(), 1e-9);
+                assertEquals(actual.getPathCost(), pathCost(g, actual.getShortestPath()), 1e-9);
+                assertEquals(s, actual.getShortestPath().get(0));
+                assertEquals(t, actual.getShortestPath().get(actual.getShortestPath().size() - 1));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Trace steps are tagged with the search direction")
+    void testTraceTagsDirection() {
+        Node[] line = new Node[6];
+        for (int i = 0; i < line.length; i++) {
+            line[i] = new Node("N" + i, i, 0);
+            graph.addNode(line[i]);
+            if (i > 0) graph.addEdge(line[i - 1], line[i], 1.0);
+        }
+        AlgorithmResult result = BidirectionalDijkstraAlgorithm.findShortestPath(graph, line[0], line[5]);
+        assertEquals(5.0, result.getPathCost(), 1e-9);
+        assertTrue(result.getSteps().stream().anyMatch(s -> s.getDescription().startsWith("[forward]")));
+        assertTrue(result.getSteps().stream().anyMatch(s -> s.getDescription().startsWith("[backward]")));
+        assertTrue(result.getNodesVisited() <= line.length);
+
+        AlgorithmResult summary = BidirectionalDijkstraAlgorithm.findShortestPath(graph, line[0], line[5], RecordingLevel.SUMMARY);
+        assertEquals(2, summary.getStepCount());
+    }
+
+    @Test
+    @DisplayName("Settles fewer nodes than Dijkstra on a grid")
+    void testSettlesFewerNodesOnGrid() {
+        int n = 30;
+        Node[][] grid = new Node[n][n];
+        WeightedGraph g = new WeightedGraph(false);
+        for (int r = 0; r < n; r++) {
+            for (int c = 0; c < n; c++) {
+                grid[r][c] = new Node(r + "," + c, c, r);
+                g.addNode(grid[r][c]);
+                if (c > 0) g.addEdge(grid[r][c - 1], grid[r][c], 1.0);
+                if (r > 0) g.addEdge(grid[r - 1][c], grid[r][c], 1.0);
+            }
+        }
+        Node s = grid[n / 2][2];
+        Node t = grid[n / 2][n - 3];
+        AlgorithmResult uni = DijkstraAlgorithm.findShortestPath(g, s, t, RecordingLevel.NONE);
+        AlgorithmResult bi = BidirectionalDijkstraAlgorithm.findShortestPath(g, s, t, RecordingLevel.NONE);
+        assertEquals(uni.getPathCost(), bi.getPathCost(), 1e-9);
+        assertTrue(bi.getNodesVisited() < uni.getNodesVisited(),
+                "bidirectional visited " + bi.getNodesVisited() + ", unidirectional " + uni.getNodesVisited());
+    }
+
+    @Test
+    @DisplayName("Validation: nulls and missing nodes throw")
+    void testValidation() {
+        Node A = new Node("A", 0, 0);
+        assertThrows(IllegalArgumentException.class, () -> BidirectionalDijkstraAlgorithm.findShortestPath(null, A, A));
+        assertThrows(IllegalArgumentException.class, () -> BidirectionalDijkstraAlgorithm.findShortestPath(graph, null, A));
+        assertThrows(IllegalArgumentException.class, () -> BidirectionalDijkstraAlgorithm.findShortestPath(graph, A, null));
+        assertThrows(IllegalArgumentException.class, () -> BidirectionalDijkstraAlgorithm.findShortestPath(graph, A, A));
+    }
+
+    private static double pathCost(WeightedGraph g, List<Node> path) {
+        double cost = 0.0;
+        for (int i = 0; i + 1 < path.size(); i++) {
+            cost += g.getEdgeWeight(path.get(i), path.get(i + 1));
+        }
+        return cost;
+    }
+}
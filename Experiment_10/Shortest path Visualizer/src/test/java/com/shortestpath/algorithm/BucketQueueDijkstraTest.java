@@ -0,0 +1,85 @@
+package com.shortestpath.algorithm;
+
+import com.shortestpath.model.Node;
+import com.shortestpath.model.WeightedGraph;
+import com.shortestpath.util.RandomGraphGenerator;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("BucketQueueDijkstra Tests")
+class BucketQueueDijkstraTest {
+
+    private static WeightedGraph integerGraph(int n, double density, int maxWeight, long seed) {
+        Random rnd = new Random(seed);
+        WeightedGraph g = new WeightedGraph();
+        for (int i = 0; i < n; i++) g.addNode(new Node("N" + i));
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                if (i != j && rnd.nextDouble() < density) {
+                    g.addEdge(g.getNode("N" + i), g.getNode("N" + j), rnd.nextInt(maxWeight + 1));
+                }
+            }
+        }
+        return g;
+    }
+
+    @Test
+    @DisplayName("Every queue type matches Dijkstra on integer weights, including zero weights")
+    void testMatchesDijkstra() {
+        for (int maxWeight : new int[]{1, 9, 100_000}) {
+            WeightedGraph g = integerGraph(90, 0.05, maxWeight, maxWeight);
+            for (BucketQueueDijkstra.QueueType type : BucketQueueDijkstra.QueueType.values()) {
+                BucketQueueDijkstra engine = BucketQueueDijkstra.build(g, type);
+                Random rnd = new Random(3);
+                for (int q = 0; q < 150; q++) {
+                    Node s = g.getNode("N" + rnd.nextInt(90));
+                    Node t = g.getNode("N" + rnd.nextInt(90));
+                    AlgorithmResult expected = DijkstraAlgorithm.findShortestPath(g, s, t, RecordingLevel.NONE);
+                    AlgorithmResult actual = engine.findShortestPath(s, t);
+                    assertEquals(expected.getPathCost(), actual.getPathCost(), 0.0, type + " " + s + " -> " + t);
+                    if (actual.hasPath()) {
+                        double cost = 0.0;
+                        for (int i = 0; i + 1 < actual.getShortestPath().size(); i++) {
+                            cost += g.getEdgeWeight(actual.getShortestPath().get(i), actual.getShortestPath().get(i + 1));
+                        }
+                        assertEquals(actual.getPathCost(), cost, 0.0);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("The queue is chosen from the weight range")
+    void testAutomaticChoice() {
+        assertEquals(BucketQueueDijkstra.QueueType.DIAL,
+                BucketQueueDijkstra.build(integerGraph(20, 0.2, 50, 1)).getQueueType());
+        assertEquals(BucketQueueDijkstra.QueueType.RADIX_HEAP,
+                BucketQueueDijkstra.build(integerGraph(20, 0.2, 10_000_000, 1)).getQueueType());
+        WeightedGraph fractional = RandomGraphGenerator.generateRandomGraph(20, 0.2, 1, 10, true);
+        fractional.addEdge(fractional.getNode("N0"), fractional.getNode("N1"), 0.5);
+        assertEquals(BucketQueueDijkstra.QueueType.BINARY_HEAP, BucketQueueDijkstra.chooseQueue(fractional));
+        assertThrows(IllegalArgumentException.class,
+                () -> BucketQueueDijkstra.build(fractional, BucketQueueDijkstra.QueueType.DIAL));
+
+        WeightedGraph negative = integerGraph(5, 0.5, 3, 2);
+        negative.addEdge(negative.getNode("N0"), negative.getNode("N4"), -1);
+        assertThrows(IllegalArgumentException.class, () -> BucketQueueDijkstra.build(negative));
+        assertThrows(IllegalArgumentException.class, () -> BucketQueueDijkstra.build(null));
+    }
+
+    @Test
+    @DisplayName("Benchmark reports every applicable variant")
+    void testBenchmark() {
+        BucketQueueDijkstra engine = BucketQueueDijkstra.build(integerGraph(60, 0.1, 20, 4));
+        Map<String, Double> timings = engine.benchmark(20, 1);
+        assertEquals(4, timings.size());
+        assertTrue(timings.containsKey("PriorityQueue"));
+        assertTrue(timings.containsKey("DIAL"));
+    }
+}
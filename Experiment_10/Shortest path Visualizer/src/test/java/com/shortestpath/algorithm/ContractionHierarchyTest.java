@@ -0,0 +1,137 @@
+package com.shortestpath.algorithm;
+
+import com.shortestpath.model.Edge;
+import com.shortestpath.model.Node;
+import com.shortestpath.model.WeightedGraph;
+import com.shortestpath.util.RandomGraphGenerator;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ContractionHierarchy Tests")
+class ContractionHierarchyTest {
+
+    @Test
+    @DisplayName("Shortcut through a contracted node is unpacked into original edges")
+    void testUnpacksShortcuts() {
+        WeightedGraph g = new WeightedGraph();
+        Node A = new Node("A");
+        Node B = new Node("B");
+        Node C = new Node("C");
+        Node D = new Node("D");
+        g.addNode(A); g.addNode(B); g.addNode(C); g.addNode(D);
+        g.addEdge(A, B, 1.0);
+        g.addEdge(B, C, 1.0);
+        g.addEdge(C, D, 1.0);
+        g.addEdge(A, D, 5.0);
+
+        ContractionHierarchy ch = ContractionHierarchy.build(g, 1);
+        AlgorithmResult result = ch.findShortestPath(A, D);
+        assertEquals(3.0, result.getPathCost(), 1e-9);
+        assertEquals(List.of(A, B, C, D), result.getShortestPath());
+        assertTrue(result.getSteps().isEmpty());
+
+        AlgorithmResult none = ch.findShortestPath(D, A);
+        assertFalse(none.hasPath());
+        assertTrue(none.getShortestPath().isEmpty());
+        assertEquals(List.of(B), ch.findShortestPath(B, B).getShortestPath());
+    }
+
+    @Test
+    @DisplayName("Matches Dijkstra on random graphs with one and several threads")
+    void testMatchesDijkstra() {
+        for (boolean directed : new boolean[]{true, false}) {
+            WeightedGraph g = RandomGraphGenerator.generateRandomGraph(150, 0.03, 1.0, 20.0, directed);
+            for (int threads : new int[]{1, 4}) {
+                ContractionHierarchy ch = ContractionHierarchy.build(g, threads);
+                assertEquals(150, ch.getNodeCount());
+                assertTrue(ch.getPreprocessingTimeMs() >= 0);
+                Random rnd = new Random(threads);
+                for (int i = 0; i < 40; i++) {
+                    Node s = g.getNode("N" + rnd.nextInt(150));
+                    Node t = g.getNode("N" + rnd.nextInt(150));
+                    AlgorithmResult expected = DijkstraAlgorithm.findShortestPath(g, s, t, RecordingLevel.NONE);
+                    AlgorithmResult actual = ch.findShortestPath(s, t);
+                    assertEquals(expected.getPathCost(), actual.getPathCost(), 1e-9);
+                    if (actual.hasPath()) {
+                        assertEquals(actual.getPathCost(), pathCost(g, actual.getShortestPath()), 1e-9);
+                        assertEquals(s, actual.getShortestPath().get(0));
+                        assertEquals(t, actual.getShortestPath().get(actual.getShortestPath().size() - 1));
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Concurrent queries on one hierarchy match Dijkstra")
+    void testConcurrentQueries() {
+        WeightedGraph g = RandomGraphGenerator.generateRandomGraph(200, 0.03, 1.0, 20.0, true);
+        ContractionHierarchy ch = ContractionHierarchy.build(g, 2);
+        IntStream.range(0, 400).parallel().forEach(i -> {
+            Node s = g.getNode("N" + (i * 7 % 200));
+            Node t = g.getNode("N" + (i * 13 % 200));
+            assertEquals(DijkstraAlgorithm.findShortestPath(g, s, t, RecordingLevel.NONE).getPathCost(),
+                    ch.findShortestPath(s, t).getPathCost(), 1e-9);
+        });
+    }
+
+    @Test
+    @DisplayName("Grid queries settle far fewer nodes than Dijkstra")
+    void testSearchSpace() {
+        int n = 30;
+        Random rnd = new Random(5);
+        Node[][] grid = new Node[n][n];
+        WeightedGraph g = new WeightedGraph(false);
+        for (int r = 0; r < n; r++) {
+            for (int c = 0; c < n; c++) {
+                grid[r][c] = new Node(r + "," + c);
+                g.addNode(grid[r][c]);
+                if (c > 0) g.addEdge(grid[r][c - 1], grid[r][c], 1 + rnd.nextInt(9));
+                if (r > 0) g.addEdge(grid[r - 1][c], grid[r][c], 1 + rnd.nextInt(9));
+            }
+        }
+        ContractionHierarchy ch = ContractionHierarchy.build(g);
+        assertTrue(ch.getShortcutCount() > 0);
+        AlgorithmResult dijkstra = DijkstraAlgorithm.findShortestPath(g, grid[0][0], grid[n - 1][n - 1], RecordingLevel.NONE);
+        AlgorithmResult result = ch.findShortestPath(grid[0][0], grid[n - 1][n - 1]);
+        assertEquals(dijkstra.getPathCost(), result.getPathCost(), 1e-9);
+        assertTrue(result.getNodesVisited() < dijkstra.getNodesVisited() / 2,
+                "CH settled " + result.getNodesVisited() + ", Dijkstra " + dijkstra.getNodesVisited());
+        assertTrue(ch.measureQuerySpeedup(20, 1L) > 0.0);
+    }
+
+    @Test
+    @DisplayName("Validation: bad arguments and negative weights throw")
+    void testValidation() {
+        WeightedGraph g = new WeightedGraph();
+        Node A = new Node("A");
+        Node B = new Node("B");
+        g.addNode(A); g.addNode(B);
+        g.addEdge(A, B, -1.0);
+        assertThrows(IllegalArgumentException.class, () -> ContractionHierarchy.build(null));
+        assertThrows(IllegalArgumentException.class, () -> ContractionHierarchy.build(g));
+        assertThrows(IllegalArgumentException.class, () -> ContractionHierarchy.build(new WeightedGraph(), 0));
+
+        ContractionHierarchy ch = ContractionHierarchy.build(new WeightedGraph());
+        assertThrows(IllegalArgumentException.class, () -> ch.findShortestPath(A, B));
+        assertThrows(IllegalArgumentException.class, () -> ch.findShortestPath(null, B));
+    }
+
+    private static double pathCost(WeightedGraph g, List<Node> path) {
+        double cost = 0.0;
+        for (int i = 0; i + 1 < path.size(); i++) {
+            double best = Double.POSITIVE_INFINITY;
+            for (Edge e : g.getOutgoingEdges(path.get(i))) {
+                if (e.getTarget().equals(path.get(i + 1))) best = Math.min(best, e.getWeight());
+            }
+            cost += best;
+        }
+        return cost;
+    }
+}
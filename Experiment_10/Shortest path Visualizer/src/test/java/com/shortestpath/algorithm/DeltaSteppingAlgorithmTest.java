@@ -0,0 +1,115 @@
+package com.shortestpath.algorithm;
+
+import com.shortestpath.model.Node;
+import com.shortestpath.model.WeightedGraph;
+import com.shortestpath.util.RandomGraphGenerator;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("DeltaSteppingAlgorithm Tests")
+class DeltaSteppingAlgorithmTest {
+
+    @Test
+    @DisplayName("Same distances and predecessors as Dijkstra for several deltas and thread counts")
+    void testMatchesDijkstra() {
+        for (boolean directed : new boolean[]{true, false}) {
+            WeightedGraph g = RandomGraphGenerator.generateRandomGraph(120, 0.04, 1.0, 30.0, directed);
+            Node source = g.getNode("N0");
+            // An isolated target makes Dijkstra explore everything, so its final step holds the full tree
+            Node isolated = new Node("isolated");
+            g.addNode(isolated);
+            AlgorithmStep dijkstra = DijkstraAlgorithm.findShortestPath(g, source, isolated, RecordingLevel.SUMMARY)
+                    .getSteps().get(1);
+
+            for (double delta : new double[]{0.0, 0.5, 5.0, 100.0}) {
+                for (int threads : new int[]{1, 3}) {
+                    ShortestPathTree tree = DeltaSteppingAlgorithm.shortestPathTree(g, source, delta, threads);
+                    assertEquals(source, tree.getSource());
+                    for (Node v : g.getAllNodes()) {
+                        assertEquals(dijkstra.getDistances().get(v), tree.getDistance(v), 1e-9, v.toString());
+                        assertEquals(dijkstra.getPredecessors().get(v), tree.getPredecessor(v), v.toString());
+                    }
+                    assertFalse(tree.hasPath(isolated));
+                    assertTrue(tree.getPath(isolated).isEmpty());
+                }
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Zero-weight cycles still produce a tree of valid paths")
+    void testZeroWeightTies() {
+        WeightedGraph g = new WeightedGraph();
+        Node S = new Node("S");
+        Node A = new Node("A");
+        Node B = new Node("B");
+        Node C = new Node("C");
+        g.addNode(S); g.addNode(A); g.addNode(B); g.addNode(C);
+        g.addEdge(S, A, 2.0);
+        g.addEdge(A, B, 0.0);
+        g.addEdge(B, A, 0.0);
+        g.addEdge(B, C, 0.0);
+        g.addEdge(C, B, 0.0);
+
+        ShortestPathTree tree = DeltaSteppingAlgorithm.shortestPathTree(g, S, 1.0, 2);
+        assertEquals(List.of(S, A, B, C), tree.getPath(C));
+        assertEquals(2.0, tree.getDistance(C), 0.0);
+        AlgorithmResult result = tree.toResult(C);
+        assertEquals(2.0, result.getPathCost(), 0.0);
+        assertEquals(4, result.getNodesVisited());
+        assertEquals(List.of(S), tree.getPath(S));
+        assertNull(tree.getPredecessor(S));
+    }
+
+    @Test
+    @DisplayName("A tiny delta only allocates the buckets in use")
+    void testTinyDelta() {
+        WeightedGraph g = new WeightedGraph();
+        Node A = new Node("A");
+        Node B = new Node("B");
+        Node C = new Node("C");
+        g.addNode(A); g.addNode(B); g.addNode(C);
+        g.addEdge(A, B, 3.0);
+        g.addEdge(B, C, 4.0);
+        g.addEdge(A, C, 10.0);
+
+        ShortestPathTree tree = DeltaSteppingAlgorithm.shortestPathTree(g, A, 1e-9, 1);
+        assertEquals(7.0, tree.getDistance(C), 0.0);
+        assertEquals(List.of(A, B, C), tree.getPath(C));
+        // Bucket indexes beyond the long range saturate but stay correct
+        assertEquals(7.0, DeltaSteppingAlgorithm.shortestPathTree(g, A, Double.MIN_VALUE, 1).getDistance(C), 0.0);
+    }
+
+    @Test
+    @DisplayName("Scaling report has one timing per thread count")
+    void testScaling() {
+        WeightedGraph g = RandomGraphGenerator.generateRandomGraph(200, 0.03, 1.0, 10.0, true);
+        Map<Integer, Double> timings = DeltaSteppingAlgorithm.measureScaling(g, g.getNode("N0"), 0.0, 3, 1);
+        assertEquals(List.of(1, 2, 3), List.copyOf(timings.keySet()));
+        timings.values().forEach(ms -> assertTrue(ms >= 0.0));
+    }
+
+    @Test
+    @DisplayName("Validation: bad arguments and negative weights throw")
+    void testValidation() {
+        WeightedGraph g = new WeightedGraph();
+        Node A = new Node("A");
+        Node B = new Node("B");
+        g.addNode(A); g.addNode(B);
+        assertThrows(IllegalArgumentException.class, () -> DeltaSteppingAlgorithm.shortestPathTree(null, A));
+        assertThrows(IllegalArgumentException.class, () -> DeltaSteppingAlgorithm.shortestPathTree(g, new Node("X")));
+        assertThrows(IllegalArgumentException.class, () -> DeltaSteppingAlgorithm.shortestPathTree(g, A, -1.0, 1));
+        assertThrows(IllegalArgumentException.class, () -> DeltaSteppingAlgorithm.shortestPathTree(g, A, 1.0, 0));
+        g.addEdge(A, B, -1.0);
+        assertThrows(IllegalArgumentException.class, () -> DeltaSteppingAlgorithm.shortestPathTree(g, A));
+        WeightedGraph single = new WeightedGraph();
+        single.addNode(A);
+        ShortestPathTree tree = DeltaSteppingAlgorithm.shortestPathTree(single, A);
+        assertThrows(IllegalArgumentException.class, () -> tree.getDistance(B));
+    }
+}
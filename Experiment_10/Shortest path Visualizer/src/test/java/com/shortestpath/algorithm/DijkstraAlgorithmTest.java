@@ -215,6 +215,59 @@ class DijkstraAlgorithmTest {
         assertTrue(elapsed < 1000, "Algorithm should finish under 1000ms, took " + elapsed + "ms");
     }
 
+    @Test
+    @DisplayName("Recording levels: NONE and SUMMARY return the same path with fewer steps")
+    void testRecordingLevels() {
+        Node A = new Node("A", 0, 0);
+        Node B = new Node("B", 1, 0);
+        Node C = new Node("C", 2, 0);
+        Node D = new Node("D", 3, 0);
+        graph.addNode(A); graph.addNode(B); graph.addNode(C); graph.addNode(D);
+        graph.addEdge(A, B, 1.0);
+        graph.addEdge(B, C, 2.0);
+        graph.addEdge(A, C, 4.0);
+        graph.addEdge(C, D, 1.0);
+
+        AlgorithmResult full = DijkstraAlgorithm.findShortestPath(graph, A, D, RecordingLevel.FULL);
+        AlgorithmResult summary = DijkstraAlgorithm.findShortestPath(graph, A, D, RecordingLevel.SUMMARY);
+        AlgorithmResult none = DijkstraAlgorithm.findShortestPath(graph, A, D, RecordingLevel.NONE);
+
+        for (AlgorithmResult r : List.of(summary, none)) {
+            assertEquals(full.getPathCost(), r.getPathCost(), 1e-9);
+            assertPathEquals(full.getShortestPath(), r.getShortestPath());
+            assertEquals(full.getNodesVisited(), r.getNodesVisited());
+        }
+        assertTrue(full.getStepCount() > 2);
+        assertEquals(2, summary.getStepCount());
+        assertEquals(0, summary.getSteps().get(0).getStepNumber());
+        assertEquals(4.0, summary.getSteps().get(1).getDistance(D), 1e-9);
+        assertEquals(0, none.getStepCount());
+        assertThrows(IllegalArgumentException.class, () -> DijkstraAlgorithm.findShortestPath(graph, A, D, null));
+    }
+
+    @Test
+    @DisplayName("A queued node whose key drops below the heap root is still polled first")
+    void testDecreaseKeyOfQueuedNode() {
+        // S queues T (40), A (90), B (80) and X (30). Settling X lowers A to 35 while A's old
+        // entry sits below T; a queue ordered by the live distances then polls T at 40
+        Node S = new Node("S");
+        Node X = new Node("X");
+        Node A = new Node("A");
+        Node B = new Node("B");
+        Node T = new Node("T");
+        for (Node n : List.of(S, X, A, B, T)) graph.addNode(n);
+        graph.addEdge(S, T, 40.0);
+        graph.addEdge(S, A, 90.0);
+        graph.addEdge(S, B, 80.0);
+        graph.addEdge(S, X, 30.0);
+        graph.addEdge(X, A, 5.0);
+        graph.addEdge(A, T, 1.0);
+
+        AlgorithmResult result = DijkstraAlgorithm.findShortestPath(graph, S, T);
+        assertEquals(36.0, result.getPathCost(), 1e-9);
+        assertPathEquals(List.of(S, X, A, T), result.getShortestPath());
+    }
+
     // Helpers
     private static void assertPathEquals(List<Node> expected, List<Node> actual) {
         assertEquals(expected.size(), actual.size(), "Path length differs");
@@ -0,0 +1,106 @@
+package com.shortestpath.algorithm;
+
+import com.shortestpath.model.Edge;
+import com.shortestpath.model.Node;
+import com.shortestpath.model.WeightedGraph;
+import com.shortestpath.util.RandomGraphGenerator;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("DynamicShortestPathTree Tests")
+class DynamicShortestPathTreeTest {
+
+    private static void assertMatchesRecomputation(WeightedGraph g, DynamicShortestPathTree tree) {
+        ShortestPathTree fresh = DeltaSteppingAlgorithm.shortestPathTree(g, tree.getSource(), 0.0, 1);
+        for (Node v : g.getAllNodes()) {
+            assertEquals(fresh.getDistance(v), tree.getDistance(v), 1e-9, "distance of " + v);
+            Node p = tree.getPredecessor(v);
+            if (p != null) {
+                assertEquals(tree.getDistance(v), tree.getDistance(p) + g.getEdgeWeight(p, v), 1e-9, "tree edge into " + v);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Random weight increases and decreases match a full recomputation")
+    void testRandomUpdates() {
+        for (boolean directed : new boolean[]{true, false}) {
+            WeightedGraph g = RandomGraphGenerator.generateRandomGraph(150, 0.03, 1, 20, directed);
+            Node source = g.getNode("N0");
+            DynamicShortestPathTree tree = DynamicShortestPathTree.build(g, source);
+            assertMatchesRecomputation(g, tree);
+
+            List<Edge> edges = g.getAllEdges();
+            Random rnd = new Random(7);
+            for (int i = 0; i < 300; i++) {
+                Edge e = edges.get(rnd.nextInt(edges.size()));
+                double weight = rnd.nextInt(4) == 0 ? 0.0 : 1 + rnd.nextInt(40);
+                tree.setWeight(e, weight);
+                assertMatchesRecomputation(g, tree);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Small changes touch far fewer edges than a fresh search")
+    void testWorkIsLocal() {
+        WeightedGraph g = new WeightedGraph();
+        Node[] chain = new Node[200];
+        for (int i = 0; i < chain.length; i++) {
+            chain[i] = new Node("C" + i);
+            g.addNode(chain[i]);
+        }
+        Edge[] links = new Edge[chain.length - 1];
+        for (int i = 0; i + 1 < chain.length; i++) links[i] = g.addEdge(chain[i], chain[i + 1], 1.0);
+        Edge shortcut = g.addEdge(chain[0], chain[150], 500.0);
+
+        DynamicShortestPathTree tree = DynamicShortestPathTree.build(g, chain[0]);
+        long fullScans = tree.getTotalEdgeScans();
+        assertEquals(150.0, tree.getDistance(chain[150]), 0.0);
+
+        // Non-tree edge getting heavier: no work at all
+        assertEquals(0, tree.setWeight(shortcut, 600.0));
+        assertEquals(0, tree.getLastUpdateEdgeScans());
+
+        // Shortcut becomes useful: only the tail from node 150 changes
+        assertEquals(50, tree.setWeight(shortcut, 10.0));
+        assertEquals(10.0, tree.getDistance(chain[150]), 0.0);
+        assertEquals(List.of(chain[0], chain[150], chain[151]), tree.getPath(chain[151]));
+        assertTrue(tree.getLastUpdateEdgeScans() < fullScans);
+
+        // Tree edge near the end gets heavier: only the last few nodes are repaired
+        links[197].setWeight(5.0);
+        assertEquals(2, tree.edgeChanged(links[197]));
+        assertTrue(tree.getLastUpdateEdgeScans() <= 6);
+        assertEquals(10.0 + 47 + 5.0, tree.getDistance(chain[198]), 0.0);
+
+        ShortestPathTree snapshot = tree.snapshot();
+        tree.setWeight(shortcut, 1000.0);
+        assertEquals(10.0, snapshot.getDistance(chain[150]), 0.0);
+        assertEquals(150.0, tree.getDistance(chain[150]), 0.0);
+    }
+
+    @Test
+    @DisplayName("Negative weights, unknown edges and bad input are rejected")
+    void testValidation() {
+        WeightedGraph g = new WeightedGraph();
+        Node A = new Node("A");
+        Node B = new Node("B");
+        g.addNode(A); g.addNode(B);
+        Edge ab = g.addEdge(A, B, 1.0);
+        DynamicShortestPathTree tree = DynamicShortestPathTree.build(g, A);
+        assertThrows(IllegalArgumentException.class, () -> tree.setWeight(ab, -1.0));
+        assertEquals(1.0, ab.getWeight(), 0.0);
+        assertThrows(IllegalArgumentException.class, () -> tree.setWeight(new Edge(A, B, 2.0), 2.0));
+        assertThrows(IllegalArgumentException.class, () -> tree.setWeight(null, 2.0));
+        assertThrows(IllegalArgumentException.class, () -> DynamicShortestPathTree.build(null, A));
+        assertThrows(IllegalArgumentException.class, () -> DynamicShortestPathTree.build(g, new Node("X")));
+        g.addEdge(B, A, -1.0);
+        assertThrows(IllegalArgumentException.class, () -> DynamicShortestPathTree.build(g, A));
+    }
+}
@@ -0,0 +1,114 @@
+package com.shortestpath.algorithm;
+
+import com.shortestpath.model.Node;
+import com.shortestpath.model.WeightedGraph;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("FloydWarshallAlgorithm Tests")
+class FloydWarshallAlgorithmTest {
+
+    private static WeightedGraph randomNegativeGraph(int n, long seed) {
+        Random rnd = new Random(seed);
+        WeightedGraph g = new WeightedGraph();
+        Node[] nodes = new Node[n];
+        for (int i = 0; i < n; i++) {
+            nodes[i] = new Node("N" + i);
+            g.addNode(nodes[i]);
+        }
+        double[] p = new double[n];
+        for (int i = 0; i < n; i++) p[i] = rnd.nextInt(20);
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                if (i != j && rnd.nextDouble() < 0.1) {
+                    g.addEdge(nodes[i], nodes[j], rnd.nextInt(10) + p[j] - p[i]);
+                }
+            }
+        }
+        return g;
+    }
+
+    @Test
+    @DisplayName("Blocked distances match Johnson for every tile size and thread count")
+    void testMatchesJohnson() {
+        WeightedGraph g = randomNegativeGraph(45, 5);
+        DistanceMatrix expected = JohnsonAlgorithm.allPairs(g, 1);
+        for (int block : new int[]{1, 7, 16, 64}) {
+            for (int threads : new int[]{1, 3}) {
+                DistanceMatrix matrix = FloydWarshallAlgorithm.allPairs(g, false, block, threads);
+                assertFalse(matrix.hasPaths());
+                for (Node s : g.getAllNodes()) {
+                    assertArrayEquals(expected.getRow(s), matrix.getRow(s), 1e-9, "block " + block + " from " + s);
+                }
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Next hops rebuild paths whose cost equals the distance")
+    void testPaths() {
+        WeightedGraph g = randomNegativeGraph(40, 11);
+        DistanceMatrix matrix = FloydWarshallAlgorithm.allPairs(g, true, 8, 2);
+        assertTrue(matrix.hasPaths());
+        for (Node s : g.getAllNodes()) {
+            for (Node t : g.getAllNodes()) {
+                List<Node> path = matrix.getPath(s, t);
+                double d = matrix.getDistance(s, t);
+                if (d == Double.POSITIVE_INFINITY) {
+                    assertTrue(path.isEmpty());
+                    continue;
+                }
+                assertEquals(s, path.get(0));
+                assertEquals(t, path.get(path.size() - 1));
+                double cost = 0.0;
+                for (int i = 0; i + 1 < path.size(); i++) {
+                    cost += g.getEdgeWeight(path.get(i), path.get(i + 1));
+                }
+                assertEquals(d, cost, 1e-9, s + " -> " + t);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Negative cycles and bad arguments are rejected")
+    void testValidation() {
+        WeightedGraph g = new WeightedGraph();
+        Node A = new Node("A");
+        Node B = new Node("B");
+        g.addNode(A); g.addNode(B);
+        g.addEdge(A, B, 1.0);
+        g.addEdge(B, A, -2.0);
+        assertThrows(IllegalArgumentException.class, () -> FloydWarshallAlgorithm.allPairs(g));
+        assertThrows(IllegalArgumentException.class, () -> FloydWarshallAlgorithm.allPairs(null));
+        assertThrows(IllegalArgumentException.class, () -> FloydWarshallAlgorithm.allPairs(new WeightedGraph(), false, 0, 1));
+        assertThrows(IllegalArgumentException.class, () -> FloydWarshallAlgorithm.allPairs(new WeightedGraph(), false, 8, 0));
+        DistanceMatrix noPaths = FloydWarshallAlgorithm.allPairs(new WeightedGraph());
+        assertEquals(0, noPaths.getRowCount());
+    }
+
+    @Test
+    @DisplayName("Oversized matrices and block sizes do not overflow int arithmetic")
+    void testIntOverflow() {
+        WeightedGraph big = new WeightedGraph();
+        for (int i = 0; i < 46_341; i++) big.addNode(new Node("N" + i));
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> FloydWarshallAlgorithm.allPairs(big, false, 64, 1));
+        assertTrue(e.getMessage().contains("writeAllPairs"));
+
+        WeightedGraph g = new WeightedGraph();
+        Node A = new Node("A");
+        Node B = new Node("B");
+        Node C = new Node("C");
+        g.addNode(A); g.addNode(B); g.addNode(C);
+        g.addEdge(A, B, 1.0);
+        g.addEdge(B, C, 2.0);
+        DistanceMatrix m = FloydWarshallAlgorithm.allPairs(g, true, Integer.MAX_VALUE, 1);
+        assertEquals(3.0, m.getDistance(A, C), 0.0);
+        assertEquals(List.of(A, B, C), m.getPath(A, C));
+    }
+}
@@ -0,0 +1,116 @@
+package com.shortestpath.algorithm;
+
+import com.shortestpath.model.Edge;
+import com.shortestpath.model.Node;
+import com.shortestpath.model.WeightedGraph;
+import com.shortestpath.util.RandomGraphGenerator;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Heuristic Tests")
+class HeuristicTest {
+
+    @Test
+    @DisplayName("Manhattan and octile bounds match grid distances")
+    void testGridBounds() {
+        Node a = new Node("A", 0, 0);
+        Node b = new Node("B", 3, 4);
+        assertEquals(5.0, Heuristic.euclidean().estimate(a, b), 1e-9);
+        assertEquals(7.0, Heuristic.manhattan().estimate(a, b), 1e-9);
+        assertEquals(4.0 + (Math.sqrt(2.0) - 1.0) * 3.0, Heuristic.octile().estimate(a, b), 1e-9);
+        assertEquals(2.5, Heuristic.euclidean().scaledBy(0.5).estimate(a, b), 1e-9);
+    }
+
+    @Test
+    @DisplayName("Admissible scale is the smallest weight-to-length ratio")
+    void testAdmissibleScale() {
+        WeightedGraph g = new WeightedGraph(true);
+        Node a = new Node("A", 0, 0);
+        Node b = new Node("B", 10, 0);
+        Node c = new Node("C", 10, 0);
+        g.addNode(a); g.addNode(b); g.addNode(c);
+        g.addEdge(a, b, 4.0);
+        g.addEdge(b, c, 1.0); // zero length, does not constrain the scale
+        assertEquals(0.4, Heuristic.admissibleScale(g, Heuristic.euclidean()), 1e-12);
+        assertEquals(0.0, Heuristic.admissibleScale(new WeightedGraph(), Heuristic.euclidean()), 0.0);
+    }
+
+    @Test
+    @DisplayName("The scaled Euclidean scale is cached per graph version")
+    void testScaleCachedPerVersion() {
+        WeightedGraph g = new WeightedGraph(true);
+        Node a = new Node("A", 0, 0);
+        Node b = new Node("B", 10, 0);
+        g.addNode(a); g.addNode(b);
+        Edge ab = g.addEdge(a, b, 4.0);
+        assertEquals(0.4, EuclideanScale.of(g), 1e-12);
+        assertEquals(4.0, Heuristic.scaledEuclidean(g).estimate(a, b), 1e-12);
+
+        ab.setWeight(2.0);
+        assertEquals(0.2, EuclideanScale.of(g), 1e-12);
+        assertEquals(2.0, Heuristic.scaledEuclidean(g).estimate(a, b), 1e-12);
+        assertEquals(2.0, AStarAlgorithm.findShortestPath(g, a, b, RecordingLevel.NONE).getPathCost(), 0.0);
+
+        // Negative weights are rejected by the engine's argument checks, whatever the heuristic
+        ab.setWeight(-1.0);
+        assertTrue(EuclideanScale.hasNegativeWeights(g));
+        assertThrows(IllegalArgumentException.class, () -> AStarAlgorithm.findShortestPath(g, a, b));
+        assertThrows(IllegalArgumentException.class,
+                () -> AStarAlgorithm.findShortestPath(g, a, b, RecordingLevel.NONE, Heuristic.manhattan()));
+        assertThrows(IllegalArgumentException.class, () -> SearchEngine.BIDIRECTIONAL_A_STAR.run(g, a, b,
+                RecordingLevel.NONE));
+        assertThrows(IllegalArgumentException.class, () -> AStarAlgorithm.findShortestPath(null, a, b));
+    }
+
+    @Test
+    @DisplayName("A* with scaled Euclidean distance matches Dijkstra on random weights")
+    void testScaledEuclideanIsOptimal() {
+        WeightedGraph g = RandomGraphGenerator.generateRandomGraph(150, 0.05, 1, 30, false);
+        Heuristic h = Heuristic.scaledEuclidean(g);
+        Random rnd = new Random(3);
+        for (int i = 0; i < 100; i++) {
+            Node s = g.getNode("N" + rnd.nextInt(150));
+            Node t = g.getNode("N" + rnd.nextInt(150));
+            AlgorithmResult expected = DijkstraAlgorithm.findShortestPath(g, s, t, RecordingLevel.NONE);
+            assertEquals(expected.getPathCost(), AStarAlgorithm.findShortestPath(g, s, t, RecordingLevel.NONE, h)
+                    .getPathCost(), 1e-9);
+            assertEquals(expected.getPathCost(), AStarAlgorithm.findShortestPath(g, s, t, RecordingLevel.FULL, h)
+                    .getPathCost(), 1e-9);
+        }
+    }
+
+    @Test
+    @DisplayName("A* estimates each node at most once per query")
+    void testEstimatesAreCached() {
+        WeightedGraph g = RandomGraphGenerator.generateRandomGraph(80, 0.1, 1, 10, false);
+        Node s = g.getNode("N0");
+        Node t = g.getNode("N79");
+        for (RecordingLevel level : List.of(RecordingLevel.NONE, RecordingLevel.FULL)) {
+            int[] calls = new int[1];
+            Heuristic counting = (from, to) -> {
+                calls[0]++;
+                return 0.0;
+            };
+            AStarAlgorithm.findShortestPath(g, s, t, level, counting);
+            assertTrue(calls[0] <= g.getNodeCount(), level + " made " + calls[0] + " estimates");
+        }
+    }
+
+    @Test
+    @DisplayName("Negative weights and null arguments are rejected")
+    void testValidation() {
+        WeightedGraph g = new WeightedGraph(true);
+        Node a = new Node("A", 0, 0);
+        Node b = new Node("B", 1, 0);
+        g.addNode(a); g.addNode(b);
+        g.addEdge(a, b, -1.0);
+        assertThrows(IllegalArgumentException.class, () -> Heuristic.scaledEuclidean(g));
+        assertThrows(IllegalArgumentException.class, () -> Heuristic.admissibleScale(null, Heuristic.euclidean()));
+        assertThrows(IllegalArgumentException.class, () -> Heuristic.euclidean().scaledBy(-1.0));
+    }
+}
@@ -0,0 +1,87 @@
+package com.shortestpath.algorithm;
+
+import com.shortestpath.model.Node;
+import com.shortestpath.model.WeightedGraph;
+import com.shortestpath.util.RandomGraphGenerator;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("HubLabelIndex Tests")
+class HubLabelIndexTest {
+
+    @Test
+    @DisplayName("Distances match Dijkstra on directed and undirected graphs for any thread count")
+    void testMatchesDijkstra() {
+        for (boolean directed : new boolean[]{true, false}) {
+            WeightedGraph g = RandomGraphGenerator.generateRandomGraph(70, 0.05, 1.0, 20.0, directed);
+            for (int threads : new int[]{1, 4}) {
+                HubLabelIndex labels = HubLabelIndex.build(g, threads);
+                for (HubLabelIndex index : List.of(labels, labels.compress())) {
+                    for (Node s : g.getAllNodes()) {
+                        for (Node t : g.getAllNodes()) {
+                            double expected = DijkstraAlgorithm.findShortestPath(g, s, t, RecordingLevel.NONE).getPathCost();
+                            assertEquals(expected, index.distance(s, t), 1e-9, s + " -> " + t);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Compression keeps answers and shrinks integral labels")
+    void testCompression() {
+        WeightedGraph g = new WeightedGraph(false);
+        int n = 12;
+        Node[][] grid = new Node[n][n];
+        for (int r = 0; r < n; r++) {
+            for (int c = 0; c < n; c++) {
+                grid[r][c] = new Node(r + "," + c);
+                g.addNode(grid[r][c]);
+                if (c > 0) g.addEdge(grid[r][c - 1], grid[r][c], 1 + (r * c) % 4);
+                if (r > 0) g.addEdge(grid[r - 1][c], grid[r][c], 1 + (r + c) % 3);
+            }
+        }
+        HubLabelIndex plain = HubLabelIndex.build(g);
+        HubLabelIndex packed = plain.compress();
+        assertFalse(plain.isCompressed());
+        assertTrue(packed.isCompressed());
+        assertSame(packed, packed.compress());
+        assertEquals(plain.getLabelEntryCount(), packed.getLabelEntryCount());
+        assertTrue(packed.getLabelBytes() < plain.getLabelBytes() / 2);
+        assertTrue(plain.getAverageLabelSize() < n * n);
+
+        double expected = DijkstraAlgorithm.findShortestPath(g, grid[0][0], grid[n - 1][n - 1], RecordingLevel.NONE).getPathCost();
+        assertEquals(expected, packed.distance(grid[0][0], grid[n - 1][n - 1]), 0.0);
+        AlgorithmResult result = packed.query(grid[0][0], grid[n - 1][n - 1]);
+        assertEquals(expected, result.getPathCost(), 0.0);
+        assertTrue(result.getSteps().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Unreachable targets and validation")
+    void testUnreachableAndValidation() {
+        WeightedGraph g = new WeightedGraph();
+        Node A = new Node("A");
+        Node B = new Node("B");
+        Node C = new Node("C");
+        g.addNode(A); g.addNode(B); g.addNode(C);
+        g.addEdge(A, B, 2.5);
+        HubLabelIndex index = HubLabelIndex.build(g);
+        assertEquals(2.5, index.distance(A, B), 0.0);
+        assertEquals(Double.POSITIVE_INFINITY, index.distance(B, A));
+        assertFalse(index.query(A, C).hasPath());
+        assertEquals(Double.POSITIVE_INFINITY, index.compress().distance(B, A));
+        assertThrows(IllegalArgumentException.class, () -> index.distance(A, new Node("X")));
+        assertThrows(IllegalArgumentException.class, () -> index.distance(null, A));
+
+        g.addEdge(B, C, -1.0);
+        assertThrows(IllegalArgumentException.class, () -> HubLabelIndex.build(g));
+        assertThrows(IllegalArgumentException.class, () -> HubLabelIndex.build(null));
+        assertThrows(IllegalArgumentException.class, () -> HubLabelIndex.build(new WeightedGraph(), 0));
+    }
+}
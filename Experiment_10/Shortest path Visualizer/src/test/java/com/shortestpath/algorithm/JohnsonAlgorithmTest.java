@@ -0,0 +1,108 @@
+package com.shortestpath.algorithm;
+
+import com.shortestpath.model.Node;
+import com.shortestpath.model.WeightedGraph;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("JohnsonAlgorithm Tests")
+class JohnsonAlgorithmTest {
+
+    private static WeightedGraph randomNegativeGraph(int n, long seed) {
+        Random rnd = new Random(seed);
+        WeightedGraph g = new WeightedGraph();
+        Node[] nodes = new Node[n];
+        for (int i = 0; i < n; i++) {
+            nodes[i] = new Node("N" + i);
+            g.addNode(nodes[i]);
+        }
+        // Potentials p(i) keep every cycle non-negative while allowing negative edges
+        double[] p = new double[n];
+        for (int i = 0; i < n; i++) p[i] = rnd.nextInt(20);
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                if (i != j && rnd.nextDouble() < 0.1) {
+                    g.addEdge(nodes[i], nodes[j], rnd.nextInt(10) + p[j] - p[i]);
+                }
+            }
+        }
+        return g;
+    }
+
+    @Test
+    @DisplayName("All-pairs distances match Bellman-Ford from every node")
+    void testMatchesBellmanFord() {
+        WeightedGraph g = randomNegativeGraph(40, 3);
+        for (int threads : new int[]{1, 4}) {
+            DistanceMatrix matrix = JohnsonAlgorithm.allPairs(g, threads);
+            assertEquals(40, matrix.getRowCount());
+            assertEquals(40, matrix.getColumnCount());
+            for (Node s : g.getAllNodes()) {
+                for (Node t : g.getAllNodes()) {
+                    double expected = BellmanFordAlgorithm.findShortestPath(g, s, t, RecordingLevel.NONE).getPathCost();
+                    assertEquals(expected, matrix.getDistance(s, t), 1e-9, s + " -> " + t);
+                }
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Rows streamed to disk read back identical to the in-memory matrix")
+    void testWriteAllPairs(@TempDir Path dir) throws IOException {
+        WeightedGraph g = randomNegativeGraph(30, 8);
+        Path file = dir.resolve("apsp.bin");
+        JohnsonAlgorithm.writeAllPairs(g, file, 3);
+        DistanceMatrix loaded = DistanceMatrix.load(file, g);
+        DistanceMatrix expected = JohnsonAlgorithm.allPairs(g, 1);
+        assertEquals(expected.getRowNodes(), loaded.getRowNodes());
+        for (Node s : g.getAllNodes()) {
+            assertArrayEquals(expected.getRow(s), loaded.getRow(s), 0.0);
+        }
+    }
+
+    @Test
+    @DisplayName("Negative cycles and bad arguments are rejected")
+    void testValidation() {
+        WeightedGraph g = new WeightedGraph();
+        Node A = new Node("A");
+        Node B = new Node("B");
+        g.addNode(A); g.addNode(B);
+        g.addEdge(A, B, 1.0);
+        g.addEdge(B, A, -2.0);
+        assertThrows(IllegalArgumentException.class, () -> JohnsonAlgorithm.allPairs(g));
+        assertThrows(IllegalArgumentException.class, () -> JohnsonAlgorithm.allPairs(null));
+        assertThrows(IllegalArgumentException.class, () -> JohnsonAlgorithm.allPairs(new WeightedGraph(), 0));
+
+        WeightedGraph ok = new WeightedGraph();
+        ok.addNode(A); ok.addNode(B);
+        ok.addEdge(B, A, -2.0);
+        DistanceMatrix m = JohnsonAlgorithm.allPairs(ok);
+        assertEquals(-2.0, m.getDistance(B, A), 0.0);
+        assertEquals(Double.POSITIVE_INFINITY, m.getDistance(A, B));
+        assertEquals(0.0, m.getDistance(A, A), 0.0);
+        assertThrows(IllegalArgumentException.class, () -> m.getDistance(A, new Node("X")));
+    }
+
+    @Test
+    @DisplayName("Matrices too large for one array fail up front with a pointer to writeAllPairs")
+    void testMatrixTooLarge() {
+        assertEquals(46_340 * 46_340, DistanceMatrix.cellCount(46_340, 46_340));
+        // 46,341^2 overflows int and 65,536^2 wraps to exactly 0
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> DistanceMatrix.cellCount(46_341, 46_341));
+        assertTrue(e.getMessage().contains("writeAllPairs"));
+        assertThrows(IllegalArgumentException.class, () -> DistanceMatrix.cellCount(65_536, 65_536));
+
+        WeightedGraph big = new WeightedGraph();
+        for (int i = 0; i < 46_341; i++) big.addNode(new Node("N" + i));
+        e = assertThrows(IllegalArgumentException.class, () -> JohnsonAlgorithm.allPairs(big, 1));
+        assertTrue(e.getMessage().contains("writeAllPairs"));
+    }
+}
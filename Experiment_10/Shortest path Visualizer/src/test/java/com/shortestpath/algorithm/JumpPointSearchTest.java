@@ -0,0 +1,184 @@
+package com.shortestpath.algorithm;
+
+import com.shortestpath.model.GridMap;
+import com.shortestpath.model.Node;
+import com.shortestpath.model.WeightedGraph;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CancellationException;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("JumpPointSearch Tests")
+class JumpPointSearchTest {
+
+    @Test
+    @DisplayName("Costs match Dijkstra on the equivalent graph")
+    void testMatchesDijkstra() {
+        Random random = new Random(7);
+        for (int trial = 0; trial < 20; trial++) {
+            GridMap grid = new GridMap(15 + random.nextInt(10), 15 + random.nextInt(10));
+            for (int r = 0; r < grid.getRows(); r++) {
+                for (int c = 0; c < grid.getCols(); c++) {
+                    if (random.nextDouble() < 0.3) grid.setBlocked(r, c, true);
+                }
+            }
+            grid.setBlocked(0, 0, false);
+            int tr = grid.getRows() - 1;
+            int tc = grid.getCols() - 1;
+            grid.setBlocked(tr, tc, false);
+            WeightedGraph graph = grid.toWeightedGraph();
+
+            AlgorithmResult expected = DijkstraAlgorithm.findShortestPath(graph, graph.getNode("0,0"),
+                    graph.getNode(GridMap.cellId(tr, tc)), RecordingLevel.NONE);
+            AlgorithmResult actual = JumpPointSearch.findShortestPath(grid, 0, 0, tr, tc);
+            assertEquals(expected.getPathCost(), actual.getPathCost(), 1e-9, "trial " + trial);
+            if (actual.hasPath()) assertValidPath(grid, actual.getShortestPath(), actual.getPathCost());
+        }
+    }
+
+    @Test
+    @DisplayName("Open maps expand far fewer nodes than A*")
+    void testFewerExpansionsThanAStar() {
+        GridMap grid = new GridMap(60, 60);
+        for (int r = 10; r < 50; r++) grid.setBlocked(r, 30, true);
+        WeightedGraph graph = grid.toWeightedGraph();
+        AlgorithmResult astar = AStarAlgorithm.findShortestPath(graph, graph.getNode("30,5"),
+                graph.getNode("30,55"), RecordingLevel.NONE, Heuristic.octile());
+        AlgorithmResult jps = JumpPointSearch.findShortestPath(grid, 30, 5, 30, 55);
+        assertEquals(astar.getPathCost(), jps.getPathCost(), 1e-9);
+        assertValidPath(grid, jps.getShortestPath(), jps.getPathCost());
+        assertTrue(jps.getNodesVisited() * 10 < astar.getNodesVisited(),
+                "JPS expanded " + jps.getNodesVisited() + ", A* " + astar.getNodesVisited());
+        assertTrue(jps.getMetric(JumpPointSearch.SCANNED_CELLS, 0.0) > 0);
+    }
+
+    @Test
+    @DisplayName("Walls and corners are respected")
+    void testCornersAndUnreachable() {
+        GridMap grid = GridMap.parse(
+                ".#.",
+                "#..",
+                "...");
+        // 0,0 is sealed off: diagonal moves may not squeeze between two blocked cells
+        assertFalse(JumpPointSearch.findShortestPath(grid, 0, 0, 2, 2).hasPath());
+        AlgorithmResult result = JumpPointSearch.findShortestPath(grid, 0, 2, 2, 0);
+        assertEquals(List.of("0,2", "1,2", "2,1", "2,0"),
+                result.getShortestPath().stream().map(Node::getId).toList());
+        assertEquals(2 + GridMap.DIAGONAL_COST, result.getPathCost(), 1e-9);
+
+        AlgorithmResult same = JumpPointSearch.findShortestPath(grid, new Node("1,1"), new Node("1,1"));
+        assertEquals(0.0, same.getPathCost(), 0.0);
+        assertEquals(1, same.getShortestPath().size());
+    }
+
+    @Test
+    @DisplayName("Grids convert to and from weighted graphs")
+    void testConversion() {
+        GridMap grid = GridMap.parse(
+                "..#",
+                ".#.",
+                "...");
+        WeightedGraph graph = grid.toWeightedGraph();
+        assertEquals(grid.getOpenCount(), graph.getNodeCount());
+        assertFalse(graph.isDirected());
+        assertEquals(1.0, graph.getEdgeWeight(graph.getNode("0,0"), graph.getNode("0,1")), 0.0);
+        // No corner cutting around the blocked centre
+        assertNull(graph.getEdge(graph.getNode("2,1"), graph.getNode("1,2")));
+        WeightedGraph square = new GridMap(2, 2).toWeightedGraph();
+        assertEquals(6, square.getAllEdges().size() / 2);
+        assertEquals(GridMap.DIAGONAL_COST, square.getEdgeWeight(square.getNode("1,0"), square.getNode("0,1")), 0.0);
+        assertEquals(1.0, graph.getNode("0,1").getX(), 0.0);
+
+        GridMap back = GridMap.fromWeightedGraph(graph);
+        assertEquals(grid.toString(), back.toString());
+        assertEquals("..#\n.#.\n...", back.toString());
+    }
+
+    @Test
+    @DisplayName("Cells are stored one bit each")
+    void testBitPacking() {
+        GridMap grid = new GridMap(100, 100);
+        assertEquals(10_000, grid.getOpenCount());
+        assertEquals(157 * Long.BYTES, grid.getBitsetBytes());
+        grid.setBlocked(99, 99, true);
+        grid.setBlocked(0, 63, true);
+        assertEquals(9_998, grid.getOpenCount());
+        assertFalse(grid.isOpen(0, 63));
+        assertTrue(grid.isOpen(0, 64));
+        assertFalse(grid.isOpen(-1, 0));
+        assertFalse(grid.isOpen(0, 100));
+    }
+
+    @Test
+    @DisplayName("Invalid arguments are rejected")
+    void testValidation() {
+        GridMap grid = GridMap.parse("..", "#.");
+        assertThrows(IllegalArgumentException.class, () -> JumpPointSearch.findShortestPath(null, 0, 0, 1, 1));
+        assertThrows(IllegalArgumentException.class, () -> JumpPointSearch.findShortestPath(grid, 0, 0, 2, 1));
+        assertThrows(IllegalArgumentException.class, () -> JumpPointSearch.findShortestPath(grid, 1, 0, 1, 1));
+        assertThrows(IllegalArgumentException.class,
+                () -> JumpPointSearch.findShortestPath(grid, new Node("A"), new Node("1,1")));
+        assertThrows(IllegalArgumentException.class, () -> GridMap.parse("..", "."));
+        assertThrows(IllegalArgumentException.class, () -> GridMap.parse("x"));
+        assertThrows(IllegalArgumentException.class, () -> new GridMap(0, 5));
+
+        WeightedGraph named = new WeightedGraph();
+        named.addNode(new Node("A"));
+        assertThrows(IllegalArgumentException.class, () -> GridMap.fromWeightedGraph(named));
+    }
+
+    @Test
+    @DisplayName("A cancelled budget stops the search")
+    void testBudget() {
+        SearchBudget budget = SearchBudget.unlimited();
+        budget.cancel();
+        assertThrows(CancellationException.class,
+                () -> JumpPointSearch.findShortestPath(new GridMap(10, 10), 0, 0, 9, 9, budget));
+        // The interrupted search's workspace is reused cleanly
+        assertEquals(9 * GridMap.DIAGONAL_COST,
+                JumpPointSearch.findShortestPath(new GridMap(10, 10), 0, 0, 9, 9).getPathCost(), 1e-9);
+    }
+
+    @Test
+    @DisplayName("Concurrent queries on grids of different sizes share pooled workspaces")
+    void testConcurrentQueries() {
+        GridMap small = new GridMap(12, 12);
+        GridMap large = new GridMap(40, 40);
+        for (int r = 0; r < 30; r++) large.setBlocked(r, 20, true);
+        double smallCost = JumpPointSearch.findShortestPath(small, 0, 0, 11, 6).getPathCost();
+        double largeCost = JumpPointSearch.findShortestPath(large, 0, 0, 0, 39).getPathCost();
+        IntStream.range(0, 200).parallel().forEach(i -> {
+            AlgorithmResult result = i % 2 == 0
+                    ? JumpPointSearch.findShortestPath(small, 0, 0, 11, 6)
+                    : JumpPointSearch.findShortestPath(large, 0, 0, 0, 39);
+            assertEquals(i % 2 == 0 ? smallCost : largeCost, result.getPathCost(), 1e-9);
+            assertValidPath(i % 2 == 0 ? small : large, result.getShortestPath(), result.getPathCost());
+        });
+    }
+
+    /** Consecutive cells are open neighbours joined by allowed moves whose costs add up to {@code cost}. */
+    private static void assertValidPath(GridMap grid, List<Node> path, double cost) {
+        double total = 0.0;
+        for (int i = 0; i < path.size(); i++) {
+            int[] cell = GridMap.parseCellId(path.get(i).getId());
+            assertTrue(grid.isOpen(cell[0], cell[1]));
+            if (i == 0) continue;
+            int[] prev = GridMap.parseCellId(path.get(i - 1).getId());
+            int dr = cell[0] - prev[0];
+            int dc = cell[1] - prev[1];
+            assertTrue(Math.abs(dr) <= 1 && Math.abs(dc) <= 1 && (dr != 0 || dc != 0));
+            if (dr != 0 && dc != 0) {
+                assertTrue(grid.isOpen(prev[0] + dr, prev[1]) && grid.isOpen(prev[0], prev[1] + dc));
+                total += GridMap.DIAGONAL_COST;
+            } else {
+                total += 1.0;
+            }
+        }
+        assertEquals(cost, total, 1e-9);
+    }
+}
@@ -0,0 +1,157 @@
+package com.shortestpath.algorithm;
+
+import com.shortestpath.model.Edge;
+import com.shortestpath.model.Node;
+import com.shortestpath.model.WeightedGraph;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("KShortestPathsAlgorithm Tests")
+class KShortestPathsAlgorithmTest {
+
+    private static WeightedGraph randomGraph(int n, double density, long seed, boolean negative) {
+        Random rnd = new Random(seed);
+        WeightedGraph g = new WeightedGraph();
+        Node[] nodes = new Node[n];
+        for (int i = 0; i < n; i++) {
+            nodes[i] = new Node("N" + i);
+            g.addNode(nodes[i]);
+        }
+        double[] p = new double[n];
+        for (int i = 0; i < n; i++) p[i] = negative ? rnd.nextInt(10) : 0;
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                if (i != j && rnd.nextDouble() < density) {
+                    g.addEdge(nodes[i], nodes[j], 1 + rnd.nextInt(9) + p[j] - p[i]);
+                }
+            }
+        }
+        return g;
+    }
+
+    /** Costs of every simple path from {@code at} to {@code target}, by depth-first enumeration. */
+    private static void allPathCosts(WeightedGraph g, Node at, Node target, Set<Node> onPath, double cost,
+                                     List<Double> out) {
+        if (at.equals(target)) {
+            out.add(cost);
+            return;
+        }
+        for (Edge e : g.getOutgoingEdges(at)) {
+            if (onPath.add(e.getTarget())) {
+                allPathCosts(g, e.getTarget(), target, onPath, cost + e.getWeight(), out);
+                onPath.remove(e.getTarget());
+            }
+        }
+    }
+
+    private static void assertMatchesEnumeration(WeightedGraph g, Node s, Node t, int k, List<AlgorithmResult> paths) {
+        List<Double> expected = new ArrayList<>();
+        allPathCosts(g, s, t, new HashSet<>(List.of(s)), 0.0, expected);
+        Collections.sort(expected);
+        assertEquals(Math.min(k, expected.size()), paths.size());
+        Set<List<Node>> distinct = new HashSet<>();
+        for (int i = 0; i < paths.size(); i++) {
+            AlgorithmResult r = paths.get(i);
+            assertEquals(expected.get(i), r.getPathCost(), 1e-9, "path " + i);
+            assertEquals(i + 1, r.getMetric(KShortestPathsAlgorithm.RANK, -1), 0.0);
+            List<Node> path = r.getShortestPath();
+            assertEquals(s, path.get(0));
+            assertEquals(t, path.get(path.size() - 1));
+            assertEquals(path.size(), new HashSet<>(path).size(), "path must be loopless");
+            assertTrue(distinct.add(path), "paths must be distinct");
+        }
+    }
+
+    @Test
+    @DisplayName("Path costs match exhaustive enumeration of simple paths")
+    void testMatchesEnumeration() {
+        WeightedGraph g = randomGraph(9, 0.35, 4, false);
+        Node s = g.getNode("N0");
+        Node t = g.getNode("N8");
+        for (int threads : new int[]{1, 3}) {
+            List<AlgorithmResult> paths = KShortestPathsAlgorithm.findKShortestPaths(g, s, t, 25, null, threads);
+            assertMatchesEnumeration(g, s, t, 25, paths);
+        }
+        assertEquals(DijkstraAlgorithm.findShortestPath(g, s, t, RecordingLevel.NONE).getPathCost(),
+                KShortestPathsAlgorithm.findKShortestPaths(g, s, t, 1).get(0).getPathCost(), 1e-9);
+    }
+
+    @Test
+    @DisplayName("Negative edge weights are searched with Johnson potentials")
+    void testNegativeWeights() {
+        WeightedGraph g = randomGraph(8, 0.4, 9, true);
+        Node s = g.getNode("N1");
+        Node t = g.getNode("N6");
+        assertMatchesEnumeration(g, s, t, 15, KShortestPathsAlgorithm.findKShortestPaths(g, s, t, 15));
+    }
+
+    @Test
+    @DisplayName("Custom spur engines on reduced copies agree with the masked built-in search")
+    void testCustomEngineMatchesMaskedSearch() {
+        WeightedGraph g = randomGraph(10, 0.3, 21, false);
+        Node s = g.getNode("N0");
+        Node t = g.getNode("N9");
+        AtomicInteger calls = new AtomicInteger();
+        KShortestPathsAlgorithm.SpurSearch counting = (graph, from, to) -> {
+            calls.incrementAndGet();
+            return DijkstraAlgorithm.findShortestPath(graph, from, to, RecordingLevel.NONE);
+        };
+        List<AlgorithmResult> custom = KShortestPathsAlgorithm.findKShortestPaths(g, s, t, 12, counting, 2);
+        List<AlgorithmResult> builtIn = KShortestPathsAlgorithm.findKShortestPaths(g, s, t, 12, null, 2);
+        assertEquals(builtIn.size(), custom.size());
+        for (int i = 0; i < custom.size(); i++) {
+            assertEquals(builtIn.get(i).getPathCost(), custom.get(i).getPathCost(), 1e-9);
+        }
+        double spurSearches = custom.get(custom.size() - 1).getMetric(KShortestPathsAlgorithm.SPUR_SEARCHES, -1);
+        // The first search plus every spur search; a last round may find no new candidate
+        assertTrue(calls.get() >= spurSearches + 1);
+        assertMatchesEnumeration(g, s, t, 12, builtIn);
+    }
+
+    @Test
+    @DisplayName("Fewer paths than k, unreachable targets and bad input")
+    void testEdgeCases() {
+        WeightedGraph g = new WeightedGraph();
+        Node A = new Node("A");
+        Node B = new Node("B");
+        Node C = new Node("C");
+        g.addNode(A); g.addNode(B); g.addNode(C);
+        g.addEdge(A, B, 1.0);
+        g.addEdge(B, C, 1.0);
+        g.addEdge(A, C, 5.0);
+
+        List<AlgorithmResult> paths = KShortestPathsAlgorithm.findKShortestPaths(g, A, C, 10);
+        assertEquals(2, paths.size());
+        assertEquals(List.of(A, B, C), paths.get(0).getShortestPath());
+        assertEquals(List.of(A, C), paths.get(1).getShortestPath());
+        assertTrue(KShortestPathsAlgorithm.findKShortestPaths(g, C, A, 3).isEmpty());
+
+        assertThrows(IllegalArgumentException.class, () -> KShortestPathsAlgorithm.findKShortestPaths(g, A, C, 0));
+        assertThrows(IllegalArgumentException.class, () -> KShortestPathsAlgorithm.findKShortestPaths(null, A, C, 2));
+        assertThrows(IllegalArgumentException.class,
+                () -> KShortestPathsAlgorithm.findKShortestPaths(g, A, new Node("X"), 2));
+        assertEquals(1, KShortestPathsAlgorithm.findKShortestPaths(g, A, C, 1, null, 4).size());
+
+        ForkJoinPool pool = new ForkJoinPool(2);
+        try {
+            for (int i = 0; i < 3; i++) {
+                List<AlgorithmResult> pooled = KShortestPathsAlgorithm.findKShortestPaths(g, A, C, 10, null, pool);
+                assertEquals(List.of(A, C), pooled.get(1).getShortestPath());
+            }
+            assertFalse(pool.isShutdown());
+        } finally {
+            pool.shutdown();
+        }
+        assertThrows(IllegalArgumentException.class,
+                () -> KShortestPathsAlgorithm.findKShortestPaths(g, A, C, 2, null, (ForkJoinPool) null));
+
+        g.addEdge(C, A, -3.0);
+        assertThrows(IllegalArgumentException.class, () -> KShortestPathsAlgorithm.findKShortestPaths(g, A, C, 2));
+    }
+}
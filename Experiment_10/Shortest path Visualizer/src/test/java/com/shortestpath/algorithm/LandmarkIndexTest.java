@@ -0,0 +1,109 @@
+package com.shortestpath.algorithm;
+
+import com.shortestpath.model.Node;
+import com.shortestpath.model.WeightedGraph;
+import com.shortestpath.util.RandomGraphGenerator;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("LandmarkIndex Tests")
+class LandmarkIndexTest {
+
+    @Test
+    @DisplayName("Lower bounds never exceed true distances for both selection strategies")
+    void testAdmissible() {
+        WeightedGraph g = RandomGraphGenerator.generateRandomGraph(60, 0.08, 1.0, 50.0, true);
+        List<Node> nodes = new ArrayList<>(g.getAllNodes());
+        for (LandmarkIndex.Selection selection : LandmarkIndex.Selection.values()) {
+            LandmarkIndex alt = LandmarkIndex.build(g, 4, selection);
+            assertEquals(4, alt.getLandmarkCount());
+            assertEquals(4, alt.getLandmarks().stream().distinct().count());
+            for (Node s : nodes.subList(0, 10)) {
+                for (Node t : nodes) {
+                    double d = DijkstraAlgorithm.findShortestPath(g, s, t, RecordingLevel.NONE).getPathCost();
+                    double lb = alt.estimate(s, t);
+                    assertTrue(lb >= 0.0);
+                    assertTrue(lb <= d + 1e-9, selection + ": bound " + lb + " exceeds " + d);
+                }
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("ALT A* is optimal and settles fewer nodes than Dijkstra on non-geometric weights")
+    void testAltAStar() {
+        int n = 25;
+        Random rnd = new Random(3);
+        Node[][] grid = new Node[n][n];
+        WeightedGraph g = new WeightedGraph(false);
+        for (int r = 0; r < n; r++) {
+            for (int c = 0; c < n; c++) {
+                grid[r][c] = new Node(r + "," + c); // no coordinates: Euclidean heuristic is useless
+                g.addNode(grid[r][c]);
+                if (c > 0) g.addEdge(grid[r][c - 1], grid[r][c], 1 + rnd.nextInt(5));
+                if (r > 0) g.addEdge(grid[r - 1][c], grid[r][c], 1 + rnd.nextInt(5));
+            }
+        }
+        LandmarkIndex alt = LandmarkIndex.build(g, 8);
+        Node s = grid[2][3];
+        Node t = grid[n - 3][n - 2];
+        AlgorithmResult dijkstra = DijkstraAlgorithm.findShortestPath(g, s, t, RecordingLevel.NONE);
+        AlgorithmResult aStar = AStarAlgorithm.findShortestPath(g, s, t, RecordingLevel.NONE, alt);
+        AlgorithmResult biAStar = BidirectionalAStarAlgorithm.findShortestPath(g, s, t, RecordingLevel.NONE, alt);
+        assertEquals(dijkstra.getPathCost(), aStar.getPathCost(), 1e-9);
+        assertEquals(dijkstra.getPathCost(), biAStar.getPathCost(), 1e-9);
+        assertTrue(aStar.getNodesVisited() < dijkstra.getNodesVisited(),
+                "ALT visited " + aStar.getNodesVisited() + ", Dijkstra " + dijkstra.getNodesVisited());
+    }
+
+    @Test
+    @DisplayName("Tables survive a save/load round trip")
+    void testSaveAndLoad(@TempDir Path dir) throws IOException {
+        WeightedGraph g = RandomGraphGenerator.generateRandomGraph(40, 0.1, 1.0, 10.0, true);
+        LandmarkIndex alt = LandmarkIndex.build(g, 3, LandmarkIndex.Selection.FARTHEST);
+        Path file = dir.resolve("graph.alt");
+        alt.save(file);
+
+        LandmarkIndex loaded = LandmarkIndex.load(file, g);
+        assertTrue(loaded.isCompatibleWith(g));
+        assertEquals(alt.getLandmarks(), loaded.getLandmarks());
+        for (Node a : g.getAllNodes()) {
+            for (Node b : g.getAllNodes()) {
+                assertEquals(alt.estimate(a, b), loaded.estimate(a, b), 0.0);
+            }
+        }
+
+        WeightedGraph other = RandomGraphGenerator.generateRandomGraph(41, 0.1, 1.0, 10.0, true);
+        assertFalse(alt.isCompatibleWith(other));
+
+        g.getAllEdges().get(0).setWeight(0.5);
+        assertFalse(alt.isCompatibleWith(g));
+        assertFalse(loaded.isCompatibleWith(g));
+        // The saved tables no longer bound the edited graph
+        assertThrows(IOException.class, () -> LandmarkIndex.load(file, g));
+        assertThrows(IOException.class, () -> LandmarkIndex.load(file, other));
+    }
+
+    @Test
+    @DisplayName("Validation: bad arguments and negative weights throw")
+    void testValidation() {
+        WeightedGraph g = new WeightedGraph();
+        Node A = new Node("A");
+        Node B = new Node("B");
+        g.addNode(A); g.addNode(B);
+        g.addEdge(A, B, -1.0);
+        assertThrows(IllegalArgumentException.class, () -> LandmarkIndex.build(null, 2));
+        assertThrows(IllegalArgumentException.class, () -> LandmarkIndex.build(new WeightedGraph(), 2));
+        assertThrows(IllegalArgumentException.class, () -> LandmarkIndex.build(g, 0));
+        assertThrows(IllegalArgumentException.class, () -> LandmarkIndex.build(g, 2));
+    }
+}
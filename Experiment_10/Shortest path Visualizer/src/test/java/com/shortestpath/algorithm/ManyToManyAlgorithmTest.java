@@ -0,0 +1,74 @@
+package com.shortestpath.algorithm;
+
+import com.shortestpath.model.Node;
+import com.shortestpath.model.WeightedGraph;
+import com.shortestpath.util.RandomGraphGenerator;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ManyToManyAlgorithm Tests")
+class ManyToManyAlgorithmTest {
+
+    @Test
+    @DisplayName("Matrix entries match point-to-point Dijkstra")
+    void testMatchesDijkstra() {
+        WeightedGraph g = RandomGraphGenerator.generateRandomGraph(120, 0.04, 1, 20, true);
+        List<Node> sources = new ArrayList<>();
+        List<Node> targets = new ArrayList<>();
+        for (int i = 0; i < 12; i++) sources.add(g.getNode("N" + (i * 7)));
+        for (int i = 0; i < 9; i++) targets.add(g.getNode("N" + (i * 11 + 3)));
+        targets.add(g.getNode("N3")); // duplicate column
+
+        for (int threads : new int[]{1, 4}) {
+            DistanceMatrix m = ManyToManyAlgorithm.distanceMatrix(g, sources, targets, threads);
+            assertEquals(sources.size(), m.getRowCount());
+            assertEquals(targets.size(), m.getColumnCount());
+            for (int r = 0; r < sources.size(); r++) {
+                for (int c = 0; c < targets.size(); c++) {
+                    double expected = DijkstraAlgorithm.findShortestPath(g, sources.get(r), targets.get(c),
+                            RecordingLevel.NONE).getPathCost();
+                    assertEquals(expected, m.get(r, c), 1e-9, sources.get(r) + " -> " + targets.get(c));
+                }
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Unreachable targets are infinite and bad input is rejected")
+    void testUnreachableAndValidation() {
+        WeightedGraph g = new WeightedGraph();
+        Node A = new Node("A");
+        Node B = new Node("B");
+        Node C = new Node("C");
+        g.addNode(A); g.addNode(B); g.addNode(C);
+        g.addEdge(A, B, 2.0);
+
+        DistanceMatrix m = ManyToManyAlgorithm.distanceMatrix(g, List.of(A, C), List.of(B, C, A));
+        assertEquals(2.0, m.getDistance(A, B), 0.0);
+        assertEquals(Double.POSITIVE_INFINITY, m.getDistance(A, C));
+        assertEquals(0.0, m.getDistance(C, C), 0.0);
+        assertEquals(Double.POSITIVE_INFINITY, m.getDistance(C, A));
+
+        assertThrows(IllegalArgumentException.class, () -> ManyToManyAlgorithm.distanceMatrix(null, List.of(A), List.of(B)));
+        assertThrows(IllegalArgumentException.class, () -> ManyToManyAlgorithm.distanceMatrix(g, List.of(new Node("X")), List.of(B)));
+        assertThrows(IllegalArgumentException.class, () -> ManyToManyAlgorithm.distanceMatrix(g, List.of(A), List.of(B), 0));
+        g.addEdge(B, C, -1.0);
+        assertThrows(IllegalArgumentException.class, () -> ManyToManyAlgorithm.distanceMatrix(g, List.of(A), List.of(B)));
+    }
+
+    @Test
+    @DisplayName("A matrix too large for one array is rejected before searching")
+    void testMatrixTooLarge() {
+        WeightedGraph g = new WeightedGraph();
+        Node A = new Node("A");
+        g.addNode(A);
+        List<Node> many = Collections.nCopies(46_341, A);
+        assertThrows(IllegalArgumentException.class, () -> ManyToManyAlgorithm.distanceMatrix(g, many, many));
+    }
+}
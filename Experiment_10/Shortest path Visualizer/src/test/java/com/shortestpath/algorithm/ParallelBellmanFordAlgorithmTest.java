@@ -0,0 +1,135 @@
+package com.shortestpath.algorithm;
+
+import com.shortestpath.model.Node;
+import com.shortestpath.model.WeightedGraph;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ParallelBellmanFordAlgorithm Tests")
+class ParallelBellmanFordAlgorithmTest {
+
+    @Test
+    @DisplayName("Same distances and predecessors as sequential Bellman-Ford for any thread count")
+    void testMatchesSequential() {
+        Random rnd = new Random(21);
+        int n = 80;
+        WeightedGraph g = new WeightedGraph();
+        Node[] nodes = new Node[n];
+        for (int i = 0; i < n; i++) {
+            nodes[i] = new Node("N" + i);
+            g.addNode(nodes[i]);
+        }
+        // Forward-only edges with real-valued weights: negative edges, no cycles, unique shortest paths
+        for (int i = 0; i < n; i++) {
+            for (int j = i + 1; j < n; j++) {
+                if (rnd.nextDouble() < 0.08) g.addEdge(nodes[i], nodes[j], rnd.nextDouble() * 12.0 - 2.0);
+            }
+        }
+        AlgorithmResult expected = BellmanFordAlgorithm.findShortestPath(g, nodes[0], nodes[n - 1], RecordingLevel.SUMMARY);
+        AlgorithmStep expectedFinal = expected.getSteps().get(1);
+        for (int threads : new int[]{1, 2, 4}) {
+            AlgorithmResult actual = ParallelBellmanFordAlgorithm.findShortestPath(g, nodes[0], nodes[n - 1],
+                    RecordingLevel.SUMMARY, threads);
+            AlgorithmStep actualFinal = actual.getSteps().get(1);
+            assertEquals(expected.getPathCost(), actual.getPathCost(), 1e-9);
+            assertEquals(expected.getShortestPath(), actual.getShortestPath());
+            assertEquals(expected.getNodesVisited(), actual.getNodesVisited());
+            assertEquals(expectedFinal.getPredecessors(), actualFinal.getPredecessors());
+            for (Node v : nodes) {
+                assertEquals(expectedFinal.getDistances().get(v), actualFinal.getDistances().get(v), 1e-9);
+            }
+            assertTrue(actual.getMetric(ParallelBellmanFordAlgorithm.ROUNDS, 0) < n - 1);
+        }
+    }
+
+    @Test
+    @DisplayName("Detects negative cycle and reports no path")
+    void testNegativeCycleDetection() {
+        WeightedGraph g = new WeightedGraph();
+        Node A = new Node("A");
+        Node B = new Node("B");
+        Node C = new Node("C");
+        Node D = new Node("D");
+        g.addNode(A); g.addNode(B); g.addNode(C); g.addNode(D);
+        g.addEdge(A, B, 1.0);
+        g.addEdge(B, C, -2.0);
+        g.addEdge(C, B, 1.0);
+        g.addEdge(C, D, 1.0);
+
+        AlgorithmResult result = ParallelBellmanFordAlgorithm.findShortestPath(g, A, D, RecordingLevel.FULL, 3);
+        assertFalse(result.hasPath());
+        assertTrue(result.getShortestPath().isEmpty());
+        assertTrue(result.getSteps().get(result.getStepCount() - 1).getDescription().contains("Negative cycle"));
+        assertTrue(result.hasNegativeCycle());
+        assertEquals(Set.of(B, C), Set.copyOf(result.getNegativeCycle()));
+    }
+
+    @Test
+    @DisplayName("Full trace records one step per round; unreachable target has no path")
+    void testTraceAndNoPath() {
+        WeightedGraph g = new WeightedGraph();
+        Node A = new Node("A");
+        Node B = new Node("B");
+        Node C = new Node("C");
+        Node D = new Node("D");
+        g.addNode(A); g.addNode(B); g.addNode(C); g.addNode(D);
+        g.addEdge(A, B, 4.0);
+        g.addEdge(A, C, 5.0);
+        g.addEdge(C, B, -3.0);
+
+        AlgorithmResult result = ParallelBellmanFordAlgorithm.findShortestPath(g, A, B);
+        assertEquals(List.of(A, C, B), result.getShortestPath());
+        assertEquals(2.0, result.getPathCost(), 1e-9);
+        for (int i = 1; i < result.getStepCount(); i++) {
+            assertTrue(result.getSteps().get(i).getDescription().contains("Iteration"));
+        }
+        assertFalse(ParallelBellmanFordAlgorithm.findShortestPath(g, A, D).hasPath());
+        assertEquals(List.of(D), ParallelBellmanFordAlgorithm.findShortestPath(g, D, D).getShortestPath());
+    }
+
+    @Test
+    @DisplayName("Validation: nulls, missing nodes and bad parallelism throw")
+    void testValidation() {
+        WeightedGraph g = new WeightedGraph();
+        Node A = new Node("A");
+        g.addNode(A);
+        assertThrows(IllegalArgumentException.class, () -> ParallelBellmanFordAlgorithm.findShortestPath(null, A, A));
+        assertThrows(IllegalArgumentException.class, () -> ParallelBellmanFordAlgorithm.findShortestPath(g, A, new Node("X")));
+        assertThrows(IllegalArgumentException.class,
+                () -> ParallelBellmanFordAlgorithm.findShortestPath(g, A, A, RecordingLevel.NONE, 0));
+        assertThrows(IllegalArgumentException.class,
+                () -> ParallelBellmanFordAlgorithm.findShortestPath(g, A, A, RecordingLevel.NONE, (ForkJoinPool) null));
+    }
+
+    @Test
+    @DisplayName("A caller-owned pool is reused across queries and left running")
+    void testCallerOwnedPool() {
+        WeightedGraph g = new WeightedGraph();
+        Node A = new Node("A");
+        Node B = new Node("B");
+        Node C = new Node("C");
+        g.addNode(A); g.addNode(B); g.addNode(C);
+        g.addEdge(A, B, 2.0);
+        g.addEdge(B, C, 3.0);
+        g.addEdge(A, C, 6.0);
+
+        ForkJoinPool pool = new ForkJoinPool(2);
+        try {
+            for (int i = 0; i < 3; i++) {
+                AlgorithmResult result = ParallelBellmanFordAlgorithm.findShortestPath(g, A, C, RecordingLevel.NONE, pool);
+                assertEquals(5.0, result.getPathCost(), 1e-9);
+                assertEquals(List.of(A, B, C), result.getShortestPath());
+            }
+            assertFalse(pool.isShutdown());
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.shortestpath.algorithm;
+
+import com.shortestpath.model.Edge;
+import com.shortestpath.model.Node;
+import com.shortestpath.model.WeightedGraph;
+import com.shortestpath.util.RandomGraphGenerator;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("QueryEngine Tests")
+class QueryEngineTest {
+
+    private static List<QueryEngine.Query> randomQueries(WeightedGraph g, int count, long seed) {
+        Random rnd = new Random(seed);
+        SearchEngine[] engines = SearchEngine.values();
+        List<QueryEngine.Query> queries = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            queries.add(new QueryEngine.Query(g.getNode("N" + rnd.nextInt(g.getNodeCount())),
+                    g.getNode("N" + rnd.nextInt(g.getNodeCount())), engines[rnd.nextInt(engines.length)]));
+        }
+        return queries;
+    }
+
+    @Test
+    @DisplayName("Batch results match running each query directly, in order")
+    void testBatchMatchesDirectRuns() throws InterruptedException {
+        WeightedGraph g = RandomGraphGenerator.generateRandomGraph(80, 0.05, 1, 20, true);
+        List<QueryEngine.Query> queries = randomQueries(g, 60, 2);
+        for (boolean virtual : new boolean[]{true, false}) {
+            try (QueryEngine engine = virtual ? QueryEngine.withVirtualThreads(g, 8)
+                    : QueryEngine.withThreadPool(g, 3, 4)) {
+                List<AlgorithmResult> results = engine.runBatch(queries);
+                assertEquals(queries.size(), results.size());
+                for (int i = 0; i < queries.size(); i++) {
+                    QueryEngine.Query q = queries.get(i);
+                    AlgorithmResult expected = q.getEngine().run(g, q.getSource(), q.getTarget(), RecordingLevel.NONE);
+                    assertEquals(expected.getPathCost(), results.get(i).getPathCost(), 1e-9, q.toString());
+                    assertEquals(q.getSource(), results.get(i).getSourceNode());
+                    assertTrue(results.get(i).getSteps().isEmpty());
+                    assertTrue(results.get(i).getMetric(QueryEngine.LATENCY_MS, -1)
+                            >= results.get(i).getMetric(QueryEngine.QUEUE_MS, -1));
+                }
+                assertEquals(queries.size(), engine.getCompletedCount());
+                assertTrue(engine.getThroughputPerSecond() > 0.0);
+                assertTrue(engine.getMaxLatencyMs() >= engine.getMeanLatencyMs());
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Streams are consumed with bounded in-flight work and every result reaches the sink")
+    void testStream() throws InterruptedException {
+        WeightedGraph g = RandomGraphGenerator.generateRandomGraph(50, 0.1, 1, 10, false);
+        List<QueryEngine.Query> queries = randomQueries(g, 500, 5);
+        AtomicInteger received = new AtomicInteger();
+        AtomicInteger produced = new AtomicInteger();
+        try (QueryEngine engine = QueryEngine.withVirtualThreads(g, 2)) {
+            long failures = engine.runStream(IntStream.range(0, queries.size()).mapToObj(i -> {
+                // With two permits the producer can never run more than two queries ahead
+                assertTrue(produced.incrementAndGet() - received.get() <= 3);
+                return queries.get(i);
+            }), r -> received.incrementAndGet());
+            assertEquals(0, failures);
+            assertEquals(500, received.get());
+        }
+    }
+
+    @Test
+    @DisplayName("Failed queries fail their future and are counted")
+    void testFailuresAndValidation() throws InterruptedException {
+        WeightedGraph g = RandomGraphGenerator.generateRandomGraph(10, 0.3, 1, 5, true);
+        Node outside = new Node("X");
+        try (QueryEngine engine = QueryEngine.withThreadPool(g, 2, 2)) {
+            CompletableFuture<AlgorithmResult> f = engine.submit(new QueryEngine.Query(g.getNode("N0"), outside,
+                    SearchEngine.DIJKSTRA));
+            ExecutionException e = assertThrows(ExecutionException.class, f::get);
+            assertInstanceOf(IllegalArgumentException.class, e.getCause());
+            assertEquals(1, engine.getFailedCount());
+            assertThrows(IllegalArgumentException.class, () -> engine.runBatch(List.of(
+                    new QueryEngine.Query(g.getNode("N0"), outside, SearchEngine.A_STAR))));
+        }
+        assertThrows(IllegalArgumentException.class, () -> QueryEngine.withVirtualThreads(null, 1));
+        assertThrows(IllegalArgumentException.class, () -> QueryEngine.withVirtualThreads(g, 0));
+        assertThrows(IllegalArgumentException.class, () -> QueryEngine.withThreadPool(g, 0, 1));
+        assertThrows(IllegalArgumentException.class, () -> new QueryEngine.Query(null, outside, SearchEngine.DIJKSTRA));
+
+        QueryEngine closed = QueryEngine.withVirtualThreads(g, 1);
+        closed.close();
+        assertThrows(IllegalStateException.class,
+                () -> closed.submit(new QueryEngine.Query(g.getNode("N0"), g.getNode("N1"), SearchEngine.DIJKSTRA)));
+    }
+
+    @Test
+    @DisplayName("An Error thrown by a search still completes its future")
+    void testErrorCompletesFuture() throws InterruptedException {
+        WeightedGraph g = new WeightedGraph() {
+            @Override
+            public List<Edge> getOutgoingEdges(Node node) {
+                throw new StackOverflowError("simulated");
+            }
+        };
+        Node a = new Node("A");
+        Node b = new Node("B");
+        g.addNode(a);
+        g.addNode(b);
+        try (QueryEngine engine = QueryEngine.withThreadPool(g, 1, 1)) {
+            CompletableFuture<AlgorithmResult> f = engine.submit(new QueryEngine.Query(a, b, SearchEngine.DIJKSTRA));
+            ExecutionException e = assertThrows(ExecutionException.class, () -> f.get(10, TimeUnit.SECONDS));
+            assertInstanceOf(StackOverflowError.class, e.getCause());
+            assertEquals(1, engine.getFailedCount());
+            assertThrows(StackOverflowError.class,
+                    () -> engine.runBatch(List.of(new QueryEngine.Query(a, b, SearchEngine.DIJKSTRA))));
+            assertEquals(2, engine.getFailedCount());
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.shortestpath.algorithm;
+
+import com.shortestpath.model.Edge;
+import com.shortestpath.model.Node;
+import com.shortestpath.model.WeightedGraph;
+import com.shortestpath.util.RandomGraphGenerator;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("QueryResultCache Tests")
+class QueryResultCacheTest {
+
+    @Test
+    @DisplayName("Repeated queries are served from the cache")
+    void testHitsAndMisses() {
+        WeightedGraph g = RandomGraphGenerator.generateRandomGraph(50, 0.1, 1, 10, true);
+        QueryResultCache cache = QueryResultCache.forGraph(g, 10);
+        Node s = g.getNode("N0");
+        Node t = g.getNode("N49");
+        AlgorithmResult first = cache.findShortestPath(s, t, SearchEngine.DIJKSTRA, RecordingLevel.NONE);
+        AlgorithmResult second = cache.findShortestPath(s, t, SearchEngine.DIJKSTRA, RecordingLevel.NONE);
+        assertSame(first, second);
+        assertEquals(DijkstraAlgorithm.findShortestPath(g, s, t, RecordingLevel.NONE).getPathCost(),
+                first.getPathCost(), 0.0);
+        assertTrue(first.getSteps().isEmpty());
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+        assertEquals(0.5, cache.getHitRate(), 0.0);
+
+        // Other engines and recording levels are separate entries
+        AlgorithmResult traced = cache.findShortestPath(s, t, SearchEngine.DIJKSTRA, RecordingLevel.FULL);
+        assertFalse(traced.getSteps().isEmpty());
+        cache.findShortestPath(s, t, SearchEngine.SPFA, RecordingLevel.NONE);
+        assertEquals(3, cache.getMissCount());
+        assertEquals(3, cache.size());
+    }
+
+    @Test
+    @DisplayName("The least recently used entry is evicted when full")
+    void testLruEviction() {
+        WeightedGraph g = RandomGraphGenerator.generateRandomGraph(20, 0.2, 1, 10, true);
+        QueryResultCache cache = QueryResultCache.forGraph(g, 2);
+        Node a = g.getNode("N0");
+        Node b = g.getNode("N1");
+        Node c = g.getNode("N2");
+        cache.findShortestPath(a, b, SearchEngine.DIJKSTRA, RecordingLevel.NONE);
+        cache.findShortestPath(a, c, SearchEngine.DIJKSTRA, RecordingLevel.NONE);
+        cache.findShortestPath(a, b, SearchEngine.DIJKSTRA, RecordingLevel.NONE); // a -> b is now most recent
+        cache.findShortestPath(b, c, SearchEngine.DIJKSTRA, RecordingLevel.NONE); // evicts a -> c
+        assertEquals(1, cache.getEvictionCount());
+        assertEquals(2, cache.size());
+
+        long misses = cache.getMissCount();
+        cache.findShortestPath(a, b, SearchEngine.DIJKSTRA, RecordingLevel.NONE);
+        assertEquals(misses, cache.getMissCount());
+        cache.findShortestPath(a, c, SearchEngine.DIJKSTRA, RecordingLevel.NONE);
+        assertEquals(misses + 1, cache.getMissCount());
+    }
+
+    @Test
+    @DisplayName("Graph edits, including weight changes, invalidate cached results")
+    void testInvalidation() {
+        WeightedGraph g = new WeightedGraph(true);
+        Node A = new Node("A");
+        Node B = new Node("B");
+        Node C = new Node("C");
+        g.addNode(A); g.addNode(B); g.addNode(C);
+        Edge ab = g.addEdge(A, B, 5.0);
+        g.addEdge(A, C, 1.0);
+        g.addEdge(C, B, 1.0);
+        QueryResultCache cache = QueryResultCache.forGraph(g, 10);
+        assertEquals(2.0, cache.findShortestPath(A, B, SearchEngine.DIJKSTRA, RecordingLevel.NONE).getPathCost(), 0.0);
+
+        long version = g.getVersion();
+        ab.setWeight(1.0);
+        assertNotEquals(version, g.getVersion());
+        AlgorithmResult updated = cache.findShortestPath(A, B, SearchEngine.DIJKSTRA, RecordingLevel.NONE);
+        assertEquals(1.0, updated.getPathCost(), 0.0);
+        assertEquals(List.of(A, B), updated.getShortestPath());
+        assertEquals(1, cache.getInvalidationCount());
+
+        g.removeEdge(A, B);
+        assertEquals(2.0, cache.findShortestPath(A, B, SearchEngine.DIJKSTRA, RecordingLevel.NONE).getPathCost(), 0.0);
+        g.addNode(new Node("D"));
+        assertEquals(0, cache.size());
+        assertEquals(3, cache.getInvalidationCount());
+        assertEquals(0, cache.getHitCount());
+
+        // Setting the same weight again is not a change
+        version = g.getVersion();
+        ab.setWeight(1.0);
+        assertEquals(version, g.getVersion());
+    }
+
+    @Test
+    @DisplayName("Invalid arguments are rejected")
+    void testValidation() {
+        WeightedGraph g = RandomGraphGenerator.generateRandomGraph(5, 0.5, 1, 10, true);
+        Node s = g.getNode("N0");
+        assertThrows(IllegalArgumentException.class, () -> QueryResultCache.forGraph(null, 1));
+        assertThrows(IllegalArgumentException.class, () -> QueryResultCache.forGraph(g, 0));
+        QueryResultCache cache = QueryResultCache.forGraph(g, 1);
+        assertThrows(IllegalArgumentException.class,
+                () -> cache.findShortestPath(s, s, null, RecordingLevel.NONE));
+        assertThrows(IllegalArgumentException.class,
+                () -> cache.findShortestPath(s, null, SearchEngine.DIJKSTRA, RecordingLevel.NONE));
+        assertThrows(IllegalArgumentException.class,
+                () -> cache.findShortestPath(s, new Node("X"), SearchEngine.DIJKSTRA, RecordingLevel.NONE));
+    }
+}
@@ -0,0 +1,132 @@
+package com.shortestpath.algorithm;
+
+import com.shortestpath.model.Edge;
+import com.shortestpath.model.Node;
+import com.shortestpath.model.WeightedGraph;
+import com.shortestpath.util.RandomGraphGenerator;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("SearchBudget Tests")
+class SearchBudgetTest {
+
+    @Test
+    @DisplayName("Every engine stops with a CancellationException once the budget is cancelled")
+    void testCancelledBudgetStopsEveryEngine() {
+        WeightedGraph g = RandomGraphGenerator.generateRandomGraph(60, 0.1, 1, 10, true);
+        Node s = g.getNode("N0");
+        Node t = g.getNode("N59");
+        SearchBudget budget = SearchBudget.unlimited();
+        budget.cancel();
+        assertTrue(budget.isCancelled());
+        for (SearchEngine engine : SearchEngine.values()) {
+            for (RecordingLevel level : RecordingLevel.values()) {
+                assertThrows(CancellationException.class, () -> engine.run(g, s, t, level, budget),
+                        engine + " at " + level);
+            }
+        }
+        // The pooled workspace was released by the cancelled searches
+        assertEquals(DijkstraAlgorithm.findShortestPath(g, s, t, RecordingLevel.FULL).getPathCost(),
+                DijkstraAlgorithm.findShortestPath(g, s, t, RecordingLevel.NONE).getPathCost(), 0.0);
+    }
+
+    @Test
+    @DisplayName("Expired deadlines stop searches; unused budgets do not change results")
+    void testDeadline() {
+        WeightedGraph g = RandomGraphGenerator.generateRandomGraph(60, 0.1, 1, 10, true);
+        Node s = g.getNode("N0");
+        Node t = g.getNode("N59");
+        SearchBudget expired = SearchBudget.withTimeout(Duration.ZERO);
+        assertTrue(expired.isExhausted());
+        assertEquals(Duration.ZERO, expired.getRemaining());
+        assertThrows(CancellationException.class,
+                () -> DijkstraAlgorithm.findShortestPath(g, s, t, RecordingLevel.NONE, expired));
+
+        SearchBudget generous = SearchBudget.withTimeout(Duration.ofMinutes(5));
+        assertFalse(generous.isExhausted());
+        assertTrue(generous.getRemaining().compareTo(Duration.ZERO) > 0);
+        assertNull(SearchBudget.unlimited().getRemaining());
+        assertFalse(SearchBudget.withTimeout(Duration.ofSeconds(Long.MAX_VALUE)).isExhausted());
+        for (SearchEngine engine : SearchEngine.values()) {
+            assertEquals(engine.run(g, s, t, RecordingLevel.NONE).getPathCost(),
+                    engine.run(g, s, t, RecordingLevel.NONE, generous).getPathCost(), 0.0);
+        }
+    }
+
+    @Test
+    @DisplayName("Query engine futures fail when their budget is already spent")
+    void testQueryEngineBudgets() throws InterruptedException {
+        WeightedGraph g = RandomGraphGenerator.generateRandomGraph(40, 0.1, 1, 10, true);
+        QueryEngine.Query query = new QueryEngine.Query(g.getNode("N0"), g.getNode("N39"), SearchEngine.DIJKSTRA);
+        try (QueryEngine engine = QueryEngine.withVirtualThreads(g, 4)) {
+            SearchBudget cancelled = SearchBudget.unlimited();
+            cancelled.cancel();
+            assertThrows(CancellationException.class, () -> engine.submit(query, cancelled).get());
+            assertEquals(1, engine.getFailedCount());
+
+        }
+    }
+
+    @Test
+    @DisplayName("Cancelling a running query's future stops the search and counts it as failed")
+    void testCancelRunningQuery() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        // Holds the search inside its first expansion until the test has cancelled it
+        WeightedGraph g = new WeightedGraph() {
+            @Override
+            public List<Edge> getOutgoingEdges(Node node) {
+                started.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return super.getOutgoingEdges(node);
+            }
+        };
+        Node a = new Node("A");
+        Node b = new Node("B");
+        Node c = new Node("C");
+        g.addNode(a);
+        g.addNode(b);
+        g.addNode(c);
+        g.addEdge(a, b, 1);
+        g.addEdge(b, c, 1);
+
+        SearchBudget budget = SearchBudget.unlimited();
+        CompletableFuture<AlgorithmResult> future;
+        QueryEngine engine = QueryEngine.withVirtualThreads(g, 1);
+        try (engine) {
+            future = engine.submit(new QueryEngine.Query(a, c, SearchEngine.DIJKSTRA), budget);
+            assertTrue(started.await(10, TimeUnit.SECONDS));
+            assertTrue(future.cancel(true));
+            assertTrue(budget.isCancelled());
+            release.countDown();
+        }
+        // close() waited for the search to notice the cancelled budget
+        assertThrows(CancellationException.class, future::join);
+        assertEquals(1, engine.getFailedCount());
+        assertEquals(0, engine.getCompletedCount());
+    }
+
+    @Test
+    @DisplayName("Invalid arguments are rejected")
+    void testValidation() {
+        WeightedGraph g = RandomGraphGenerator.generateRandomGraph(5, 0.5, 1, 10, true);
+        Node s = g.getNode("N0");
+        assertThrows(IllegalArgumentException.class, () -> SearchBudget.withTimeout(null));
+        assertThrows(IllegalArgumentException.class, () -> SearchBudget.withTimeout(Duration.ofMillis(-1)));
+        assertThrows(IllegalArgumentException.class,
+                () -> DijkstraAlgorithm.findShortestPath(g, s, s, RecordingLevel.FULL, null));
+    }
+}
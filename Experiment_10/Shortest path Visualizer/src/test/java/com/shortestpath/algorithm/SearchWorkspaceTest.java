@@ -0,0 +1,87 @@
+package com.shortestpath.algorithm;
+
+import com.shortestpath.model.Node;
+import com.shortestpath.model.WeightedGraph;
+import com.shortestpath.util.RandomGraphGenerator;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("SearchWorkspace Tests")
+class SearchWorkspaceTest {
+
+    @Test
+    @DisplayName("Unrecorded Dijkstra and A* return exactly what the recorded runs return")
+    void testMatchesRecordedRuns() {
+        WeightedGraph g = RandomGraphGenerator.generateRandomGraph(120, 0.04, 1, 20, false);
+        Random rnd = new Random(1);
+        for (int i = 0; i < 200; i++) {
+            Node s = g.getNode("N" + rnd.nextInt(120));
+            Node t = g.getNode("N" + rnd.nextInt(120));
+            AlgorithmResult full = DijkstraAlgorithm.findShortestPath(g, s, t, RecordingLevel.FULL);
+            AlgorithmResult none = DijkstraAlgorithm.findShortestPath(g, s, t, RecordingLevel.NONE);
+            assertEquals(full.getShortestPath(), none.getShortestPath());
+            assertEquals(full.getPathCost(), none.getPathCost(), 0.0);
+            assertEquals(full.getNodesVisited(), none.getNodesVisited());
+
+            full = AStarAlgorithm.findShortestPath(g, s, t, RecordingLevel.FULL);
+            none = AStarAlgorithm.findShortestPath(g, s, t, RecordingLevel.NONE);
+            assertEquals(full.getShortestPath(), none.getShortestPath());
+            assertEquals(full.getPathCost(), none.getPathCost(), 0.0);
+            assertEquals(full.getNodesVisited(), none.getNodesVisited());
+        }
+    }
+
+    @Test
+    @DisplayName("Stale state never leaks between searches, graphs or graph edits")
+    void testReuseAcrossSearchesAndGraphs() {
+        WeightedGraph g = new WeightedGraph();
+        Node A = new Node("A");
+        Node B = new Node("B");
+        Node C = new Node("C");
+        g.addNode(A); g.addNode(B); g.addNode(C);
+        g.addEdge(A, B, 1.0);
+        g.addEdge(B, C, 1.0);
+        assertEquals(2.0, DijkstraAlgorithm.findShortestPath(g, A, C, RecordingLevel.NONE).getPathCost(), 0.0);
+        // C was reached from A before; from B, A must read as unreached again
+        assertFalse(DijkstraAlgorithm.findShortestPath(g, B, A, RecordingLevel.NONE).hasPath());
+
+        Node D = new Node("D");
+        g.addNode(D);
+        g.addEdge(C, D, 4.0);
+        g.addEdge(A, D, 3.0);
+        assertEquals(List.of(A, D), DijkstraAlgorithm.findShortestPath(g, A, D, RecordingLevel.NONE).getShortestPath());
+        g.removeNode("B");
+        assertFalse(DijkstraAlgorithm.findShortestPath(g, A, C, RecordingLevel.NONE).hasPath());
+
+        WeightedGraph other = new WeightedGraph();
+        Node X = new Node("X");
+        Node Y = new Node("Y");
+        other.addNode(X); other.addNode(Y);
+        other.addEdge(X, Y, 7.0);
+        assertEquals(7.0, AStarAlgorithm.findShortestPath(other, X, Y, RecordingLevel.NONE).getPathCost(), 0.0);
+        assertEquals(3.0, AStarAlgorithm.findShortestPath(g, A, D, RecordingLevel.NONE).getPathCost(), 0.0);
+        assertEquals(List.of(A), DijkstraAlgorithm.findShortestPath(g, A, A, RecordingLevel.NONE).getShortestPath());
+    }
+
+    @Test
+    @DisplayName("Concurrent searches each get their own workspace")
+    void testConcurrentSearches() {
+        WeightedGraph g = RandomGraphGenerator.generateRandomGraph(100, 0.05, 1, 10, true);
+        double[] expected = new double[100];
+        for (int i = 0; i < 100; i++) {
+            expected[i] = BellmanFordAlgorithm.findShortestPath(g, g.getNode("N0"), g.getNode("N" + i),
+                    RecordingLevel.NONE).getPathCost();
+        }
+        IntStream.range(0, 2000).parallel().forEach(i -> {
+            Node t = g.getNode("N" + (i % 100));
+            assertEquals(expected[i % 100],
+                    DijkstraAlgorithm.findShortestPath(g, g.getNode("N0"), t, RecordingLevel.NONE).getPathCost(), 1e-9);
+        });
+    }
+}
@@ -0,0 +1,169 @@
+package com.shortestpath.algorithm;
+
+import com.shortestpath.model.Edge;
+import com.shortestpath.model.Node;
+import com.shortestpath.model.WeightedGraph;
+import com.shortestpath.util.RandomGraphGenerator;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ShortestPathTreeCache Tests")
+class ShortestPathTreeCacheTest {
+
+    private static final long TREE_BYTES_PER_NODE = Double.BYTES + Integer.BYTES;
+
+    @Test
+    @DisplayName("Queries from a cached source match Dijkstra")
+    void testMatchesDijkstra() {
+        WeightedGraph g = RandomGraphGenerator.generateRandomGraph(60, 0.08, 1, 20, true);
+        ShortestPathTreeCache cache = ShortestPathTreeCache.forGraph(g, 1 << 20);
+        Node s = g.getNode("N0");
+        for (Node t : g.getAllNodes()) {
+            AlgorithmResult expected = DijkstraAlgorithm.findShortestPath(g, s, t, RecordingLevel.NONE);
+            AlgorithmResult actual = cache.findShortestPath(s, t);
+            assertEquals(expected.getPathCost(), actual.getPathCost(), 1e-9);
+            assertEquals(expected.hasPath(), actual.hasPath());
+            if (actual.hasPath()) {
+                assertEquals(s, actual.getShortestPath().get(0));
+                assertEquals(t, actual.getShortestPath().get(actual.getShortestPath().size() - 1));
+            }
+        }
+        assertEquals(1, cache.getMissCount());
+        assertEquals(g.getNodeCount() - 1, cache.getHitCount());
+        assertEquals(1, cache.size());
+        assertEquals(60 * TREE_BYTES_PER_NODE, cache.getCachedBytes());
+    }
+
+    @Test
+    @DisplayName("Trees are only built once a source is hot")
+    void testHotThreshold() {
+        WeightedGraph g = RandomGraphGenerator.generateRandomGraph(30, 0.2, 1, 10, true);
+        ShortestPathTreeCache cache = ShortestPathTreeCache.forGraph(g, 1 << 20, 3);
+        Node s = g.getNode("N0");
+        Node t = g.getNode("N29");
+        cache.findShortestPath(s, t);
+        cache.findShortestPath(s, t);
+        assertFalse(cache.contains(s));
+        AlgorithmResult third = cache.findShortestPath(s, t);
+        assertTrue(cache.contains(s));
+        assertEquals(DijkstraAlgorithm.findShortestPath(g, s, t, RecordingLevel.NONE).getPathCost(),
+                third.getPathCost(), 1e-9);
+        cache.findShortestPath(s, g.getNode("N5"));
+        assertEquals(3, cache.getMissCount());
+        assertEquals(1, cache.getHitCount());
+    }
+
+    @Test
+    @DisplayName("Cold trees are evicted to stay within the byte budget")
+    void testByteBudgetEviction() {
+        WeightedGraph g = RandomGraphGenerator.generateRandomGraph(10, 0.3, 1, 10, true);
+        long treeBytes = 10 * TREE_BYTES_PER_NODE;
+        ShortestPathTreeCache cache = ShortestPathTreeCache.forGraph(g, 2 * treeBytes);
+        Node a = g.getNode("N0");
+        Node b = g.getNode("N1");
+        Node c = g.getNode("N2");
+        cache.getTree(a);
+        cache.getTree(b);
+        cache.findShortestPath(a, c); // a is now most recent
+        cache.getTree(c);             // evicts b
+        assertEquals(1, cache.getEvictionCount());
+        assertEquals(2, cache.size());
+        assertEquals(2 * treeBytes, cache.getCachedBytes());
+        assertTrue(cache.contains(a));
+        assertFalse(cache.contains(b));
+        assertTrue(cache.contains(c));
+    }
+
+    @Test
+    @DisplayName("A tree larger than the budget is returned but not stored")
+    void testOversizedTree() {
+        WeightedGraph g = RandomGraphGenerator.generateRandomGraph(10, 0.3, 1, 10, true);
+        ShortestPathTreeCache cache = ShortestPathTreeCache.forGraph(g, 10);
+        ShortestPathTree tree = cache.getTree(g.getNode("N0"));
+        assertEquals(10, tree.getNodeCount());
+        assertEquals(0, cache.size());
+        assertEquals(0, cache.getCachedBytes());
+
+        // Queries never build a tree that cannot be stored, however hot the source
+        Node s = g.getNode("N0");
+        for (Node t : g.getAllNodes()) {
+            assertEquals(DijkstraAlgorithm.findShortestPath(g, s, t, RecordingLevel.NONE).getPathCost(),
+                    cache.findShortestPath(s, t).getPathCost(), 1e-9);
+        }
+        assertEquals(0, cache.getCountedSourceCount());
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    @DisplayName("Counts of cold sources are aged to stay bounded")
+    void testQueryCountsBounded() {
+        int n = ShortestPathTreeCache.MAX_COUNTED_SOURCES + 100;
+        WeightedGraph g = RandomGraphGenerator.generateRandomGraph(n, 0.002, 1, 10, true);
+        ShortestPathTreeCache cache = ShortestPathTreeCache.forGraph(g, 1 << 20, 2);
+        Node t = g.getNode("N0");
+        for (int i = 0; i < n; i++) {
+            cache.findShortestPath(g.getNode("N" + i), t);
+            assertTrue(cache.getCountedSourceCount() <= ShortestPathTreeCache.MAX_COUNTED_SOURCES);
+        }
+        assertEquals(0, cache.size());
+
+        // A source that turns hot builds its tree and stops being counted
+        Node hot = g.getNode("N" + (n - 1));
+        cache.findShortestPath(hot, t);
+        assertTrue(cache.contains(hot));
+        int counted = cache.getCountedSourceCount();
+        cache.findShortestPath(hot, t);
+        assertEquals(counted, cache.getCountedSourceCount());
+    }
+
+    @Test
+    @DisplayName("Changing the graph drops every tree")
+    void testInvalidation() {
+        WeightedGraph g = new WeightedGraph();
+        Node a = new Node("A");
+        Node b = new Node("B");
+        Node c = new Node("C");
+        g.addNode(a);
+        g.addNode(b);
+        g.addNode(c);
+        g.addEdge(a, b, 5);
+        g.addEdge(b, c, 5);
+        Edge direct = g.addEdge(a, c, 20);
+
+        ShortestPathTreeCache cache = ShortestPathTreeCache.forGraph(g, 1 << 20);
+        assertEquals(10.0, cache.findShortestPath(a, c).getPathCost(), 0.0);
+        assertEquals(1, cache.size());
+
+        direct.setWeight(3);
+        assertEquals(0, cache.size());
+        assertEquals(1, cache.getInvalidationCount());
+        assertEquals(3.0, cache.findShortestPath(a, c).getPathCost(), 0.0);
+
+        Node d = new Node("D");
+        g.addNode(d);
+        g.addEdge(c, d, 1);
+        assertEquals(4.0, cache.findShortestPath(a, d).getPathCost(), 0.0);
+        assertEquals(3, cache.getMissCount());
+    }
+
+    @Test
+    @DisplayName("Invalid arguments are rejected")
+    void testValidation() {
+        WeightedGraph g = new WeightedGraph();
+        Node a = new Node("A");
+        Node b = new Node("B");
+        g.addNode(a);
+        g.addNode(b);
+        g.addEdge(a, b, -1);
+        assertThrows(IllegalArgumentException.class, () -> ShortestPathTreeCache.forGraph(null, 100));
+        assertThrows(IllegalArgumentException.class, () -> ShortestPathTreeCache.forGraph(g, 0));
+        assertThrows(IllegalArgumentException.class, () -> ShortestPathTreeCache.forGraph(g, 100, 0));
+
+        ShortestPathTreeCache cache = ShortestPathTreeCache.forGraph(g, 100);
+        assertThrows(IllegalArgumentException.class, () -> cache.findShortestPath(a, new Node("X")));
+        assertThrows(IllegalArgumentException.class, () -> cache.findShortestPath(null, b));
+        assertThrows(IllegalArgumentException.class, () -> cache.findShortestPath(a, b));
+    }
+}
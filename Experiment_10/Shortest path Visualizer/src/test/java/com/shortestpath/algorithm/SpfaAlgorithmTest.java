@@ -0,0 +1,144 @@
+package com.shortestpath.algorithm;
+
+import com.shortestpath.model.Node;
+import com.shortestpath.model.WeightedGraph;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("SpfaAlgorithm Tests")
+class SpfaAlgorithmTest {
+
+    private WeightedGraph graph;
+
+    @BeforeEach
+    void setup() {
+        graph = new WeightedGraph();
+    }
+
+    @Test
+    @DisplayName("Handles negative weight edges correctly")
+    void testNegativeWeightPath() {
+        Node A = new Node("A");
+        Node B = new Node("B");
+        Node C = new Node("C");
+        graph.addNode(A); graph.addNode(B); graph.addNode(C);
+        graph.addEdge(A, B, 4.0);
+        graph.addEdge(A, C, 5.0);
+        graph.addEdge(C, B, -3.0);
+
+        for (SpfaAlgorithm.QueueStrategy strategy : SpfaAlgorithm.QueueStrategy.values()) {
+            AlgorithmResult result = SpfaAlgorithm.findShortestPath(graph, A, B, RecordingLevel.FULL, strategy);
+            assertEquals(2.0, result.getPathCost(), 1e-9);
+            assertEquals(List.of(A, C, B), result.getShortestPath());
+        }
+    }
+
+    @Test
+    @DisplayName("Detects negative cycle and reports no path")
+    void testNegativeCycleDetection() {
+        Node A = new Node("A");
+        Node B = new Node("B");
+        Node C = new Node("C");
+        Node D = new Node("D");
+        graph.addNode(A); graph.addNode(B); graph.addNode(C); graph.addNode(D);
+        graph.addEdge(A, B, 1.0);
+        graph.addEdge(B, C, -2.0);
+        graph.addEdge(C, B, 1.0);
+        graph.addEdge(C, D, 1.0);
+
+        for (SpfaAlgorithm.QueueStrategy strategy : SpfaAlgorithm.QueueStrategy.values()) {
+            AlgorithmResult result = SpfaAlgorithm.findShortestPath(graph, A, D, RecordingLevel.FULL, strategy);
+            assertFalse(result.hasPath());
+            assertTrue(result.getShortestPath().isEmpty());
+            assertTrue(result.getSteps().get(result.getStepCount() - 1).getDescription().contains("Negative cycle"));
+        }
+    }
+
+    @Test
+    @DisplayName("Matches Bellman-Ford on random graphs with negative edges")
+    void testMatchesBellmanFord() {
+        Random rnd = new Random(11);
+        for (int round = 0; round < 5; round++) {
+            WeightedGraph g = new WeightedGraph();
+            int n = 60;
+            Node[] nodes = new Node[n];
+            for (int i = 0; i < n; i++) {
+                nodes[i] = new Node("N" + i);
+                g.addNode(nodes[i]);
+            }
+            // Edges only go from lower to higher index, so negative weights cannot form cycles
+            for (int i = 0; i < n; i++) {
+                for (int j = i + 1; j < n; j++) {
+                    if (rnd.nextDouble() < 0.1) g.addEdge(nodes[i], nodes[j], rnd.nextInt(21) - 5);
+                }
+            }
+            for (SpfaAlgorithm.QueueStrategy strategy : SpfaAlgorithm.QueueStrategy.values()) {
+                for (int t = 1; t < n; t += 7) {
+                    AlgorithmResult expected = BellmanFordAlgorithm.findShortestPath(g, nodes[0], nodes[t], RecordingLevel.NONE);
+                    AlgorithmResult actual = SpfaAlgorithm.findShortestPath(g, nodes[0], nodes[t], RecordingLevel.NONE, strategy);
+                    assertEquals(expected.getPathCost(), actual.getPathCost(), 1e-9);
+                    assertEquals(expected.hasPath(), actual.hasPath());
+                }
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Stops early: a chain is relaxed once per edge instead of V-1 passes")
+    void testEarlyTermination() {
+        int n = 200;
+        Node[] nodes = new Node[n];
+        for (int i = 0; i < n; i++) {
+            nodes[i] = new Node("N" + i);
+            graph.addNode(nodes[i]);
+        }
+        for (int i = 0; i + 1 < n; i++) {
+            graph.addEdge(nodes[i], nodes[i + 1], -1.0);
+        }
+        AlgorithmResult result = SpfaAlgorithm.findShortestPath(graph, nodes[0], nodes[n - 1], RecordingLevel.NONE);
+        assertEquals(-(n - 1), result.getPathCost(), 1e-9);
+        assertEquals(n - 1, result.getMetric(SpfaAlgorithm.RELAXATIONS, -1), 0.0);
+        assertEquals(n, result.getMetric(SpfaAlgorithm.QUEUE_POPS, -1), 0.0);
+        assertEquals(n, result.getNodesVisited());
+    }
+
+    @Test
+    @DisplayName("Recording levels: NONE and SUMMARY return the same path with fewer steps")
+    void testRecordingLevels() {
+        Node A = new Node("A");
+        Node B = new Node("B");
+        Node C = new Node("C");
+        graph.addNode(A); graph.addNode(B); graph.addNode(C);
+        graph.addEdge(A, B, 2.0);
+        graph.addEdge(B, C, -1.0);
+        graph.addEdge(A, C, 3.0);
+
+        AlgorithmResult full = SpfaAlgorithm.findShortestPath(graph, A, C, RecordingLevel.FULL);
+        AlgorithmResult summary = SpfaAlgorithm.findShortestPath(graph, A, C, RecordingLevel.SUMMARY);
+        AlgorithmResult none = SpfaAlgorithm.findShortestPath(graph, A, C, RecordingLevel.NONE);
+        assertEquals(List.of(A, B, C), full.getShortestPath());
+        assertEquals(full.getShortestPath(), summary.getShortestPath());
+        assertEquals(full.getShortestPath(), none.getShortestPath());
+        assertEquals(2, summary.getStepCount());
+        assertEquals(0, none.getStepCount());
+        assertTrue(full.getStepCount() > 2);
+        assertEquals(1.0, full.getSteps().get(full.getStepCount() - 1).getDistances().get(C), 1e-9);
+    }
+
+    @Test
+    @DisplayName("Validation: nulls and missing nodes throw")
+    void testValidation() {
+        Node A = new Node("A");
+        graph.addNode(A);
+        assertThrows(IllegalArgumentException.class, () -> SpfaAlgorithm.findShortestPath(null, A, A));
+        assertThrows(IllegalArgumentException.class, () -> SpfaAlgorithm.findShortestPath(graph, null, A));
+        assertThrows(IllegalArgumentException.class, () -> SpfaAlgorithm.findShortestPath(graph, A, new Node("X")));
+        assertThrows(IllegalArgumentException.class, () -> SpfaAlgorithm.findShortestPath(graph, A, A, RecordingLevel.FULL, null));
+    }
+}
@@ -0,0 +1,169 @@
+package com.shortestpath.algorithm;
+
+import com.shortestpath.model.Edge;
+import com.shortestpath.model.Node;
+import com.shortestpath.model.WeightedGraph;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("TarjanBellmanFordAlgorithm Tests")
+class TarjanBellmanFordAlgorithmTest {
+
+    /** Random directed graph with negative edges but no negative cycle: weights w + p(u) - p(v) with w >= 0. */
+    private static WeightedGraph reweightedGraph(int n, int edges, long seed) {
+        Random rnd = new Random(seed);
+        WeightedGraph g = new WeightedGraph(true);
+        double[] p = new double[n];
+        for (int i = 0; i < n; i++) {
+            g.addNode(new Node("N" + i));
+            p[i] = rnd.nextInt(40);
+        }
+        for (int i = 0; i < edges; i++) {
+            int u = rnd.nextInt(n);
+            int v = rnd.nextInt(n);
+            g.addEdge(g.getNode("N" + u), g.getNode("N" + v), rnd.nextInt(20) + p[u] - p[v]);
+        }
+        return g;
+    }
+
+    /** Asserts that consecutive nodes are joined by edges whose cheapest weights sum to a negative total. */
+    private static void assertNegativeCycle(WeightedGraph g, List<Node> cycle) {
+        assertTrue(cycle.size() >= 2, "cycle " + cycle);
+        assertEquals(cycle.get(0), cycle.get(cycle.size() - 1));
+        double total = 0.0;
+        for (int i = 1; i < cycle.size(); i++) {
+            double best = Double.POSITIVE_INFINITY;
+            for (Edge e : g.getOutgoingEdges(cycle.get(i - 1))) {
+                if (e.getTarget().equals(cycle.get(i))) best = Math.min(best, e.getWeight());
+            }
+            assertNotEquals(Double.POSITIVE_INFINITY, best, "missing edge in cycle " + cycle);
+            total += best;
+        }
+        assertTrue(total < 0.0, "cycle " + cycle + " has weight " + total);
+    }
+
+    @Test
+    @DisplayName("Distances and paths match SPFA on graphs with negative edges")
+    void testMatchesSpfa() {
+        for (long seed = 1; seed <= 5; seed++) {
+            WeightedGraph g = reweightedGraph(120, 500, seed);
+            Random rnd = new Random(seed);
+            for (int i = 0; i < 20; i++) {
+                Node s = g.getNode("N" + rnd.nextInt(120));
+                Node t = g.getNode("N" + rnd.nextInt(120));
+                AlgorithmResult expected = SpfaAlgorithm.findShortestPath(g, s, t, RecordingLevel.NONE);
+                AlgorithmResult actual = TarjanBellmanFordAlgorithm.findShortestPath(g, s, t, RecordingLevel.NONE);
+                assertFalse(actual.hasNegativeCycle());
+                assertEquals(expected.getPathCost(), actual.getPathCost(), 1e-9);
+                if (actual.hasPath()) {
+                    assertEquals(s, actual.getShortestPath().get(0));
+                    assertEquals(t, actual.getShortestPath().get(actual.getShortestPath().size() - 1));
+                }
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Returns the negative cycle reachable from the source")
+    void testReportsCycle() {
+        WeightedGraph g = new WeightedGraph(true);
+        Node S = new Node("S");
+        Node A = new Node("A");
+        Node B = new Node("B");
+        Node C = new Node("C");
+        Node T = new Node("T");
+        g.addNode(S); g.addNode(A); g.addNode(B); g.addNode(C); g.addNode(T);
+        g.addEdge(S, A, 2.0);
+        g.addEdge(A, B, 1.0);
+        g.addEdge(B, C, -4.0);
+        g.addEdge(C, A, 1.0);
+        g.addEdge(C, T, 1.0);
+
+        for (RecordingLevel level : RecordingLevel.values()) {
+            AlgorithmResult result = TarjanBellmanFordAlgorithm.findShortestPath(g, S, T, level);
+            assertFalse(result.hasPath());
+            assertTrue(result.hasNegativeCycle());
+            assertNegativeCycle(g, result.getNegativeCycle());
+            assertEquals(3, result.getNegativeCycle().size() - 1);
+            if (level != RecordingLevel.NONE) {
+                assertTrue(result.getSteps().get(result.getStepCount() - 1).getDescription().contains("Negative cycle"));
+            }
+        }
+
+        // The pass-based engines now report the cycle too
+        assertNegativeCycle(g, BellmanFordAlgorithm.findShortestPath(g, S, T).getNegativeCycle());
+        assertNegativeCycle(g, SpfaAlgorithm.findShortestPath(g, S, T).getNegativeCycle());
+    }
+
+    @Test
+    @DisplayName("Random negative cycles are always valid when found, and found when reachable")
+    void testRandomCycles() {
+        Random rnd = new Random(11);
+        for (int trial = 0; trial < 40; trial++) {
+            WeightedGraph g = reweightedGraph(60, 200, trial);
+            // Close a cycle on a random path by making one of its edges very negative
+            Node a = g.getNode("N" + rnd.nextInt(60));
+            Node b = g.getNode("N" + rnd.nextInt(60));
+            g.addEdge(a, b, -500.0);
+            g.addEdge(b, a, 1.0);
+            boolean expected = SpfaAlgorithm.findShortestPath(g, a, a, RecordingLevel.NONE).hasPath() == false;
+
+            AlgorithmResult result = TarjanBellmanFordAlgorithm.findShortestPath(g, a, a, RecordingLevel.NONE);
+            assertEquals(expected, result.hasNegativeCycle());
+            if (result.hasNegativeCycle()) assertNegativeCycle(g, result.getNegativeCycle());
+            assertNegativeCycle(g, TarjanBellmanFordAlgorithm.findNegativeCycle(g));
+        }
+    }
+
+    @Test
+    @DisplayName("Stops as soon as the cycle forms instead of after V - 1 passes")
+    void testEarlyDetection() {
+        WeightedGraph g = new WeightedGraph(true);
+        int n = 3000;
+        for (int i = 0; i < n; i++) g.addNode(new Node("N" + i));
+        for (int i = 0; i + 1 < n; i++) g.addEdge(g.getNode("N" + i), g.getNode("N" + (i + 1)), 1.0);
+        g.addEdge(g.getNode("N2"), g.getNode("N1"), -5.0);
+
+        AlgorithmResult result = TarjanBellmanFordAlgorithm.findShortestPath(g, g.getNode("N0"),
+                g.getNode("N" + (n - 1)), RecordingLevel.NONE);
+        assertEquals(List.of(g.getNode("N1"), g.getNode("N2"), g.getNode("N1")), result.getNegativeCycle());
+        assertTrue(result.getMetric(SpfaAlgorithm.QUEUE_POPS, -1) < 10);
+    }
+
+    @Test
+    @DisplayName("Whole-graph search finds cycles the source cannot reach")
+    void testWholeGraphCycle() {
+        WeightedGraph g = new WeightedGraph(true);
+        Node A = new Node("A");
+        Node B = new Node("B");
+        Node C = new Node("C");
+        g.addNode(A); g.addNode(B); g.addNode(C);
+        g.addEdge(A, B, 1.0);
+        g.addEdge(C, C, -1.0);
+        assertTrue(TarjanBellmanFordAlgorithm.findNegativeCycle(g, A).isEmpty());
+        assertEquals(List.of(C, C), TarjanBellmanFordAlgorithm.findNegativeCycle(g));
+        assertTrue(TarjanBellmanFordAlgorithm.findNegativeCycle(reweightedGraph(50, 200, 3)).isEmpty());
+        assertTrue(TarjanBellmanFordAlgorithm.findNegativeCycle(new WeightedGraph(true)).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Invalid arguments are rejected")
+    void testValidation() {
+        WeightedGraph g = reweightedGraph(5, 5, 1);
+        Node s = g.getNode("N0");
+        assertThrows(IllegalArgumentException.class,
+                () -> TarjanBellmanFordAlgorithm.findShortestPath(null, s, s, RecordingLevel.NONE));
+        assertThrows(IllegalArgumentException.class,
+                () -> TarjanBellmanFordAlgorithm.findShortestPath(g, s, new Node("X"), RecordingLevel.NONE));
+        assertThrows(IllegalArgumentException.class,
+                () -> TarjanBellmanFordAlgorithm.findShortestPath(g, s, s, null));
+        assertThrows(IllegalArgumentException.class, () -> TarjanBellmanFordAlgorithm.findNegativeCycle(null));
+        assertThrows(IllegalArgumentException.class,
+                () -> new AlgorithmResult(List.of(), List.of(), 0, s, s, 0, 0).withNegativeCycle(List.of(s)));
+    }
+}